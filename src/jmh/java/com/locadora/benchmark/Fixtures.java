@@ -0,0 +1,194 @@
+package com.locadora.benchmark;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.StatusLocacao;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Dados dos benchmarks, equivalentes aos registros de test-data.sql
+ */
+public final class Fixtures {
+    
+    public static final UUID FILME_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    public static final UUID CLIENTE_ID = UUID.fromString("660e8400-e29b-41d4-a716-446655440001");
+    public static final UUID LOCACAO_ID = UUID.fromString("770e8400-e29b-41d4-a716-446655440001");
+    
+    public static final String DETALHES_JSON = """
+        {"atores": ["Keanu Reeves", "Laurence Fishburne", "Carrie-Anne Moss"], \
+        "sinopse": "Um hacker descobre que a realidade é uma simulação criada por máquinas", \
+        "genero": "Ficção Científica", "duracao": 136, "classificacao": "PG-13", \
+        "idioma": "Inglês", "pais": "EUA"}""";
+    
+    private static final LocalDateTime CRIADO_EM = LocalDateTime.of(2024, 1, 10, 14, 30);
+    
+    private Fixtures() {
+    }
+    
+    /**
+     * Mesma configuração do ObjectMapper da aplicação (application.yml)
+     */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .propertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE)
+                .serializationInclusion(JsonInclude.Include.NON_NULL)
+                .build();
+    }
+    
+    public static FilmeDetalhes detalhes() {
+        return new FilmeDetalhes(
+                List.of("Keanu Reeves", "Laurence Fishburne", "Carrie-Anne Moss"),
+                "Um hacker descobre que a realidade é uma simulação criada por máquinas",
+                "Ficção Científica", 136, "PG-13", "Inglês", "EUA");
+    }
+    
+    public static Filme filme() {
+        return new Filme(FilmeId.of(FILME_ID), "Matrix", "Lana Wachowski", 1999, detalhes(), CRIADO_EM, CRIADO_EM);
+    }
+    
+    public static Locacao locacao() {
+        return new Locacao(LocacaoId.of(LOCACAO_ID), ClienteId.of(CLIENTE_ID), FilmeId.of(FILME_ID),
+                LocalDate.of(2024, 1, 10), LocalDate.of(2024, 1, 17), null, StatusLocacao.ATIVA,
+                new BigDecimal("5.00"), BigDecimal.ZERO, CRIADO_EM, CRIADO_EM);
+    }
+    
+    public static ResultSet linhaFilme() {
+        Map<String, Object> colunas = new HashMap<>();
+        colunas.put("id", FILME_ID);
+        colunas.put("nome", "Matrix");
+        colunas.put("diretor", "Lana Wachowski");
+        colunas.put("ano", 1999);
+        colunas.put("detalhes", DETALHES_JSON);
+        colunas.put("criado_em", Timestamp.valueOf(CRIADO_EM));
+        colunas.put("atualizado_em", Timestamp.valueOf(CRIADO_EM));
+        return linha(colunas);
+    }
+    
+    /**
+     * Linha da listagem de filmes, com os detalhes já extraídos do JSONB em colunas (atores como text[])
+     */
+    public static ResultSet linhaFilmeListado() {
+        FilmeDetalhes detalhes = detalhes();
+        String[] atores = detalhes.getAtores().toArray(String[]::new);
+        Array array = (Array) Proxy.newProxyInstance(
+                Array.class.getClassLoader(),
+                new Class<?>[]{Array.class},
+                (proxy, metodo, args) -> metodo.getName().equals("getArray") ? atores.clone() : padrao(metodo.getReturnType()));
+        Map<String, Object> colunas = new HashMap<>();
+        colunas.put("id", FILME_ID);
+        colunas.put("nome", "Matrix");
+        colunas.put("diretor", "Lana Wachowski");
+        colunas.put("ano", 1999);
+        colunas.put("atores", array);
+        colunas.put("sinopse", detalhes.getSinopse());
+        colunas.put("genero", detalhes.getGenero());
+        colunas.put("duracao", detalhes.getDuracao());
+        colunas.put("classificacao", detalhes.getClassificacao());
+        colunas.put("idioma", detalhes.getIdioma());
+        colunas.put("pais", detalhes.getPais());
+        colunas.put("criado_em", Timestamp.valueOf(CRIADO_EM));
+        colunas.put("atualizado_em", Timestamp.valueOf(CRIADO_EM));
+        return linha(colunas);
+    }
+    
+    public static ResultSet linhaLocacao() {
+        Map<String, Object> colunas = new HashMap<>();
+        colunas.put("id", LOCACAO_ID);
+        colunas.put("cliente_id", CLIENTE_ID);
+        colunas.put("filme_id", FILME_ID);
+        colunas.put("data_locacao", Date.valueOf("2024-01-10"));
+        colunas.put("data_prevista_devolucao", Date.valueOf("2024-01-17"));
+        colunas.put("data_devolucao", null);
+        colunas.put("status", "ATIVA");
+        colunas.put("valor_locacao", new BigDecimal("5.00"));
+        colunas.put("valor_multa", new BigDecimal("0.00"));
+        colunas.put("criado_em", Timestamp.valueOf(CRIADO_EM));
+        colunas.put("atualizado_em", Timestamp.valueOf(CRIADO_EM));
+        return linha(colunas);
+    }
+    
+    /**
+     * ResultSet de uma linha só, sem driver: isola o custo do mapeamento do custo de I/O e decodificação do PostgreSQL.
+     * Os getters por nome de coluna devolvem o valor já no tipo que o driver devolveria.
+     */
+    private static ResultSet linha(Map<String, Object> colunas) {
+        return (ResultSet) Proxy.newProxyInstance(
+                ResultSet.class.getClassLoader(),
+                new Class<?>[]{ResultSet.class},
+                (proxy, metodo, args) -> {
+                    String nome = metodo.getName();
+                    if (nome.startsWith("get") && args != null && args.length == 1 && args[0] instanceof String coluna) {
+                        Object valor = colunas.get(coluna);
+                        if (nome.equals("getInt")) {
+                            return valor != null ? ((Number) valor).intValue() : 0;
+                        }
+                        return valor;
+                    }
+                    if (nome.equals("wasNull")) {
+                        return false;
+                    }
+                    throw new UnsupportedOperationException(nome);
+                });
+    }
+    
+    /**
+     * DataSource sem banco cujas consultas não retornam linhas: mede só o trabalho do lado da aplicação
+     * (Spring, montagem e bind dos parâmetros), sem rede nem execução no PostgreSQL.
+     */
+    public static DataSource dataSourceSemLinhas() {
+        ResultSet vazio = semOperacao(ResultSet.class);
+        PreparedStatement statement = (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[]{PreparedStatement.class},
+                (proxy, metodo, args) -> metodo.getName().equals("executeQuery") ? vazio : padrao(metodo.getReturnType()));
+        Connection conexao = (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, metodo, args) -> metodo.getName().equals("prepareStatement") ? statement : padrao(metodo.getReturnType()));
+        return (DataSource) Proxy.newProxyInstance(
+                DataSource.class.getClassLoader(),
+                new Class<?>[]{DataSource.class},
+                (proxy, metodo, args) -> metodo.getName().equals("getConnection") ? conexao : padrao(metodo.getReturnType()));
+    }
+    
+    private static <T> T semOperacao(Class<T> tipo) {
+        return tipo.cast(Proxy.newProxyInstance(tipo.getClassLoader(), new Class<?>[]{tipo},
+                (proxy, metodo, args) -> padrao(metodo.getReturnType())));
+    }
+    
+    private static Object padrao(Class<?> tipo) {
+        if (tipo == boolean.class) {
+            return false;
+        }
+        if (tipo == int.class) {
+            return 0;
+        }
+        if (tipo == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.locadora.benchmark;
+
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.locacao.domain.LocacaoId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo dos value objects de identificador: criação a partir de UUID/String, equals e hashCode
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class IdentificadoresBenchmark {
+    
+    private UUID uuid;
+    private String texto;
+    private FilmeId filmeId;
+    private FilmeId outroFilmeId;
+    
+    @Setup
+    public void setup() {
+        uuid = Fixtures.FILME_ID;
+        texto = uuid.toString();
+        filmeId = FilmeId.of(uuid);
+        outroFilmeId = FilmeId.of(UUID.fromString(texto));
+    }
+    
+    @Benchmark
+    public FilmeId filmeIdDeUuid() {
+        return FilmeId.of(uuid);
+    }
+    
+    @Benchmark
+    public FilmeId filmeIdDeString() {
+        return FilmeId.of(texto);
+    }
+    
+    @Benchmark
+    public ClienteId clienteIdDeUuid() {
+        return ClienteId.of(uuid);
+    }
+    
+    @Benchmark
+    public LocacaoId locacaoIdDeUuid() {
+        return LocacaoId.of(uuid);
+    }
+    
+    @Benchmark
+    public boolean equalsFilmeId() {
+        return filmeId.equals(outroFilmeId);
+    }
+    
+    @Benchmark
+    public int hashCodeFilmeId() {
+        return filmeId.hashCode();
+    }
+}
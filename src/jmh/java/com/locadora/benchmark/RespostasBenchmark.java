@@ -0,0 +1,49 @@
+package com.locadora.benchmark;
+
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.presentation.FilmeResponse;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.presentation.LocacaoResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de converter agregados nos DTOs de resposta
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class RespostasBenchmark {
+    
+    private Filme filme;
+    private Locacao locacao;
+    
+    @Setup
+    public void setup() {
+        filme = Fixtures.filme();
+        locacao = Fixtures.locacao();
+    }
+    
+    @Benchmark
+    public FilmeResponse filmeResponse() {
+        return FilmeResponse.from(filme);
+    }
+    
+    @Benchmark
+    public LocacaoResponse locacaoResponse() {
+        return LocacaoResponse.from(locacao);
+    }
+}
@@ -0,0 +1,83 @@
+package com.locadora.filme.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.benchmark.Fixtures;
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.presentation.FilmeResponse;
+import com.locadora.shared.infrastructure.OutboxRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de mapear uma linha de filme (incluindo o JSONB de detalhes) e de serializar os detalhes no save.
+ * Os pares *Listagem comparam a linha da listagem (agregado + FilmeResponse) com a projeção FilmeListado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class FilmeMapeamentoBenchmark {
+    
+    private FilmeRowMapper rowMapper;
+    private FilmeListadoRowMapper listadoRowMapper;
+    private FilmeRepositoryImpl repository;
+    private ResultSet linha;
+    private ResultSet linhaListado;
+    private FilmeDetalhes detalhes;
+    
+    @Setup
+    public void setup() {
+        ObjectMapper objectMapper = Fixtures.objectMapper();
+        // O DataSource nunca é aberto: só toJsonString é exercitado
+        NamedParameterJdbcTemplate jdbcTemplate = new NamedParameterJdbcTemplate(
+                new DriverManagerDataSource("jdbc:postgresql://localhost/benchmark"));
+        rowMapper = new FilmeRowMapper(objectMapper);
+        repository = new FilmeRepositoryImpl(jdbcTemplate, objectMapper, new OutboxRepository(jdbcTemplate));
+        listadoRowMapper = new FilmeListadoRowMapper();
+        linha = Fixtures.linhaFilme();
+        linhaListado = Fixtures.linhaFilmeListado();
+        detalhes = Fixtures.detalhes();
+    }
+    
+    @Benchmark
+    public Filme mapRow() throws SQLException {
+        return rowMapper.mapRow(linha, 0);
+    }
+    
+    @Benchmark
+    public FilmeDetalhes fromJsonString() {
+        return rowMapper.fromJsonString(Fixtures.DETALHES_JSON);
+    }
+    
+    @Benchmark
+    public String toJsonString() {
+        return repository.toJsonString(detalhes);
+    }
+    
+    @Benchmark
+    public FilmeResponse agregadoListagem() throws SQLException {
+        return FilmeResponse.from(rowMapper.mapRow(linha, 0));
+    }
+    
+    @Benchmark
+    public FilmeResponse projecaoListagem() throws SQLException {
+        return FilmeResponse.from(listadoRowMapper.mapRow(linhaListado, 0));
+    }
+}
@@ -0,0 +1,71 @@
+package com.locadora.locacao.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo de multas em centavos: uma devolução e o lote do fechamento do dia.
+ * <p>
+ * Com {@code -prof gc} (já ligado no perfil benchmarks), gc.alloc.rate.norm deve ficar em ~0 B/op em todos
+ * os métodos; qualquer valor acima indica alocação no caminho quente da política.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class PoliticaMultaBenchmark {
+    
+    @Param({"10000"})
+    private int tamanhoLote;
+    
+    private TabelaMulta tabela;
+    private long[] valores;
+    private long[] diasAtraso;
+    private int[] taxas;
+    private long[] multas;
+    private String genero;
+    
+    @Setup
+    public void setup() {
+        tabela = new TabelaMulta(1_000, 1, 10_000, Map.of("Drama", 500, "Ficção Científica", 1_250));
+        genero = "Drama";
+        
+        SplittableRandom aleatorio = new SplittableRandom(42);
+        valores = new long[tamanhoLote];
+        diasAtraso = new long[tamanhoLote];
+        taxas = new int[tamanhoLote];
+        multas = new long[tamanhoLote];
+        for (int i = 0; i < tamanhoLote; i++) {
+            valores[i] = aleatorio.nextLong(500, 5_000);
+            diasAtraso[i] = aleatorio.nextLong(0, 30);
+            taxas[i] = aleatorio.nextBoolean() ? 1_000 : 500;
+        }
+    }
+    
+    @Benchmark
+    public long multaPorDevolucao() {
+        return tabela.multaCentavos(1_500, 7, tabela.taxaDiariaPb(genero));
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public long[] loteFechamento() {
+        tabela.multasCentavos(valores, diasAtraso, taxas, multas, tamanhoLote);
+        return multas;
+    }
+}
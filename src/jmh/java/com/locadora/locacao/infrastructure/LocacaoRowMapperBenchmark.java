@@ -0,0 +1,44 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.benchmark.Fixtures;
+import com.locadora.locacao.domain.Locacao;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de mapear uma linha de locação para o agregado
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class LocacaoRowMapperBenchmark {
+    
+    private LocacaoRowMapper rowMapper;
+    private ResultSet linha;
+    
+    @Setup
+    public void setup() {
+        rowMapper = new LocacaoRowMapper();
+        linha = Fixtures.linhaLocacao();
+    }
+    
+    @Benchmark
+    public Locacao mapRow() throws SQLException {
+        return rowMapper.mapRow(linha, 0);
+    }
+}
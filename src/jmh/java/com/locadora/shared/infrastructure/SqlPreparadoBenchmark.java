@@ -0,0 +1,107 @@
+package com.locadora.shared.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.benchmark.Fixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo de CPU por consulta do lado da aplicação: SQL nomeado expandido a cada chamada pelo
+ * NamedParameterJdbcTemplate (como os repositórios faziam) contra o SqlPreparado, com um DataSource sem banco.
+ * O ganho no servidor (statement já preparado, sem parse nem planejamento) não aparece aqui.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+@State(Scope.Benchmark)
+public class SqlPreparadoBenchmark {
+
+    private static final String POR_CLIENTE_E_STATUS = """
+            SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao,
+                   data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
+            FROM locacao
+            WHERE cliente_id = :clienteId AND status = :status::status_locacao
+            ORDER BY data_locacao DESC
+            """;
+
+    private static final SqlPreparado POR_CLIENTE_E_STATUS_PREPARADO = SqlPreparado.de(POR_CLIENTE_E_STATUS);
+
+    private static final SqlPreparado POR_MULTIPLOS_ATORES = SqlPreparado.de("""
+            SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
+            FROM filme
+            WHERE detalhes->'atores' @> CAST(:atores AS jsonb)
+            ORDER BY nome
+            """);
+
+    private static final RowMapper<UUID> ID = (rs, rowNum) -> rs.getObject("id", UUID.class);
+
+    private static final List<String> ATORES = List.of("Keanu Reeves", "Laurence Fishburne", "Carrie-Anne Moss");
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+    private JdbcOperations jdbc;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setup() {
+        jdbcTemplate = new NamedParameterJdbcTemplate(Fixtures.dataSourceSemLinhas());
+        jdbc = jdbcTemplate.getJdbcOperations();
+        objectMapper = Fixtures.objectMapper();
+    }
+
+    @Benchmark
+    public List<UUID> nomeadoPorClienteEStatus() {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("clienteId", Fixtures.CLIENTE_ID)
+                .addValue("status", "ATIVA");
+        return jdbcTemplate.query(POR_CLIENTE_E_STATUS, params, ID);
+    }
+
+    @Benchmark
+    public List<UUID> preparadoPorClienteEStatus() {
+        return POR_CLIENTE_E_STATUS_PREPARADO.query(jdbc, ID, Fixtures.CLIENTE_ID, "ATIVA");
+    }
+
+    // SQL montado por tamanho da lista, como findByMultiplosAtores fazia
+    @Benchmark
+    public List<UUID> nomeadoMultiplosAtores() {
+        StringBuilder sql = new StringBuilder("""
+            SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
+            FROM filme
+            WHERE
+            """);
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        for (int i = 0; i < ATORES.size(); i++) {
+            if (i > 0) {
+                sql.append(" AND ");
+            }
+            sql.append("jsonb_exists(detalhes->'atores', :ator").append(i).append(")");
+            params.addValue("ator" + i, ATORES.get(i));
+        }
+        sql.append(" ORDER BY nome");
+        return jdbcTemplate.query(sql.toString(), params, ID);
+    }
+
+    @Benchmark
+    public List<UUID> preparadoMultiplosAtores() throws JsonProcessingException {
+        return POR_MULTIPLOS_ATORES.query(jdbc, ID, objectMapper.writeValueAsString(ATORES));
+    }
+}
@@ -2,34 +2,38 @@ package com.locadora.cliente.application.command;
 
 import com.locadora.cliente.domain.Cliente;
 import com.locadora.cliente.domain.ClienteRepository;
+import com.locadora.cliente.domain.FiltroDuplicidadeCliente;
 import com.locadora.shared.cqrs.CommandHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
-
 /**
- * Handler para o comando de criar cliente
+ * Handler para o comando de criar cliente.
+ * <p>
+ * O filtro de duplicidade evita as consultas de email e CPF quando os valores certamente são novos, o caso
+ * comum; as restrições UNIQUE da tabela garantem a recusa de duplicados que escapem à pré-verificação.
  */
 @Service
 @Transactional
-public class CriarClienteCommandHandler implements CommandHandler<CriarClienteCommand, UUID> {
+public class CriarClienteCommandHandler implements CommandHandler<CriarClienteCommand, Cliente> {
     
     private final ClienteRepository clienteRepository;
+    private final FiltroDuplicidadeCliente filtroDuplicidade;
     
-    public CriarClienteCommandHandler(ClienteRepository clienteRepository) {
+    public CriarClienteCommandHandler(ClienteRepository clienteRepository, FiltroDuplicidadeCliente filtroDuplicidade) {
         this.clienteRepository = clienteRepository;
+        this.filtroDuplicidade = filtroDuplicidade;
     }
     
     @Override
-    public UUID handle(CriarClienteCommand command) {
+    public Cliente handle(CriarClienteCommand command) {
         // Verifica se já existe cliente com o mesmo email
-        if (clienteRepository.existsByEmail(command.email())) {
+        if (filtroDuplicidade.podeExistirEmail(command.email()) && clienteRepository.existsByEmail(command.email())) {
             throw new IllegalArgumentException("Já existe um cliente com este email: " + command.email());
         }
         
         // Verifica se já existe cliente com o mesmo CPF
-        if (clienteRepository.existsByCpf(command.cpf())) {
+        if (filtroDuplicidade.podeExistirCpf(command.cpf()) && clienteRepository.existsByCpf(command.cpf())) {
             throw new IllegalArgumentException("Já existe um cliente com este CPF: " + command.cpf());
         }
         
@@ -40,8 +44,9 @@ public class CriarClienteCommandHandler implements CommandHandler<CriarClienteCo
                 command.cpf()
         );
         
-        clienteRepository.save(cliente);
+        Cliente salvo = clienteRepository.save(cliente);
+        filtroDuplicidade.registrar(salvo);
         
-        return cliente.getClienteId().getValue();
+        return salvo;
     }
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package com.locadora.cliente.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import com.locadora.shared.domain.ValueObject;
 
 import java.util.Objects;
@@ -16,6 +18,7 @@ public class ClienteId extends ValueObject {
         this.value = Objects.requireNonNull(value, "ClienteId não pode ser nulo");
     }
     
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
     public static ClienteId of(UUID value) {
         return new ClienteId(value);
     }
@@ -28,6 +31,7 @@ public class ClienteId extends ValueObject {
         return new ClienteId(UUID.randomUUID());
     }
     
+    @JsonValue
     public UUID getValue() {
         return value;
     }
@@ -2,13 +2,17 @@ package com.locadora.cliente.domain;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface do repositório para a entidade Cliente
  */
 public interface ClienteRepository {
     
-    void save(Cliente cliente);
+    /**
+     * Grava o cliente e retorna o estado persistido, lido do próprio upsert (RETURNING)
+     */
+    Cliente save(Cliente cliente);
     
     Optional<Cliente> findById(ClienteId id);
     
@@ -20,6 +24,11 @@ public interface ClienteRepository {
     
     List<Cliente> findByNomeContaining(String nome);
     
+    // Leitura em streaming: deve ser consumida dentro de uma transação e fechada ao final
+    Stream<Cliente> streamAll();
+    
+    Stream<Cliente> streamByNomeContaining(String nome);
+    
     void deleteById(ClienteId id);
     
     boolean existsById(ClienteId id);
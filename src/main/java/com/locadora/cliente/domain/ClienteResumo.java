@@ -0,0 +1,49 @@
+package com.locadora.cliente.domain;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Resumo das locações de um cliente, pré-calculado a partir dos eventos de locação
+ */
+public record ClienteResumo(
+        ClienteId clienteId,
+        int locacoesAtivas,
+        int locacoesAtrasadas,
+        int totalLocacoes,
+        BigDecimal totalGasto,
+        BigDecimal totalMultas,
+        LocalDate ultimaLocacao
+) {
+    
+    public ClienteResumo {
+        if (clienteId == null) {
+            throw new IllegalArgumentException("ID do cliente é obrigatório");
+        }
+    }
+    
+    /**
+     * Resumo de um cliente que ainda não fez nenhuma locação
+     */
+    public static ClienteResumo vazio(ClienteId clienteId) {
+        return new ClienteResumo(clienteId, 0, 0, 0, BigDecimal.ZERO, BigDecimal.ZERO, null);
+    }
+    
+    /**
+     * Variação a somar ao resumo; a data, quando presente, só avança a última locação
+     */
+    public record Variacao(
+            int locacoesAtivas,
+            int locacoesAtrasadas,
+            int totalLocacoes,
+            BigDecimal totalGasto,
+            BigDecimal totalMultas,
+            LocalDate dataLocacao
+    ) {
+        
+        public Variacao {
+            totalGasto = totalGasto != null ? totalGasto : BigDecimal.ZERO;
+            totalMultas = totalMultas != null ? totalMultas : BigDecimal.ZERO;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.locadora.cliente.domain;
+
+import java.util.Optional;
+
+/**
+ * Repository da projeção de resumo por cliente.
+ * <p>
+ * As escritas aplicam variações atômicas sobre a linha do cliente (sem reagregar o histórico),
+ * então o custo de manter e de ler o resumo não cresce com o número de locações.
+ */
+public interface ClienteResumoRepository {
+    
+    /**
+     * Resumo do cliente (zerado se ele nunca locou); vazio se o cliente não existir
+     */
+    Optional<ClienteResumo> findByClienteId(ClienteId clienteId);
+    
+    void aplicar(ClienteId clienteId, ClienteResumo.Variacao variacao);
+    
+    /**
+     * Recalcula a última locação a partir da tabela locacao, para quando a mais recente deixa de existir
+     */
+    void recalcularUltimaLocacao(ClienteId clienteId);
+}
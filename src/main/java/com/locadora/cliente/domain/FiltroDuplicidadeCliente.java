@@ -0,0 +1,20 @@
+package com.locadora.cliente.domain;
+
+/**
+ * Pré-verificação em memória de emails e CPFs já cadastrados.
+ * <p>
+ * Falso significa que o valor certamente não está cadastrado e a consulta ao banco pode ser evitada;
+ * verdadeiro significa apenas que pode estar. As restrições UNIQUE da tabela cliente continuam sendo
+ * a palavra final, inclusive para cadastros feitos por outras instâncias que o filtro ainda não viu.
+ */
+public interface FiltroDuplicidadeCliente {
+
+    boolean podeExistirEmail(String email);
+
+    boolean podeExistirCpf(String cpf);
+
+    /**
+     * Inclui o email e o CPF do cliente no filtro depois do commit da transação corrente
+     */
+    void registrar(Cliente cliente);
+}
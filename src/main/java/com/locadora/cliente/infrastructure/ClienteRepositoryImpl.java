@@ -3,33 +3,38 @@ package com.locadora.cliente.infrastructure;
 import com.locadora.cliente.domain.Cliente;
 import com.locadora.cliente.domain.ClienteId;
 import com.locadora.cliente.domain.ClienteRepository;
-import org.springframework.dao.EmptyResultDataAccessException;
+import com.locadora.shared.infrastructure.JdbcStreaming;
+import com.locadora.shared.infrastructure.SqlPreparado;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcOperations;
 import org.springframework.jdbc.core.RowMapper;
-import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public class ClienteRepositoryImpl implements ClienteRepository {
     
-    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcOperations jdbc;
+    private final JdbcOperations streamingJdbc;
     private final ClienteRowMapper clienteRowMapper;
     
     public ClienteRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+        this.jdbc = jdbcTemplate.getJdbcOperations();
+        this.streamingJdbc = JdbcStreaming.comCursor(jdbcTemplate).getJdbcOperations();
         this.clienteRowMapper = new ClienteRowMapper();
     }
     
-    @Override
-    public void save(Cliente cliente) {
-        String sql = """
+    private static final SqlPreparado SALVAR = SqlPreparado.de("""
             INSERT INTO cliente (id, nome, email, telefone, cpf, criado_em, atualizado_em)
             VALUES (:id, :nome, :email, :telefone, :cpf, :criadoEm, :atualizadoEm)
             ON CONFLICT (id) DO UPDATE SET
@@ -37,127 +42,128 @@ public class ClienteRepositoryImpl implements ClienteRepository {
                 email = EXCLUDED.email,
                 telefone = EXCLUDED.telefone,
                 atualizado_em = EXCLUDED.atualizado_em
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("id", cliente.getClienteId().getValue())
-                .addValue("nome", cliente.getNome())
-                .addValue("email", cliente.getEmail())
-                .addValue("telefone", cliente.getTelefone())
-                .addValue("cpf", cliente.getCpf())
-                .addValue("criadoEm", Timestamp.valueOf(cliente.getCriadoEm()))
-                .addValue("atualizadoEm", Timestamp.valueOf(cliente.getAtualizadoEm()));
-        
-        jdbcTemplate.update(sql, params);
-    }
+            RETURNING id, nome, email, telefone, cpf, criado_em, atualizado_em
+            """);
     
     @Override
-    public Optional<Cliente> findById(ClienteId id) {
-        String sql = """
-            SELECT id, nome, email, telefone, cpf, criado_em, atualizado_em
-            FROM cliente
-            WHERE id = :id
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        
+    public Cliente save(Cliente cliente) {
         try {
-            Cliente cliente = jdbcTemplate.queryForObject(sql, params, clienteRowMapper);
-            return Optional.of(cliente);
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
+            return SALVAR.queryForObject(jdbc, clienteRowMapper,
+                    cliente.getClienteId().getValue(),
+                    cliente.getNome(),
+                    cliente.getEmail(),
+                    new SqlParameterValue(Types.VARCHAR, cliente.getTelefone()),
+                    cliente.getCpf(),
+                    Timestamp.valueOf(cliente.getCriadoEm()),
+                    Timestamp.valueOf(cliente.getAtualizadoEm()));
+        } catch (DuplicateKeyException e) {
+            // Violação de cliente_email_key ou cliente_cpf_key: duplicado que passou pela pré-verificação
+            String mensagem = String.valueOf(e.getMostSpecificCause().getMessage());
+            if (mensagem.contains("cliente_email_key")) {
+                throw new IllegalArgumentException("Já existe um cliente com este email: " + cliente.getEmail());
+            }
+            if (mensagem.contains("cliente_cpf_key")) {
+                throw new IllegalArgumentException("Já existe um cliente com este CPF: " + cliente.getCpf());
+            }
+            throw e;
         }
     }
     
+    private static final SqlPreparado BUSCAR_POR_ID = SqlPreparado.de("""
+            SELECT id, nome, email, telefone, cpf, criado_em, atualizado_em
+            FROM cliente
+            WHERE id = :id
+            """);
+    
     @Override
-    public Optional<Cliente> findByEmail(String email) {
-        String sql = """
+    public Optional<Cliente> findById(ClienteId id) {
+        return BUSCAR_POR_ID.queryForOptional(jdbc, clienteRowMapper, id.getValue());
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_EMAIL = SqlPreparado.de("""
             SELECT id, nome, email, telefone, cpf, criado_em, atualizado_em
             FROM cliente
             WHERE email = :email
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("email", email);
-        
-        try {
-            Cliente cliente = jdbcTemplate.queryForObject(sql, params, clienteRowMapper);
-            return Optional.of(cliente);
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
-        }
-    }
+            """);
     
     @Override
-    public Optional<Cliente> findByCpf(String cpf) {
-        String sql = """
+    public Optional<Cliente> findByEmail(String email) {
+        return BUSCAR_POR_EMAIL.queryForOptional(jdbc, clienteRowMapper, email);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_CPF = SqlPreparado.de("""
             SELECT id, nome, email, telefone, cpf, criado_em, atualizado_em
             FROM cliente
             WHERE cpf = :cpf
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("cpf", cpf);
-        
-        try {
-            Cliente cliente = jdbcTemplate.queryForObject(sql, params, clienteRowMapper);
-            return Optional.of(cliente);
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
-        }
-    }
+            """);
     
     @Override
-    public List<Cliente> findAll() {
-        String sql = """
+    public Optional<Cliente> findByCpf(String cpf) {
+        return BUSCAR_POR_CPF.queryForOptional(jdbc, clienteRowMapper, cpf);
+    }
+    
+    private static final SqlPreparado BUSCAR_TODOS = SqlPreparado.de("""
             SELECT id, nome, email, telefone, cpf, criado_em, atualizado_em
             FROM cliente
             ORDER BY nome
-            """;
-        
-        return jdbcTemplate.query(sql, clienteRowMapper);
-    }
+            """);
     
     @Override
-    public List<Cliente> findByNomeContaining(String nome) {
-        String sql = """
+    public List<Cliente> findAll() {
+        return BUSCAR_TODOS.query(jdbc, clienteRowMapper);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_NOME = SqlPreparado.de("""
             SELECT id, nome, email, telefone, cpf, criado_em, atualizado_em
             FROM cliente
             WHERE LOWER(nome) LIKE LOWER(:nome)
             ORDER BY nome
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("nome", "%" + nome + "%");
-        return jdbcTemplate.query(sql, params, clienteRowMapper);
+            """);
+    
+    @Override
+    public List<Cliente> findByNomeContaining(String nome) {
+        return BUSCAR_POR_NOME.query(jdbc, clienteRowMapper, "%" + nome + "%");
+    }
+    
+    @Override
+    public Stream<Cliente> streamAll() {
+        return BUSCAR_TODOS.queryForStream(streamingJdbc, clienteRowMapper);
     }
     
+    @Override
+    public Stream<Cliente> streamByNomeContaining(String nome) {
+        return BUSCAR_POR_NOME.queryForStream(streamingJdbc, clienteRowMapper, "%" + nome + "%");
+    }
+    
+    private static final SqlPreparado EXCLUIR = SqlPreparado.de("DELETE FROM cliente WHERE id = :id");
+    
     @Override
     public void deleteById(ClienteId id) {
-        String sql = "DELETE FROM cliente WHERE id = :id";
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        jdbcTemplate.update(sql, params);
+        EXCLUIR.update(jdbc, id.getValue());
     }
     
+    private static final SqlPreparado EXISTE = SqlPreparado.de(
+            "SELECT EXISTS (SELECT 1 FROM cliente WHERE id = :id)");
+    
     @Override
     public boolean existsById(ClienteId id) {
-        String sql = "SELECT COUNT(*) FROM cliente WHERE id = :id";
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-        return count != null && count > 0;
+        return Boolean.TRUE.equals(EXISTE.queryForObject(jdbc, Boolean.class, id.getValue()));
     }
     
+    private static final SqlPreparado EXISTE_POR_EMAIL = SqlPreparado.de(
+            "SELECT EXISTS (SELECT 1 FROM cliente WHERE email = :email)");
+    
     @Override
     public boolean existsByEmail(String email) {
-        String sql = "SELECT COUNT(*) FROM cliente WHERE email = :email";
-        MapSqlParameterSource params = new MapSqlParameterSource("email", email);
-        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-        return count != null && count > 0;
+        return Boolean.TRUE.equals(EXISTE_POR_EMAIL.queryForObject(jdbc, Boolean.class, email));
     }
     
+    private static final SqlPreparado EXISTE_POR_CPF = SqlPreparado.de(
+            "SELECT EXISTS (SELECT 1 FROM cliente WHERE cpf = :cpf)");
+    
     @Override
     public boolean existsByCpf(String cpf) {
-        String sql = "SELECT COUNT(*) FROM cliente WHERE cpf = :cpf";
-        MapSqlParameterSource params = new MapSqlParameterSource("cpf", cpf);
-        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-        return count != null && count > 0;
+        return Boolean.TRUE.equals(EXISTE_POR_CPF.queryForObject(jdbc, Boolean.class, cpf));
     }
     
     private static class ClienteRowMapper implements RowMapper<Cliente> {
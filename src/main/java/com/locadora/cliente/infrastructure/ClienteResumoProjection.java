@@ -0,0 +1,79 @@
+package com.locadora.cliente.infrastructure;
+
+import com.locadora.cliente.domain.ClienteResumo;
+import com.locadora.cliente.domain.ClienteResumoRepository;
+import com.locadora.locacao.domain.LocacaoAtrasada;
+import com.locadora.locacao.domain.LocacaoCancelada;
+import com.locadora.locacao.domain.LocacaoCriada;
+import com.locadora.locacao.domain.LocacaoDevolvida;
+import com.locadora.locacao.domain.LocacaoExcluida;
+import com.locadora.locacao.domain.MultaRecalculada;
+import com.locadora.locacao.domain.StatusLocacao;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Mantém cliente_resumo a partir dos eventos de locação entregues pelo OutboxRelay.
+ * <p>
+ * Cada evento vira uma variação aplicada na mesma transação que marca o evento como publicado,
+ * então a projeção avança exatamente uma vez por evento.
+ */
+@Component
+public class ClienteResumoProjection {
+    
+    private final ClienteResumoRepository clienteResumoRepository;
+    
+    public ClienteResumoProjection(ClienteResumoRepository clienteResumoRepository) {
+        this.clienteResumoRepository = clienteResumoRepository;
+    }
+    
+    @EventListener
+    public void aoCriarLocacao(LocacaoCriada event) {
+        clienteResumoRepository.aplicar(event.getClienteId(), new ClienteResumo.Variacao(
+                1, 0, 1, event.getValorLocacao(), BigDecimal.ZERO, event.getDataLocacao()));
+    }
+    
+    @EventListener
+    public void aoAtrasarLocacao(LocacaoAtrasada event) {
+        clienteResumoRepository.aplicar(event.getClienteId(), new ClienteResumo.Variacao(
+                -1, 1, 0, BigDecimal.ZERO, BigDecimal.ZERO, null));
+    }
+    
+    @EventListener
+    public void aoDevolverLocacao(LocacaoDevolvida event) {
+        boolean estavaAtrasada = event.getStatusAnterior() == StatusLocacao.ATRASADA;
+        clienteResumoRepository.aplicar(event.getClienteId(), new ClienteResumo.Variacao(
+                estavaAtrasada ? 0 : -1, estavaAtrasada ? -1 : 0, 0,
+                event.getValorMulta(), event.getValorMulta(), null));
+    }
+    
+    @EventListener
+    public void aoRecalcularMulta(MultaRecalculada event) {
+        clienteResumoRepository.aplicar(event.getClienteId(), new ClienteResumo.Variacao(
+                0, 0, 0, event.getDiferenca(), event.getDiferenca(), null));
+    }
+    
+    @EventListener
+    public void aoCancelarLocacao(LocacaoCancelada event) {
+        clienteResumoRepository.aplicar(event.getClienteId(), new ClienteResumo.Variacao(
+                -1, 0, -1, event.getValorLocacao().negate(), BigDecimal.ZERO, null));
+    }
+    
+    @EventListener
+    public void aoExcluirLocacao(LocacaoExcluida event) {
+        StatusLocacao status = event.getStatus();
+        if (status != StatusLocacao.CANCELADA) {
+            BigDecimal multa = event.getValorMulta() != null ? event.getValorMulta() : BigDecimal.ZERO;
+            clienteResumoRepository.aplicar(event.getClienteId(), new ClienteResumo.Variacao(
+                    status == StatusLocacao.ATIVA ? -1 : 0,
+                    status == StatusLocacao.ATRASADA ? -1 : 0,
+                    -1,
+                    event.getValorLocacao().add(multa).negate(),
+                    multa.negate(),
+                    null));
+        }
+        clienteResumoRepository.recalcularUltimaLocacao(event.getClienteId());
+    }
+}
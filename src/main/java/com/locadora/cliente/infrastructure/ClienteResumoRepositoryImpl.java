@@ -0,0 +1,104 @@
+package com.locadora.cliente.infrastructure;
+
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.cliente.domain.ClienteResumo;
+import com.locadora.cliente.domain.ClienteResumoRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Implementação JDBC da projeção cliente_resumo
+ */
+@Repository
+public class ClienteResumoRepositoryImpl implements ClienteResumoRepository {
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public ClienteResumoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public Optional<ClienteResumo> findByClienteId(ClienteId clienteId) {
+        // Busca pela chave primária; o LEFT JOIN distingue cliente sem locações de cliente inexistente
+        String sql = """
+            SELECT COALESCE(r.locacoes_ativas, 0) AS locacoes_ativas,
+                   COALESCE(r.locacoes_atrasadas, 0) AS locacoes_atrasadas,
+                   COALESCE(r.total_locacoes, 0) AS total_locacoes,
+                   COALESCE(r.total_gasto, 0) AS total_gasto,
+                   COALESCE(r.total_multas, 0) AS total_multas,
+                   r.ultima_locacao
+            FROM cliente c
+            LEFT JOIN cliente_resumo r ON r.cliente_id = c.id
+            WHERE c.id = :clienteId
+            """;
+        
+        List<ClienteResumo> resumo = jdbcTemplate.query(sql, parametros(clienteId), (rs, rowNum) -> {
+            Date ultimaLocacao = rs.getDate("ultima_locacao");
+            return new ClienteResumo(
+                    clienteId,
+                    rs.getInt("locacoes_ativas"),
+                    rs.getInt("locacoes_atrasadas"),
+                    rs.getInt("total_locacoes"),
+                    rs.getBigDecimal("total_gasto"),
+                    rs.getBigDecimal("total_multas"),
+                    ultimaLocacao != null ? ultimaLocacao.toLocalDate() : null
+            );
+        });
+        return resumo.stream().findFirst();
+    }
+    
+    @Override
+    public void aplicar(ClienteId clienteId, ClienteResumo.Variacao variacao) {
+        // Upsert com soma relativa: eventos concorrentes do mesmo cliente serializam na linha, sem lost updates.
+        // O SELECT sobre cliente ignora eventos de clientes já excluídos (a FK rejeitaria o INSERT).
+        String sql = """
+            INSERT INTO cliente_resumo (cliente_id, locacoes_ativas, locacoes_atrasadas, total_locacoes,
+                                        total_gasto, total_multas, ultima_locacao)
+            SELECT id, :ativas, :atrasadas, :locacoes, :gasto, :multas, :dataLocacao
+            FROM cliente
+            WHERE id = :clienteId
+            ON CONFLICT (cliente_id) DO UPDATE SET
+                locacoes_ativas = cliente_resumo.locacoes_ativas + EXCLUDED.locacoes_ativas,
+                locacoes_atrasadas = cliente_resumo.locacoes_atrasadas + EXCLUDED.locacoes_atrasadas,
+                total_locacoes = cliente_resumo.total_locacoes + EXCLUDED.total_locacoes,
+                total_gasto = cliente_resumo.total_gasto + EXCLUDED.total_gasto,
+                total_multas = cliente_resumo.total_multas + EXCLUDED.total_multas,
+                ultima_locacao = GREATEST(cliente_resumo.ultima_locacao, EXCLUDED.ultima_locacao),
+                atualizado_em = CURRENT_TIMESTAMP
+            """;
+        
+        MapSqlParameterSource params = parametros(clienteId)
+                .addValue("ativas", variacao.locacoesAtivas())
+                .addValue("atrasadas", variacao.locacoesAtrasadas())
+                .addValue("locacoes", variacao.totalLocacoes())
+                .addValue("gasto", variacao.totalGasto())
+                .addValue("multas", variacao.totalMultas())
+                .addValue("dataLocacao", variacao.dataLocacao() != null ? Date.valueOf(variacao.dataLocacao()) : null,
+                        Types.DATE);
+        
+        jdbcTemplate.update(sql, params);
+    }
+    
+    @Override
+    public void recalcularUltimaLocacao(ClienteId clienteId) {
+        String sql = """
+            UPDATE cliente_resumo
+            SET ultima_locacao = (SELECT MAX(data_locacao) FROM locacao WHERE cliente_id = :clienteId),
+                atualizado_em = CURRENT_TIMESTAMP
+            WHERE cliente_id = :clienteId
+            """;
+        
+        jdbcTemplate.update(sql, parametros(clienteId));
+    }
+    
+    private MapSqlParameterSource parametros(ClienteId clienteId) {
+        return new MapSqlParameterSource("clienteId", clienteId.getValue());
+    }
+}
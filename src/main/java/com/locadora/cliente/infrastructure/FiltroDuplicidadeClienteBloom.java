@@ -0,0 +1,112 @@
+package com.locadora.cliente.infrastructure;
+
+import com.locadora.cliente.domain.Cliente;
+import com.locadora.cliente.domain.FiltroDuplicidadeCliente;
+import com.locadora.shared.infrastructure.FiltroBloom;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Filtro de duplicidade com um filtro de Bloom dos emails e CPFs cadastrados.
+ * <p>
+ * É reconstruído a partir da tabela cliente ao iniciar e periodicamente, o que descarta clientes excluídos
+ * (um filtro de Bloom não remove chaves) e incorpora cadastros de outras instâncias. Entre reconstruções,
+ * os cadastros desta instância entram no filtro após o commit. Desabilitado, responde sempre "pode existir"
+ * e a verificação vai ao banco como antes.
+ */
+@Component
+public class FiltroDuplicidadeClienteBloom implements FiltroDuplicidadeCliente {
+
+    private static final Logger log = LoggerFactory.getLogger(FiltroDuplicidadeClienteBloom.class);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final boolean habilitado;
+    private final long capacidade;
+    private final double taxaFalsosPositivos;
+
+    // Nulo até a primeira reconstrução: sem filtro, tudo "pode existir"
+    private volatile FiltroBloom filtro;
+
+    public FiltroDuplicidadeClienteBloom(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            @Value("${locadora.cliente.filtro-duplicidade.habilitado:true}") boolean habilitado,
+            @Value("${locadora.cliente.filtro-duplicidade.capacidade:1000000}") long capacidade,
+            @Value("${locadora.cliente.filtro-duplicidade.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.habilitado = habilitado;
+        this.capacidade = capacidade;
+        this.taxaFalsosPositivos = taxaFalsosPositivos;
+    }
+
+    @Override
+    public boolean podeExistirEmail(String email) {
+        FiltroBloom atual = filtro;
+        return atual == null || atual.podeConter(chaveEmail(email));
+    }
+
+    @Override
+    public boolean podeExistirCpf(String cpf) {
+        FiltroBloom atual = filtro;
+        return atual == null || atual.podeConter(chaveCpf(cpf));
+    }
+
+    @Override
+    public void registrar(Cliente cliente) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    adicionar(cliente.getEmail(), cliente.getCpf());
+                }
+            });
+        } else {
+            adicionar(cliente.getEmail(), cliente.getCpf());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${locadora.cliente.filtro-duplicidade.reconstrucao-ms:3600000}")
+    public void agendado() {
+        reconstruir();
+    }
+
+    /**
+     * Carrega todos os emails e CPFs em um filtro novo e o troca pelo atual
+     */
+    public void reconstruir() {
+        if (!habilitado) {
+            return;
+        }
+
+        // Emails e CPFs dividem o filtro, então cada cliente ocupa duas chaves
+        FiltroBloom reconstruido = new FiltroBloom(capacidade * 2, taxaFalsosPositivos);
+        jdbcTemplate.getJdbcTemplate().query("SELECT email, cpf FROM cliente", rs -> {
+            reconstruido.adicionar(chaveEmail(rs.getString("email")));
+            reconstruido.adicionar(chaveCpf(rs.getString("cpf")));
+        });
+
+        filtro = reconstruido;
+        log.debug("Filtro de duplicidade de clientes reconstruído");
+    }
+
+    private void adicionar(String email, String cpf) {
+        FiltroBloom atual = filtro;
+        if (atual != null) {
+            atual.adicionar(chaveEmail(email));
+            atual.adicionar(chaveCpf(cpf));
+        }
+    }
+
+    private static String chaveEmail(String email) {
+        return "email:" + email;
+    }
+
+    private static String chaveCpf(String cpf) {
+        return "cpf:" + cpf;
+    }
+}
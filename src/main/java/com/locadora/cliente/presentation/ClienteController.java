@@ -5,9 +5,14 @@ import com.locadora.cliente.application.command.CriarClienteCommandHandler;
 import com.locadora.cliente.domain.Cliente;
 import com.locadora.cliente.domain.ClienteId;
 import com.locadora.cliente.domain.ClienteRepository;
+import com.locadora.cliente.domain.ClienteResumoRepository;
+import com.locadora.shared.presentation.JsonStreamWriter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -24,12 +29,18 @@ public class ClienteController {
     
     private final CriarClienteCommandHandler criarClienteHandler;
     private final ClienteRepository clienteRepository;
+    private final ClienteResumoRepository clienteResumoRepository;
+    private final JsonStreamWriter jsonStreamWriter;
     
     public ClienteController(
             CriarClienteCommandHandler criarClienteHandler,
-            ClienteRepository clienteRepository) {
+            ClienteRepository clienteRepository,
+            ClienteResumoRepository clienteResumoRepository,
+            JsonStreamWriter jsonStreamWriter) {
         this.criarClienteHandler = criarClienteHandler;
         this.clienteRepository = clienteRepository;
+        this.clienteResumoRepository = clienteResumoRepository;
+        this.jsonStreamWriter = jsonStreamWriter;
     }
     
     @PostMapping
@@ -42,13 +53,10 @@ public class ClienteController {
                     request.cpf()
             );
             
-            UUID clienteId = criarClienteHandler.handle(command);
+            // O upsert já devolve o estado persistido, sem nova consulta
+            Cliente cliente = criarClienteHandler.handle(command);
             
-            // Busca o cliente criado para retornar os dados completos
-            Optional<Cliente> cliente = clienteRepository.findById(ClienteId.of(clienteId));
-            
-            return cliente.map(c -> ResponseEntity.status(HttpStatus.CREATED).body(ClienteResponse.from(c)))
-                    .orElse(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+            return ResponseEntity.status(HttpStatus.CREATED).body(ClienteResponse.from(cliente));
             
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -56,6 +64,7 @@ public class ClienteController {
     }
     
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<ClienteResponse> buscarClientePorId(@PathVariable UUID id) {
         Optional<Cliente> cliente = clienteRepository.findById(ClienteId.of(id));
         
@@ -63,7 +72,19 @@ public class ClienteController {
                 .orElse(ResponseEntity.notFound().build());
     }
     
+    /**
+     * Resumo pré-calculado das locações do cliente (uma leitura por chave, independente do histórico)
+     */
+    @GetMapping("/{id}/resumo")
+    @Transactional(readOnly = true)
+    public ResponseEntity<ClienteResumoResponse> buscarResumoCliente(@PathVariable UUID id) {
+        return clienteResumoRepository.findByClienteId(ClienteId.of(id))
+                .map(resumo -> ResponseEntity.ok(ClienteResumoResponse.from(resumo)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
     @GetMapping
+    @Transactional(readOnly = true)
     public ResponseEntity<List<ClienteResponse>> listarClientes(
             @RequestParam(required = false) String nome) {
         
@@ -81,7 +102,24 @@ public class ClienteController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Listagem em streaming (?stream=true): NDJSON com Accept application/x-ndjson, senão array JSON em chunks
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> listarClientesEmStream(
+            @RequestParam(required = false) String nome,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        
+        return jsonStreamWriter.responder(accept, () -> {
+            if (nome != null && !nome.trim().isEmpty()) {
+                return clienteRepository.streamByNomeContaining(nome).map(ClienteResponse::from);
+            }
+            return clienteRepository.streamAll().map(ClienteResponse::from);
+        });
+    }
+    
     @GetMapping("/email/{email}")
+    @Transactional(readOnly = true)
     public ResponseEntity<ClienteResponse> buscarClientePorEmail(@PathVariable String email) {
         Optional<Cliente> cliente = clienteRepository.findByEmail(email);
         
@@ -90,6 +128,7 @@ public class ClienteController {
     }
     
     @GetMapping("/cpf/{cpf}")
+    @Transactional(readOnly = true)
     public ResponseEntity<ClienteResponse> buscarClientePorCpf(@PathVariable String cpf) {
         Optional<Cliente> cliente = clienteRepository.findByCpf(cpf);
         
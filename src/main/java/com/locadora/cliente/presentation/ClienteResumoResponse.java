@@ -0,0 +1,33 @@
+package com.locadora.cliente.presentation;
+
+import com.locadora.cliente.domain.ClienteResumo;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * DTO para resposta do resumo de locações de um cliente
+ */
+public record ClienteResumoResponse(
+        UUID clienteId,
+        Integer locacoesAtivas,
+        Integer locacoesAtrasadas,
+        Integer totalLocacoes,
+        BigDecimal totalGasto,
+        BigDecimal totalMultas,
+        LocalDate ultimaLocacao
+) {
+    
+    public static ClienteResumoResponse from(ClienteResumo resumo) {
+        return new ClienteResumoResponse(
+                resumo.clienteId().getValue(),
+                resumo.locacoesAtivas(),
+                resumo.locacoesAtrasadas(),
+                resumo.totalLocacoes(),
+                resumo.totalGasto(),
+                resumo.totalMultas(),
+                resumo.ultimaLocacao()
+        );
+    }
+}
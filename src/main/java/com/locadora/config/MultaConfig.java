@@ -0,0 +1,45 @@
+package com.locadora.config;
+
+import com.locadora.locacao.domain.PoliticaMulta;
+import com.locadora.locacao.domain.TabelaMulta;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Monta a política de multa a partir de locadora.multa.*; outro bean PoliticaMulta a substitui.
+ * Os percentuais são convertidos uma única vez para pontos-base inteiros, usados no cálculo em centavos.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableConfigurationProperties(MultaProperties.class)
+public class MultaConfig {
+    
+    @Bean
+    @ConditionalOnMissingBean(PoliticaMulta.class)
+    public PoliticaMulta politicaMulta(MultaProperties properties) {
+        Map<String, Integer> taxasPorGenero = new HashMap<>();
+        if (properties.taxasPorGenero() != null) {
+            properties.taxasPorGenero().forEach((genero, percentual) -> taxasPorGenero.put(genero, pontosBase(percentual)));
+        }
+        
+        return new TabelaMulta(
+                properties.taxaDiariaPercentual() != null ? pontosBase(properties.taxaDiariaPercentual()) : 1_000,
+                properties.diasCarencia() != null ? properties.diasCarencia() : 0,
+                properties.tetoPercentual() != null ? pontosBase(properties.tetoPercentual()) : TabelaMulta.SEM_TETO,
+                taxasPorGenero
+        );
+    }
+    
+    private static int pontosBase(BigDecimal percentual) {
+        try {
+            return percentual.movePointRight(2).intValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("Percentual de multa deve ter no máximo duas casas decimais: " + percentual, e);
+        }
+    }
+}
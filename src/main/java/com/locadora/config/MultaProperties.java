@@ -0,0 +1,23 @@
+package com.locadora.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Parâmetros da política de multa (locadora.multa.*), em percentuais do valor da locação
+ *
+ * @param taxaDiariaPercentual percentual cobrado por dia de atraso
+ * @param diasCarencia         dias de atraso não cobrados
+ * @param tetoPercentual       limite da multa; ausente para não limitar
+ * @param taxasPorGenero       percentual diário por gênero, sobrepondo a taxa padrão
+ */
+@ConfigurationProperties(prefix = "locadora.multa")
+public record MultaProperties(
+        BigDecimal taxaDiariaPercentual,
+        Integer diasCarencia,
+        BigDecimal tetoPercentual,
+        Map<String, BigDecimal> taxasPorGenero
+) {
+}
@@ -0,0 +1,73 @@
+package com.locadora.config;
+
+import com.locadora.shared.infrastructure.DataSourceObservado;
+import com.locadora.shared.infrastructure.MetricasJdbc;
+import com.locadora.shared.infrastructure.ReplicasLeitura;
+import com.locadora.shared.infrastructure.RepositorioObservadoPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Instrumentação da camada JDBC: cada bean @Repository é envolvido por um proxy que mede suas chamadas
+ * e o DataSource pelo DataSourceObservado, que mede statements e espera por conexão e registra as consultas
+ * lentas. Pode ser desligada com locadora.jdbc.observacao.habilitada=false.
+ * <p>
+ * Com réplicas de leitura, cada pool (primário e réplicas) é instrumentado antes do roteamento, para que
+ * a espera por conexão meça o pool de fato usado.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "locadora.jdbc.observacao.habilitada", havingValue = "true", matchIfMissing = true)
+public class ObservacaoJdbcConfig {
+
+    static final int ORDEM_DATA_SOURCE_OBSERVADO = Ordered.HIGHEST_PRECEDENCE;
+
+    // Post-processors são criados antes dos demais beans: métodos estáticos e MeterRegistry resolvido depois
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static MetricasJdbc metricasJdbc(ObjectProvider<MeterRegistry> registryProvider) {
+        return new MetricasJdbc(registryProvider);
+    }
+
+    @Bean
+    static RepositorioObservadoPostProcessor repositorioObservadoPostProcessor(MetricasJdbc metricasJdbc) {
+        return new RepositorioObservadoPostProcessor(metricasJdbc);
+    }
+
+    @Bean
+    static BeanPostProcessor dataSourceObservadoPostProcessor(
+            MetricasJdbc metricasJdbc,
+            @Value("${locadora.jdbc.consulta-lenta:500ms}") Duration limiarConsultaLenta) {
+        return new DataSourceObservadoPostProcessor(metricasJdbc, limiarConsultaLenta);
+    }
+
+    private record DataSourceObservadoPostProcessor(MetricasJdbc metricasJdbc, Duration limiarConsultaLenta)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource dataSource && !(bean instanceof DataSourceObservado)) {
+                return new DataSourceObservado(dataSource, metricasJdbc, limiarConsultaLenta);
+            }
+            if (bean instanceof ReplicasLeitura replicas) {
+                replicas.envolver(pool -> new DataSourceObservado(pool, metricasJdbc, limiarConsultaLenta));
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return ORDEM_DATA_SOURCE_OBSERVADO;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.locadora.config;
+
+import com.locadora.shared.infrastructure.DataSourceRoteado;
+import com.locadora.shared.infrastructure.ReplicasLeitura;
+import com.locadora.shared.presentation.AderenciaPrimarioFilter;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Réplicas de leitura: com locadora.replica.urls preenchido, o DataSource da aplicação passa a enviar as
+ * transações somente leitura (query handlers e GETs) para as réplicas em dia e o resto para o primário.
+ * As réplicas usam as mesmas credenciais e a mesma configuração do Hikari do primário, cada uma com seu pool.
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnExpression("!'${locadora.replica.urls:}'.isBlank()")
+public class ReplicaLeituraConfig {
+
+    @Bean
+    ReplicasLeitura replicasLeitura(
+            DataSourceProperties dataSourceProperties,
+            Environment environment,
+            @Value("${locadora.replica.urls}") String urls,
+            @Value("${locadora.replica.maximum-pool-size:10}") int tamanhoPool,
+            @Value("${locadora.replica.atraso-maximo:2s}") Duration atrasoMaximo) {
+        HikariConfig base = new HikariConfig();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(base));
+
+        List<HikariDataSource> pools = new ArrayList<>();
+        List<String> enderecos = Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+        for (int i = 0; i < enderecos.size(); i++) {
+            // Pool iniciado só na primeira conexão: réplica fora do ar não impede a subida da aplicação
+            HikariDataSource pool = new HikariDataSource();
+            base.copyStateTo(pool);
+            pool.setJdbcUrl(enderecos.get(i));
+            pool.setUsername(dataSourceProperties.determineUsername());
+            pool.setPassword(dataSourceProperties.determinePassword());
+            pool.setDriverClassName(dataSourceProperties.determineDriverClassName());
+            pool.setPoolName("locadora-replica-" + (i + 1));
+            pool.setMaximumPoolSize(tamanhoPool);
+            pool.setMinimumIdle(Math.min(tamanhoPool, base.getMinimumIdle()));
+            pools.add(pool);
+        }
+        return new ReplicasLeitura(pools, atrasoMaximo);
+    }
+
+    // Roda depois do post-processor da observação JDBC: o roteamento recebe o pool do primário já instrumentado
+    @Bean
+    static BeanPostProcessor dataSourceRoteadoPostProcessor(
+            ObjectProvider<ReplicasLeitura> replicasLeitura,
+            @Value("${locadora.replica.aderencia:5s}") Duration aderencia) {
+        return new RoteamentoPostProcessor(replicasLeitura, aderencia);
+    }
+
+    @Bean
+    FilterRegistrationBean<AderenciaPrimarioFilter> aderenciaPrimarioFilter() {
+        FilterRegistrationBean<AderenciaPrimarioFilter> registro = new FilterRegistrationBean<>(new AderenciaPrimarioFilter());
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    private record RoteamentoPostProcessor(ObjectProvider<ReplicasLeitura> replicasLeitura, Duration aderencia)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource primario && envolvePool(primario)) {
+                LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy();
+                // Valores padrão do PostgreSQL, para não abrir uma conexão só para descobri-los
+                proxy.setDefaultAutoCommit(true);
+                proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+                proxy.setTargetDataSource(new DataSourceRoteado(primario, replicasLeitura, aderencia));
+                proxy.afterPropertiesSet();
+                return proxy;
+            }
+            return bean;
+        }
+
+        private static boolean envolvePool(DataSource dataSource) {
+            if (dataSource instanceof LazyConnectionDataSourceProxy) {
+                return false;
+            }
+            try {
+                return dataSource.isWrapperFor(HikariDataSource.class);
+            } catch (SQLException e) {
+                return false;
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return ObservacaoJdbcConfig.ORDEM_DATA_SOURCE_OBSERVADO + 1;
+        }
+    }
+}
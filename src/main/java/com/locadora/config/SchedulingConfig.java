@@ -0,0 +1,15 @@
+package com.locadora.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Habilita as tarefas agendadas (relay do outbox). Pode ser desligado com locadora.scheduling.habilitado=false,
+ * por exemplo nos testes, que acionam as tarefas manualmente.
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+@ConditionalOnProperty(name = "locadora.scheduling.habilitado", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig {
+}
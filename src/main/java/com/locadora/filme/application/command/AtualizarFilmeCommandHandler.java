@@ -13,7 +13,7 @@ import org.springframework.transaction.annotation.Transactional;
  */
 @Service
 @Transactional
-public class AtualizarFilmeCommandHandler implements CommandHandler<AtualizarFilmeCommand, Void> {
+public class AtualizarFilmeCommandHandler implements CommandHandler<AtualizarFilmeCommand, Filme> {
     
     private final FilmeRepository filmeRepository;
     
@@ -22,7 +22,7 @@ public class AtualizarFilmeCommandHandler implements CommandHandler<AtualizarFil
     }
     
     @Override
-    public Void handle(AtualizarFilmeCommand command) {
+    public Filme handle(AtualizarFilmeCommand command) {
         FilmeId filmeId = FilmeId.of(command.filmeId());
         
         Filme filme = filmeRepository.findById(filmeId)
@@ -45,8 +45,7 @@ public class AtualizarFilmeCommandHandler implements CommandHandler<AtualizarFil
                 novosDetalhes
         );
         
-        filmeRepository.save(filme);
-        
-        return null;
+        // Os eventos de domínio (FilmeAtualizadoEvent) vão para o outbox na mesma transação
+        return filmeRepository.save(filme);
     }
 }
\ No newline at end of file
@@ -1,29 +1,36 @@
 package com.locadora.filme.application.command;
 
+import com.locadora.filme.domain.EstoqueFilmeRepository;
 import com.locadora.filme.domain.Filme;
 import com.locadora.filme.domain.FilmeDetalhes;
 import com.locadora.filme.domain.FilmeRepository;
 import com.locadora.shared.cqrs.CommandHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
-
 /**
  * Handler para o comando de criar filme
  */
 @Service
 @Transactional
-public class CriarFilmeCommandHandler implements CommandHandler<CriarFilmeCommand, UUID> {
+public class CriarFilmeCommandHandler implements CommandHandler<CriarFilmeCommand, Filme> {
     
     private final FilmeRepository filmeRepository;
+    private final EstoqueFilmeRepository estoqueFilmeRepository;
+    private final int copiasPadrao;
     
-    public CriarFilmeCommandHandler(FilmeRepository filmeRepository) {
+    public CriarFilmeCommandHandler(
+            FilmeRepository filmeRepository,
+            EstoqueFilmeRepository estoqueFilmeRepository,
+            @Value("${locadora.estoque.copias-padrao:1}") int copiasPadrao) {
         this.filmeRepository = filmeRepository;
+        this.estoqueFilmeRepository = estoqueFilmeRepository;
+        this.copiasPadrao = copiasPadrao;
     }
     
     @Override
-    public UUID handle(CriarFilmeCommand command) {
+    public Filme handle(CriarFilmeCommand command) {
         FilmeDetalhes detalhes = new FilmeDetalhes(
                 command.atores(),
                 command.sinopse(),
@@ -41,8 +48,9 @@ public class CriarFilmeCommandHandler implements CommandHandler<CriarFilmeComman
                 detalhes
         );
         
-        filmeRepository.save(filme);
+        Filme salvo = filmeRepository.save(filme);
+        estoqueFilmeRepository.definirCopias(filme.getFilmeId(), copiasPadrao);
         
-        return filme.getFilmeId().getValue();
+        return salvo;
     }
 }
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.locadora.filme.application.command;
+
+import com.locadora.shared.cqrs.Command;
+
+import java.util.UUID;
+
+/**
+ * Comando para definir o total de cópias de um filme
+ */
+public record DefinirEstoqueCommand(
+        UUID filmeId,
+        Integer totalCopias
+) implements Command {
+    
+    public DefinirEstoqueCommand {
+        if (filmeId == null) {
+            throw new IllegalArgumentException("ID do filme é obrigatório");
+        }
+        if (totalCopias == null || totalCopias < 0) {
+            throw new IllegalArgumentException("Total de cópias deve ser zero ou positivo");
+        }
+    }
+}
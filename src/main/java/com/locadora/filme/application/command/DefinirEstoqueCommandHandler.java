@@ -0,0 +1,36 @@
+package com.locadora.filme.application.command;
+
+import com.locadora.filme.domain.EstoqueFilmeRepository;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.filme.presentation.EstoqueFilmeResponse;
+import com.locadora.shared.cqrs.CommandHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Handler para o comando de definir o estoque de um filme
+ */
+@Service
+@Transactional
+public class DefinirEstoqueCommandHandler implements CommandHandler<DefinirEstoqueCommand, EstoqueFilmeResponse> {
+    
+    private final FilmeRepository filmeRepository;
+    private final EstoqueFilmeRepository estoqueFilmeRepository;
+    
+    public DefinirEstoqueCommandHandler(FilmeRepository filmeRepository, EstoqueFilmeRepository estoqueFilmeRepository) {
+        this.filmeRepository = filmeRepository;
+        this.estoqueFilmeRepository = estoqueFilmeRepository;
+    }
+    
+    @Override
+    public EstoqueFilmeResponse handle(DefinirEstoqueCommand command) {
+        FilmeId filmeId = FilmeId.of(command.filmeId());
+        
+        if (!filmeRepository.existsById(filmeId)) {
+            throw new IllegalArgumentException("Filme não encontrado: " + command.filmeId());
+        }
+        
+        return EstoqueFilmeResponse.from(estoqueFilmeRepository.definirCopias(filmeId, command.totalCopias()));
+    }
+}
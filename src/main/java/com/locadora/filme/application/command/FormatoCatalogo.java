@@ -0,0 +1,33 @@
+package com.locadora.filme.application.command;
+
+import java.util.Locale;
+
+/**
+ * Formatos aceitos na importação de catálogo
+ */
+public enum FormatoCatalogo {
+    
+    /**
+     * Cabeçalho com os nomes das colunas (nome, diretor e ano obrigatórios); atores separados por "|"
+     */
+    CSV,
+    
+    /**
+     * Um objeto JSON por linha, com os mesmos campos da criação de filme
+     */
+    NDJSON;
+    
+    /**
+     * Formato pela extensão do arquivo (.csv, .ndjson ou .jsonl)
+     */
+    public static FormatoCatalogo doArquivo(String nomeArquivo) {
+        String nome = nomeArquivo.toLowerCase(Locale.ROOT);
+        if (nome.endsWith(".csv")) {
+            return CSV;
+        }
+        if (nome.endsWith(".ndjson") || nome.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Extensão de catálogo não suportada: " + nomeArquivo);
+    }
+}
@@ -0,0 +1,17 @@
+package com.locadora.filme.application.command;
+
+import com.locadora.shared.cqrs.Command;
+
+import java.io.InputStream;
+import java.util.Objects;
+
+/**
+ * Comando para importar um catálogo de filmes em massa, lido em streaming de {@code entrada}
+ */
+public record ImportarCatalogoCommand(InputStream entrada, FormatoCatalogo formato) implements Command {
+    
+    public ImportarCatalogoCommand {
+        Objects.requireNonNull(entrada, "Entrada do catálogo não pode ser nula");
+        Objects.requireNonNull(formato, "Formato do catálogo não pode ser nulo");
+    }
+}
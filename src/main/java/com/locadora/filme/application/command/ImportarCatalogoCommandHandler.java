@@ -0,0 +1,146 @@
+package com.locadora.filme.application.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.filme.domain.FilmeImportado;
+import com.locadora.filme.domain.ImportacaoCatalogoRepository;
+import com.locadora.shared.cqrs.CommandHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Handler para o comando de importar catálogo.
+ * <p>
+ * O arquivo é lido em streaming e gravado em lotes de locadora.importacao.tamanho-lote títulos, cada um em
+ * sua transação: a memória usada não depende do tamanho do catálogo. Linhas inválidas são puladas e
+ * relatadas; se um lote falhar, os anteriores continuam gravados e reimportar o arquivo é seguro, já que
+ * títulos existentes são atualizados e não duplicados.
+ */
+@Service
+public class ImportarCatalogoCommandHandler implements CommandHandler<ImportarCatalogoCommand, ResultadoImportacao> {
+
+    private final ImportacaoCatalogoRepository importacaoRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int copiasPadrao;
+    private final int tamanhoLote;
+    private final int maxErros;
+
+    public ImportarCatalogoCommandHandler(
+            ImportacaoCatalogoRepository importacaoRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${locadora.estoque.copias-padrao:1}") int copiasPadrao,
+            @Value("${locadora.importacao.tamanho-lote:50000}") int tamanhoLote,
+            @Value("${locadora.importacao.max-erros:100}") int maxErros) {
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("Tamanho do lote de importação deve ser maior que zero");
+        }
+        this.importacaoRepository = importacaoRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.copiasPadrao = copiasPadrao;
+        this.tamanhoLote = tamanhoLote;
+        this.maxErros = maxErros;
+    }
+
+    @Override
+    public ResultadoImportacao handle(ImportarCatalogoCommand command) {
+        try (LeitorCatalogo leitor = LeitorCatalogo.abrir(command.entrada(), command.formato(), objectMapper)) {
+            Titulos titulos = new Titulos(leitor);
+            long inseridos = 0;
+            long atualizados = 0;
+            while (titulos.restantes()) {
+                titulos.novoLote();
+                ImportacaoCatalogoRepository.Mesclagem mesclagem = transactionTemplate.execute(
+                        status -> importacaoRepository.mesclar(titulos, copiasPadrao));
+                if (mesclagem != null) {
+                    inseridos += mesclagem.inseridos();
+                    atualizados += mesclagem.atualizados();
+                }
+            }
+            return new ResultadoImportacao(titulos.lidas, inseridos, atualizados, titulos.rejeitadas,
+                    List.copyOf(titulos.erros));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao ler o catálogo", e);
+        }
+    }
+
+    /**
+     * Títulos válidos do arquivo, entregues ao repositório até completar o lote corrente
+     */
+    private final class Titulos implements Iterator<FilmeImportado> {
+
+        private final LeitorCatalogo leitor;
+        private final List<ResultadoImportacao.ErroLinha> erros = new ArrayList<>();
+        private FilmeImportado proximo;
+        private boolean fim;
+        private int noLote;
+        private long lidas;
+        private long rejeitadas;
+
+        Titulos(LeitorCatalogo leitor) {
+            this.leitor = leitor;
+        }
+
+        boolean restantes() {
+            return avancar();
+        }
+
+        void novoLote() {
+            noLote = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return noLote < tamanhoLote && avancar();
+        }
+
+        @Override
+        public FilmeImportado next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            FilmeImportado filme = proximo;
+            proximo = null;
+            noLote++;
+            return filme;
+        }
+
+        private boolean avancar() {
+            while (proximo == null && !fim) {
+                LeitorCatalogo.Linha linha = ler();
+                if (linha == null) {
+                    fim = true;
+                } else {
+                    lidas++;
+                    if (linha.erro() == null) {
+                        proximo = linha.filme();
+                    } else {
+                        rejeitadas++;
+                        if (erros.size() < maxErros) {
+                            erros.add(new ResultadoImportacao.ErroLinha(linha.numero(), linha.erro()));
+                        }
+                    }
+                }
+            }
+            return proximo != null;
+        }
+
+        private LeitorCatalogo.Linha ler() {
+            try {
+                return leitor.proxima();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Erro ao ler o catálogo", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.locadora.filme.application.command;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.domain.FilmeImportado;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lê um catálogo linha a linha, sem carregar o arquivo em memória. Cada título é validado ao ser lido;
+ * um título inválido vira uma linha com erro e a leitura continua.
+ */
+abstract class LeitorCatalogo implements Closeable {
+
+    /**
+     * Título lido ({@code filme}) ou motivo da rejeição ({@code erro}), com a linha onde começa no arquivo
+     */
+    record Linha(long numero, FilmeImportado filme, String erro) {
+    }
+
+    protected final BufferedReader reader;
+    protected long numeroLinha;
+
+    private LeitorCatalogo(InputStream entrada) {
+        this.reader = new BufferedReader(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+    }
+
+    static LeitorCatalogo abrir(InputStream entrada, FormatoCatalogo formato, ObjectMapper objectMapper)
+            throws IOException {
+        return switch (formato) {
+            case CSV -> new Csv(entrada);
+            case NDJSON -> new Ndjson(entrada, objectMapper);
+        };
+    }
+
+    /**
+     * Próxima linha com conteúdo, ou null no fim do arquivo
+     */
+    abstract Linha proxima() throws IOException;
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    static Linha converter(long numero, String nome, String diretor, Integer ano, FilmeDetalhes detalhes) {
+        if (ano == null) {
+            return new Linha(numero, null, "Ano é obrigatório");
+        }
+        try {
+            return new Linha(numero, new FilmeImportado(numero, nome, diretor, ano, detalhes), null);
+        } catch (IllegalArgumentException e) {
+            return new Linha(numero, null, e.getMessage());
+        }
+    }
+
+    private static final class Csv extends LeitorCatalogo {
+
+        private static final List<String> COLUNAS = List.of(
+                "nome", "diretor", "ano", "atores", "sinopse", "genero", "duracao", "classificacao", "idioma", "pais");
+
+        // Posição de cada coluna conhecida no arquivo (-1 se ausente)
+        private final int[] posicoes = new int[COLUNAS.size()];
+
+        Csv(InputStream entrada) throws IOException {
+            super(entrada);
+            List<String> cabecalho = registro();
+            if (cabecalho == null) {
+                throw new IllegalArgumentException("Catálogo CSV vazio");
+            }
+            Map<String, Integer> indices = new HashMap<>();
+            for (int i = 0; i < cabecalho.size(); i++) {
+                // Planilhas costumam gravar o BOM do UTF-8 no início do arquivo
+                String coluna = i == 0 ? cabecalho.get(i).replace("\uFEFF", "") : cabecalho.get(i);
+                indices.put(coluna.trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (int i = 0; i < COLUNAS.size(); i++) {
+                posicoes[i] = indices.getOrDefault(COLUNAS.get(i), -1);
+            }
+            if (posicoes[0] < 0 || posicoes[1] < 0 || posicoes[2] < 0) {
+                throw new IllegalArgumentException("Cabeçalho do catálogo CSV deve ter as colunas nome, diretor e ano");
+            }
+        }
+
+        @Override
+        Linha proxima() throws IOException {
+            List<String> campos;
+            long inicio;
+            do {
+                inicio = numeroLinha + 1;
+                campos = registro();
+                if (campos == null) {
+                    return null;
+                }
+            } while (campos.size() == 1 && campos.get(0).isBlank());
+
+            Integer ano = inteiro(campo(campos, 2));
+            Integer duracao = inteiro(campo(campos, 6));
+            if (ano == null && campo(campos, 2) != null) {
+                return new Linha(inicio, null, "Ano inválido: " + campo(campos, 2));
+            }
+            if (duracao == null && campo(campos, 6) != null) {
+                return new Linha(inicio, null, "Duração inválida: " + campo(campos, 6));
+            }
+
+            String atores = campo(campos, 3);
+            FilmeDetalhes detalhes = new FilmeDetalhes(
+                    atores != null
+                            ? Arrays.stream(atores.split("\\|")).map(String::trim).filter(a -> !a.isEmpty()).toList()
+                            : null,
+                    campo(campos, 4),
+                    campo(campos, 5),
+                    duracao,
+                    campo(campos, 7),
+                    campo(campos, 8),
+                    campo(campos, 9));
+            return converter(inicio, campo(campos, 0), campo(campos, 1), ano, detalhes);
+        }
+
+        private String campo(List<String> campos, int coluna) {
+            int posicao = posicoes[coluna];
+            if (posicao < 0 || posicao >= campos.size() || campos.get(posicao).isEmpty()) {
+                return null;
+            }
+            return campos.get(posicao);
+        }
+
+        private static Integer inteiro(String valor) {
+            if (valor == null) {
+                return null;
+            }
+            try {
+                return Integer.valueOf(valor.trim());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        // RFC 4180: campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha
+        private List<String> registro() throws IOException {
+            String texto = reader.readLine();
+            if (texto == null) {
+                return null;
+            }
+            numeroLinha++;
+
+            List<String> campos = new ArrayList<>();
+            StringBuilder campo = new StringBuilder();
+            boolean entreAspas = false;
+            int i = 0;
+            while (true) {
+                if (i == texto.length()) {
+                    if (!entreAspas) {
+                        break;
+                    }
+                    texto = reader.readLine();
+                    if (texto == null) {
+                        throw new IllegalArgumentException("Aspas não fechadas no catálogo CSV (linha " + numeroLinha + ")");
+                    }
+                    numeroLinha++;
+                    campo.append('\n');
+                    i = 0;
+                    continue;
+                }
+                char c = texto.charAt(i++);
+                if (entreAspas) {
+                    if (c != '"') {
+                        campo.append(c);
+                    } else if (i < texto.length() && texto.charAt(i) == '"') {
+                        campo.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else if (c == '"') {
+                    entreAspas = true;
+                } else if (c == ',') {
+                    campos.add(campo.toString());
+                    campo.setLength(0);
+                } else {
+                    campo.append(c);
+                }
+            }
+            campos.add(campo.toString());
+            return campos;
+        }
+    }
+
+    private static final class Ndjson extends LeitorCatalogo {
+
+        private final ObjectReader objectReader;
+
+        Ndjson(InputStream entrada, ObjectMapper objectMapper) {
+            super(entrada);
+            this.objectReader = objectMapper.readerFor(TituloJson.class);
+        }
+
+        @Override
+        Linha proxima() throws IOException {
+            String texto;
+            do {
+                texto = reader.readLine();
+                if (texto == null) {
+                    return null;
+                }
+                numeroLinha++;
+            } while (texto.isBlank());
+
+            TituloJson titulo;
+            try {
+                titulo = objectReader.readValue(texto);
+            } catch (JsonProcessingException e) {
+                return new Linha(numeroLinha, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+            if (titulo == null) {
+                return new Linha(numeroLinha, null, "Linha sem objeto JSON");
+            }
+            FilmeDetalhes detalhes = new FilmeDetalhes(titulo.atores(), titulo.sinopse(), titulo.genero(),
+                    titulo.duracao(), titulo.classificacao(), titulo.idioma(), titulo.pais());
+            return converter(numeroLinha, titulo.nome(), titulo.diretor(), titulo.ano(), detalhes);
+        }
+    }
+
+    /**
+     * Título no formato NDJSON: os mesmos campos de CriarFilmeRequest
+     */
+    record TituloJson(
+            String nome,
+            String diretor,
+            Integer ano,
+            List<String> atores,
+            String sinopse,
+            String genero,
+            Integer duracao,
+            String classificacao,
+            String idioma,
+            String pais
+    ) {
+    }
+}
@@ -0,0 +1,19 @@
+package com.locadora.filme.application.command;
+
+import java.util.List;
+
+/**
+ * Resumo de uma importação de catálogo. {@code erros} traz as primeiras linhas rejeitadas
+ * (até locadora.importacao.max-erros); {@code rejeitadas} conta todas.
+ */
+public record ResultadoImportacao(
+        long lidas,
+        long inseridos,
+        long atualizados,
+        long rejeitadas,
+        List<ErroLinha> erros
+) {
+    
+    public record ErroLinha(long linha, String mensagem) {
+    }
+}
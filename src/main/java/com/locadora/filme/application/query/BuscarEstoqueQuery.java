@@ -0,0 +1,18 @@
+package com.locadora.filme.application.query;
+
+import com.locadora.filme.presentation.EstoqueFilmeResponse;
+import com.locadora.shared.cqrs.Query;
+
+import java.util.UUID;
+
+/**
+ * Query para consultar as cópias disponíveis de um filme
+ */
+public record BuscarEstoqueQuery(UUID filmeId) implements Query<EstoqueFilmeResponse> {
+    
+    public BuscarEstoqueQuery {
+        if (filmeId == null) {
+            throw new IllegalArgumentException("ID do filme é obrigatório");
+        }
+    }
+}
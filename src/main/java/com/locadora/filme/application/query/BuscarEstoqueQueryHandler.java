@@ -0,0 +1,29 @@
+package com.locadora.filme.application.query;
+
+import com.locadora.filme.domain.EstoqueFilmeRepository;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.presentation.EstoqueFilmeResponse;
+import com.locadora.shared.cqrs.QueryHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Handler para a query de estoque de um filme
+ */
+@Service
+@Transactional(readOnly = true)
+public class BuscarEstoqueQueryHandler implements QueryHandler<BuscarEstoqueQuery, EstoqueFilmeResponse> {
+    
+    private final EstoqueFilmeRepository estoqueFilmeRepository;
+    
+    public BuscarEstoqueQueryHandler(EstoqueFilmeRepository estoqueFilmeRepository) {
+        this.estoqueFilmeRepository = estoqueFilmeRepository;
+    }
+    
+    @Override
+    public EstoqueFilmeResponse handle(BuscarEstoqueQuery query) {
+        return estoqueFilmeRepository.findByFilmeId(FilmeId.of(query.filmeId()))
+                .map(EstoqueFilmeResponse::from)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,29 @@
+package com.locadora.filme.application.query;
+
+import com.locadora.filme.presentation.FilmeResponse;
+import com.locadora.shared.cqrs.Query;
+
+import java.util.List;
+
+/**
+ * Query de busca textual de filmes por relevância (nome, atores e sinopse)
+ */
+public record BuscarFilmesPorTextoQuery(String termo, Integer limite) implements Query<List<FilmeResponse>> {
+    
+    public static final int LIMITE_PADRAO = 20;
+    public static final int LIMITE_MAXIMO = 100;
+    
+    public BuscarFilmesPorTextoQuery {
+        if (termo == null || termo.trim().isEmpty()) {
+            throw new IllegalArgumentException("Termo de busca é obrigatório");
+        }
+        if (limite != null && (limite < 1 || limite > LIMITE_MAXIMO)) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        termo = termo.trim();
+    }
+    
+    public int limiteEfetivo() {
+        return limite != null ? limite : LIMITE_PADRAO;
+    }
+}
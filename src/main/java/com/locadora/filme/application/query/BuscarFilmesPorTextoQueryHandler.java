@@ -0,0 +1,32 @@
+package com.locadora.filme.application.query;
+
+import com.locadora.filme.domain.FilmeEncontrado;
+import com.locadora.filme.domain.FilmeSearchRepository;
+import com.locadora.filme.presentation.FilmeResponse;
+import com.locadora.shared.cqrs.QueryHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Handler para a query de busca textual de filmes
+ */
+@Service
+@Transactional(readOnly = true)
+public class BuscarFilmesPorTextoQueryHandler implements QueryHandler<BuscarFilmesPorTextoQuery, List<FilmeResponse>> {
+    
+    private final FilmeSearchRepository filmeSearchRepository;
+    
+    public BuscarFilmesPorTextoQueryHandler(FilmeSearchRepository filmeSearchRepository) {
+        this.filmeSearchRepository = filmeSearchRepository;
+    }
+    
+    @Override
+    public List<FilmeResponse> handle(BuscarFilmesPorTextoQuery query) {
+        return filmeSearchRepository.buscar(query.termo(), query.limiteEfetivo()).stream()
+                .map(FilmeEncontrado::filme)
+                .map(FilmeResponse::from)
+                .toList();
+    }
+}
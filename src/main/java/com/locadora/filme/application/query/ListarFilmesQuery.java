@@ -1,22 +1,54 @@
 package com.locadora.filme.application.query;
 
 import com.locadora.shared.cqrs.Query;
+import com.locadora.shared.domain.Pagina;
 import com.locadora.filme.presentation.FilmeResponse;
 
 import java.util.List;
 
 /**
- * Query para listar filmes com filtros opcionais
+ * Query para listar filmes com filtros opcionais combináveis, paginada por cursor
  */
 public record ListarFilmesQuery(
         String nome,
         String diretor,
         Integer ano,
         String genero,
-        String ator
-) implements Query<List<FilmeResponse>> {
+        String ator,
+        String classificacao,
+        Integer duracaoMinima,
+        Integer duracaoMaxima,
+        List<String> atores,
+        String cursor,
+        Integer limite
+) implements Query<Pagina<FilmeResponse>> {
+    
+    public static final int LIMITE_PADRAO = 100;
+    public static final int LIMITE_MAXIMO = 500;
+    
+    public ListarFilmesQuery {
+        if (limite != null && (limite < 1 || limite > LIMITE_MAXIMO)) {
+            throw new IllegalArgumentException("Limite deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        if (duracaoMinima != null && duracaoMaxima != null && duracaoMinima > duracaoMaxima) {
+            throw new IllegalArgumentException("Duração mínima não pode ser maior que a duração máxima");
+        }
+    }
+    
+    public ListarFilmesQuery(String nome, String diretor, Integer ano, String genero, String ator,
+                             String cursor, Integer limite) {
+        this(nome, diretor, ano, genero, ator, null, null, null, null, cursor, limite);
+    }
+    
+    public ListarFilmesQuery(String nome, String diretor, Integer ano, String genero, String ator) {
+        this(nome, diretor, ano, genero, ator, null, null);
+    }
     
     public ListarFilmesQuery() {
         this(null, null, null, null, null);
     }
-}
\ No newline at end of file
+    
+    public int limiteEfetivo() {
+        return limite != null ? limite : LIMITE_PADRAO;
+    }
+}
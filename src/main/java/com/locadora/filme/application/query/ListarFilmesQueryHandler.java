@@ -1,65 +1,62 @@
 package com.locadora.filme.application.query;
 
-import com.locadora.filme.domain.Filme;
-import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.filme.domain.FilmeCriterios;
+import com.locadora.filme.domain.FilmeCursor;
+import com.locadora.filme.domain.FilmeListagemRepository;
 import com.locadora.filme.presentation.FilmeResponse;
 import com.locadora.shared.cqrs.QueryHandler;
+import com.locadora.shared.domain.Pagina;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
+import java.util.stream.Stream;
 
 /**
- * Handler para a query de listar filmes
+ * Handler para a query de listar filmes.
+ * Todos os filtros informados são combinados (AND) em uma única consulta, lida pela projeção FilmeListado:
+ * os detalhes já vêm em colunas e viram FilmeResponse sem desserializar o JSONB.
  */
 @Service
 @Transactional(readOnly = true)
-public class ListarFilmesQueryHandler implements QueryHandler<ListarFilmesQuery, List<FilmeResponse>> {
+public class ListarFilmesQueryHandler implements QueryHandler<ListarFilmesQuery, Pagina<FilmeResponse>> {
     
-    private final FilmeRepository filmeRepository;
+    private final FilmeListagemRepository filmeListagemRepository;
     
-    public ListarFilmesQueryHandler(FilmeRepository filmeRepository) {
-        this.filmeRepository = filmeRepository;
+    public ListarFilmesQueryHandler(FilmeListagemRepository filmeListagemRepository) {
+        this.filmeListagemRepository = filmeListagemRepository;
     }
     
     @Override
-    public List<FilmeResponse> handle(ListarFilmesQuery query) {
-        List<Filme> filmes;
+    public Pagina<FilmeResponse> handle(ListarFilmesQuery query) {
+        FilmeCursor cursor = query.cursor() != null && !query.cursor().isBlank()
+                ? FilmeCursor.fromToken(query.cursor())
+                : null;
         
-        // Se não há filtros, retorna todos os filmes
-        if (isQueryEmpty(query)) {
-            filmes = filmeRepository.findAll();
-        }
-        // Aplica filtros específicos
-        else if (query.nome() != null && !query.nome().trim().isEmpty()) {
-            filmes = filmeRepository.findByNomeContaining(query.nome());
-        }
-        else if (query.diretor() != null && !query.diretor().trim().isEmpty()) {
-            filmes = filmeRepository.findByDiretor(query.diretor());
-        }
-        else if (query.ano() != null) {
-            filmes = filmeRepository.findByAno(query.ano());
-        }
-        else if (query.genero() != null && !query.genero().trim().isEmpty()) {
-            filmes = filmeRepository.findByGenero(query.genero());
-        }
-        else if (query.ator() != null && !query.ator().trim().isEmpty()) {
-            filmes = filmeRepository.findByAtor(query.ator());
-        }
-        else {
-            filmes = filmeRepository.findAll();
-        }
-        
-        return filmes.stream()
-                .map(FilmeResponse::from)
-                .toList();
+        return filmeListagemRepository.listar(criterios(query), cursor, query.limiteEfetivo())
+                .map(FilmeResponse::from);
+    }
+    
+    /**
+     * Todos os filmes que atendem aos filtros, sem paginação (cursor e limite são ignorados).
+     * Deve ser chamado dentro de uma transação já aberta e o Stream deve ser fechado pelo chamador.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.MANDATORY)
+    public Stream<FilmeResponse> stream(ListarFilmesQuery query) {
+        return filmeListagemRepository.stream(criterios(query)).map(FilmeResponse::from);
     }
     
-    private boolean isQueryEmpty(ListarFilmesQuery query) {
-        return (query.nome() == null || query.nome().trim().isEmpty()) &&
-               (query.diretor() == null || query.diretor().trim().isEmpty()) &&
-               query.ano() == null &&
-               (query.genero() == null || query.genero().trim().isEmpty()) &&
-               (query.ator() == null || query.ator().trim().isEmpty());
+    private FilmeCriterios criterios(ListarFilmesQuery query) {
+        return FilmeCriterios.builder()
+                .nome(query.nome())
+                .diretor(query.diretor())
+                .ano(query.ano())
+                .genero(query.genero())
+                .ator(query.ator())
+                .classificacao(query.classificacao())
+                .duracaoMinima(query.duracaoMinima())
+                .duracaoMaxima(query.duracaoMaxima())
+                .atores(query.atores())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,27 @@
+package com.locadora.filme.domain;
+
+/**
+ * Cópias de um filme e quantas delas estão disponíveis para locação
+ */
+public record EstoqueFilme(
+        FilmeId filmeId,
+        int totalCopias,
+        int disponiveis
+) {
+    
+    public EstoqueFilme {
+        if (filmeId == null) {
+            throw new IllegalArgumentException("ID do filme é obrigatório");
+        }
+        if (totalCopias < 0) {
+            throw new IllegalArgumentException("Total de cópias não pode ser negativo");
+        }
+        if (disponiveis < 0 || disponiveis > totalCopias) {
+            throw new IllegalArgumentException("Cópias disponíveis devem estar entre 0 e o total de cópias");
+        }
+    }
+    
+    public int locadas() {
+        return totalCopias - disponiveis;
+    }
+}
@@ -0,0 +1,31 @@
+package com.locadora.filme.domain;
+
+import java.util.Optional;
+
+/**
+ * Repository do estoque de cópias por filme.
+ * <p>
+ * Reservas e devoluções são atualizações condicionais atômicas no banco (sem ler e depois gravar),
+ * então chamadas concorrentes nunca perdem atualizações nem deixam o disponível negativo.
+ */
+public interface EstoqueFilmeRepository {
+    
+    Optional<EstoqueFilme> findByFilmeId(FilmeId filmeId);
+    
+    /**
+     * Define o total de cópias preservando as locadas; falha se o novo total for menor que as cópias locadas
+     */
+    EstoqueFilme definirCopias(FilmeId filmeId, int totalCopias);
+    
+    /**
+     * Reserva uma cópia; retorna false se não houver cópia disponível (ou estoque cadastrado)
+     */
+    boolean reservar(FilmeId filmeId);
+    
+    /**
+     * Reserva até {@code quantidade} cópias e retorna quantas foram de fato reservadas
+     */
+    int reservar(FilmeId filmeId, int quantidade);
+    
+    void liberar(FilmeId filmeId);
+}
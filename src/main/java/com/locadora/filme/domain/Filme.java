@@ -61,12 +61,23 @@ public class Filme extends AggregateRoot<FilmeId> {
     }
     
     private void validateAno() {
+        validarAno(ano);
+    }
+    
+    private void validateNome() {
+        validarNome(nome);
+    }
+    
+    /**
+     * Regras de ano do agregado, para quem valida dados de filme sem instanciá-lo (ex.: importação em massa)
+     */
+    public static void validarAno(int ano) {
         if (ano < 1888 || ano > LocalDateTime.now().getYear() + 5) {
             throw new IllegalArgumentException("Ano do filme deve estar entre 1888 e " + (LocalDateTime.now().getYear() + 5));
         }
     }
     
-    private void validateNome() {
+    public static void validarNome(String nome) {
         if (nome == null || nome.trim().isEmpty()) {
             throw new IllegalArgumentException("Nome do filme não pode estar vazio");
         }
@@ -1,5 +1,7 @@
 package com.locadora.filme.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.locadora.shared.domain.DomainEvent;
 
 import java.time.LocalDateTime;
@@ -12,7 +14,10 @@ public class FilmeAtualizadoEvent implements DomainEvent {
     private final FilmeId filmeId;
     private final LocalDateTime occurredOn;
     
-    public FilmeAtualizadoEvent(FilmeId filmeId, LocalDateTime occurredOn) {
+    @JsonCreator
+    public FilmeAtualizadoEvent(
+            @JsonProperty("filmeId") FilmeId filmeId,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn) {
         this.filmeId = filmeId;
         this.occurredOn = occurredOn;
     }
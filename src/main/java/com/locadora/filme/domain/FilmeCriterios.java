@@ -0,0 +1,133 @@
+package com.locadora.filme.domain;
+
+import java.util.List;
+
+/**
+ * Critérios combináveis de busca de filmes. Critérios nulos (ou em branco) são ignorados
+ * e os informados são combinados com AND.
+ */
+public record FilmeCriterios(
+        String nome,
+        String diretor,
+        Integer ano,
+        String genero,
+        String ator,
+        String classificacao,
+        Integer duracaoMinima,
+        Integer duracaoMaxima,
+        List<String> atores,
+        String pais,
+        String sinopse
+) {
+
+    public FilmeCriterios {
+        nome = normalizar(nome);
+        diretor = normalizar(diretor);
+        genero = normalizar(genero);
+        ator = normalizar(ator);
+        classificacao = normalizar(classificacao);
+        pais = normalizar(pais);
+        sinopse = normalizar(sinopse);
+        atores = atores == null || atores.isEmpty() ? null : List.copyOf(atores);
+
+        if (duracaoMinima != null && duracaoMaxima != null && duracaoMinima > duracaoMaxima) {
+            throw new IllegalArgumentException("Duração mínima não pode ser maior que a duração máxima");
+        }
+    }
+
+    public static FilmeCriterios nenhum() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Filtrar por diretor ordena por ano decrescente (como em findByDiretor); os demais filtros ordenam por nome
+     */
+    public FilmeCursor.Ordenacao ordenacao() {
+        return diretor != null ? FilmeCursor.Ordenacao.ANO : FilmeCursor.Ordenacao.NOME;
+    }
+
+    private static String normalizar(String valor) {
+        return valor == null || valor.trim().isEmpty() ? null : valor;
+    }
+
+    public static class Builder {
+        private String nome;
+        private String diretor;
+        private Integer ano;
+        private String genero;
+        private String ator;
+        private String classificacao;
+        private Integer duracaoMinima;
+        private Integer duracaoMaxima;
+        private List<String> atores;
+        private String pais;
+        private String sinopse;
+
+        private Builder() {
+        }
+
+        public Builder nome(String nome) {
+            this.nome = nome;
+            return this;
+        }
+
+        public Builder diretor(String diretor) {
+            this.diretor = diretor;
+            return this;
+        }
+
+        public Builder ano(Integer ano) {
+            this.ano = ano;
+            return this;
+        }
+
+        public Builder genero(String genero) {
+            this.genero = genero;
+            return this;
+        }
+
+        public Builder ator(String ator) {
+            this.ator = ator;
+            return this;
+        }
+
+        public Builder classificacao(String classificacao) {
+            this.classificacao = classificacao;
+            return this;
+        }
+
+        public Builder duracaoMinima(Integer duracaoMinima) {
+            this.duracaoMinima = duracaoMinima;
+            return this;
+        }
+
+        public Builder duracaoMaxima(Integer duracaoMaxima) {
+            this.duracaoMaxima = duracaoMaxima;
+            return this;
+        }
+
+        public Builder atores(List<String> atores) {
+            this.atores = atores;
+            return this;
+        }
+
+        public Builder pais(String pais) {
+            this.pais = pais;
+            return this;
+        }
+
+        public Builder sinopse(String sinopse) {
+            this.sinopse = sinopse;
+            return this;
+        }
+
+        public FilmeCriterios build() {
+            return new FilmeCriterios(nome, diretor, ano, genero, ator, classificacao,
+                    duracaoMinima, duracaoMaxima, atores, pais, sinopse);
+        }
+    }
+}
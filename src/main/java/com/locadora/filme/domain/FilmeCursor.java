@@ -0,0 +1,70 @@
+package com.locadora.filme.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Cursor de paginação por keyset de filmes.
+ * A ordenação por nome busca a partir de (nome, id); a ordenação por ano busca a partir de (ano, id) decrescente.
+ */
+public record FilmeCursor(Ordenacao ordenacao, String nome, Integer ano, UUID id) {
+
+    public enum Ordenacao {
+        NOME,
+        ANO
+    }
+
+    private static final char SEPARADOR = '\n';
+
+    public FilmeCursor {
+        Objects.requireNonNull(ordenacao, "Ordenação do cursor não pode ser nula");
+        Objects.requireNonNull(id, "ID do cursor não pode ser nulo");
+        if (ordenacao == Ordenacao.NOME && nome == null) {
+            throw new IllegalArgumentException("Cursor por nome requer o nome do último filme");
+        }
+        if (ordenacao == Ordenacao.ANO && ano == null) {
+            throw new IllegalArgumentException("Cursor por ano requer o ano do último filme");
+        }
+    }
+
+    public static FilmeCursor apos(Filme filme, Ordenacao ordenacao) {
+        return new FilmeCursor(ordenacao, filme.getNome(), filme.getAno(), filme.getFilmeId().getValue());
+    }
+
+    public static FilmeCursor apos(FilmeListado filme, Ordenacao ordenacao) {
+        return new FilmeCursor(ordenacao, filme.nome(), filme.ano(), filme.id());
+    }
+
+    /**
+     * Serializa o cursor em um token opaco (Base64 URL-safe) para ser devolvido ao cliente
+     */
+    public String toToken() {
+        String chave = ordenacao == Ordenacao.NOME ? nome : String.valueOf(ano);
+        String conteudo = ordenacao.name() + SEPARADOR + id + SEPARADOR + chave;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(conteudo.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static FilmeCursor fromToken(String token) {
+        try {
+            String conteudo = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int primeiro = conteudo.indexOf(SEPARADOR);
+            int segundo = conteudo.indexOf(SEPARADOR, primeiro + 1);
+            if (primeiro < 0 || segundo < 0) {
+                throw new IllegalArgumentException("Cursor de paginação inválido");
+            }
+
+            Ordenacao ordenacao = Ordenacao.valueOf(conteudo.substring(0, primeiro));
+            UUID id = UUID.fromString(conteudo.substring(primeiro + 1, segundo));
+            String chave = conteudo.substring(segundo + 1);
+
+            return ordenacao == Ordenacao.NOME
+                    ? new FilmeCursor(ordenacao, chave, null, id)
+                    : new FilmeCursor(ordenacao, null, Integer.valueOf(chave), id);
+        } catch (IllegalArgumentException e) {
+            // Inclui Base64, UUID, enum e número mal formados
+            throw new IllegalArgumentException("Cursor de paginação inválido", e);
+        }
+    }
+}
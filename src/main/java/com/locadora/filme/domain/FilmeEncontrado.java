@@ -0,0 +1,7 @@
+package com.locadora.filme.domain;
+
+/**
+ * Resultado de busca textual: o filme e sua relevância para o termo pesquisado
+ */
+public record FilmeEncontrado(Filme filme, double relevancia) {
+}
@@ -1,5 +1,7 @@
 package com.locadora.filme.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import com.locadora.shared.domain.ValueObject;
 
 import java.util.Objects;
@@ -16,6 +18,7 @@ public class FilmeId extends ValueObject {
         this.value = Objects.requireNonNull(value, "FilmeId não pode ser nulo");
     }
     
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
     public static FilmeId of(UUID value) {
         return new FilmeId(value);
     }
@@ -28,6 +31,7 @@ public class FilmeId extends ValueObject {
         return new FilmeId(UUID.randomUUID());
     }
     
+    @JsonValue
     public UUID getValue() {
         return value;
     }
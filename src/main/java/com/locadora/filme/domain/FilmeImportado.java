@@ -0,0 +1,21 @@
+package com.locadora.filme.domain;
+
+/**
+ * Título de um catálogo importado em massa, já validado com as regras do agregado Filme.
+ * <p>
+ * Não tem identidade própria: a mesclagem reconhece o filme pela chave natural (nome, diretor, ano).
+ * {@code linha} é a posição no arquivo de origem, usada para desempatar títulos repetidos.
+ */
+public record FilmeImportado(long linha, String nome, String diretor, int ano, FilmeDetalhes detalhes) {
+    
+    public FilmeImportado {
+        Filme.validarNome(nome);
+        Filme.validarAno(ano);
+        if (diretor == null || diretor.trim().isEmpty()) {
+            throw new IllegalArgumentException("Diretor não pode estar vazio");
+        }
+        if (diretor.length() > 255) {
+            throw new IllegalArgumentException("Diretor não pode ter mais de 255 caracteres");
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.locadora.filme.domain;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Projeção de filme para listagens: os campos de detalhes chegam como colunas tipadas extraídas do JSONB,
+ * sem montar o agregado nem desserializar o documento
+ */
+public record FilmeListado(
+        UUID id,
+        String nome,
+        String diretor,
+        Integer ano,
+        List<String> atores,
+        String sinopse,
+        String genero,
+        Integer duracao,
+        String classificacao,
+        String idioma,
+        String pais,
+        LocalDateTime criadoEm,
+        LocalDateTime atualizadoEm
+) {
+}
@@ -0,0 +1,22 @@
+package com.locadora.filme.domain;
+
+import com.locadora.shared.domain.Pagina;
+
+import java.util.stream.Stream;
+
+/**
+ * Repositório de leitura das listagens de filmes, sobre a projeção FilmeListado
+ */
+public interface FilmeListagemRepository {
+    
+    /**
+     * Página por keyset com os mesmos filtros, ordem e cursor de FilmeRepository.findByCriterios
+     */
+    Pagina<FilmeListado> listar(FilmeCriterios criterios, FilmeCursor apos, int limite);
+    
+    /**
+     * Todos os filmes que atendem aos critérios, em streaming.
+     * Deve ser consumida dentro de uma transação e fechada ao final.
+     */
+    Stream<FilmeListado> stream(FilmeCriterios criterios);
+}
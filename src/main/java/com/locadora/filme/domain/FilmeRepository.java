@@ -1,14 +1,21 @@
 package com.locadora.filme.domain;
 
+import com.locadora.shared.domain.Pagina;
+
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Interface do repositório para a entidade Filme
  */
 public interface FilmeRepository {
     
-    void save(Filme filme);
+    /**
+     * Grava o filme e retorna o estado persistido, lido do próprio upsert (RETURNING)
+     */
+    Filme save(Filme filme);
     
     Optional<Filme> findById(FilmeId id);
     
@@ -35,7 +42,35 @@ public interface FilmeRepository {
     
     List<Filme> findBySinopseContendo(String palavra);
     
+    // Paginação por keyset: o cursor nulo indica a primeira página
+    Pagina<Filme> findByCriterios(FilmeCriterios criterios, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findAll(FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByNomeContaining(String nome, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByDiretor(String diretor, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByAno(Integer ano, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByGenero(String genero, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByAtor(String ator, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByPais(String pais, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByClassificacao(String classificacao, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findByMultiplosAtores(List<String> atores, FilmeCursor apos, int limite);
+    
+    Pagina<Filme> findBySinopseContendo(String palavra, FilmeCursor apos, int limite);
+    
     void deleteById(FilmeId id);
     
     boolean existsById(FilmeId id);
+    
+    /**
+     * Dentre os IDs informados, retorna os que existem (uma única consulta)
+     */
+    Set<FilmeId> findIdsExistentes(Collection<FilmeId> ids);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.locadora.filme.domain;
+
+import java.util.List;
+
+/**
+ * Repositório de busca textual de filmes (nome, atores e sinopse)
+ */
+public interface FilmeSearchRepository {
+    
+    /**
+     * Retorna os filmes mais relevantes para o termo, do mais para o menos relevante
+     */
+    List<FilmeEncontrado> buscar(String termo, int limite);
+}
@@ -0,0 +1,21 @@
+package com.locadora.filme.domain;
+
+import java.util.Iterator;
+
+/**
+ * Gravação em massa de catálogos de filmes.
+ * <p>
+ * Cada chamada consome o iterador inteiro dentro da transação corrente e mescla os títulos em filme:
+ * os que já existem (mesmo nome, diretor e ano) têm os detalhes atualizados, os demais são criados
+ * com o estoque padrão.
+ */
+public interface ImportacaoCatalogoRepository {
+    
+    Mesclagem mesclar(Iterator<FilmeImportado> filmes, int copiasPadrao);
+    
+    /**
+     * Filmes criados e filmes cujos detalhes mudaram; títulos idênticos ao que já está gravado não contam
+     */
+    record Mesclagem(int inseridos, int atualizados) {
+    }
+}
@@ -0,0 +1,340 @@
+package com.locadora.filme.infrastructure;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeCriterios;
+import com.locadora.filme.domain.FilmeCursor;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.shared.domain.Pagina;
+import com.locadora.shared.infrastructure.CanalNotificacoes;
+import com.locadora.shared.infrastructure.ReplicasLeitura;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Collectors;
+
+/**
+ * Decorator do FilmeRepository com cache read-through de findById.
+ * <p>
+ * O cache é limitado pelo peso estimado de cada filme (Caffeine usa W-TinyLFU para decidir o que manter)
+ * e guarda cópias, já que Filme é mutável. A invalidação acontece em save/deleteById, novamente ao fim
+ * da transação (para descartar leituras concorrentes feitas antes do commit) e, em todas as instâncias,
+ * pela notificação publicada no canal filme_cache junto com a escrita e entregue no commit.
+ * <p>
+ * Cada faixa de ids tem uma geração, avançada a cada invalidação; um findById só guarda o que leu
+ * se a geração da faixa não mudou desde o início da leitura. existsById vai sempre ao banco.
+ * <p>
+ * Com réplicas de leitura, o que vai para o cache é sempre lido do primário: em transações somente leitura
+ * (que iriam para uma réplica, possivelmente atrasada) a carga roda fora da transação.
+ */
+@Primary
+@Repository
+public class CachingFilmeRepository implements FilmeRepository {
+    
+    static final String NOME_CACHE = "filme";
+    static final String CANAL = "filme_cache";
+    
+    // Mensagem que descarta o cache inteiro; as demais são ids separados por vírgula
+    private static final String TODOS = "*";
+    
+    // 200 UUIDs cabem com folga no limite de 8000 bytes de uma notificação
+    private static final int IDS_POR_MENSAGEM = 200;
+    
+    // Potência de 2: a faixa de um id é hashCode & (FAIXAS - 1)
+    private static final int FAIXAS = 1024;
+    
+    private final FilmeRepositoryImpl delegate;
+    private final CanalNotificacoes canalNotificacoes;
+    private final TransactionTemplate foraDaTransacao;
+    private final boolean comReplicas;
+    private final Cache<FilmeId, Filme> cache;
+    private final AtomicLongArray geracoes = new AtomicLongArray(FAIXAS);
+    
+    public CachingFilmeRepository(
+            FilmeRepositoryImpl delegate,
+            CanalNotificacoes canalNotificacoes,
+            PlatformTransactionManager transactionManager,
+            ObjectProvider<ReplicasLeitura> replicasLeitura,
+            MeterRegistry meterRegistry,
+            @Value("${locadora.cache.filme.peso-maximo:16777216}") long pesoMaximo,
+            @Value("${locadora.cache.filme.expirar-apos:30m}") Duration expirarApos) {
+        this.delegate = delegate;
+        this.canalNotificacoes = canalNotificacoes;
+        this.foraDaTransacao = new TransactionTemplate(transactionManager);
+        this.foraDaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.comReplicas = replicasLeitura.getIfAvailable() != null;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(pesoMaximo)
+                .weigher((FilmeId id, Filme filme) -> pesoEstimado(filme))
+                .expireAfterWrite(expirarApos)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, NOME_CACHE);
+        canalNotificacoes.assinar(CANAL, this::aoReceberInvalidacao, this::limpar);
+    }
+    
+    @Override
+    public Filme save(Filme filme) {
+        Filme salvo = delegate.save(filme);
+        invalidar(filme.getFilmeId());
+        return salvo;
+    }
+    
+    @Override
+    public Optional<Filme> findById(FilmeId id) {
+        Filme filme = cache.getIfPresent(id);
+        if (filme == null) {
+            int faixa = faixa(id);
+            long geracao = geracoes.get(faixa);
+            Optional<Filme> carregado = carregar(id);
+            if (carregado.isEmpty()) {
+                return Optional.empty();
+            }
+            Filme lido = copiar(carregado.get());
+            // Uma invalidação durante a leitura avança a geração; nesse caso o que foi lido pode estar velho
+            cache.asMap().compute(id, (chave, atual) -> geracoes.get(faixa) == geracao ? lido : atual);
+            filme = lido;
+        }
+        return Optional.of(copiar(filme));
+    }
+    
+    @Override
+    public boolean existsById(FilmeId id) {
+        return delegate.existsById(id);
+    }
+    
+    @Override
+    public Set<FilmeId> findIdsExistentes(Collection<FilmeId> ids) {
+        return delegate.findIdsExistentes(ids);
+    }
+    
+    @Override
+    public void deleteById(FilmeId id) {
+        delegate.deleteById(id);
+        invalidar(id);
+    }
+    
+    /**
+     * Invalida {@code ids} em todas as instâncias no commit da transação corrente, para escritas em filme
+     * feitas fora deste repositório
+     */
+    public void publicarInvalidacao(Collection<FilmeId> ids) {
+        List<FilmeId> lista = List.copyOf(ids);
+        for (int inicio = 0; inicio < lista.size(); inicio += IDS_POR_MENSAGEM) {
+            List<FilmeId> parte = lista.subList(inicio, Math.min(inicio + IDS_POR_MENSAGEM, lista.size()));
+            canalNotificacoes.publicar(CANAL, parte.stream().map(FilmeId::toString).collect(Collectors.joining(",")));
+        }
+    }
+    
+    void aoReceberInvalidacao(String mensagem) {
+        if (TODOS.equals(mensagem)) {
+            limpar();
+            return;
+        }
+        for (String id : mensagem.split(",")) {
+            descartar(FilmeId.of(UUID.fromString(id)));
+        }
+    }
+    
+    public void limpar() {
+        for (int faixa = 0; faixa < FAIXAS; faixa++) {
+            geracoes.incrementAndGet(faixa);
+        }
+        cache.invalidateAll();
+    }
+    
+    @Override
+    public List<Filme> findAll() {
+        return delegate.findAll();
+    }
+    
+    @Override
+    public List<Filme> findByNomeContaining(String nome) {
+        return delegate.findByNomeContaining(nome);
+    }
+    
+    @Override
+    public List<Filme> findByDiretor(String diretor) {
+        return delegate.findByDiretor(diretor);
+    }
+    
+    @Override
+    public List<Filme> findByAno(Integer ano) {
+        return delegate.findByAno(ano);
+    }
+    
+    @Override
+    public List<Filme> findByGenero(String genero) {
+        return delegate.findByGenero(genero);
+    }
+    
+    @Override
+    public List<Filme> findByAtor(String ator) {
+        return delegate.findByAtor(ator);
+    }
+    
+    @Override
+    public List<Filme> findByDuracaoMaiorQue(Integer minutos) {
+        return delegate.findByDuracaoMaiorQue(minutos);
+    }
+    
+    @Override
+    public List<Filme> findByPais(String pais) {
+        return delegate.findByPais(pais);
+    }
+    
+    @Override
+    public List<Filme> findByClassificacao(String classificacao) {
+        return delegate.findByClassificacao(classificacao);
+    }
+    
+    @Override
+    public List<Filme> findByMultiplosAtores(List<String> atores) {
+        return delegate.findByMultiplosAtores(atores);
+    }
+    
+    @Override
+    public List<Filme> findBySinopseContendo(String palavra) {
+        return delegate.findBySinopseContendo(palavra);
+    }
+    
+    @Override
+    public Pagina<Filme> findByCriterios(FilmeCriterios criterios, FilmeCursor apos, int limite) {
+        return delegate.findByCriterios(criterios, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findAll(FilmeCursor apos, int limite) {
+        return delegate.findAll(apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByNomeContaining(String nome, FilmeCursor apos, int limite) {
+        return delegate.findByNomeContaining(nome, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByDiretor(String diretor, FilmeCursor apos, int limite) {
+        return delegate.findByDiretor(diretor, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByAno(Integer ano, FilmeCursor apos, int limite) {
+        return delegate.findByAno(ano, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByGenero(String genero, FilmeCursor apos, int limite) {
+        return delegate.findByGenero(genero, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByAtor(String ator, FilmeCursor apos, int limite) {
+        return delegate.findByAtor(ator, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByPais(String pais, FilmeCursor apos, int limite) {
+        return delegate.findByPais(pais, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByClassificacao(String classificacao, FilmeCursor apos, int limite) {
+        return delegate.findByClassificacao(classificacao, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findByMultiplosAtores(List<String> atores, FilmeCursor apos, int limite) {
+        return delegate.findByMultiplosAtores(atores, apos, limite);
+    }
+    
+    @Override
+    public Pagina<Filme> findBySinopseContendo(String palavra, FilmeCursor apos, int limite) {
+        return delegate.findBySinopseContendo(palavra, apos, limite);
+    }
+    
+    // Fora de transação o DataSource roteado usa o primário, sem ativar a aderência da sessão
+    private Optional<Filme> carregar(FilmeId id) {
+        if (comReplicas && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return foraDaTransacao.execute(status -> delegate.findById(id));
+        }
+        return delegate.findById(id);
+    }
+    
+    private void invalidar(FilmeId id) {
+        descartar(id);
+        canalNotificacoes.publicar(CANAL, id.toString());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    descartar(id);
+                }
+            });
+        }
+    }
+    
+    /**
+     * Avança a geração antes de remover a entrada, para que um findById em andamento não a recoloque
+     */
+    private void descartar(FilmeId id) {
+        geracoes.incrementAndGet(faixa(id));
+        cache.invalidate(id);
+    }
+    
+    private static int faixa(FilmeId id) {
+        return id.hashCode() & (FAIXAS - 1);
+    }
+    
+    private static Filme copiar(Filme filme) {
+        return new Filme(
+                filme.getFilmeId(),
+                filme.getNome(),
+                filme.getDiretor(),
+                filme.getAno(),
+                filme.getDetalhes(),
+                filme.getCriadoEm(),
+                filme.getAtualizadoEm()
+        );
+    }
+    
+    /**
+     * Estimativa grosseira em bytes: cabeçalhos dos objetos mais 2 bytes por caractere das strings
+     */
+    private static int pesoEstimado(Filme filme) {
+        int caracteres = filme.getNome().length() + filme.getDiretor().length();
+        FilmeDetalhes detalhes = filme.getDetalhes();
+        if (detalhes != null) {
+            caracteres += tamanho(detalhes.getSinopse()) + tamanho(detalhes.getGenero())
+                    + tamanho(detalhes.getClassificacao()) + tamanho(detalhes.getIdioma())
+                    + tamanho(detalhes.getPais());
+            for (String ator : detalhes.getAtores()) {
+                caracteres += tamanho(ator) + 16;
+            }
+        }
+        return 256 + caracteres * 2;
+    }
+    
+    private static int tamanho(String valor) {
+        return valor != null ? valor.length() : 0;
+    }
+}
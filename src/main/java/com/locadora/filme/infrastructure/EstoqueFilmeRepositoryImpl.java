@@ -0,0 +1,126 @@
+package com.locadora.filme.infrastructure;
+
+import com.locadora.filme.domain.EstoqueFilme;
+import com.locadora.filme.domain.EstoqueFilmeRepository;
+import com.locadora.filme.domain.FilmeId;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Implementação JDBC do estoque de cópias.
+ * <p>
+ * Cada operação é um único UPDATE condicional: a linha fica bloqueada só durante o próprio statement
+ * (e até o commit da transação que o executou), sem o SELECT prévio que abriria espaço para lost updates.
+ */
+@Repository
+public class EstoqueFilmeRepositoryImpl implements EstoqueFilmeRepository {
+    
+    private static final RowMapper<EstoqueFilme> ESTOQUE_ROW_MAPPER = (rs, rowNum) -> new EstoqueFilme(
+            FilmeId.of((UUID) rs.getObject("filme_id")),
+            rs.getInt("total_copias"),
+            rs.getInt("disponiveis")
+    );
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public EstoqueFilmeRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public Optional<EstoqueFilme> findByFilmeId(FilmeId filmeId) {
+        String sql = """
+            SELECT filme_id, total_copias, disponiveis
+            FROM estoque_filme
+            WHERE filme_id = :filmeId
+            """;
+        
+        List<EstoqueFilme> estoque = jdbcTemplate.query(sql, parametros(filmeId), ESTOQUE_ROW_MAPPER);
+        return estoque.stream().findFirst();
+    }
+    
+    @Override
+    public EstoqueFilme definirCopias(FilmeId filmeId, int totalCopias) {
+        if (totalCopias < 0) {
+            throw new IllegalArgumentException("Total de cópias não pode ser negativo");
+        }
+        
+        // O WHERE do DO UPDATE impede reduzir o total abaixo das cópias locadas
+        String sql = """
+            INSERT INTO estoque_filme (filme_id, total_copias, disponiveis)
+            VALUES (:filmeId, :totalCopias, :totalCopias)
+            ON CONFLICT (filme_id) DO UPDATE SET
+                total_copias = EXCLUDED.total_copias,
+                disponiveis = estoque_filme.disponiveis + EXCLUDED.total_copias - estoque_filme.total_copias,
+                atualizado_em = CURRENT_TIMESTAMP
+            WHERE estoque_filme.disponiveis + EXCLUDED.total_copias - estoque_filme.total_copias >= 0
+            RETURNING filme_id, total_copias, disponiveis
+            """;
+        
+        MapSqlParameterSource params = parametros(filmeId).addValue("totalCopias", totalCopias);
+        List<EstoqueFilme> estoque = jdbcTemplate.query(sql, params, ESTOQUE_ROW_MAPPER);
+        if (estoque.isEmpty()) {
+            throw new IllegalArgumentException("Total de cópias menor que a quantidade de cópias locadas");
+        }
+        return estoque.get(0);
+    }
+    
+    @Override
+    public boolean reservar(FilmeId filmeId) {
+        String sql = """
+            UPDATE estoque_filme
+            SET disponiveis = disponiveis - 1, atualizado_em = CURRENT_TIMESTAMP
+            WHERE filme_id = :filmeId AND disponiveis > 0
+            RETURNING disponiveis
+            """;
+        
+        return !jdbcTemplate.queryForList(sql, parametros(filmeId), Integer.class).isEmpty();
+    }
+    
+    @Override
+    public int reservar(FilmeId filmeId, int quantidade) {
+        if (quantidade <= 0) {
+            return 0;
+        }
+        
+        // O FOR UPDATE relê a versão mais recente da linha antes de calcular quantas cópias cabem no pedido
+        String sql = """
+            WITH alvo AS (
+                SELECT filme_id, LEAST(disponiveis, :quantidade) AS reservadas
+                FROM estoque_filme
+                WHERE filme_id = :filmeId AND disponiveis > 0
+                FOR UPDATE
+            )
+            UPDATE estoque_filme e
+            SET disponiveis = e.disponiveis - alvo.reservadas, atualizado_em = CURRENT_TIMESTAMP
+            FROM alvo
+            WHERE e.filme_id = alvo.filme_id
+            RETURNING alvo.reservadas
+            """;
+        
+        MapSqlParameterSource params = parametros(filmeId).addValue("quantidade", quantidade);
+        List<Integer> reservadas = jdbcTemplate.queryForList(sql, params, Integer.class);
+        return reservadas.isEmpty() ? 0 : reservadas.get(0);
+    }
+    
+    @Override
+    public void liberar(FilmeId filmeId) {
+        String sql = """
+            UPDATE estoque_filme
+            SET disponiveis = disponiveis + 1, atualizado_em = CURRENT_TIMESTAMP
+            WHERE filme_id = :filmeId AND disponiveis < total_copias
+            """;
+        
+        jdbcTemplate.update(sql, parametros(filmeId));
+    }
+    
+    private MapSqlParameterSource parametros(FilmeId filmeId) {
+        return new MapSqlParameterSource("filmeId", filmeId.getValue());
+    }
+}
@@ -0,0 +1,154 @@
+package com.locadora.filme.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.filme.domain.FilmeCriterios;
+import com.locadora.filme.domain.FilmeCursor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Predicate;
+
+/**
+ * Compila qualquer combinação de FilmeCriterios em um único SELECT parametrizado.
+ * <p>
+ * O texto SQL é cacheado por formato de filtro (quais critérios estão presentes e se há cursor),
+ * então formatos repetidos não remontam strings e reaproveitam o prepared statement do driver.
+ * Cada predicado foi escrito na forma exata das expressões indexadas em V1/V5/V6/V17.
+ */
+class FilmeCriteriosCompiler {
+
+    private enum Filtro {
+        NOME("LOWER(nome) LIKE LOWER(:nome)", c -> c.nome() != null),
+        DIRETOR("LOWER(diretor) = LOWER(:diretor)", c -> c.diretor() != null),
+        ANO("ano = :ano", c -> c.ano() != null),
+        GENERO("detalhes->>'genero' = :genero", c -> c.genero() != null),
+        // O LIKE sobre os nomes unidos usa o índice de trigramas (V17); o EXISTS confirma o elemento
+        ATOR("""
+            filme_atores_texto(detalhes) LIKE LOWER(:ator)
+            AND EXISTS (
+                SELECT 1 FROM jsonb_array_elements_text(detalhes->'atores') AS ator_nome
+                WHERE LOWER(ator_nome) LIKE LOWER(:ator)
+            )""", c -> c.ator() != null),
+        CLASSIFICACAO("detalhes->>'classificacao' = :classificacao", c -> c.classificacao() != null),
+        DURACAO_MINIMA("(detalhes->>'duracao')::integer >= :duracaoMinima", c -> c.duracaoMinima() != null),
+        DURACAO_MAXIMA("(detalhes->>'duracao')::integer <= :duracaoMaxima", c -> c.duracaoMaxima() != null),
+        ATORES("detalhes->'atores' @> CAST(:atores AS jsonb)", c -> c.atores() != null),
+        PAIS("detalhes->>'pais' = :pais", c -> c.pais() != null),
+        SINOPSE("detalhes->>'sinopse' ILIKE :sinopse", c -> c.sinopse() != null);
+
+        private final String predicado;
+        private final Predicate<FilmeCriterios> presente;
+
+        Filtro(String predicado, Predicate<FilmeCriterios> presente) {
+            this.predicado = predicado;
+            this.presente = presente;
+        }
+    }
+
+    private static final int BIT_CURSOR = 1 << Filtro.values().length;
+    private static final int BIT_SEM_LIMITE = BIT_CURSOR << 1;
+
+    private final String colunas;
+    private final ObjectMapper objectMapper;
+    private final ConcurrentMap<Integer, String> sqlPorFormato = new ConcurrentHashMap<>();
+
+    FilmeCriteriosCompiler(String colunas, ObjectMapper objectMapper) {
+        this.colunas = colunas;
+        this.objectMapper = objectMapper;
+    }
+
+    String sql(FilmeCriterios criterios, boolean comCursor) {
+        return sql(criterios, comCursor, true);
+    }
+    
+    String sql(FilmeCriterios criterios, boolean comCursor, boolean comLimite) {
+        int formato = (comCursor ? BIT_CURSOR : 0) | (comLimite ? 0 : BIT_SEM_LIMITE);
+        for (Filtro filtro : Filtro.values()) {
+            if (filtro.presente.test(criterios)) {
+                formato |= 1 << filtro.ordinal();
+            }
+        }
+        return sqlPorFormato.computeIfAbsent(formato, this::compilar);
+    }
+
+    MapSqlParameterSource parametros(FilmeCriterios criterios, FilmeCursor apos, Integer limite) {
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (criterios.nome() != null) {
+            params.addValue("nome", "%" + criterios.nome() + "%");
+        }
+        if (criterios.diretor() != null) {
+            params.addValue("diretor", criterios.diretor());
+        }
+        if (criterios.ano() != null) {
+            params.addValue("ano", criterios.ano());
+        }
+        if (criterios.genero() != null) {
+            params.addValue("genero", criterios.genero());
+        }
+        if (criterios.ator() != null) {
+            params.addValue("ator", "%" + criterios.ator() + "%");
+        }
+        if (criterios.classificacao() != null) {
+            params.addValue("classificacao", criterios.classificacao());
+        }
+        if (criterios.duracaoMinima() != null) {
+            params.addValue("duracaoMinima", criterios.duracaoMinima());
+        }
+        if (criterios.duracaoMaxima() != null) {
+            params.addValue("duracaoMaxima", criterios.duracaoMaxima());
+        }
+        if (criterios.atores() != null) {
+            params.addValue("atores", toJsonArray(criterios));
+        }
+        if (criterios.pais() != null) {
+            params.addValue("pais", criterios.pais());
+        }
+        if (criterios.sinopse() != null) {
+            params.addValue("sinopse", "%" + criterios.sinopse() + "%");
+        }
+        if (apos != null) {
+            params.addValue("cursorNome", apos.nome());
+            params.addValue("cursorAno", apos.ano());
+            params.addValue("cursorId", apos.id());
+        }
+        if (limite != null) {
+            params.addValue("limite", limite);
+        }
+        return params;
+    }
+
+    private String compilar(int formato) {
+        boolean porAno = (formato & (1 << Filtro.DIRETOR.ordinal())) != 0;
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(colunas).append(" FROM filme");
+        String conector = " WHERE ";
+        for (Filtro filtro : Filtro.values()) {
+            if ((formato & (1 << filtro.ordinal())) != 0) {
+                sql.append(conector).append(filtro.predicado);
+                conector = " AND ";
+            }
+        }
+
+        if ((formato & BIT_CURSOR) != 0) {
+            sql.append(conector).append(porAno
+                    ? "(ano, id) < (:cursorAno, :cursorId)"
+                    : "(nome, id) > (:cursorNome, :cursorId)");
+        }
+
+        sql.append(porAno ? " ORDER BY ano DESC, id DESC" : " ORDER BY nome, id");
+        if ((formato & BIT_SEM_LIMITE) == 0) {
+            sql.append(" LIMIT :limite");
+        }
+        return sql.toString();
+    }
+
+    private String toJsonArray(FilmeCriterios criterios) {
+        try {
+            return objectMapper.writeValueAsString(criterios.atores());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar atores do filtro", e);
+        }
+    }
+}
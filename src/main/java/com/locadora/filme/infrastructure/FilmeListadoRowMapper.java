@@ -0,0 +1,49 @@
+package com.locadora.filme.infrastructure;
+
+import com.locadora.filme.domain.FilmeListado;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Mapeia as colunas de FilmeListagemRepositoryImpl.COLUNAS para FilmeListado, sem passar pelo Jackson
+ */
+class FilmeListadoRowMapper implements RowMapper<FilmeListado> {
+    
+    @Override
+    public FilmeListado mapRow(ResultSet rs, int rowNum) throws SQLException {
+        UUID id = (UUID) rs.getObject("id");
+        String nome = rs.getString("nome");
+        String diretor = rs.getString("diretor");
+        Integer ano = rs.getInt("ano");
+        List<String> atores = atores(rs.getArray("atores"));
+        String sinopse = rs.getString("sinopse");
+        String genero = rs.getString("genero");
+        int duracao = rs.getInt("duracao");
+        Integer duracaoOuNulo = rs.wasNull() ? null : duracao;
+        String classificacao = rs.getString("classificacao");
+        String idioma = rs.getString("idioma");
+        String pais = rs.getString("pais");
+        Timestamp criadoEm = rs.getTimestamp("criado_em");
+        Timestamp atualizadoEm = rs.getTimestamp("atualizado_em");
+        
+        return new FilmeListado(id, nome, diretor, ano, atores, sinopse, genero, duracaoOuNulo,
+                classificacao, idioma, pais, criadoEm.toLocalDateTime(), atualizadoEm.toLocalDateTime());
+    }
+    
+    private static List<String> atores(Array array) throws SQLException {
+        if (array == null) {
+            return List.of();
+        }
+        try {
+            return List.of((String[]) array.getArray());
+        } finally {
+            array.free();
+        }
+    }
+}
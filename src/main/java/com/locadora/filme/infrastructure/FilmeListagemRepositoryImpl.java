@@ -0,0 +1,75 @@
+package com.locadora.filme.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.filme.domain.FilmeCriterios;
+import com.locadora.filme.domain.FilmeCursor;
+import com.locadora.filme.domain.FilmeListado;
+import com.locadora.filme.domain.FilmeListagemRepository;
+import com.locadora.shared.domain.Pagina;
+import com.locadora.shared.infrastructure.JdbcStreaming;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Listagens de filmes lendo os campos de detalhes como colunas tipadas (detalhes->>'campo' e os atores como
+ * text[]): o driver entrega valores prontos e a resposta é montada sem desserializar o JSONB em FilmeDetalhes
+ * nem criar o agregado Filme. Filtros, ordem e cursor são os mesmos de FilmeRepositoryImpl.findByCriterios.
+ */
+@Repository
+public class FilmeListagemRepositoryImpl implements FilmeListagemRepository {
+    
+    static final String COLUNAS = """
+            id, nome, diretor, ano,
+            ARRAY(SELECT jsonb_array_elements_text(detalhes->'atores')) AS atores,
+            detalhes->>'sinopse' AS sinopse, detalhes->>'genero' AS genero,
+            (detalhes->>'duracao')::integer AS duracao, detalhes->>'classificacao' AS classificacao,
+            detalhes->>'idioma' AS idioma, detalhes->>'pais' AS pais,
+            criado_em, atualizado_em""";
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
+    private final FilmeListadoRowMapper rowMapper;
+    private final FilmeCriteriosCompiler criteriosCompiler;
+    
+    public FilmeListagemRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.streamingJdbcTemplate = JdbcStreaming.comCursor(jdbcTemplate);
+        this.rowMapper = new FilmeListadoRowMapper();
+        this.criteriosCompiler = new FilmeCriteriosCompiler(COLUNAS, objectMapper);
+    }
+    
+    @Override
+    public Pagina<FilmeListado> listar(FilmeCriterios criterios, FilmeCursor apos, int limite) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("Limite da página deve ser maior que zero");
+        }
+        FilmeCursor.Ordenacao ordenacao = criterios.ordenacao();
+        if (apos != null && apos.ordenacao() != ordenacao) {
+            throw new IllegalArgumentException("Cursor de paginação não corresponde ao filtro informado");
+        }
+        
+        // Busca limite + 1 linhas para saber se existe próxima página sem COUNT(*) nem OFFSET
+        String sql = criteriosCompiler.sql(criterios, apos != null);
+        MapSqlParameterSource params = criteriosCompiler.parametros(criterios, apos, limite + 1);
+        List<FilmeListado> filmes = jdbcTemplate.query(sql, params, rowMapper);
+        
+        if (filmes.size() <= limite) {
+            return new Pagina<>(filmes, null);
+        }
+        
+        List<FilmeListado> itens = filmes.subList(0, limite);
+        String proximoCursor = FilmeCursor.apos(itens.get(limite - 1), ordenacao).toToken();
+        return new Pagina<>(itens, proximoCursor);
+    }
+    
+    @Override
+    public Stream<FilmeListado> stream(FilmeCriterios criterios) {
+        String sql = criteriosCompiler.sql(criterios, false, false);
+        MapSqlParameterSource params = criteriosCompiler.parametros(criterios, null, null);
+        return streamingJdbcTemplate.queryForStream(sql, params, rowMapper);
+    }
+}
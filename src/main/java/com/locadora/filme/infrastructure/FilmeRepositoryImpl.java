@@ -3,40 +3,53 @@ package com.locadora.filme.infrastructure;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeCriterios;
+import com.locadora.filme.domain.FilmeCursor;
 import com.locadora.filme.domain.FilmeDetalhes;
 import com.locadora.filme.domain.FilmeId;
 import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.shared.domain.Pagina;
+import com.locadora.shared.infrastructure.OutboxRepository;
+import com.locadora.shared.infrastructure.SqlArrays;
+import com.locadora.shared.infrastructure.SqlPreparado;
 
-import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.sql.Timestamp;
-import java.time.LocalDateTime;
+import java.sql.Types;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public class FilmeRepositoryImpl implements FilmeRepository {
     
     private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcOperations jdbc;
     private final ObjectMapper objectMapper;
     private final FilmeRowMapper filmeRowMapper;
+    private final FilmeCriteriosCompiler criteriosCompiler;
+    private final OutboxRepository outboxRepository;
     
-    public FilmeRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+    public FilmeRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                               OutboxRepository outboxRepository) {
         this.jdbcTemplate = jdbcTemplate;
+        this.jdbc = jdbcTemplate.getJdbcOperations();
         this.objectMapper = objectMapper;
-        this.filmeRowMapper = new FilmeRowMapper();
+        this.filmeRowMapper = new FilmeRowMapper(objectMapper);
+        this.criteriosCompiler = new FilmeCriteriosCompiler(
+                "id, nome, diretor, ano, detalhes, criado_em, atualizado_em", objectMapper);
+        this.outboxRepository = outboxRepository;
     }
     
-    @Override
-    public void save(Filme filme) {
-        String sql = """
+    private static final SqlPreparado SALVAR = SqlPreparado.de("""
             INSERT INTO filme (id, nome, diretor, ano, detalhes, criado_em, atualizado_em)
             VALUES (:id, :nome, :diretor, :ano, :detalhes::jsonb, :criadoEm, :atualizadoEm)
             ON CONFLICT (id) DO UPDATE SET
@@ -45,207 +58,282 @@ public class FilmeRepositoryImpl implements FilmeRepository {
                 ano = EXCLUDED.ano,
                 detalhes = EXCLUDED.detalhes,
                 atualizado_em = EXCLUDED.atualizado_em
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("id", filme.getFilmeId().getValue())
-                .addValue("nome", filme.getNome())
-                .addValue("diretor", filme.getDiretor())
-                .addValue("ano", filme.getAno())
-                .addValue("detalhes", toJsonString(filme.getDetalhes()))
-                .addValue("criadoEm", Timestamp.valueOf(filme.getCriadoEm()))
-                .addValue("atualizadoEm", Timestamp.valueOf(filme.getAtualizadoEm()));
-        
-        jdbcTemplate.update(sql, params);
-    }
+            RETURNING id, nome, diretor, ano, detalhes, criado_em, atualizado_em
+            """);
     
     @Override
-    public Optional<Filme> findById(FilmeId id) {
-        String sql = """
+    public Filme save(Filme filme) {
+        Filme salvo = SALVAR.queryForObject(jdbc, filmeRowMapper,
+                filme.getFilmeId().getValue(),
+                filme.getNome(),
+                filme.getDiretor(),
+                filme.getAno(),
+                new SqlParameterValue(Types.VARCHAR, toJsonString(filme.getDetalhes())),
+                Timestamp.valueOf(filme.getCriadoEm()),
+                Timestamp.valueOf(filme.getAtualizadoEm()));
+        outboxRepository.registrar(filme);
+        return salvo;
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_ID = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE id = :id
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        
-        try {
-            Filme filme = jdbcTemplate.queryForObject(sql, params, filmeRowMapper);
-            return Optional.of(filme);
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
-        }
-    }
+            """);
     
     @Override
-    public List<Filme> findAll() {
-        String sql = """
+    public Optional<Filme> findById(FilmeId id) {
+        return BUSCAR_POR_ID.queryForOptional(jdbc, filmeRowMapper, id.getValue());
+    }
+    
+    private static final SqlPreparado BUSCAR_TODOS = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             ORDER BY nome
-            """;
-        
-        return jdbcTemplate.query(sql, filmeRowMapper);
-    }
+            """);
     
     @Override
-    public List<Filme> findByNomeContaining(String nome) {
-        String sql = """
+    public List<Filme> findAll() {
+        return BUSCAR_TODOS.query(jdbc, filmeRowMapper);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_NOME = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE LOWER(nome) LIKE LOWER(:nome)
             ORDER BY nome
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("nome", "%" + nome + "%");
-        return jdbcTemplate.query(sql, params, filmeRowMapper);
-    }
+            """);
     
     @Override
-    public List<Filme> findByDiretor(String diretor) {
-        String sql = """
+    public List<Filme> findByNomeContaining(String nome) {
+        return BUSCAR_POR_NOME.query(jdbc, filmeRowMapper, "%" + nome + "%");
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_DIRETOR = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE LOWER(diretor) = LOWER(:diretor)
             ORDER BY ano DESC
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("diretor", diretor);
-        return jdbcTemplate.query(sql, params, filmeRowMapper);
-    }
+            """);
     
     @Override
-    public List<Filme> findByAno(Integer ano) {
-        String sql = """
+    public List<Filme> findByDiretor(String diretor) {
+        return BUSCAR_POR_DIRETOR.query(jdbc, filmeRowMapper, diretor);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_ANO = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE ano = :ano
             ORDER BY nome
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("ano", ano);
-        return jdbcTemplate.query(sql, params, filmeRowMapper);
-    }
+            """);
     
     @Override
-    public List<Filme> findByGenero(String genero) {
-        String sql = """
+    public List<Filme> findByAno(Integer ano) {
+        return BUSCAR_POR_ANO.query(jdbc, filmeRowMapper, ano);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_GENERO = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE detalhes->>'genero' = :genero
             ORDER BY nome
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("genero", genero);
-        return jdbcTemplate.query(sql, params, filmeRowMapper);
-    }
+            """);
     
     @Override
-    public List<Filme> findByAtor(String ator) {
-        String sql = """
+    public List<Filme> findByGenero(String genero) {
+        return BUSCAR_POR_GENERO.query(jdbc, filmeRowMapper, genero);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_ATOR = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
-            WHERE EXISTS (
+            WHERE filme_atores_texto(detalhes) LIKE LOWER(:ator)
+              AND EXISTS (
                 SELECT 1 FROM jsonb_array_elements_text(detalhes->'atores') AS ator_nome
                 WHERE LOWER(ator_nome) LIKE LOWER(:ator)
             )
             ORDER BY nome
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("ator", "%" + ator + "%");
-        return jdbcTemplate.query(sql, params, filmeRowMapper);
+            """);
+    
+    @Override
+    public List<Filme> findByAtor(String ator) {
+        return BUSCAR_POR_ATOR.query(jdbc, filmeRowMapper, "%" + ator + "%");
     }
     
     // Métodos avançados com JSONB
-    @Override
-    public List<Filme> findByDuracaoMaiorQue(Integer minutos) {
-        String sql = """
+    private static final SqlPreparado BUSCAR_POR_DURACAO_MAIOR_QUE = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE (detalhes->>'duracao')::int > :minutos
             ORDER BY (detalhes->>'duracao')::int DESC
-            """;
-        
-        return jdbcTemplate.query(sql, new MapSqlParameterSource("minutos", minutos), filmeRowMapper);
-    }
+            """);
     
     @Override
-    public List<Filme> findByPais(String pais) {
-        String sql = """
+    public List<Filme> findByDuracaoMaiorQue(Integer minutos) {
+        return BUSCAR_POR_DURACAO_MAIOR_QUE.query(jdbc, filmeRowMapper, minutos);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_PAIS = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE detalhes->>'pais' = :pais
             ORDER BY nome
-            """;
-        
-        return jdbcTemplate.query(sql, new MapSqlParameterSource("pais", pais), filmeRowMapper);
-    }
+            """);
     
     @Override
-    public List<Filme> findByClassificacao(String classificacao) {
-        String sql = """
+    public List<Filme> findByPais(String pais) {
+        return BUSCAR_POR_PAIS.query(jdbc, filmeRowMapper, pais);
+    }
+    
+    private static final SqlPreparado BUSCAR_POR_CLASSIFICACAO = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE detalhes->>'classificacao' = :classificacao
             ORDER BY nome
-            """;
-        
-        return jdbcTemplate.query(sql, new MapSqlParameterSource("classificacao", classificacao), filmeRowMapper);
+            """);
+    
+    @Override
+    public List<Filme> findByClassificacao(String classificacao) {
+        return BUSCAR_POR_CLASSIFICACAO.query(jdbc, filmeRowMapper, classificacao);
     }
     
+    // Um único statement para qualquer quantidade de atores: a lista vai como array jsonb (índice GIN em detalhes->'atores')
+    private static final SqlPreparado BUSCAR_POR_MULTIPLOS_ATORES = SqlPreparado.de("""
+            SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
+            FROM filme
+            WHERE detalhes->'atores' @> CAST(:atores AS jsonb)
+            ORDER BY nome
+            """);
+    
     @Override
     public List<Filme> findByMultiplosAtores(List<String> atores) {
         if (atores.isEmpty()) {
             return List.of();
         }
         
-        StringBuilder sql = new StringBuilder("""
-            SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
-            FROM filme
-            WHERE 
-            """);
-        
-        MapSqlParameterSource params = new MapSqlParameterSource();
-        for (int i = 0; i < atores.size(); i++) {
-            if (i > 0) {
-                sql.append(" AND ");
-            }
-            sql.append("jsonb_exists(detalhes->'atores', :ator").append(i).append(")");
-            params.addValue("ator" + i, atores.get(i));
-        }
-        
-        sql.append(" ORDER BY nome");
-        
-        return jdbcTemplate.query(sql.toString(), params, filmeRowMapper);
+        return BUSCAR_POR_MULTIPLOS_ATORES.query(jdbc, filmeRowMapper, toJsonArray(atores));
     }
     
-    @Override
-    public List<Filme> findBySinopseContendo(String palavra) {
-        String sql = """
+    private static final SqlPreparado BUSCAR_POR_SINOPSE = SqlPreparado.de("""
             SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em
             FROM filme
             WHERE detalhes->>'sinopse' ILIKE :palavra
             ORDER BY nome
-            """;
-        
-        return jdbcTemplate.query(sql, new MapSqlParameterSource("palavra", "%" + palavra + "%"), filmeRowMapper);
+            """);
+    
+    @Override
+    public List<Filme> findBySinopseContendo(String palavra) {
+        return BUSCAR_POR_SINOPSE.query(jdbc, filmeRowMapper, "%" + palavra + "%");
+    }
+
+    // Paginação por keyset
+    @Override
+    public Pagina<Filme> findByCriterios(FilmeCriterios criterios, FilmeCursor apos, int limite) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("Limite da página deve ser maior que zero");
+        }
+        FilmeCursor.Ordenacao ordenacao = criterios.ordenacao();
+        if (apos != null && apos.ordenacao() != ordenacao) {
+            throw new IllegalArgumentException("Cursor de paginação não corresponde ao filtro informado");
+        }
+
+        // Busca limite + 1 linhas para saber se existe próxima página sem COUNT(*) nem OFFSET
+        String sql = criteriosCompiler.sql(criterios, apos != null);
+        MapSqlParameterSource params = criteriosCompiler.parametros(criterios, apos, limite + 1);
+        List<Filme> filmes = jdbcTemplate.query(sql, params, filmeRowMapper);
+
+        if (filmes.size() <= limite) {
+            return new Pagina<>(filmes, null);
+        }
+
+        List<Filme> itens = filmes.subList(0, limite);
+        String proximoCursor = FilmeCursor.apos(itens.get(limite - 1), ordenacao).toToken();
+        return new Pagina<>(itens, proximoCursor);
+    }
+
+    @Override
+    public Pagina<Filme> findAll(FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.nenhum(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByNomeContaining(String nome, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().nome(nome).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByDiretor(String diretor, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().diretor(diretor).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByAno(Integer ano, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().ano(ano).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByGenero(String genero, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().genero(genero).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByAtor(String ator, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().ator(ator).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByPais(String pais, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().pais(pais).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByClassificacao(String classificacao, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().classificacao(classificacao).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findByMultiplosAtores(List<String> atores, FilmeCursor apos, int limite) {
+        if (atores.isEmpty()) {
+            return Pagina.vazia();
+        }
+        return findByCriterios(FilmeCriterios.builder().atores(atores).build(), apos, limite);
+    }
+
+    @Override
+    public Pagina<Filme> findBySinopseContendo(String palavra, FilmeCursor apos, int limite) {
+        return findByCriterios(FilmeCriterios.builder().sinopse(palavra).build(), apos, limite);
     }
 
+    private static final SqlPreparado EXCLUIR = SqlPreparado.de("DELETE FROM filme WHERE id = :id");
+    
     @Override
     public void deleteById(FilmeId id) {
-        String sql = "DELETE FROM filme WHERE id = :id";
-        jdbcTemplate.update(sql, new MapSqlParameterSource("id", id.getValue()));
+        EXCLUIR.update(jdbc, id.getValue());
     }
     
+    private static final SqlPreparado EXISTE = SqlPreparado.de("SELECT EXISTS (SELECT 1 FROM filme WHERE id = :id)");
+    
     @Override
     public boolean existsById(FilmeId id) {
-        String sql = "SELECT COUNT(*) FROM filme WHERE id = :id";
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-        return count != null && count > 0;
+        return Boolean.TRUE.equals(EXISTE.queryForObject(jdbc, Boolean.class, id.getValue()));
     }
     
-    private String toJsonString(FilmeDetalhes detalhes) {
+    private static final SqlPreparado BUSCAR_IDS_EXISTENTES = SqlPreparado.de("SELECT id FROM filme WHERE id = ANY(:ids)");
+    
+    @Override
+    public Set<FilmeId> findIdsExistentes(Collection<FilmeId> ids) {
+        if (ids.isEmpty()) {
+            return Set.of();
+        }
+        
+        SqlParameterValue array = new SqlParameterValue(Types.ARRAY,
+                SqlArrays.uuid(ids.stream().map(FilmeId::getValue).toList()));
+        return new HashSet<>(BUSCAR_IDS_EXISTENTES.query(jdbc,
+                (rs, rowNum) -> FilmeId.of((UUID) rs.getObject("id")), array));
+    }
+    
+    String toJsonString(FilmeDetalhes detalhes) {
         if (detalhes == null) {
             return null;
         }
@@ -256,44 +344,11 @@ public class FilmeRepositoryImpl implements FilmeRepository {
         }
     }
     
-    private FilmeDetalhes fromJsonString(String json) {
-        if (json == null || json.trim().isEmpty()) {
-            return null;
-        }
+    private String toJsonArray(List<String> atores) {
         try {
-            return objectMapper.readValue(json, FilmeDetalhes.class);
+            return objectMapper.writeValueAsString(atores);
         } catch (JsonProcessingException e) {
-            throw new RuntimeException("Erro ao deserializar detalhes do filme", e);
-        }
-    }
-    
-    private class FilmeRowMapper implements RowMapper<Filme> {
-        @Override
-        public Filme mapRow(ResultSet rs, int rowNum) throws SQLException {
-            UUID id = (UUID) rs.getObject("id");
-            String nome = rs.getString("nome");
-            String diretor = rs.getString("diretor");
-            Integer ano = rs.getInt("ano");
-            
-            // Processar JSONB
-            String detalhesJson = rs.getString("detalhes");
-            FilmeDetalhes detalhes = null;
-            if (detalhesJson != null) {
-                detalhes = fromJsonString(detalhesJson);
-            }
-            
-            Timestamp criadoEm = rs.getTimestamp("criado_em");
-            Timestamp atualizadoEm = rs.getTimestamp("atualizado_em");
-            
-            return new Filme(
-                    FilmeId.of(id),
-                    nome,
-                    diretor,
-                    ano,
-                    detalhes,
-                    criadoEm.toLocalDateTime(),
-                    atualizadoEm.toLocalDateTime()
-            );
+            throw new RuntimeException("Erro ao serializar atores do filtro", e);
         }
     }
-}
\ No newline at end of file
+}
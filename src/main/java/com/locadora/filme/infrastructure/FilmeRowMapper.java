@@ -0,0 +1,64 @@
+package com.locadora.filme.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.domain.FilmeId;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+/**
+ * Mapeia uma linha da tabela filme (incluindo o JSONB de detalhes) para o agregado Filme
+ */
+class FilmeRowMapper implements RowMapper<Filme> {
+    
+    private final ObjectMapper objectMapper;
+    
+    FilmeRowMapper(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+    
+    @Override
+    public Filme mapRow(ResultSet rs, int rowNum) throws SQLException {
+        UUID id = (UUID) rs.getObject("id");
+        String nome = rs.getString("nome");
+        String diretor = rs.getString("diretor");
+        Integer ano = rs.getInt("ano");
+        
+        // Processar JSONB
+        String detalhesJson = rs.getString("detalhes");
+        FilmeDetalhes detalhes = null;
+        if (detalhesJson != null) {
+            detalhes = fromJsonString(detalhesJson);
+        }
+        
+        Timestamp criadoEm = rs.getTimestamp("criado_em");
+        Timestamp atualizadoEm = rs.getTimestamp("atualizado_em");
+        
+        return new Filme(
+                FilmeId.of(id),
+                nome,
+                diretor,
+                ano,
+                detalhes,
+                criadoEm.toLocalDateTime(),
+                atualizadoEm.toLocalDateTime()
+        );
+    }
+    
+    FilmeDetalhes fromJsonString(String json) {
+        if (json == null || json.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, FilmeDetalhes.class);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao deserializar detalhes do filme", e);
+        }
+    }
+}
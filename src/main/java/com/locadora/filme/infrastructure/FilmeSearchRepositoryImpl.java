@@ -0,0 +1,52 @@
+package com.locadora.filme.infrastructure;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.filme.domain.FilmeEncontrado;
+import com.locadora.filme.domain.FilmeSearchRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Busca textual sobre os índices de V6: full-text em português na coluna gerada "busca"
+ * combinada com similaridade de trigramas no nome, para tolerar erros de digitação.
+ */
+@Repository
+public class FilmeSearchRepositoryImpl implements FilmeSearchRepository {
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final FilmeRowMapper filmeRowMapper;
+    
+    public FilmeSearchRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.filmeRowMapper = new FilmeRowMapper(objectMapper);
+    }
+    
+    @Override
+    public List<FilmeEncontrado> buscar(String termo, int limite) {
+        if (limite < 1) {
+            throw new IllegalArgumentException("Limite da busca deve ser maior que zero");
+        }
+        
+        // Cada ramo do OR usa seu próprio índice GIN (BitmapOr); o ranking só roda sobre os candidatos
+        String sql = """
+            SELECT id, nome, diretor, ano, detalhes, criado_em, atualizado_em,
+                   ts_rank_cd(busca, consulta.tsq) + similarity(LOWER(nome), consulta.termo) AS relevancia
+            FROM filme,
+                 (SELECT websearch_to_tsquery('portuguese', :termo) AS tsq, LOWER(:termo) AS termo) AS consulta
+            WHERE busca @@ consulta.tsq
+               OR LOWER(nome) % consulta.termo
+            ORDER BY relevancia DESC, id
+            LIMIT :limite
+            """;
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("termo", termo)
+                .addValue("limite", limite);
+        
+        return jdbcTemplate.query(sql, params, (rs, rowNum) ->
+                new FilmeEncontrado(filmeRowMapper.mapRow(rs, rowNum), rs.getDouble("relevancia")));
+    }
+}
@@ -0,0 +1,205 @@
+package com.locadora.filme.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.locadora.filme.domain.FilmeAtualizadoEvent;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.domain.FilmeImportado;
+import com.locadora.filme.domain.ImportacaoCatalogoRepository;
+import com.locadora.shared.infrastructure.AdvisoryLocks;
+import com.locadora.shared.infrastructure.OutboxRepository;
+import com.locadora.shared.infrastructure.SqlPreparado;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Importação de catálogo via COPY do PostgreSQL.
+ * <p>
+ * Os títulos são enviados em streaming (CSV) para uma tabela temporária da transação e mesclados em filme
+ * com dois statements set-based, sem uma ida ao banco por título. Títulos repetidos no mesmo lote valem
+ * pela última ocorrência. Filmes cujos detalhes mudaram geram FilmeAtualizadoEvent no outbox e são
+ * invalidados no cache de findById de todas as instâncias pelo canal de notificações, no commit do lote.
+ */
+@Repository
+public class ImportacaoCatalogoRepositoryImpl implements ImportacaoCatalogoRepository {
+
+    static final String CHAVE_LOCK = "locadora.importacao-catalogo";
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private static final String CRIAR_TABELA_TEMPORARIA = """
+            CREATE TEMP TABLE filme_importacao (
+                linha BIGINT NOT NULL,
+                nome VARCHAR(255) NOT NULL,
+                diretor VARCHAR(255) NOT NULL,
+                ano INTEGER NOT NULL,
+                detalhes JSONB
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPIAR = """
+            COPY filme_importacao (linha, nome, diretor, ano, detalhes) FROM STDIN (FORMAT csv)
+            """;
+
+    private static final String ENTRADA = """
+            WITH entrada AS (
+                SELECT DISTINCT ON (nome, diretor, ano) nome, diretor, ano, detalhes
+                FROM filme_importacao
+                ORDER BY nome, diretor, ano, linha DESC
+            )
+            """;
+
+    private static final SqlPreparado ATUALIZAR_EXISTENTES = SqlPreparado.de(ENTRADA + """
+            UPDATE filme f
+            SET detalhes = e.detalhes, atualizado_em = :agora
+            FROM entrada e
+            WHERE f.nome = e.nome AND f.diretor = e.diretor AND f.ano = e.ano
+              AND f.detalhes IS DISTINCT FROM e.detalhes
+            RETURNING f.id
+            """);
+
+    // O estoque padrão é criado no mesmo statement, apenas para os filmes novos
+    private static final SqlPreparado INSERIR_NOVOS = SqlPreparado.de(ENTRADA + """
+            , novos AS (
+                INSERT INTO filme (id, nome, diretor, ano, detalhes, criado_em, atualizado_em)
+                SELECT gen_random_uuid(), e.nome, e.diretor, e.ano, e.detalhes, :agora, :agora
+                FROM entrada e
+                WHERE NOT EXISTS (
+                    SELECT 1 FROM filme f
+                    WHERE f.nome = e.nome AND f.diretor = e.diretor AND f.ano = e.ano
+                )
+                RETURNING id
+            )
+            INSERT INTO estoque_filme (filme_id, total_copias, disponiveis)
+            SELECT id, :copias, :copias FROM novos
+            """);
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcOperations jdbc;
+    private final ObjectWriter detalhesWriter;
+    private final OutboxRepository outboxRepository;
+    private final CachingFilmeRepository cachingFilmeRepository;
+
+    public ImportacaoCatalogoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+                                            OutboxRepository outboxRepository,
+                                            CachingFilmeRepository cachingFilmeRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbc = jdbcTemplate.getJdbcOperations();
+        this.detalhesWriter = objectMapper.writerFor(FilmeDetalhes.class);
+        this.outboxRepository = outboxRepository;
+        this.cachingFilmeRepository = cachingFilmeRepository;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public Mesclagem mesclar(Iterator<FilmeImportado> filmes, int copiasPadrao) {
+        // Importações concorrentes mesclam um lote por vez: a busca pela chave natural não cria duplicatas
+        AdvisoryLocks.bloquear(jdbcTemplate, CHAVE_LOCK);
+        jdbc.execute(CRIAR_TABELA_TEMPORARIA);
+        Long copiados = jdbc.execute((ConnectionCallback<Long>) conexao -> copiar(conexao, filmes));
+        if (copiados == null || copiados == 0) {
+            return new Mesclagem(0, 0);
+        }
+        // Sem estatísticas o planner estima poucas linhas na tabela temporária e escolhe nested loop
+        jdbc.execute("ANALYZE filme_importacao");
+
+        LocalDateTime agora = LocalDateTime.now();
+        List<FilmeId> atualizados = ATUALIZAR_EXISTENTES.query(jdbc,
+                (rs, rowNum) -> FilmeId.of((UUID) rs.getObject("id")), Timestamp.valueOf(agora));
+        int inseridos = INSERIR_NOVOS.update(jdbc, Timestamp.valueOf(agora), copiasPadrao);
+
+        outboxRepository.registrarEventos(atualizados.stream()
+                .map(id -> new FilmeAtualizadoEvent(id, agora))
+                .toList());
+        cachingFilmeRepository.publicarInvalidacao(atualizados);
+        return new Mesclagem(inseridos, atualizados.size());
+    }
+
+    private long copiar(Connection conexao, Iterator<FilmeImportado> filmes) throws SQLException {
+        PGCopyOutputStream copia = new PGCopyOutputStream(conexao.unwrap(PGConnection.class), COPIAR, TAMANHO_BUFFER);
+        try {
+            Writer saida = new BufferedWriter(new OutputStreamWriter(copia, StandardCharsets.UTF_8), TAMANHO_BUFFER);
+            long linhas = 0;
+            while (filmes.hasNext()) {
+                escrever(saida, filmes.next());
+                linhas++;
+            }
+            saida.flush();
+            copia.endCopy();
+            return linhas;
+        } catch (IOException e) {
+            cancelar(copia);
+            throw new DataAccessResourceFailureException("Erro ao enviar catálogo via COPY", e);
+        } catch (RuntimeException e) {
+            // Ex.: falha ao ler o arquivo de origem; a conexão precisa sair do modo COPY para o rollback
+            cancelar(copia);
+            throw e;
+        }
+    }
+
+    private static void cancelar(PGCopyOutputStream copia) throws SQLException {
+        if (copia.isActive()) {
+            copia.cancelCopy();
+        }
+    }
+
+    // Texto sempre entre aspas: campo vazio sem aspas é NULL no CSV do COPY
+    private void escrever(Writer saida, FilmeImportado filme) throws IOException {
+        saida.write(Long.toString(filme.linha()));
+        saida.write(',');
+        escreverTexto(saida, filme.nome());
+        saida.write(',');
+        escreverTexto(saida, filme.diretor());
+        saida.write(',');
+        saida.write(Integer.toString(filme.ano()));
+        saida.write(',');
+        if (filme.detalhes() != null) {
+            escreverTexto(saida, toJsonString(filme.detalhes()));
+        }
+        saida.write('\n');
+    }
+
+    private static void escreverTexto(Writer saida, String texto) throws IOException {
+        saida.write('"');
+        int inicio = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                saida.write(texto, inicio, i - inicio + 1);
+                saida.write('"');
+                inicio = i + 1;
+            }
+        }
+        saida.write(texto, inicio, texto.length() - inicio);
+        saida.write('"');
+    }
+
+    private String toJsonString(FilmeDetalhes detalhes) {
+        try {
+            return detalhesWriter.writeValueAsString(detalhes);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar detalhes do filme", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.locadora.filme.presentation;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * DTO para requisição de definição do estoque de um filme
+ */
+public record DefinirEstoqueRequest(
+        @NotNull(message = "Total de cópias é obrigatório")
+        @Min(value = 0, message = "Total de cópias não pode ser negativo")
+        Integer totalCopias
+) {
+}
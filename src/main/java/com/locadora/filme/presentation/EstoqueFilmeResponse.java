@@ -0,0 +1,25 @@
+package com.locadora.filme.presentation;
+
+import com.locadora.filme.domain.EstoqueFilme;
+
+import java.util.UUID;
+
+/**
+ * DTO para resposta do estoque de um filme
+ */
+public record EstoqueFilmeResponse(
+        UUID filmeId,
+        Integer totalCopias,
+        Integer disponiveis,
+        Integer locadas
+) {
+    
+    public static EstoqueFilmeResponse from(EstoqueFilme estoque) {
+        return new EstoqueFilmeResponse(
+                estoque.filmeId().getValue(),
+                estoque.totalCopias(),
+                estoque.disponiveis(),
+                estoque.locadas()
+        );
+    }
+}
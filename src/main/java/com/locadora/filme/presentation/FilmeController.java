@@ -5,17 +5,33 @@ import com.locadora.filme.application.command.AtualizarFilmeCommandHandler;
 import com.locadora.filme.application.command.CriarFilmeCommand;
 import com.locadora.filme.application.command.CriarFilmeCommandHandler;
 import com.locadora.filme.application.command.DeletarFilmeCommand;
+import com.locadora.filme.application.command.DefinirEstoqueCommand;
+import com.locadora.filme.application.command.DefinirEstoqueCommandHandler;
 import com.locadora.filme.application.command.DeletarFilmeCommandHandler;
+import com.locadora.filme.application.command.FormatoCatalogo;
+import com.locadora.filme.application.command.ImportarCatalogoCommand;
+import com.locadora.filme.application.command.ImportarCatalogoCommandHandler;
+import com.locadora.filme.application.command.ResultadoImportacao;
+import com.locadora.filme.application.query.BuscarEstoqueQuery;
+import com.locadora.filme.application.query.BuscarEstoqueQueryHandler;
 import com.locadora.filme.application.query.BuscarFilmePorIdQuery;
 import com.locadora.filme.application.query.BuscarFilmePorIdQueryHandler;
+import com.locadora.filme.application.query.BuscarFilmesPorTextoQuery;
+import com.locadora.filme.application.query.BuscarFilmesPorTextoQueryHandler;
 import com.locadora.filme.application.query.ListarFilmesQuery;
 import com.locadora.filme.application.query.ListarFilmesQueryHandler;
 import com.locadora.filme.domain.Filme;
+import com.locadora.shared.domain.Pagina;
+import com.locadora.shared.presentation.JsonStreamWriter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,23 +44,41 @@ import java.util.UUID;
 @CrossOrigin(origins = "*")
 public class FilmeController {
     
+    static final String HEADER_PROXIMO_CURSOR = "X-Next-Cursor";
+    static final String TEXT_CSV = "text/csv";
+    
     private final CriarFilmeCommandHandler criarFilmeHandler;
     private final AtualizarFilmeCommandHandler atualizarFilmeHandler;
     private final DeletarFilmeCommandHandler deletarFilmeHandler;
     private final BuscarFilmePorIdQueryHandler buscarFilmePorIdHandler;
     private final ListarFilmesQueryHandler listarFilmesHandler;
+    private final BuscarFilmesPorTextoQueryHandler buscarFilmesPorTextoHandler;
+    private final DefinirEstoqueCommandHandler definirEstoqueHandler;
+    private final BuscarEstoqueQueryHandler buscarEstoqueHandler;
+    private final ImportarCatalogoCommandHandler importarCatalogoHandler;
+    private final JsonStreamWriter jsonStreamWriter;
     
     public FilmeController(
             CriarFilmeCommandHandler criarFilmeHandler,
             AtualizarFilmeCommandHandler atualizarFilmeHandler,
             DeletarFilmeCommandHandler deletarFilmeHandler,
             BuscarFilmePorIdQueryHandler buscarFilmePorIdHandler,
-            ListarFilmesQueryHandler listarFilmesHandler) {
+            ListarFilmesQueryHandler listarFilmesHandler,
+            BuscarFilmesPorTextoQueryHandler buscarFilmesPorTextoHandler,
+            DefinirEstoqueCommandHandler definirEstoqueHandler,
+            BuscarEstoqueQueryHandler buscarEstoqueHandler,
+            ImportarCatalogoCommandHandler importarCatalogoHandler,
+            JsonStreamWriter jsonStreamWriter) {
         this.criarFilmeHandler = criarFilmeHandler;
         this.atualizarFilmeHandler = atualizarFilmeHandler;
         this.deletarFilmeHandler = deletarFilmeHandler;
         this.buscarFilmePorIdHandler = buscarFilmePorIdHandler;
         this.listarFilmesHandler = listarFilmesHandler;
+        this.buscarFilmesPorTextoHandler = buscarFilmesPorTextoHandler;
+        this.definirEstoqueHandler = definirEstoqueHandler;
+        this.buscarEstoqueHandler = buscarEstoqueHandler;
+        this.importarCatalogoHandler = importarCatalogoHandler;
+        this.jsonStreamWriter = jsonStreamWriter;
     }
     
     @PostMapping
@@ -63,14 +97,29 @@ public class FilmeController {
                     request.pais()
             );
             
-            UUID filmeId = criarFilmeHandler.handle(command);
+            // O upsert já devolve o estado persistido, sem nova consulta
+            Filme filme = criarFilmeHandler.handle(command);
             
-            // Busca o filme criado para retornar os dados completos
-            FilmeResponse filme = buscarFilmePorIdHandler.handle(new BuscarFilmePorIdQuery(filmeId));
+            return ResponseEntity.status(HttpStatus.CREATED).body(FilmeResponse.from(filme));
             
-            return filme != null 
-                    ? ResponseEntity.status(HttpStatus.CREATED).body(filme)
-                    : ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Importação em massa de catálogo (CSV ou NDJSON) lida em streaming do corpo da requisição
+     */
+    @PostMapping(value = "/importacao", consumes = {TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<ResultadoImportacao> importarCatalogo(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            InputStream corpo) {
+        try {
+            MediaType tipo = MediaType.parseMediaType(contentType);
+            FormatoCatalogo formato = tipo.equalsTypeAndSubtype(MediaType.APPLICATION_NDJSON)
+                    ? FormatoCatalogo.NDJSON
+                    : FormatoCatalogo.CSV;
+            return ResponseEntity.ok(importarCatalogoHandler.handle(new ImportarCatalogoCommand(corpo, formato)));
             
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -98,12 +147,67 @@ public class FilmeController {
             @RequestParam(required = false) String diretor,
             @RequestParam(required = false) Integer ano,
             @RequestParam(required = false) String genero,
-            @RequestParam(required = false) String ator) {
-        
-        ListarFilmesQuery query = new ListarFilmesQuery(nome, diretor, ano, genero, ator);
-        List<FilmeResponse> filmes = listarFilmesHandler.handle(query);
-        
-        return ResponseEntity.ok(filmes);
+            @RequestParam(required = false) String ator,
+            @RequestParam(required = false) String classificacao,
+            @RequestParam(required = false) Integer duracaoMinima,
+            @RequestParam(required = false) Integer duracaoMaxima,
+            @RequestParam(required = false) List<String> atores,
+            @RequestParam(name = "after", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limite) {
+        try {
+            ListarFilmesQuery query = new ListarFilmesQuery(nome, diretor, ano, genero, ator,
+                    classificacao, duracaoMinima, duracaoMaxima, atores, cursor, limite);
+            Pagina<FilmeResponse> pagina = listarFilmesHandler.handle(query);
+            
+            // O cursor da próxima página vai no cabeçalho para manter o corpo como lista
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (pagina.temProxima()) {
+                response.header(HEADER_PROXIMO_CURSOR, pagina.proximoCursor());
+            }
+            return response.body(pagina.itens());
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Listagem em streaming (?stream=true) com os mesmos filtros, sem paginação:
+     * NDJSON com Accept application/x-ndjson, senão array JSON em chunks
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> listarFilmesEmStream(
+            @RequestParam(required = false) String nome,
+            @RequestParam(required = false) String diretor,
+            @RequestParam(required = false) Integer ano,
+            @RequestParam(required = false) String genero,
+            @RequestParam(required = false) String ator,
+            @RequestParam(required = false) String classificacao,
+            @RequestParam(required = false) Integer duracaoMinima,
+            @RequestParam(required = false) Integer duracaoMaxima,
+            @RequestParam(required = false) List<String> atores,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        try {
+            ListarFilmesQuery query = new ListarFilmesQuery(nome, diretor, ano, genero, ator,
+                    classificacao, duracaoMinima, duracaoMaxima, atores, null, null);
+            return jsonStreamWriter.responder(accept, () -> listarFilmesHandler.stream(query));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<FilmeResponse>> buscarFilmesPorTexto(
+            @RequestParam(name = "q", required = false) String termo,
+            @RequestParam(name = "limit", required = false) Integer limite) {
+        try {
+            BuscarFilmesPorTextoQuery query = new BuscarFilmesPorTextoQuery(termo, limite);
+            return ResponseEntity.ok(buscarFilmesPorTextoHandler.handle(query));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
     }
     
     @PutMapping("/{id}")
@@ -125,14 +229,31 @@ public class FilmeController {
                     request.pais()
             );
             
-            atualizarFilmeHandler.handle(command);
+            Filme filme = atualizarFilmeHandler.handle(command);
             
-            // Busca o filme atualizado para retornar os dados completos
-            FilmeResponse filme = buscarFilmePorIdHandler.handle(new BuscarFilmePorIdQuery(id));
+            return ResponseEntity.ok(FilmeResponse.from(filme));
             
-            return filme != null 
-                    ? ResponseEntity.ok(filme)
-                    : ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    @GetMapping("/{id}/estoque")
+    public ResponseEntity<EstoqueFilmeResponse> buscarEstoque(@PathVariable UUID id) {
+        EstoqueFilmeResponse estoque = buscarEstoqueHandler.handle(new BuscarEstoqueQuery(id));
+        
+        return estoque != null
+                ? ResponseEntity.ok(estoque)
+                : ResponseEntity.notFound().build();
+    }
+    
+    @PutMapping("/{id}/estoque")
+    public ResponseEntity<EstoqueFilmeResponse> definirEstoque(
+            @PathVariable UUID id,
+            @Valid @RequestBody DefinirEstoqueRequest request) {
+        try {
+            DefinirEstoqueCommand command = new DefinirEstoqueCommand(id, request.totalCopias());
+            return ResponseEntity.ok(definirEstoqueHandler.handle(command));
             
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
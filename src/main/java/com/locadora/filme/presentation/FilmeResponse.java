@@ -1,6 +1,7 @@
 package com.locadora.filme.presentation;
 
 import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeListado;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -42,4 +43,22 @@ public record FilmeResponse(
                 filme.getAtualizadoEm()
         );
     }
+    
+    public static FilmeResponse from(FilmeListado filme) {
+        return new FilmeResponse(
+                filme.id(),
+                filme.nome(),
+                filme.diretor(),
+                filme.ano(),
+                filme.atores(),
+                filme.sinopse(),
+                filme.genero(),
+                filme.duracao(),
+                filme.classificacao(),
+                filme.idioma(),
+                filme.pais(),
+                filme.criadoEm(),
+                filme.atualizadoEm()
+        );
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.locadora.filme.presentation;
+
+import com.locadora.filme.application.command.FormatoCatalogo;
+import com.locadora.filme.application.command.ImportarCatalogoCommand;
+import com.locadora.filme.application.command.ImportarCatalogoCommandHandler;
+import com.locadora.filme.application.command.ResultadoImportacao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Importação de catálogo pela linha de comando: com --locadora.importacao.arquivo=catalogo.csv a aplicação
+ * importa o arquivo (formato pela extensão) e encerra, com código de saída 1 se alguma linha foi rejeitada.
+ */
+@Component
+@ConditionalOnProperty("locadora.importacao.arquivo")
+public class ImportacaoCatalogoRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoCatalogoRunner.class);
+
+    private final ImportarCatalogoCommandHandler importarCatalogoHandler;
+    private final ConfigurableApplicationContext context;
+    private final Path arquivo;
+
+    public ImportacaoCatalogoRunner(
+            ImportarCatalogoCommandHandler importarCatalogoHandler,
+            ConfigurableApplicationContext context,
+            @Value("${locadora.importacao.arquivo}") Path arquivo) {
+        this.importarCatalogoHandler = importarCatalogoHandler;
+        this.context = context;
+        this.arquivo = arquivo;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        ResultadoImportacao resultado;
+        try (InputStream entrada = Files.newInputStream(arquivo)) {
+            FormatoCatalogo formato = FormatoCatalogo.doArquivo(arquivo.getFileName().toString());
+            resultado = importarCatalogoHandler.handle(new ImportarCatalogoCommand(entrada, formato));
+        }
+
+        log.info("Catálogo {} importado: {} linhas lidas, {} filmes inseridos, {} atualizados, {} rejeitadas",
+                arquivo, resultado.lidas(), resultado.inseridos(), resultado.atualizados(), resultado.rejeitadas());
+        resultado.erros().forEach(erro -> log.warn("Linha {} rejeitada: {}", erro.linha(), erro.mensagem()));
+
+        int codigo = resultado.rejeitadas() > 0 ? 1 : 0;
+        System.exit(SpringApplication.exit(context, () -> codigo));
+    }
+}
@@ -2,38 +2,48 @@ package com.locadora.locacao.application.command;
 
 import com.locadora.cliente.domain.ClienteId;
 import com.locadora.cliente.domain.ClienteRepository;
+import com.locadora.filme.domain.EstoqueFilmeRepository;
 import com.locadora.filme.domain.FilmeId;
 import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.locacao.domain.FilmeIndisponivelException;
 import com.locadora.locacao.domain.Locacao;
 import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.locacao.domain.RankingFilmes;
 import com.locadora.shared.cqrs.CommandHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.UUID;
-
 /**
- * Handler para o comando de criar locação
+ * Handler para o comando de criar locação.
+ * <p>
+ * A reserva da cópia é o último statement da transação: a linha do estoque fica bloqueada apenas
+ * até o commit, o que mantém curtas as filas de locações concorrentes do mesmo filme.
  */
 @Service
 @Transactional
-public class CriarLocacaoCommandHandler implements CommandHandler<CriarLocacaoCommand, UUID> {
+public class CriarLocacaoCommandHandler implements CommandHandler<CriarLocacaoCommand, Locacao> {
     
     private final LocacaoRepository locacaoRepository;
     private final ClienteRepository clienteRepository;
     private final FilmeRepository filmeRepository;
+    private final EstoqueFilmeRepository estoqueFilmeRepository;
+    private final RankingFilmes rankingFilmes;
     
     public CriarLocacaoCommandHandler(
             LocacaoRepository locacaoRepository,
             ClienteRepository clienteRepository,
-            FilmeRepository filmeRepository) {
+            FilmeRepository filmeRepository,
+            EstoqueFilmeRepository estoqueFilmeRepository,
+            RankingFilmes rankingFilmes) {
         this.locacaoRepository = locacaoRepository;
         this.clienteRepository = clienteRepository;
         this.filmeRepository = filmeRepository;
+        this.estoqueFilmeRepository = estoqueFilmeRepository;
+        this.rankingFilmes = rankingFilmes;
     }
     
     @Override
-    public UUID handle(CriarLocacaoCommand command) {
+    public Locacao handle(CriarLocacaoCommand command) {
         ClienteId clienteId = ClienteId.of(command.clienteId());
         FilmeId filmeId = FilmeId.of(command.filmeId());
         
@@ -55,8 +65,15 @@ public class CriarLocacaoCommandHandler implements CommandHandler<CriarLocacaoCo
                 command.valorLocacao()
         );
         
-        locacaoRepository.save(locacao);
+        Locacao salva = locacaoRepository.save(locacao);
+        
+        // Falhar aqui desfaz a locação inserida acima
+        if (!estoqueFilmeRepository.reservar(filmeId)) {
+            throw new FilmeIndisponivelException(filmeId);
+        }
+        
+        rankingFilmes.registrarLocacao(filmeId, locacao.getDataLocacao());
         
-        return locacao.getLocacaoId().getValue();
+        return salva;
     }
 }
\ No newline at end of file
@@ -0,0 +1,53 @@
+package com.locadora.locacao.application.command;
+
+import com.locadora.shared.cqrs.Command;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Comando para criar várias locações de um mesmo cliente de uma só vez (cesta do PDV)
+ */
+public record CriarLocacoesEmLoteCommand(
+        UUID clienteId,
+        List<Item> itens
+) implements Command {
+    
+    public static final int LIMITE_ITENS = 100;
+    
+    public record Item(
+            UUID filmeId,
+            LocalDate dataLocacao,
+            LocalDate dataPrevistaDevolucao,
+            BigDecimal valorLocacao
+    ) {
+        
+        // Regras de negócio (datas, valor) são avaliadas por item no handler; aqui só campos obrigatórios
+        public Item {
+            if (filmeId == null) {
+                throw new IllegalArgumentException("ID do filme é obrigatório");
+            }
+            if (dataLocacao == null || dataPrevistaDevolucao == null) {
+                throw new IllegalArgumentException("Datas de locação e de devolução prevista são obrigatórias");
+            }
+            if (valorLocacao == null) {
+                throw new IllegalArgumentException("Valor da locação é obrigatório");
+            }
+        }
+    }
+    
+    public CriarLocacoesEmLoteCommand {
+        if (clienteId == null) {
+            throw new IllegalArgumentException("ID do cliente é obrigatório");
+        }
+        if (itens == null || itens.isEmpty()) {
+            throw new IllegalArgumentException("O lote deve ter ao menos uma locação");
+        }
+        if (itens.size() > LIMITE_ITENS) {
+            throw new IllegalArgumentException("O lote pode ter no máximo " + LIMITE_ITENS + " locações");
+        }
+        itens = List.copyOf(itens);
+    }
+}
@@ -0,0 +1,129 @@
+package com.locadora.locacao.application.command;
+
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.cliente.domain.ClienteRepository;
+import com.locadora.filme.domain.EstoqueFilmeRepository;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.locacao.domain.RankingFilmes;
+import com.locadora.shared.cqrs.CommandHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Handler para o comando de criar locações em lote.
+ * <p>
+ * Valida todos os filmes com uma única consulta e grava as locações válidas em um único batch,
+ * tudo na mesma transação. Itens inválidos são rejeitados individualmente sem impedir os demais.
+ * As cópias são reservadas uma vez por filme (em ordem de ID, evitando deadlocks entre lotes concorrentes);
+ * itens além das cópias disponíveis são rejeitados.
+ */
+@Service
+@Transactional
+public class CriarLocacoesEmLoteCommandHandler implements CommandHandler<CriarLocacoesEmLoteCommand, List<ResultadoItemLocacao>> {
+    
+    private final LocacaoRepository locacaoRepository;
+    private final ClienteRepository clienteRepository;
+    private final FilmeRepository filmeRepository;
+    private final EstoqueFilmeRepository estoqueFilmeRepository;
+    private final RankingFilmes rankingFilmes;
+    
+    public CriarLocacoesEmLoteCommandHandler(
+            LocacaoRepository locacaoRepository,
+            ClienteRepository clienteRepository,
+            FilmeRepository filmeRepository,
+            EstoqueFilmeRepository estoqueFilmeRepository,
+            RankingFilmes rankingFilmes) {
+        this.locacaoRepository = locacaoRepository;
+        this.clienteRepository = clienteRepository;
+        this.filmeRepository = filmeRepository;
+        this.estoqueFilmeRepository = estoqueFilmeRepository;
+        this.rankingFilmes = rankingFilmes;
+    }
+    
+    @Override
+    public List<ResultadoItemLocacao> handle(CriarLocacoesEmLoteCommand command) {
+        ClienteId clienteId = ClienteId.of(command.clienteId());
+        
+        // Cliente inexistente invalida o lote inteiro
+        if (!clienteRepository.existsById(clienteId)) {
+            throw new IllegalArgumentException("Cliente não encontrado: " + command.clienteId());
+        }
+        
+        Set<FilmeId> filmesExistentes = filmeRepository.findIdsExistentes(
+                command.itens().stream().map(item -> FilmeId.of(item.filmeId())).toList());
+        
+        List<ResultadoItemLocacao> resultados = new ArrayList<>(command.itens().size());
+        List<Locacao> validas = new ArrayList<>(command.itens().size());
+        List<Integer> indicesValidos = new ArrayList<>(command.itens().size());
+        
+        for (int i = 0; i < command.itens().size(); i++) {
+            CriarLocacoesEmLoteCommand.Item item = command.itens().get(i);
+            FilmeId filmeId = FilmeId.of(item.filmeId());
+            
+            if (!filmesExistentes.contains(filmeId)) {
+                resultados.add(ResultadoItemLocacao.rejeitada(i, item.filmeId(), "Filme não encontrado: " + item.filmeId()));
+                continue;
+            }
+            
+            try {
+                Locacao locacao = Locacao.criar(
+                        clienteId,
+                        filmeId,
+                        item.dataLocacao(),
+                        item.dataPrevistaDevolucao(),
+                        item.valorLocacao()
+                );
+                validas.add(locacao);
+                indicesValidos.add(i);
+                resultados.add(null);
+            } catch (IllegalArgumentException e) {
+                resultados.add(ResultadoItemLocacao.rejeitada(i, item.filmeId(), e.getMessage()));
+            }
+        }
+        
+        Map<UUID, Integer> reservadas = reservarCopias(validas);
+        List<Locacao> locacoes = new ArrayList<>(validas.size());
+        
+        for (int j = 0; j < validas.size(); j++) {
+            Locacao locacao = validas.get(j);
+            int indice = indicesValidos.get(j);
+            UUID filmeId = locacao.getFilmeId().getValue();
+            
+            // Itens do mesmo filme consomem as cópias reservadas na ordem em que aparecem no lote
+            int restantes = reservadas.getOrDefault(filmeId, 0);
+            if (restantes == 0) {
+                resultados.set(indice, ResultadoItemLocacao.rejeitada(indice, filmeId, "Nenhuma cópia disponível do filme: " + filmeId));
+                continue;
+            }
+            reservadas.put(filmeId, restantes - 1);
+            locacoes.add(locacao);
+            resultados.set(indice, ResultadoItemLocacao.criada(indice, filmeId, locacao.getLocacaoId().getValue()));
+        }
+        
+        locacaoRepository.insertAll(locacoes);
+        locacoes.forEach(locacao -> rankingFilmes.registrarLocacao(locacao.getFilmeId(), locacao.getDataLocacao()));
+        
+        return resultados;
+    }
+    
+    private Map<UUID, Integer> reservarCopias(List<Locacao> locacoes) {
+        Map<UUID, Long> pedidas = locacoes.stream()
+                .collect(Collectors.groupingBy(locacao -> locacao.getFilmeId().getValue(), TreeMap::new, Collectors.counting()));
+        
+        Map<UUID, Integer> reservadas = new TreeMap<>();
+        pedidas.forEach((filmeId, quantidade) ->
+                reservadas.put(filmeId, estoqueFilmeRepository.reservar(FilmeId.of(filmeId), quantidade.intValue())));
+        return reservadas;
+    }
+}
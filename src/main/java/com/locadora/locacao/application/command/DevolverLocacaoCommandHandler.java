@@ -1,41 +1,62 @@
 package com.locadora.locacao.application.command;
 
+import com.locadora.filme.domain.EstoqueFilmeRepository;
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.domain.FilmeRepository;
 import com.locadora.locacao.domain.Locacao;
 import com.locadora.locacao.domain.LocacaoId;
 import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.locacao.domain.PoliticaMulta;
 import com.locadora.shared.cqrs.CommandHandler;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-import java.time.temporal.ChronoUnit;
-
 /**
  * Handler para o comando de devolver locação
  */
 @Service
 @Transactional
-public class DevolverLocacaoCommandHandler implements CommandHandler<DevolverLocacaoCommand, Void> {
+public class DevolverLocacaoCommandHandler implements CommandHandler<DevolverLocacaoCommand, Locacao> {
     
     private final LocacaoRepository locacaoRepository;
+    private final EstoqueFilmeRepository estoqueFilmeRepository;
+    private final FilmeRepository filmeRepository;
+    private final PoliticaMulta politicaMulta;
     
-    public DevolverLocacaoCommandHandler(LocacaoRepository locacaoRepository) {
+    public DevolverLocacaoCommandHandler(
+            LocacaoRepository locacaoRepository,
+            EstoqueFilmeRepository estoqueFilmeRepository,
+            FilmeRepository filmeRepository,
+            PoliticaMulta politicaMulta) {
         this.locacaoRepository = locacaoRepository;
+        this.estoqueFilmeRepository = estoqueFilmeRepository;
+        this.filmeRepository = filmeRepository;
+        this.politicaMulta = politicaMulta;
     }
     
     @Override
-    public Void handle(DevolverLocacaoCommand command) {
+    public Locacao handle(DevolverLocacaoCommand command) {
         LocacaoId locacaoId = LocacaoId.of(command.locacaoId());
         
-        Locacao locacao = locacaoRepository.findById(locacaoId)
+        // Com a linha bloqueada, uma exclusão ou devolução concorrente não libera a mesma cópia duas vezes
+        Locacao locacao = locacaoRepository.findByIdParaAtualizar(locacaoId)
                 .orElseThrow(() -> new IllegalArgumentException("Locação não encontrada: " + command.locacaoId()));
         
-        // Calcula multa se houver atraso
-        BigDecimal multa = BigDecimal.ZERO;
-        locacao.devolver(command.dataDevolucao());
+        // O gênero só é buscado (no cache de filmes) quando a política tem taxas por gênero
+        String genero = null;
+        if (politicaMulta.dependeDoGenero()) {
+            genero = filmeRepository.findById(locacao.getFilmeId())
+                    .map(Filme::getDetalhes)
+                    .map(FilmeDetalhes::getGenero)
+                    .orElse(null);
+        }
+        
+        locacao.devolver(command.dataDevolucao(), politicaMulta, genero);
         
-        locacaoRepository.save(locacao);
+        Locacao salva = locacaoRepository.save(locacao);
+        estoqueFilmeRepository.liberar(locacao.getFilmeId());
         
-        return null;
+        return salva;
     }
-}
\ No newline at end of file
+}
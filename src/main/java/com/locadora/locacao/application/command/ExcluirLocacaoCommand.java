@@ -0,0 +1,17 @@
+package com.locadora.locacao.application.command;
+
+import com.locadora.shared.cqrs.Command;
+
+import java.util.UUID;
+
+/**
+ * Comando para excluir uma locação
+ */
+public record ExcluirLocacaoCommand(UUID locacaoId) implements Command {
+    
+    public ExcluirLocacaoCommand {
+        if (locacaoId == null) {
+            throw new IllegalArgumentException("ID da locação é obrigatório");
+        }
+    }
+}
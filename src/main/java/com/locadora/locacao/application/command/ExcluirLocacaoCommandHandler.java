@@ -0,0 +1,44 @@
+package com.locadora.locacao.application.command;
+
+import com.locadora.filme.domain.EstoqueFilmeRepository;
+import com.locadora.locacao.domain.LocacaoExcluida;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.shared.cqrs.CommandHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Handler para o comando de excluir locação.
+ * <p>
+ * A cópia volta ao estoque conforme o status da linha efetivamente removida (DELETE ... RETURNING), e não
+ * de uma leitura anterior: uma devolução concorrente já confirmada aparece como DEVOLVIDA e não libera de novo.
+ */
+@Service
+@Transactional
+public class ExcluirLocacaoCommandHandler implements CommandHandler<ExcluirLocacaoCommand, Void> {
+    
+    private final LocacaoRepository locacaoRepository;
+    private final EstoqueFilmeRepository estoqueFilmeRepository;
+    
+    public ExcluirLocacaoCommandHandler(
+            LocacaoRepository locacaoRepository,
+            EstoqueFilmeRepository estoqueFilmeRepository) {
+        this.locacaoRepository = locacaoRepository;
+        this.estoqueFilmeRepository = estoqueFilmeRepository;
+    }
+    
+    @Override
+    public Void handle(ExcluirLocacaoCommand command) {
+        LocacaoId locacaoId = LocacaoId.of(command.locacaoId());
+        
+        LocacaoExcluida excluida = locacaoRepository.deleteById(locacaoId)
+                .orElseThrow(() -> new IllegalArgumentException("Locação não encontrada: " + command.locacaoId()));
+        
+        // Excluir uma locação em andamento devolve a cópia ao estoque
+        if (excluida.getStatus().retemCopia()) {
+            estoqueFilmeRepository.liberar(excluida.getFilmeId());
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.locadora.locacao.application.command;
+
+import com.locadora.shared.cqrs.Command;
+
+import java.time.LocalDate;
+
+/**
+ * Comando para recalcular, com a política de multa vigente, as multas das locações devolvidas em uma data
+ */
+public record ReprecificarMultasCommand(LocalDate dataDevolucao) implements Command {
+    
+    public ReprecificarMultasCommand {
+        if (dataDevolucao == null) {
+            throw new IllegalArgumentException("Data de devolução é obrigatória");
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.locadora.locacao.application.command;
+
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeDetalhes;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.locacao.domain.PoliticaMulta;
+import com.locadora.shared.cqrs.CommandHandler;
+import com.locadora.shared.domain.Centavos;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Handler do fechamento do dia: reprecifica as multas das devoluções de uma data com a política vigente.
+ * <p>
+ * Valores, dias de atraso e taxas vão para arrays primitivos e a política calcula todas as multas em uma passada;
+ * só as locações cuja multa mudou são gravadas, em um único batch. Retorna quantas foram alteradas.
+ */
+@Service
+@Transactional
+public class ReprecificarMultasCommandHandler implements CommandHandler<ReprecificarMultasCommand, Integer> {
+    
+    private final LocacaoRepository locacaoRepository;
+    private final FilmeRepository filmeRepository;
+    private final PoliticaMulta politicaMulta;
+    
+    public ReprecificarMultasCommandHandler(
+            LocacaoRepository locacaoRepository,
+            FilmeRepository filmeRepository,
+            PoliticaMulta politicaMulta) {
+        this.locacaoRepository = locacaoRepository;
+        this.filmeRepository = filmeRepository;
+        this.politicaMulta = politicaMulta;
+    }
+    
+    @Override
+    public Integer handle(ReprecificarMultasCommand command) {
+        List<Locacao> devolvidas = locacaoRepository.findDevolvidasEm(command.dataDevolucao());
+        int quantidade = devolvidas.size();
+        
+        long[] valores = new long[quantidade];
+        long[] diasAtraso = new long[quantidade];
+        int[] taxas = new int[quantidade];
+        long[] multas = new long[quantidade];
+        
+        // Gênero resolvido uma vez por filme, e só quando a política depende dele
+        Map<FilmeId, Integer> taxaPorFilme = new HashMap<>();
+        for (int i = 0; i < quantidade; i++) {
+            Locacao locacao = devolvidas.get(i);
+            valores[i] = Centavos.de(locacao.getValorLocacao());
+            diasAtraso[i] = locacao.diasAtraso();
+            taxas[i] = politicaMulta.dependeDoGenero()
+                    ? taxaPorFilme.computeIfAbsent(locacao.getFilmeId(), this::taxaDoFilme)
+                    : politicaMulta.taxaDiariaPb(null);
+        }
+        
+        politicaMulta.multasCentavos(valores, diasAtraso, taxas, multas, quantidade);
+        
+        List<Locacao> alteradas = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            Locacao locacao = devolvidas.get(i);
+            if (locacao.reprecificarMulta(Centavos.paraValor(multas[i]))) {
+                alteradas.add(locacao);
+            }
+        }
+        
+        locacaoRepository.atualizarMultas(alteradas);
+        return alteradas.size();
+    }
+    
+    private int taxaDoFilme(FilmeId filmeId) {
+        String genero = filmeRepository.findById(filmeId)
+                .map(Filme::getDetalhes)
+                .map(FilmeDetalhes::getGenero)
+                .orElse(null);
+        return politicaMulta.taxaDiariaPb(genero);
+    }
+}
@@ -0,0 +1,26 @@
+package com.locadora.locacao.application.command;
+
+import java.util.UUID;
+
+/**
+ * Resultado de um item do lote de locações: o ID da locação criada ou o motivo da rejeição
+ */
+public record ResultadoItemLocacao(
+        int indice,
+        UUID filmeId,
+        UUID locacaoId,
+        String erro
+) {
+    
+    public static ResultadoItemLocacao criada(int indice, UUID filmeId, UUID locacaoId) {
+        return new ResultadoItemLocacao(indice, filmeId, locacaoId, null);
+    }
+    
+    public static ResultadoItemLocacao rejeitada(int indice, UUID filmeId, String erro) {
+        return new ResultadoItemLocacao(indice, filmeId, null, erro);
+    }
+    
+    public boolean isCriada() {
+        return locacaoId != null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.locadora.locacao.application.query;
+
+import com.locadora.locacao.domain.JanelaRanking;
+import com.locadora.locacao.presentation.RankingFilmeResponse;
+import com.locadora.shared.cqrs.Query;
+
+import java.util.List;
+
+/**
+ * Query para os filmes mais locados em uma janela móvel
+ */
+public record BuscarRankingFilmesQuery(JanelaRanking janela, int limite) implements Query<List<RankingFilmeResponse>> {
+    
+    public static final int LIMITE_MAXIMO = 100;
+    
+    public BuscarRankingFilmesQuery {
+        if (janela == null) {
+            throw new IllegalArgumentException("Janela do ranking é obrigatória");
+        }
+        if (limite < 1 || limite > LIMITE_MAXIMO) {
+            throw new IllegalArgumentException("Limite do ranking deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+    }
+}
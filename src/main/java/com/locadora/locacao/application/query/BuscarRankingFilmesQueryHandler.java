@@ -0,0 +1,29 @@
+package com.locadora.locacao.application.query;
+
+import com.locadora.locacao.domain.RankingFilmes;
+import com.locadora.locacao.presentation.RankingFilmeResponse;
+import com.locadora.shared.cqrs.QueryHandler;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Handler para a query de ranking; lê só a memória, sem abrir transação nem consultar o banco
+ */
+@Service
+public class BuscarRankingFilmesQueryHandler implements QueryHandler<BuscarRankingFilmesQuery, List<RankingFilmeResponse>> {
+    
+    private final RankingFilmes rankingFilmes;
+    
+    public BuscarRankingFilmesQueryHandler(RankingFilmes rankingFilmes) {
+        this.rankingFilmes = rankingFilmes;
+    }
+    
+    @Override
+    public List<RankingFilmeResponse> handle(BuscarRankingFilmesQuery query) {
+        return rankingFilmes.top(query.janela(), query.limite(), LocalDate.now()).stream()
+                .map(RankingFilmeResponse::from)
+                .toList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.locadora.locacao.application.query;
+
+import com.locadora.shared.cqrs.Query;
+
+import java.time.LocalDate;
+
+/**
+ * Query para exportar as locações de um período (datas de locação inclusivas); o resultado é a quantidade
+ * de locações escritas no destino
+ */
+public record ExportarLocacoesQuery(
+        LocalDate de,
+        LocalDate ate
+) implements Query<Long> {
+    
+    public ExportarLocacoesQuery {
+        if (de == null || ate == null) {
+            throw new IllegalArgumentException("Período da exportação é obrigatório");
+        }
+        if (ate.isBefore(de)) {
+            throw new IllegalArgumentException("Data final da exportação deve ser posterior à data inicial");
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.locadora.locacao.application.query;
+
+import com.locadora.locacao.domain.ExportacaoLocacaoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Handler da exportação de locações como CSV comprimido com gzip. O CSV vem do COPY do PostgreSQL e passa
+ * pelo gzip direto para o destino, com memória constante qualquer que seja o período; por isso o resultado
+ * é escrito em um OutputStream em vez de devolvido.
+ */
+@Service
+public class ExportarLocacoesQueryHandler {
+    
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+    
+    private final ExportacaoLocacaoRepository exportacaoRepository;
+    
+    public ExportarLocacoesQueryHandler(ExportacaoLocacaoRepository exportacaoRepository) {
+        this.exportacaoRepository = exportacaoRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public long exportar(ExportarLocacoesQuery query, OutputStream destino) {
+        try {
+            // finish() encerra o gzip sem fechar o destino, que pertence a quem chamou
+            GZIPOutputStream gzip = new GZIPOutputStream(destino, TAMANHO_BUFFER);
+            long linhas = exportacaoRepository.exportarCsv(query.de(), query.ate().plusDays(1), gzip);
+            gzip.finish();
+            return linhas;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao escrever a exportação de locações", e);
+        }
+    }
+}
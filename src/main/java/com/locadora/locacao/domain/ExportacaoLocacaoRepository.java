@@ -0,0 +1,49 @@
+package com.locadora.locacao.domain;
+
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exportação em massa do histórico de locações e checkpoints das partições já exportadas
+ */
+public interface ExportacaoLocacaoRepository {
+    
+    /**
+     * Escreve em {@code destino}, como CSV com cabeçalho, as locações com data_locacao em [de, ateExclusivo),
+     * sem materializá-las em memória; retorna quantas linhas foram escritas. O destino não é fechado.
+     */
+    long exportarCsv(LocalDate de, LocalDate ateExclusivo, OutputStream destino);
+    
+    Optional<LocalDate> primeiraDataLocacao();
+    
+    /**
+     * Fim exclusivo da última partição registrada para o destino, onde a próxima exportação começa
+     */
+    Optional<LocalDate> fimUltimaParticao(String destino);
+    
+    /**
+     * Partições já exportadas para o destino cujas locações mudaram depois da exportação (pelo início)
+     */
+    List<LocalDate> particoesDesatualizadas(String destino);
+    
+    /**
+     * Alterações contadas nos dias em [de, ateExclusivo); lida na mesma transação do exportarCsv
+     * para corresponder ao snapshot exportado
+     */
+    long alteracoes(LocalDate de, LocalDate ateExclusivo);
+    
+    /**
+     * Conta uma alteração nas locações de {@code dataLocacao}
+     */
+    void registrarAlteracao(LocalDate dataLocacao);
+    
+    /**
+     * Como registrarAlteracao(LocalDate), lendo a data da própria locação (eventos sem a data)
+     */
+    void registrarAlteracao(LocacaoId locacaoId);
+    
+    void registrarParticao(String destino, LocalDate inicio, LocalDate fim, long linhas, long alteracoes,
+                           String arquivo);
+}
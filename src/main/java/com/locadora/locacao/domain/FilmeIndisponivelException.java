@@ -0,0 +1,20 @@
+package com.locadora.locacao.domain;
+
+import com.locadora.filme.domain.FilmeId;
+
+/**
+ * Lançada quando todas as cópias do filme já estão locadas
+ */
+public class FilmeIndisponivelException extends RuntimeException {
+    
+    private final FilmeId filmeId;
+    
+    public FilmeIndisponivelException(FilmeId filmeId) {
+        super("Nenhuma cópia disponível do filme: " + filmeId.getValue());
+        this.filmeId = filmeId;
+    }
+    
+    public FilmeId getFilmeId() {
+        return filmeId;
+    }
+}
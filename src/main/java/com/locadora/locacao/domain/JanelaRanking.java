@@ -0,0 +1,27 @@
+package com.locadora.locacao.domain;
+
+/**
+ * Janelas móveis do ranking de filmes mais locados, contadas em dias até hoje (inclusive)
+ */
+public enum JanelaRanking {
+    SEMANA(7),
+    MES(30),
+    ANO(365);
+    
+    private final int dias;
+    
+    JanelaRanking(int dias) {
+        this.dias = dias;
+    }
+    
+    public int getDias() {
+        return dias;
+    }
+    
+    /**
+     * Maior janela disponível; define por quantos dias o ranking guarda contagens
+     */
+    public static JanelaRanking maior() {
+        return ANO;
+    }
+}
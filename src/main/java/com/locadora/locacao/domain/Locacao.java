@@ -3,6 +3,7 @@ package com.locadora.locacao.domain;
 import com.locadora.cliente.domain.ClienteId;
 import com.locadora.filme.domain.FilmeId;
 import com.locadora.shared.domain.AggregateRoot;
+import com.locadora.shared.domain.Centavos;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -62,31 +63,68 @@ public class Locacao extends AggregateRoot<LocacaoId> {
     
     public static Locacao criar(ClienteId clienteId, FilmeId filmeId, 
                                LocalDate dataLocacao, LocalDate dataPrevistaDevolucao, BigDecimal valorLocacao) {
-        return new Locacao(LocacaoId.generate(), clienteId, filmeId, dataLocacao, dataPrevistaDevolucao, valorLocacao);
+        Locacao locacao = new Locacao(LocacaoId.generate(), clienteId, filmeId, dataLocacao, dataPrevistaDevolucao, valorLocacao);
+        locacao.addDomainEvent(new LocacaoCriada(locacao.id, clienteId, filmeId, dataLocacao, valorLocacao, LocalDateTime.now()));
+        return locacao;
     }
     
-    public void devolver(LocalDate dataDevolucao) {
-        if (this.status != StatusLocacao.ATIVA) {
-            throw new IllegalStateException("Apenas locações ativas podem ser devolvidas");
+    /**
+     * Devolve a locação cobrando a multa de atraso segundo a política, com a taxa do gênero do filme
+     */
+    public void devolver(LocalDate dataDevolucao, PoliticaMulta politicaMulta, String genero) {
+        if (!this.status.retemCopia()) {
+            throw new IllegalStateException("Apenas locações ativas ou atrasadas podem ser devolvidas");
         }
         
+        StatusLocacao statusAnterior = this.status;
         this.dataDevolucao = Objects.requireNonNull(dataDevolucao, "Data de devolução não pode ser nula");
         this.status = StatusLocacao.DEVOLVIDA;
         this.atualizadoEm = LocalDateTime.now();
         
-        // Calcular multa se houver atraso
-        if (dataDevolucao.isAfter(dataPrevistaDevolucao)) {
-            long diasAtraso = dataDevolucao.toEpochDay() - dataPrevistaDevolucao.toEpochDay();
-            this.valorMulta = valorLocacao.multiply(BigDecimal.valueOf(diasAtraso * 0.1)); // 10% por dia de atraso
+        long diasAtraso = diasAtraso();
+        if (diasAtraso > 0) {
+            this.valorMulta = Centavos.paraValor(politicaMulta.multaCentavos(
+                    Centavos.de(valorLocacao), diasAtraso, politicaMulta.taxaDiariaPb(genero)));
+        }
+        
+        addDomainEvent(new LocacaoDevolvida(this.id, this.clienteId, this.filmeId, this.dataLocacao, dataDevolucao,
+                statusAnterior, this.valorMulta, LocalDateTime.now()));
+    }
+    
+    /**
+     * Substitui a multa de uma locação devolvida; retorna false se o valor não mudou
+     */
+    public boolean reprecificarMulta(BigDecimal novaMulta) {
+        if (this.status != StatusLocacao.DEVOLVIDA) {
+            throw new IllegalStateException("Apenas locações devolvidas podem ter a multa recalculada");
+        }
+        BigDecimal anterior = this.valorMulta != null ? this.valorMulta : BigDecimal.ZERO;
+        if (anterior.compareTo(novaMulta) == 0) {
+            return false;
         }
         
-        addDomainEvent(new LocacaoDevolvida(this.id, this.clienteId, this.filmeId, dataDevolucao, LocalDateTime.now()));
+        this.valorMulta = novaMulta;
+        this.atualizadoEm = LocalDateTime.now();
+        addDomainEvent(new MultaRecalculada(this.id, this.clienteId, this.filmeId, this.dataLocacao, this.dataDevolucao,
+                novaMulta.subtract(anterior), LocalDateTime.now()));
+        return true;
+    }
+    
+    /**
+     * Dias entre a data prevista e a devolução (ou zero se devolvida no prazo ou ainda não devolvida)
+     */
+    public long diasAtraso() {
+        if (dataDevolucao == null) {
+            return 0;
+        }
+        return Math.max(0, dataDevolucao.toEpochDay() - dataPrevistaDevolucao.toEpochDay());
     }
     
     public void marcarComoAtrasada() {
         if (this.status == StatusLocacao.ATIVA && LocalDate.now().isAfter(dataPrevistaDevolucao)) {
             this.status = StatusLocacao.ATRASADA;
             this.atualizadoEm = LocalDateTime.now();
+            addDomainEvent(new LocacaoAtrasada(this.id, this.clienteId, this.filmeId, this.dataLocacao, dataPrevistaDevolucao, LocalDateTime.now()));
         }
     }
     
@@ -97,6 +135,7 @@ public class Locacao extends AggregateRoot<LocacaoId> {
         
         this.status = StatusLocacao.CANCELADA;
         this.atualizadoEm = LocalDateTime.now();
+        addDomainEvent(new LocacaoCancelada(this.id, this.clienteId, this.filmeId, this.dataLocacao, this.valorLocacao, LocalDateTime.now()));
     }
     
     private void validateDatas() {
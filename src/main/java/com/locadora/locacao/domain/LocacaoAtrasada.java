@@ -0,0 +1,72 @@
+package com.locadora.locacao.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.shared.domain.DomainEvent;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio disparado quando uma locação passa da data prevista de devolução sem ser devolvida
+ */
+public class LocacaoAtrasada implements DomainEvent {
+    
+    private final LocacaoId locacaoId;
+    private final ClienteId clienteId;
+    private final FilmeId filmeId;
+    private final LocalDate dataLocacao;
+    private final LocalDate dataPrevistaDevolucao;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public LocacaoAtrasada(
+            @JsonProperty("locacaoId") LocacaoId locacaoId,
+            @JsonProperty("clienteId") ClienteId clienteId,
+            @JsonProperty("filmeId") FilmeId filmeId,
+            @JsonProperty("dataLocacao") LocalDate dataLocacao,
+            @JsonProperty("dataPrevistaDevolucao") LocalDate dataPrevistaDevolucao,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn) {
+        this.locacaoId = locacaoId;
+        this.clienteId = clienteId;
+        this.filmeId = filmeId;
+        this.dataLocacao = dataLocacao;
+        this.dataPrevistaDevolucao = dataPrevistaDevolucao;
+        this.occurredOn = occurredOn;
+    }
+    
+    public LocacaoId getLocacaoId() {
+        return locacaoId;
+    }
+    
+    public ClienteId getClienteId() {
+        return clienteId;
+    }
+    
+    public FilmeId getFilmeId() {
+        return filmeId;
+    }
+    
+    /**
+     * Data da locação (chave da partição); nula em eventos gravados antes de o campo existir
+     */
+    public LocalDate getDataLocacao() {
+        return dataLocacao;
+    }
+    
+    public LocalDate getDataPrevistaDevolucao() {
+        return dataPrevistaDevolucao;
+    }
+    
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "LocacaoAtrasada";
+    }
+}
\ No newline at end of file
@@ -0,0 +1,70 @@
+package com.locadora.locacao.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.shared.domain.DomainEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Evento de domínio disparado quando uma locação é criada
+ */
+public class LocacaoCriada implements DomainEvent {
+    
+    private final LocacaoId locacaoId;
+    private final ClienteId clienteId;
+    private final FilmeId filmeId;
+    private final LocalDate dataLocacao;
+    private final BigDecimal valorLocacao;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public LocacaoCriada(
+            @JsonProperty("locacaoId") LocacaoId locacaoId,
+            @JsonProperty("clienteId") ClienteId clienteId,
+            @JsonProperty("filmeId") FilmeId filmeId,
+            @JsonProperty("dataLocacao") LocalDate dataLocacao,
+            @JsonProperty("valorLocacao") BigDecimal valorLocacao,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn) {
+        this.locacaoId = locacaoId;
+        this.clienteId = clienteId;
+        this.filmeId = filmeId;
+        this.dataLocacao = dataLocacao;
+        this.valorLocacao = valorLocacao;
+        this.occurredOn = occurredOn;
+    }
+    
+    public LocacaoId getLocacaoId() {
+        return locacaoId;
+    }
+    
+    public ClienteId getClienteId() {
+        return clienteId;
+    }
+    
+    public FilmeId getFilmeId() {
+        return filmeId;
+    }
+    
+    public LocalDate getDataLocacao() {
+        return dataLocacao;
+    }
+    
+    public BigDecimal getValorLocacao() {
+        return valorLocacao;
+    }
+    
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "LocacaoCriada";
+    }
+}
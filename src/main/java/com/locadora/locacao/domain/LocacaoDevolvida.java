@@ -1,9 +1,12 @@
 package com.locadora.locacao.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.locadora.cliente.domain.ClienteId;
 import com.locadora.filme.domain.FilmeId;
 import com.locadora.shared.domain.DomainEvent;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -15,15 +18,29 @@ public class LocacaoDevolvida implements DomainEvent {
     private final LocacaoId locacaoId;
     private final ClienteId clienteId;
     private final FilmeId filmeId;
+    private final LocalDate dataLocacao;
     private final LocalDate dataDevolucao;
+    private final StatusLocacao statusAnterior;
+    private final BigDecimal valorMulta;
     private final LocalDateTime occurredOn;
     
-    public LocacaoDevolvida(LocacaoId locacaoId, ClienteId clienteId, FilmeId filmeId, 
-                           LocalDate dataDevolucao, LocalDateTime occurredOn) {
+    @JsonCreator
+    public LocacaoDevolvida(
+            @JsonProperty("locacaoId") LocacaoId locacaoId,
+            @JsonProperty("clienteId") ClienteId clienteId,
+            @JsonProperty("filmeId") FilmeId filmeId,
+            @JsonProperty("dataLocacao") LocalDate dataLocacao,
+            @JsonProperty("dataDevolucao") LocalDate dataDevolucao,
+            @JsonProperty("statusAnterior") StatusLocacao statusAnterior,
+            @JsonProperty("valorMulta") BigDecimal valorMulta,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn) {
         this.locacaoId = locacaoId;
         this.clienteId = clienteId;
         this.filmeId = filmeId;
+        this.dataLocacao = dataLocacao;
         this.dataDevolucao = dataDevolucao;
+        this.statusAnterior = statusAnterior;
+        this.valorMulta = valorMulta;
         this.occurredOn = occurredOn;
     }
     
@@ -39,10 +56,28 @@ public class LocacaoDevolvida implements DomainEvent {
         return filmeId;
     }
     
+    /**
+     * Data da locação (chave da partição); nula em eventos gravados antes de o campo existir
+     */
+    public LocalDate getDataLocacao() {
+        return dataLocacao;
+    }
+    
     public LocalDate getDataDevolucao() {
         return dataDevolucao;
     }
     
+    /**
+     * ATIVA ou ATRASADA: o status de que a locação saiu ao ser devolvida
+     */
+    public StatusLocacao getStatusAnterior() {
+        return statusAnterior;
+    }
+    
+    public BigDecimal getValorMulta() {
+        return valorMulta;
+    }
+    
     @Override
     public LocalDateTime getOccurredOn() {
         return occurredOn;
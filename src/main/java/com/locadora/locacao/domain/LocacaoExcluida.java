@@ -0,0 +1,91 @@
+package com.locadora.locacao.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.shared.domain.DomainEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Evento disparado quando uma locação é excluída; carrega o estado final para que projeções desfaçam sua contribuição
+ */
+public class LocacaoExcluida implements DomainEvent {
+    
+    private final LocacaoId locacaoId;
+    private final ClienteId clienteId;
+    private final FilmeId filmeId;
+    private final LocalDate dataLocacao;
+    private final LocalDate dataDevolucao;
+    private final StatusLocacao status;
+    private final BigDecimal valorLocacao;
+    private final BigDecimal valorMulta;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public LocacaoExcluida(
+            @JsonProperty("locacaoId") LocacaoId locacaoId,
+            @JsonProperty("clienteId") ClienteId clienteId,
+            @JsonProperty("filmeId") FilmeId filmeId,
+            @JsonProperty("dataLocacao") LocalDate dataLocacao,
+            @JsonProperty("dataDevolucao") LocalDate dataDevolucao,
+            @JsonProperty("status") StatusLocacao status,
+            @JsonProperty("valorLocacao") BigDecimal valorLocacao,
+            @JsonProperty("valorMulta") BigDecimal valorMulta,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn) {
+        this.locacaoId = locacaoId;
+        this.clienteId = clienteId;
+        this.filmeId = filmeId;
+        this.dataLocacao = dataLocacao;
+        this.dataDevolucao = dataDevolucao;
+        this.status = status;
+        this.valorLocacao = valorLocacao;
+        this.valorMulta = valorMulta;
+        this.occurredOn = occurredOn;
+    }
+    
+    public LocacaoId getLocacaoId() {
+        return locacaoId;
+    }
+    
+    public ClienteId getClienteId() {
+        return clienteId;
+    }
+    
+    public FilmeId getFilmeId() {
+        return filmeId;
+    }
+    
+    public LocalDate getDataLocacao() {
+        return dataLocacao;
+    }
+    
+    public LocalDate getDataDevolucao() {
+        return dataDevolucao;
+    }
+    
+    public StatusLocacao getStatus() {
+        return status;
+    }
+    
+    public BigDecimal getValorLocacao() {
+        return valorLocacao;
+    }
+    
+    public BigDecimal getValorMulta() {
+        return valorMulta;
+    }
+    
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "LocacaoExcluida";
+    }
+}
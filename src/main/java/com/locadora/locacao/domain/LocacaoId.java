@@ -1,5 +1,7 @@
 package com.locadora.locacao.domain;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
 import com.locadora.shared.domain.ValueObject;
 
 import java.util.Objects;
@@ -16,6 +18,7 @@ public class LocacaoId extends ValueObject {
         this.value = Objects.requireNonNull(value, "LocacaoId não pode ser nulo");
     }
     
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
     public static LocacaoId of(UUID value) {
         return new LocacaoId(value);
     }
@@ -28,6 +31,7 @@ public class LocacaoId extends ValueObject {
         return new LocacaoId(UUID.randomUUID());
     }
     
+    @JsonValue
     public UUID getValue() {
         return value;
     }
@@ -6,16 +6,30 @@ import com.locadora.filme.domain.FilmeId;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Interface do repositório para a entidade Locacao
  */
 public interface LocacaoRepository {
     
-    void save(Locacao locacao);
+    /**
+     * Grava a locação e retorna o estado persistido, lido do próprio upsert (RETURNING)
+     */
+    Locacao save(Locacao locacao);
+    
+    /**
+     * Insere novas locações em um único lote JDBC
+     */
+    void insertAll(List<Locacao> locacoes);
     
     Optional<Locacao> findById(LocacaoId id);
     
+    /**
+     * Como findById, bloqueando a linha até o fim da transação (SELECT ... FOR UPDATE)
+     */
+    Optional<Locacao> findByIdParaAtualizar(LocacaoId id);
+    
     List<Locacao> findAll();
     
     List<Locacao> findByClienteId(ClienteId clienteId);
@@ -30,9 +44,37 @@ public interface LocacaoRepository {
     
     List<Locacao> findByDataPrevistaDevolucao(LocalDate dataPrevistaDevolucao);
     
+    /**
+     * Locações já marcadas como ATRASADA (pelo varredor de atrasos), da mais antiga para a mais recente
+     */
     List<Locacao> findLocacoesAtrasadas();
     
-    void deleteById(LocacaoId id);
+    /**
+     * Marca como ATRASADA até {@code limite} locações ativas vencidas antes de {@code referencia},
+     * gravando LocacaoAtrasada no outbox na mesma transação. Linhas bloqueadas por outra transação são puladas.
+     */
+    List<Locacao> marcarAtrasadas(LocalDate referencia, int limite);
+    
+    /**
+     * Locações devolvidas na data, para o reprocessamento de multas do fechamento do dia
+     */
+    List<Locacao> findDevolvidasEm(LocalDate dataDevolucao);
+    
+    /**
+     * Grava as novas multas em um único lote JDBC, registrando MultaRecalculada no outbox
+     */
+    void atualizarMultas(List<Locacao> locacoes);
+    
+    /**
+     * Leitura em streaming com filtros opcionais (nulos são ignorados, os demais combinados com AND).
+     * Deve ser consumida dentro de uma transação e fechada ao final.
+     */
+    Stream<Locacao> streamByFiltros(ClienteId clienteId, FilmeId filmeId, StatusLocacao status);
+    
+    /**
+     * Remove a locação e devolve a linha removida (com o status no momento da remoção), ou vazio se não existia
+     */
+    Optional<LocacaoExcluida> deleteById(LocacaoId id);
     
     boolean existsById(LocacaoId id);
 }
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.locadora.locacao.domain;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.shared.domain.DomainEvent;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Evento disparado quando a multa de uma locação devolvida é recalculada (fechamento do dia)
+ */
+public class MultaRecalculada implements DomainEvent {
+    
+    private final LocacaoId locacaoId;
+    private final ClienteId clienteId;
+    private final FilmeId filmeId;
+    private final LocalDate dataLocacao;
+    private final LocalDate dataDevolucao;
+    private final BigDecimal diferenca;
+    private final LocalDateTime occurredOn;
+    
+    @JsonCreator
+    public MultaRecalculada(
+            @JsonProperty("locacaoId") LocacaoId locacaoId,
+            @JsonProperty("clienteId") ClienteId clienteId,
+            @JsonProperty("filmeId") FilmeId filmeId,
+            @JsonProperty("dataLocacao") LocalDate dataLocacao,
+            @JsonProperty("dataDevolucao") LocalDate dataDevolucao,
+            @JsonProperty("diferenca") BigDecimal diferenca,
+            @JsonProperty("occurredOn") LocalDateTime occurredOn) {
+        this.locacaoId = locacaoId;
+        this.clienteId = clienteId;
+        this.filmeId = filmeId;
+        this.dataLocacao = dataLocacao;
+        this.dataDevolucao = dataDevolucao;
+        this.diferenca = diferenca;
+        this.occurredOn = occurredOn;
+    }
+    
+    public LocacaoId getLocacaoId() {
+        return locacaoId;
+    }
+    
+    public ClienteId getClienteId() {
+        return clienteId;
+    }
+    
+    public FilmeId getFilmeId() {
+        return filmeId;
+    }
+    
+    /**
+     * Data da locação (chave da partição); nula em eventos gravados antes de o campo existir
+     */
+    public LocalDate getDataLocacao() {
+        return dataLocacao;
+    }
+    
+    public LocalDate getDataDevolucao() {
+        return dataDevolucao;
+    }
+    
+    /**
+     * Nova multa menos a anterior (negativa quando a multa diminui)
+     */
+    public BigDecimal getDiferenca() {
+        return diferenca;
+    }
+    
+    @Override
+    public LocalDateTime getOccurredOn() {
+        return occurredOn;
+    }
+    
+    @Override
+    public String getEventType() {
+        return "MultaRecalculada";
+    }
+}
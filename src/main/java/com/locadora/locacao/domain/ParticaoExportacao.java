@@ -0,0 +1,55 @@
+package com.locadora.locacao.domain;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Granularidade dos arquivos da exportação de locações, pela data da locação
+ */
+public enum ParticaoExportacao {
+    DIA(DateTimeFormatter.ISO_LOCAL_DATE) {
+        @Override
+        public LocalDate inicio(LocalDate data) {
+            return data;
+        }
+        
+        @Override
+        public LocalDate fim(LocalDate inicio) {
+            return inicio.plusDays(1);
+        }
+    },
+    MES(DateTimeFormatter.ofPattern("yyyy-MM")) {
+        @Override
+        public LocalDate inicio(LocalDate data) {
+            return data.withDayOfMonth(1);
+        }
+        
+        @Override
+        public LocalDate fim(LocalDate inicio) {
+            return inicio.plusMonths(1);
+        }
+    };
+    
+    private final DateTimeFormatter formato;
+    
+    ParticaoExportacao(DateTimeFormatter formato) {
+        this.formato = formato;
+    }
+    
+    /**
+     * Início da partição que contém {@code data}
+     */
+    public abstract LocalDate inicio(LocalDate data);
+    
+    /**
+     * Fim exclusivo da partição iniciada em {@code inicio}
+     */
+    public abstract LocalDate fim(LocalDate inicio);
+    
+    /**
+     * Identificação da partição no nome do arquivo (ex.: 2024-01-15 ou 2024-01)
+     */
+    public String rotulo(LocalDate inicio) {
+        return formato.format(inicio);
+    }
+}
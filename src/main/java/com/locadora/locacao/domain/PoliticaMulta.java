@@ -0,0 +1,32 @@
+package com.locadora.locacao.domain;
+
+/**
+ * Política de cálculo da multa por atraso na devolução.
+ * <p>
+ * Trabalha só com {@code long} em centavos e taxas em pontos-base (1 pb = 0,01%), sem alocar objetos,
+ * para que devoluções e o reprocessamento em lote do fechamento do dia não gerem lixo no caminho quente.
+ */
+public interface PoliticaMulta {
+    
+    /**
+     * Taxa diária, em pontos-base do valor da locação, aplicada a filmes do gênero (nulo usa a taxa padrão)
+     */
+    int taxaDiariaPb(String genero);
+    
+    /**
+     * Se alguma taxa depende do gênero; quando falso, quem chama pode evitar buscar o gênero do filme
+     */
+    boolean dependeDoGenero();
+    
+    long multaCentavos(long valorLocacaoCentavos, long diasAtraso, int taxaDiariaPb);
+    
+    /**
+     * Calcula as multas das {@code quantidade} primeiras posições dos arrays, gravando em {@code multasCentavos}
+     */
+    default void multasCentavos(long[] valoresLocacaoCentavos, long[] diasAtraso, int[] taxasDiariasPb,
+                                long[] multasCentavos, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            multasCentavos[i] = multaCentavos(valoresLocacaoCentavos[i], diasAtraso[i], taxasDiariasPb[i]);
+        }
+    }
+}
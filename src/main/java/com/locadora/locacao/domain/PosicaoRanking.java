@@ -0,0 +1,9 @@
+package com.locadora.locacao.domain;
+
+import com.locadora.filme.domain.FilmeId;
+
+/**
+ * Filme e quantidade de locações dentro de uma janela do ranking
+ */
+public record PosicaoRanking(FilmeId filmeId, long locacoes) {
+}
@@ -0,0 +1,22 @@
+package com.locadora.locacao.domain;
+
+import com.locadora.filme.domain.FilmeId;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Ranking dos filmes mais locados em janelas móveis, mantido incrementalmente a cada locação criada
+ */
+public interface RankingFilmes {
+    
+    /**
+     * Conta uma locação; dentro de uma transação, a contagem só é aplicada após o commit
+     */
+    void registrarLocacao(FilmeId filmeId, LocalDate dataLocacao);
+    
+    /**
+     * Os {@code limite} filmes mais locados na janela terminada em {@code hoje}, do mais locado para o menos
+     */
+    List<PosicaoRanking> top(JanelaRanking janela, int limite, LocalDate hoje);
+}
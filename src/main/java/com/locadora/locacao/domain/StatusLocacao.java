@@ -18,4 +18,11 @@ public enum StatusLocacao {
     public String getDescricao() {
         return descricao;
     }
+    
+    /**
+     * Locações ativas ou atrasadas mantêm uma cópia do filme fora do estoque
+     */
+    public boolean retemCopia() {
+        return this == ATIVA || this == ATRASADA;
+    }
 }
\ No newline at end of file
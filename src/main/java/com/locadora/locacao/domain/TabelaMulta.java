@@ -0,0 +1,77 @@
+package com.locadora.locacao.domain;
+
+import java.util.Map;
+
+/**
+ * Política de multa por tabela: taxa diária (com taxas específicas por gênero), dias de carência e teto.
+ * <p>
+ * Os dias de carência não são cobrados; a multa acumulada é arredondada ao centavo (meio centavo para cima)
+ * e limitada pelo teto, também em pontos-base do valor da locação.
+ */
+public final class TabelaMulta implements PoliticaMulta {
+    
+    public static final int SEM_TETO = -1;
+    
+    /**
+     * 10% do valor da locação por dia de atraso, sem carência nem teto
+     */
+    public static final TabelaMulta PADRAO = new TabelaMulta(1_000, 0, SEM_TETO, Map.of());
+    
+    private static final long PB_POR_UNIDADE = 10_000;
+    
+    private final int taxaDiariaPb;
+    private final int diasCarencia;
+    private final int tetoPb;
+    private final Map<String, Integer> taxasPorGenero;
+    
+    public TabelaMulta(int taxaDiariaPb, int diasCarencia, int tetoPb, Map<String, Integer> taxasPorGenero) {
+        if (taxaDiariaPb < 0) {
+            throw new IllegalArgumentException("Taxa diária da multa não pode ser negativa");
+        }
+        if (diasCarencia < 0) {
+            throw new IllegalArgumentException("Dias de carência não podem ser negativos");
+        }
+        if (tetoPb < 0 && tetoPb != SEM_TETO) {
+            throw new IllegalArgumentException("Teto da multa não pode ser negativo");
+        }
+        if (taxasPorGenero.values().stream().anyMatch(taxa -> taxa == null || taxa < 0)) {
+            throw new IllegalArgumentException("Taxas por gênero não podem ser negativas");
+        }
+        this.taxaDiariaPb = taxaDiariaPb;
+        this.diasCarencia = diasCarencia;
+        this.tetoPb = tetoPb;
+        this.taxasPorGenero = Map.copyOf(taxasPorGenero);
+    }
+    
+    @Override
+    public int taxaDiariaPb(String genero) {
+        if (genero == null || taxasPorGenero.isEmpty()) {
+            return taxaDiariaPb;
+        }
+        Integer taxa = taxasPorGenero.get(genero);
+        return taxa != null ? taxa : taxaDiariaPb;
+    }
+    
+    @Override
+    public boolean dependeDoGenero() {
+        return !taxasPorGenero.isEmpty();
+    }
+    
+    @Override
+    public long multaCentavos(long valorLocacaoCentavos, long diasAtraso, int taxaDiariaPb) {
+        long diasCobrados = diasAtraso - diasCarencia;
+        if (diasCobrados <= 0 || valorLocacaoCentavos <= 0) {
+            return 0;
+        }
+        // multiplyExact: valores fora do razoável falham em vez de transbordar silenciosamente
+        long multa = arredondar(Math.multiplyExact(Math.multiplyExact(valorLocacaoCentavos, (long) taxaDiariaPb), diasCobrados));
+        if (tetoPb != SEM_TETO) {
+            multa = Math.min(multa, arredondar(Math.multiplyExact(valorLocacaoCentavos, (long) tetoPb)));
+        }
+        return multa;
+    }
+    
+    private static long arredondar(long centavosEmPb) {
+        return (centavosEmPb + PB_POR_UNIDADE / 2) / PB_POR_UNIDADE;
+    }
+}
@@ -0,0 +1,69 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.locacao.domain.ExportacaoLocacaoRepository;
+import com.locadora.locacao.domain.LocacaoAtrasada;
+import com.locadora.locacao.domain.LocacaoCancelada;
+import com.locadora.locacao.domain.LocacaoCriada;
+import com.locadora.locacao.domain.LocacaoDevolvida;
+import com.locadora.locacao.domain.LocacaoExcluida;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.MultaRecalculada;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Mantém locacao_alteracao a partir dos eventos de locação entregues pelo OutboxRelay: cada evento conta
+ * uma alteração no dia da locação, e a exportação refaz as partições já exportadas cujos dias mudaram.
+ * <p>
+ * Roda em todos os nós, mesmo onde o job de exportação está desligado, já que o evento é consumido por um só.
+ */
+@Component
+public class AlteracoesLocacaoProjection {
+
+    private final ExportacaoLocacaoRepository exportacaoRepository;
+
+    public AlteracoesLocacaoProjection(ExportacaoLocacaoRepository exportacaoRepository) {
+        this.exportacaoRepository = exportacaoRepository;
+    }
+
+    // Uma locação pode ser criada com data retroativa, em uma partição já exportada
+    @EventListener
+    public void aoCriarLocacao(LocacaoCriada event) {
+        exportacaoRepository.registrarAlteracao(event.getDataLocacao());
+    }
+
+    @EventListener
+    public void aoAtrasarLocacao(LocacaoAtrasada event) {
+        registrar(event.getLocacaoId(), event.getDataLocacao());
+    }
+
+    @EventListener
+    public void aoDevolverLocacao(LocacaoDevolvida event) {
+        registrar(event.getLocacaoId(), event.getDataLocacao());
+    }
+
+    @EventListener
+    public void aoRecalcularMulta(MultaRecalculada event) {
+        registrar(event.getLocacaoId(), event.getDataLocacao());
+    }
+
+    @EventListener
+    public void aoCancelarLocacao(LocacaoCancelada event) {
+        exportacaoRepository.registrarAlteracao(event.getDataLocacao());
+    }
+
+    @EventListener
+    public void aoExcluirLocacao(LocacaoExcluida event) {
+        exportacaoRepository.registrarAlteracao(event.getDataLocacao());
+    }
+
+    private void registrar(LocacaoId locacaoId, LocalDate dataLocacao) {
+        if (dataLocacao != null) {
+            exportacaoRepository.registrarAlteracao(dataLocacao);
+        } else {
+            exportacaoRepository.registrarAlteracao(locacaoId);
+        }
+    }
+}
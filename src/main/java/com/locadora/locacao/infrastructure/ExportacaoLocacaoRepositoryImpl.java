@@ -0,0 +1,139 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.locacao.domain.ExportacaoLocacaoRepository;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.shared.infrastructure.SqlPreparado;
+import org.postgresql.PGConnection;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Exportação de locações via COPY ... TO STDOUT: o servidor envia o CSV pronto e o driver o repassa ao
+ * OutputStream em blocos, sem ResultSet nem objetos por linha.
+ */
+@Repository
+public class ExportacaoLocacaoRepositoryImpl implements ExportacaoLocacaoRepository {
+
+    // COPY não aceita parâmetros: as datas entram como literais, sempre no formato ISO de LocalDate
+    private static final String COPIAR = """
+            COPY (
+                SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, data_devolucao,
+                       status, valor_locacao, valor_multa, criado_em, atualizado_em
+                FROM locacao
+                WHERE data_locacao >= DATE '%s' AND data_locacao < DATE '%s'
+                ORDER BY data_locacao, id
+            ) TO STDOUT (FORMAT csv, HEADER)
+            """;
+
+    private static final SqlPreparado PRIMEIRA_DATA = SqlPreparado.de("SELECT MIN(data_locacao) FROM locacao");
+
+    private static final SqlPreparado FIM_ULTIMA_PARTICAO = SqlPreparado.de("""
+            SELECT MAX(fim) FROM exportacao_locacao WHERE destino = :destino
+            """);
+
+    private static final SqlPreparado PARTICOES_DESATUALIZADAS = SqlPreparado.de("""
+            SELECT e.inicio
+            FROM exportacao_locacao e
+            WHERE e.destino = :destino
+              AND e.alteracoes < (
+                  SELECT COALESCE(SUM(a.alteracoes), 0)
+                  FROM locacao_alteracao a
+                  WHERE a.dia >= e.inicio AND a.dia < e.fim
+              )
+            ORDER BY e.inicio
+            """);
+
+    private static final SqlPreparado ALTERACOES = SqlPreparado.de("""
+            SELECT COALESCE(SUM(alteracoes), 0) FROM locacao_alteracao WHERE dia >= :de AND dia < :ate
+            """);
+
+    private static final SqlPreparado REGISTRAR_ALTERACAO = SqlPreparado.de("""
+            INSERT INTO locacao_alteracao (dia, alteracoes) VALUES (:dia, 1)
+            ON CONFLICT (dia) DO UPDATE SET alteracoes = locacao_alteracao.alteracoes + 1
+            """);
+
+    private static final SqlPreparado REGISTRAR_ALTERACAO_DA_LOCACAO = SqlPreparado.de("""
+            INSERT INTO locacao_alteracao (dia, alteracoes)
+            SELECT data_locacao, 1 FROM locacao WHERE id = :locacaoId
+            ON CONFLICT (dia) DO UPDATE SET alteracoes = locacao_alteracao.alteracoes + 1
+            """);
+
+    private static final SqlPreparado REGISTRAR_PARTICAO = SqlPreparado.de("""
+            INSERT INTO exportacao_locacao (destino, inicio, fim, linhas, alteracoes, arquivo)
+            VALUES (:destino, :inicio, :fim, :linhas, :alteracoes, :arquivo)
+            ON CONFLICT (destino, inicio) DO UPDATE SET
+                fim = EXCLUDED.fim,
+                linhas = EXCLUDED.linhas,
+                alteracoes = EXCLUDED.alteracoes,
+                arquivo = EXCLUDED.arquivo,
+                exportado_em = CURRENT_TIMESTAMP
+            """);
+
+    private final JdbcOperations jdbc;
+
+    public ExportacaoLocacaoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbc = jdbcTemplate.getJdbcOperations();
+    }
+
+    @Override
+    public long exportarCsv(LocalDate de, LocalDate ateExclusivo, OutputStream destino) {
+        String sql = COPIAR.formatted(de, ateExclusivo);
+        Long linhas = jdbc.execute((ConnectionCallback<Long>) conexao -> {
+            try {
+                return conexao.unwrap(PGConnection.class).getCopyAPI().copyOut(sql, destino);
+            } catch (IOException e) {
+                throw new DataAccessResourceFailureException("Erro ao escrever a exportação de locações", e);
+            }
+        });
+        return linhas != null ? linhas : 0;
+    }
+
+    @Override
+    public Optional<LocalDate> primeiraDataLocacao() {
+        Date data = PRIMEIRA_DATA.queryForObject(jdbc, Date.class);
+        return Optional.ofNullable(data).map(Date::toLocalDate);
+    }
+
+    @Override
+    public Optional<LocalDate> fimUltimaParticao(String destino) {
+        Date fim = FIM_ULTIMA_PARTICAO.queryForObject(jdbc, Date.class, destino);
+        return Optional.ofNullable(fim).map(Date::toLocalDate);
+    }
+
+    @Override
+    public List<LocalDate> particoesDesatualizadas(String destino) {
+        return PARTICOES_DESATUALIZADAS.query(jdbc, (rs, rowNum) -> rs.getDate("inicio").toLocalDate(), destino);
+    }
+
+    @Override
+    public long alteracoes(LocalDate de, LocalDate ateExclusivo) {
+        Long alteracoes = ALTERACOES.queryForObject(jdbc, Long.class, Date.valueOf(de), Date.valueOf(ateExclusivo));
+        return alteracoes != null ? alteracoes : 0;
+    }
+
+    @Override
+    public void registrarAlteracao(LocalDate dataLocacao) {
+        REGISTRAR_ALTERACAO.update(jdbc, Date.valueOf(dataLocacao));
+    }
+
+    @Override
+    public void registrarAlteracao(LocacaoId locacaoId) {
+        REGISTRAR_ALTERACAO_DA_LOCACAO.update(jdbc, locacaoId.getValue());
+    }
+
+    @Override
+    public void registrarParticao(String destino, LocalDate inicio, LocalDate fim, long linhas, long alteracoes,
+                                  String arquivo) {
+        REGISTRAR_PARTICAO.update(jdbc, destino, Date.valueOf(inicio), Date.valueOf(fim), linhas, alteracoes, arquivo);
+    }
+}
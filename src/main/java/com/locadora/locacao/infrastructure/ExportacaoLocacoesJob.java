@@ -0,0 +1,158 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.locacao.domain.ExportacaoLocacaoRepository;
+import com.locadora.locacao.domain.ParticaoExportacao;
+import com.locadora.shared.infrastructure.AdvisoryLocks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Exportação noturna do histórico de locações para arquivos CSV comprimidos com gzip, um por partição
+ * (dia ou mês de data_locacao) em locadora.exportacao.diretorio.
+ * <p>
+ * Só partições encerradas (anteriores a hoje) são exportadas. Cada arquivo é escrito com sufixo .parcial e
+ * renomeado ao terminar; depois disso a partição é registrada em exportacao_locacao, e a próxima execução
+ * continua da partição seguinte. Uma execução interrompida refaz apenas a partição em andamento.
+ * <p>
+ * Locações mudam depois que sua partição encerra (devolução, atraso, multa recalculada, exclusão): cada
+ * execução refaz antes as partições cujo contador em locacao_alteracao passou do valor registrado na última
+ * exportação. O contador e o CSV são lidos na mesma transação REPEATABLE READ, somente leitura e atendida
+ * por uma réplica quando houver, então uma alteração fora do snapshot sempre leva a uma nova exportação.
+ * Um advisory lock de sessão, mantido por uma conexão dedicada ao primário sem transação aberta, impede dois nós
+ * de exportar ao mesmo tempo sem segurar o horizonte do vacuum durante a execução.
+ */
+@Component
+@ConditionalOnExpression("!'${locadora.exportacao.diretorio:}'.isBlank()")
+public class ExportacaoLocacoesJob {
+
+    static final String CHAVE_LOCK = "locadora.exportacao-locacoes";
+
+    private static final Logger log = LoggerFactory.getLogger(ExportacaoLocacoesJob.class);
+
+    private static final int TAMANHO_BUFFER = 64 * 1024;
+
+    private final ExportacaoLocacaoRepository exportacaoRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leitura;
+    private final TransactionTemplate escrita;
+    private final Path diretorio;
+    private final String destino;
+    private final ParticaoExportacao particao;
+
+    public ExportacaoLocacoesJob(
+            ExportacaoLocacaoRepository exportacaoRepository,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${locadora.exportacao.diretorio}") Path diretorio,
+            @Value("${locadora.exportacao.particao:DIA}") ParticaoExportacao particao) {
+        this.exportacaoRepository = exportacaoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        // Cada partição em transações próprias, fora da conexão que segura o lock
+        this.leitura = new TransactionTemplate(transactionManager);
+        this.leitura.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.leitura.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.leitura.setReadOnly(true);
+        this.escrita = new TransactionTemplate(transactionManager);
+        this.escrita.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.diretorio = diretorio.toAbsolutePath().normalize();
+        this.destino = this.diretorio.toString();
+        this.particao = particao;
+    }
+
+    @Scheduled(cron = "${locadora.exportacao.cron:0 30 2 * * *}")
+    public void agendado() {
+        int arquivos = exportarPendentes(LocalDate.now());
+        if (arquivos > 0) {
+            log.info("{} partições de locações exportadas para {}", arquivos, destino);
+        }
+    }
+
+    /**
+     * Refaz as partições exportadas que mudaram desde então e exporta as encerradas antes de {@code hoje} ainda
+     * não registradas; retorna quantos arquivos gerou (zero se outro nó estiver exportando)
+     */
+    public int exportarPendentes(LocalDate hoje) {
+        return AdvisoryLocks.executarComLockDeSessao(jdbcTemplate, CHAVE_LOCK, () -> exportar(hoje))
+                .orElseGet(() -> {
+                    log.debug("Exportação de locações em andamento em outro nó");
+                    return 0;
+                });
+    }
+
+    private int exportar(LocalDate hoje) {
+        List<LocalDate> desatualizadas = exportacaoRepository.particoesDesatualizadas(destino);
+        Optional<LocalDate> inicio = exportacaoRepository.fimUltimaParticao(destino)
+                .or(() -> exportacaoRepository.primeiraDataLocacao().map(particao::inicio));
+        if (desatualizadas.isEmpty() && inicio.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao criar o diretório de exportação " + diretorio, e);
+        }
+
+        int arquivos = 0;
+        for (LocalDate atual : desatualizadas) {
+            exportarParticao(atual, particao.fim(atual));
+            arquivos++;
+        }
+        if (inicio.isPresent()) {
+            for (LocalDate atual = inicio.get(); !particao.fim(atual).isAfter(hoje); atual = particao.fim(atual)) {
+                exportarParticao(atual, particao.fim(atual));
+                arquivos++;
+            }
+        }
+        return arquivos;
+    }
+
+    private void exportarParticao(LocalDate inicio, LocalDate fim) {
+        Path arquivo = diretorio.resolve("locacoes-" + particao.rotulo(inicio) + ".csv.gz");
+        Path parcial = arquivo.resolveSibling(arquivo.getFileName() + ".parcial");
+
+        Exportada exportada = leitura.execute(status ->
+                new Exportada(exportacaoRepository.alteracoes(inicio, fim), escrever(parcial, inicio, fim)));
+        try {
+            Files.move(parcial, arquivo, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao finalizar o arquivo " + arquivo, e);
+        }
+
+        escrita.executeWithoutResult(status -> exportacaoRepository.registrarParticao(
+                destino, inicio, fim, exportada.linhas(), exportada.alteracoes(), arquivo.getFileName().toString()));
+        log.debug("Partição {} exportada: {} locações em {}", particao.rotulo(inicio), exportada.linhas(), arquivo);
+    }
+
+    private long escrever(Path arquivo, LocalDate inicio, LocalDate fim) {
+        try (OutputStream saida = new GZIPOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(arquivo), TAMANHO_BUFFER), TAMANHO_BUFFER)) {
+            return exportacaoRepository.exportarCsv(inicio, fim, saida);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Erro ao escrever o arquivo " + arquivo, e);
+        }
+    }
+
+    private record Exportada(long alteracoes, long linhas) {
+    }
+}
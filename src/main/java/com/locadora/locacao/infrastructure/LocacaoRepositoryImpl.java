@@ -3,241 +3,368 @@ package com.locadora.locacao.infrastructure;
 import com.locadora.cliente.domain.ClienteId;
 import com.locadora.filme.domain.FilmeId;
 import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoAtrasada;
+import com.locadora.locacao.domain.LocacaoExcluida;
 import com.locadora.locacao.domain.LocacaoId;
 import com.locadora.locacao.domain.LocacaoRepository;
 import com.locadora.locacao.domain.StatusLocacao;
-import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.jdbc.core.RowMapper;
+import com.locadora.shared.infrastructure.JdbcStreaming;
+import com.locadora.shared.infrastructure.OutboxRepository;
+import com.locadora.shared.infrastructure.SqlPreparado;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.SqlParameterValue;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
 import java.sql.Date;
-import java.sql.ResultSet;
-import java.sql.SQLException;
 import java.sql.Timestamp;
+import java.sql.Types;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
+/**
+ * Repositório de locações sobre a tabela particionada por mês de data_locacao. As consultas filtram data_locacao
+ * sempre que ela é conhecida ou limitada pelas constraints de data, para o planner podar partições: por data de
+ * locação leem só o mês da data; por data prevista, atrasadas e devolvidas em uma data só têm limite superior
+ * (data_locacao não passa dessas datas) e pulam apenas os meses futuros. Buscas apenas por id, que é um UUID
+ * aleatório, consultam o índice da chave primária de cada partição.
+ * <p>
+ * As consultas fixas são visíveis no pacote para a análise de índices (AnaliseIndicesLocacaoTest) medir
+ * exatamente o SQL que a aplicação executa.
+ */
 @Repository
 public class LocacaoRepositoryImpl implements LocacaoRepository {
     
-    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcOperations jdbc;
+    private final NamedParameterJdbcTemplate streamingJdbcTemplate;
     private final LocacaoRowMapper locacaoRowMapper;
+    private final OutboxRepository outboxRepository;
     
-    public LocacaoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
-        this.jdbcTemplate = jdbcTemplate;
+    public LocacaoRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate, OutboxRepository outboxRepository) {
+        this.jdbc = jdbcTemplate.getJdbcOperations();
+        this.streamingJdbcTemplate = JdbcStreaming.comCursor(jdbcTemplate);
         this.locacaoRowMapper = new LocacaoRowMapper();
+        this.outboxRepository = outboxRepository;
     }
     
-    @Override
-    public void save(Locacao locacao) {
-        String sql = """
+    static final SqlPreparado SALVAR = SqlPreparado.de("""
             INSERT INTO locacao (id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                                data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em)
             VALUES (:id, :clienteId, :filmeId, :dataLocacao, :dataPrevistaDevolucao, 
                    :dataDevolucao, :status::status_locacao, :valorLocacao, :valorMulta, :criadoEm, :atualizadoEm)
-            ON CONFLICT (id) DO UPDATE SET
+            ON CONFLICT (id, data_locacao) DO UPDATE SET
                 data_devolucao = EXCLUDED.data_devolucao,
                 status = EXCLUDED.status,
                 valor_multa = EXCLUDED.valor_multa,
                 atualizado_em = EXCLUDED.atualizado_em
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("id", locacao.getLocacaoId().getValue())
-                .addValue("clienteId", locacao.getClienteId().getValue())
-                .addValue("filmeId", locacao.getFilmeId().getValue())
-                .addValue("dataLocacao", Date.valueOf(locacao.getDataLocacao()))
-                .addValue("dataPrevistaDevolucao", Date.valueOf(locacao.getDataPrevistaDevolucao()))
-                .addValue("dataDevolucao", locacao.getDataDevolucao() != null ? Date.valueOf(locacao.getDataDevolucao()) : null)
-                .addValue("status", locacao.getStatus().name())
-                .addValue("valorLocacao", locacao.getValorLocacao())
-                .addValue("valorMulta", locacao.getValorMulta())
-                .addValue("criadoEm", Timestamp.valueOf(locacao.getCriadoEm()))
-                .addValue("atualizadoEm", Timestamp.valueOf(locacao.getAtualizadoEm()));
+            RETURNING id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
+                      data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
+            """);
+    
+    @Override
+    public Locacao save(Locacao locacao) {
+        Locacao salva = SALVAR.queryForObject(jdbc, locacaoRowMapper, valores(locacao));
+        outboxRepository.registrar(locacao);
+        return salva;
+    }
+    
+    // Com reWriteBatchedInserts o driver reescreve o lote em INSERTs multi-VALUES
+    private static final SqlPreparado INSERIR = SqlPreparado.de("""
+            INSERT INTO locacao (id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
+                               data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em)
+            VALUES (:id, :clienteId, :filmeId, :dataLocacao, :dataPrevistaDevolucao, 
+                   :dataDevolucao, :status::status_locacao, :valorLocacao, :valorMulta, :criadoEm, :atualizadoEm)
+            """);
+    
+    @Override
+    public void insertAll(List<Locacao> locacoes) {
+        if (locacoes.isEmpty()) {
+            return;
+        }
         
-        jdbcTemplate.update(sql, params);
+        INSERIR.batchUpdate(jdbc, locacoes.stream().map(this::valores).toList());
+        outboxRepository.registrar(locacoes);
     }
     
+    static final SqlPreparado BUSCAR_POR_ID = SqlPreparado.de("""
+            SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
+                   data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
+            FROM locacao
+            WHERE id = :id
+            """);
+    
     @Override
     public Optional<Locacao> findById(LocacaoId id) {
-        String sql = """
+        return BUSCAR_POR_ID.queryForOptional(jdbc, locacaoRowMapper, id.getValue());
+    }
+    
+    // Devolução e exclusão concorrentes se enfileiram na linha: a segunda vê o resultado da primeira
+    private static final SqlPreparado BUSCAR_POR_ID_PARA_ATUALIZAR = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
             WHERE id = :id
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        
-        try {
-            Locacao locacao = jdbcTemplate.queryForObject(sql, params, locacaoRowMapper);
-            return Optional.of(locacao);
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
-        }
-    }
+            FOR UPDATE
+            """);
     
     @Override
-    public List<Locacao> findAll() {
-        String sql = """
+    public Optional<Locacao> findByIdParaAtualizar(LocacaoId id) {
+        return BUSCAR_POR_ID_PARA_ATUALIZAR.queryForOptional(jdbc, locacaoRowMapper, id.getValue());
+    }
+    
+    private static final SqlPreparado BUSCAR_TODAS = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
             ORDER BY data_locacao DESC
-            """;
-        
-        return jdbcTemplate.query(sql, locacaoRowMapper);
-    }
+            """);
     
     @Override
-    public List<Locacao> findByClienteId(ClienteId clienteId) {
-        String sql = """
+    public List<Locacao> findAll() {
+        return BUSCAR_TODAS.query(jdbc, locacaoRowMapper);
+    }
+    
+    static final SqlPreparado BUSCAR_POR_CLIENTE = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
             WHERE cliente_id = :clienteId
             ORDER BY data_locacao DESC
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("clienteId", clienteId.getValue());
-        return jdbcTemplate.query(sql, params, locacaoRowMapper);
-    }
+            """);
     
     @Override
-    public List<Locacao> findByFilmeId(FilmeId filmeId) {
-        String sql = """
+    public List<Locacao> findByClienteId(ClienteId clienteId) {
+        return BUSCAR_POR_CLIENTE.query(jdbc, locacaoRowMapper, clienteId.getValue());
+    }
+    
+    static final SqlPreparado BUSCAR_POR_FILME = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
             WHERE filme_id = :filmeId
             ORDER BY data_locacao DESC
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("filmeId", filmeId.getValue());
-        return jdbcTemplate.query(sql, params, locacaoRowMapper);
-    }
+            """);
     
     @Override
-    public List<Locacao> findByStatus(StatusLocacao status) {
-        String sql = """
+    public List<Locacao> findByFilmeId(FilmeId filmeId) {
+        return BUSCAR_POR_FILME.query(jdbc, locacaoRowMapper, filmeId.getValue());
+    }
+    
+    static final SqlPreparado BUSCAR_POR_STATUS = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
             WHERE status = :status::status_locacao
             ORDER BY data_locacao DESC
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("status", status.name());
-        return jdbcTemplate.query(sql, params, locacaoRowMapper);
-    }
+            """);
     
     @Override
-    public List<Locacao> findByClienteIdAndStatus(ClienteId clienteId, StatusLocacao status) {
-        String sql = """
+    public List<Locacao> findByStatus(StatusLocacao status) {
+        return BUSCAR_POR_STATUS.query(jdbc, locacaoRowMapper, status.name());
+    }
+    
+    static final SqlPreparado BUSCAR_POR_CLIENTE_E_STATUS = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
             WHERE cliente_id = :clienteId AND status = :status::status_locacao
             ORDER BY data_locacao DESC
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource()
-                .addValue("clienteId", clienteId.getValue())
-                .addValue("status", status.name());
-        
-        return jdbcTemplate.query(sql, params, locacaoRowMapper);
-    }
+            """);
     
     @Override
-    public List<Locacao> findByDataLocacao(LocalDate dataLocacao) {
-        String sql = """
+    public List<Locacao> findByClienteIdAndStatus(ClienteId clienteId, StatusLocacao status) {
+        return BUSCAR_POR_CLIENTE_E_STATUS.query(jdbc, locacaoRowMapper, clienteId.getValue(), status.name());
+    }
+    
+    static final SqlPreparado BUSCAR_POR_DATA_LOCACAO = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
             WHERE data_locacao = :dataLocacao
             ORDER BY criado_em DESC
-            """;
-        
-        MapSqlParameterSource params = new MapSqlParameterSource("dataLocacao", Date.valueOf(dataLocacao));
-        return jdbcTemplate.query(sql, params, locacaoRowMapper);
+            """);
+    
+    @Override
+    public List<Locacao> findByDataLocacao(LocalDate dataLocacao) {
+        return BUSCAR_POR_DATA_LOCACAO.query(jdbc, locacaoRowMapper, Date.valueOf(dataLocacao));
     }
     
+    // O prazo da locação não tem limite, então data_locacao só é limitada por cima e só os meses futuros são podados
+    static final SqlPreparado BUSCAR_POR_DATA_PREVISTA = SqlPreparado.de("""
+            SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
+                   data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
+            FROM locacao
+            WHERE data_prevista_devolucao = :dataPrevistaDevolucao AND data_locacao <= :dataPrevistaDevolucao
+            ORDER BY criado_em DESC
+            """);
+    
     @Override
     public List<Locacao> findByDataPrevistaDevolucao(LocalDate dataPrevistaDevolucao) {
-        String sql = """
+        return BUSCAR_POR_DATA_PREVISTA.query(jdbc, locacaoRowMapper, Date.valueOf(dataPrevistaDevolucao));
+    }
+    
+    static final SqlPreparado BUSCAR_ATRASADAS = SqlPreparado.de("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
-            WHERE data_prevista_devolucao = :dataPrevistaDevolucao
-            ORDER BY criado_em DESC
-            """;
+            WHERE status = 'ATRASADA'::status_locacao
+            ORDER BY data_prevista_devolucao ASC, id ASC
+            """);
+    
+    @Override
+    public List<Locacao> findLocacoesAtrasadas() {
+        return BUSCAR_ATRASADAS.query(jdbc, locacaoRowMapper);
+    }
+    
+    // O subselect percorre o índice parcial de locações ativas; SKIP LOCKED evita esperar por devoluções em curso.
+    // data_locacao < referencia só poda os meses posteriores à referência: uma locação ativa pode estar atrasada
+    // há qualquer tempo, então os meses anteriores são todos lidos, cada um com uma descida no índice parcial.
+    static final SqlPreparado MARCAR_ATRASADAS = SqlPreparado.de("""
+            UPDATE locacao
+            SET status = 'ATRASADA'::status_locacao, atualizado_em = CURRENT_TIMESTAMP
+            WHERE (id, data_locacao) IN (
+                SELECT id, data_locacao FROM locacao
+                WHERE status = 'ATIVA'::status_locacao AND data_prevista_devolucao < :referencia
+                  AND data_locacao < :referencia
+                ORDER BY data_prevista_devolucao, id
+                LIMIT :limite
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
+                      data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
+            """);
+    
+    @Override
+    public List<Locacao> marcarAtrasadas(LocalDate referencia, int limite) {
+        List<Locacao> atrasadas = MARCAR_ATRASADAS.query(jdbc, locacaoRowMapper, Date.valueOf(referencia), limite);
         
-        MapSqlParameterSource params = new MapSqlParameterSource("dataPrevistaDevolucao", Date.valueOf(dataPrevistaDevolucao));
-        return jdbcTemplate.query(sql, params, locacaoRowMapper);
+        LocalDateTime agora = LocalDateTime.now();
+        outboxRepository.registrarEventos(atrasadas.stream()
+                .map(locacao -> new LocacaoAtrasada(locacao.getLocacaoId(), locacao.getClienteId(),
+                        locacao.getFilmeId(), locacao.getDataLocacao(), locacao.getDataPrevistaDevolucao(), agora))
+                .toList());
+        
+        return atrasadas;
     }
     
+    // A devolução pode vir com qualquer atraso, então data_locacao só tem limite superior e só os meses
+    // posteriores à data são podados
+    static final SqlPreparado BUSCAR_DEVOLVIDAS_EM = SqlPreparado.de("""
+            SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
+                   data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
+            FROM locacao
+            WHERE data_devolucao = :dataDevolucao AND status = 'DEVOLVIDA'::status_locacao
+              AND data_locacao <= :dataDevolucao
+            ORDER BY id
+            """);
+    
     @Override
-    public List<Locacao> findLocacoesAtrasadas() {
-        String sql = """
+    public List<Locacao> findDevolvidasEm(LocalDate dataDevolucao) {
+        return BUSCAR_DEVOLVIDAS_EM.query(jdbc, locacaoRowMapper, Date.valueOf(dataDevolucao));
+    }
+    
+    static final SqlPreparado ATUALIZAR_MULTA = SqlPreparado.de("""
+            UPDATE locacao
+            SET valor_multa = :valorMulta, atualizado_em = :atualizadoEm
+            WHERE id = :id AND data_locacao = :dataLocacao
+            """);
+    
+    @Override
+    public void atualizarMultas(List<Locacao> locacoes) {
+        if (locacoes.isEmpty()) {
+            return;
+        }
+        
+        List<Object[]> lote = locacoes.stream()
+                .map(locacao -> new Object[] {
+                        new SqlParameterValue(Types.NUMERIC, locacao.getValorMulta()),
+                        Timestamp.valueOf(locacao.getAtualizadoEm()),
+                        locacao.getLocacaoId().getValue(),
+                        Date.valueOf(locacao.getDataLocacao())})
+                .toList();
+        
+        ATUALIZAR_MULTA.batchUpdate(jdbc, lote);
+        outboxRepository.registrar(locacoes);
+    }
+    
+    @Override
+    public Stream<Locacao> streamByFiltros(ClienteId clienteId, FilmeId filmeId, StatusLocacao status) {
+        StringBuilder sql = new StringBuilder("""
             SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, 
                    data_devolucao, status, valor_locacao, valor_multa, criado_em, atualizado_em
             FROM locacao
-            WHERE status = 'ATIVA'::status_locacao AND data_prevista_devolucao < CURRENT_DATE
-            ORDER BY data_prevista_devolucao ASC
-            """;
+            WHERE TRUE
+            """);
+        
+        MapSqlParameterSource params = new MapSqlParameterSource();
+        if (clienteId != null) {
+            sql.append(" AND cliente_id = :clienteId");
+            params.addValue("clienteId", clienteId.getValue());
+        }
+        if (filmeId != null) {
+            sql.append(" AND filme_id = :filmeId");
+            params.addValue("filmeId", filmeId.getValue());
+        }
+        if (status != null) {
+            sql.append(" AND status = :status::status_locacao");
+            params.addValue("status", status.name());
+        }
+        sql.append(" ORDER BY data_locacao DESC");
         
-        return jdbcTemplate.query(sql, locacaoRowMapper);
+        return streamingJdbcTemplate.queryForStream(sql.toString(), params, locacaoRowMapper);
     }
     
+    // RETURNING entrega o estado final à LocacaoExcluida sem uma leitura prévia
+    private static final SqlPreparado EXCLUIR = SqlPreparado.de("""
+            DELETE FROM locacao WHERE id = :id
+            RETURNING cliente_id, filme_id, data_locacao, data_devolucao, status, valor_locacao, valor_multa
+            """);
+    
     @Override
-    public void deleteById(LocacaoId id) {
-        String sql = "DELETE FROM locacao WHERE id = :id";
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        jdbcTemplate.update(sql, params);
+    public Optional<LocacaoExcluida> deleteById(LocacaoId id) {
+        LocalDateTime agora = LocalDateTime.now();
+        List<LocacaoExcluida> excluidas = EXCLUIR.query(jdbc, (rs, rowNum) -> new LocacaoExcluida(
+                id,
+                ClienteId.of(rs.getObject("cliente_id", UUID.class)),
+                FilmeId.of(rs.getObject("filme_id", UUID.class)),
+                rs.getDate("data_locacao").toLocalDate(),
+                rs.getDate("data_devolucao") != null ? rs.getDate("data_devolucao").toLocalDate() : null,
+                StatusLocacao.valueOf(rs.getString("status")),
+                rs.getBigDecimal("valor_locacao"),
+                rs.getBigDecimal("valor_multa"),
+                agora), id.getValue());
+        outboxRepository.registrarEventos(excluidas);
+        return excluidas.stream().findFirst();
     }
     
+    static final SqlPreparado EXISTE = SqlPreparado.de(
+            "SELECT EXISTS (SELECT 1 FROM locacao WHERE id = :id)");
+    
     @Override
     public boolean existsById(LocacaoId id) {
-        String sql = "SELECT COUNT(*) FROM locacao WHERE id = :id";
-        MapSqlParameterSource params = new MapSqlParameterSource("id", id.getValue());
-        Integer count = jdbcTemplate.queryForObject(sql, params, Integer.class);
-        return count != null && count > 0;
-    }
-    
-    private static class LocacaoRowMapper implements RowMapper<Locacao> {
-        @Override
-        public Locacao mapRow(ResultSet rs, int rowNum) throws SQLException {
-            UUID id = (UUID) rs.getObject("id");
-            UUID clienteId = (UUID) rs.getObject("cliente_id");
-            UUID filmeId = (UUID) rs.getObject("filme_id");
-            LocalDate dataLocacao = rs.getDate("data_locacao").toLocalDate();
-            LocalDate dataPrevistaDevolucao = rs.getDate("data_prevista_devolucao").toLocalDate();
-            Date dataDevolucaoSql = rs.getDate("data_devolucao");
-            LocalDate dataDevolucao = dataDevolucaoSql != null ? dataDevolucaoSql.toLocalDate() : null;
-            StatusLocacao status = StatusLocacao.valueOf(rs.getString("status"));
-            BigDecimal valorLocacao = rs.getBigDecimal("valor_locacao");
-            BigDecimal valorMulta = rs.getBigDecimal("valor_multa");
-            Timestamp criadoEm = rs.getTimestamp("criado_em");
-            Timestamp atualizadoEm = rs.getTimestamp("atualizado_em");
-            
-            return new Locacao(
-                    LocacaoId.of(id),
-                    ClienteId.of(clienteId),
-                    FilmeId.of(filmeId),
-                    dataLocacao,
-                    dataPrevistaDevolucao,
-                    dataDevolucao,
-                    status,
-                    valorLocacao,
-                    valorMulta,
-                    criadoEm.toLocalDateTime(),
-                    atualizadoEm.toLocalDateTime()
-            );
-        }
+        return Boolean.TRUE.equals(EXISTE.queryForObject(jdbc, Boolean.class, id.getValue()));
+    }
+    
+    // Na ordem dos parâmetros de SALVAR e INSERIR; nulos com tipo para o driver não precisar descrever o statement
+    private Object[] valores(Locacao locacao) {
+        return new Object[] {
+                locacao.getLocacaoId().getValue(),
+                locacao.getClienteId().getValue(),
+                locacao.getFilmeId().getValue(),
+                Date.valueOf(locacao.getDataLocacao()),
+                Date.valueOf(locacao.getDataPrevistaDevolucao()),
+                new SqlParameterValue(Types.DATE,
+                        locacao.getDataDevolucao() != null ? Date.valueOf(locacao.getDataDevolucao()) : null),
+                locacao.getStatus().name(),
+                locacao.getValorLocacao(),
+                new SqlParameterValue(Types.NUMERIC, locacao.getValorMulta()),
+                Timestamp.valueOf(locacao.getCriadoEm()),
+                Timestamp.valueOf(locacao.getAtualizadoEm())
+        };
     }
-}
\ No newline at end of file
+}
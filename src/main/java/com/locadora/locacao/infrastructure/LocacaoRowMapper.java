@@ -0,0 +1,52 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.StatusLocacao;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Mapeia uma linha da tabela locacao para o agregado Locacao
+ */
+class LocacaoRowMapper implements RowMapper<Locacao> {
+    
+    @Override
+    public Locacao mapRow(ResultSet rs, int rowNum) throws SQLException {
+        UUID id = (UUID) rs.getObject("id");
+        UUID clienteId = (UUID) rs.getObject("cliente_id");
+        UUID filmeId = (UUID) rs.getObject("filme_id");
+        LocalDate dataLocacao = rs.getDate("data_locacao").toLocalDate();
+        LocalDate dataPrevistaDevolucao = rs.getDate("data_prevista_devolucao").toLocalDate();
+        Date dataDevolucaoSql = rs.getDate("data_devolucao");
+        LocalDate dataDevolucao = dataDevolucaoSql != null ? dataDevolucaoSql.toLocalDate() : null;
+        StatusLocacao status = StatusLocacao.valueOf(rs.getString("status"));
+        BigDecimal valorLocacao = rs.getBigDecimal("valor_locacao");
+        BigDecimal valorMulta = rs.getBigDecimal("valor_multa");
+        Timestamp criadoEm = rs.getTimestamp("criado_em");
+        Timestamp atualizadoEm = rs.getTimestamp("atualizado_em");
+        
+        return new Locacao(
+                LocacaoId.of(id),
+                ClienteId.of(clienteId),
+                FilmeId.of(filmeId),
+                dataLocacao,
+                dataPrevistaDevolucao,
+                dataDevolucao,
+                status,
+                valorLocacao,
+                valorMulta,
+                criadoEm.toLocalDateTime(),
+                atualizadoEm.toLocalDateTime()
+        );
+    }
+}
@@ -0,0 +1,79 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.shared.infrastructure.AdvisoryLocks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+
+/**
+ * Marca periodicamente como ATRASADA as locações ativas que passaram da data prevista de devolução.
+ * <p>
+ * Cada lote é um UPDATE set-based limitado, em sua própria transação curta, protegido por um advisory lock:
+ * se outro nó já estiver varrendo, o lote é pulado. GET /api/locacoes/atrasadas passa a ser só uma leitura
+ * do índice parcial de locações atrasadas (com atraso máximo de um intervalo do varredor).
+ */
+@Component
+public class LocacoesAtrasadasSweeper {
+    
+    static final String CHAVE_LOCK = "locadora.locacoes-atrasadas";
+    
+    private static final Logger log = LoggerFactory.getLogger(LocacoesAtrasadasSweeper.class);
+    
+    private final LocacaoRepository locacaoRepository;
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+    
+    public LocacoesAtrasadasSweeper(
+            LocacaoRepository locacaoRepository,
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${locadora.atrasos.tamanho-lote:500}") int tamanhoLote) {
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("Tamanho do lote do varredor de atrasos deve ser maior que zero");
+        }
+        this.locacaoRepository = locacaoRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+    
+    @Scheduled(fixedDelayString = "${locadora.atrasos.intervalo-ms:300000}")
+    public void agendado() {
+        int marcadas = varrer(LocalDate.now());
+        if (marcadas > 0) {
+            log.info("{} locações marcadas como atrasadas", marcadas);
+        }
+    }
+    
+    /**
+     * Marca todas as locações vencidas antes de {@code referencia}; retorna quantas foram marcadas por este nó
+     */
+    public int varrer(LocalDate referencia) {
+        int total = 0;
+        int marcadas;
+        do {
+            marcadas = varrerLote(referencia);
+            total += marcadas;
+        } while (marcadas == tamanhoLote);
+        return total;
+    }
+    
+    private int varrerLote(LocalDate referencia) {
+        Integer marcadas = transactionTemplate.execute(status -> {
+            if (!AdvisoryLocks.tentarBloquear(jdbcTemplate, CHAVE_LOCK)) {
+                return 0;
+            }
+            return locacaoRepository.marcarAtrasadas(referencia, tamanhoLote).size();
+        });
+        return marcadas != null ? marcadas : 0;
+    }
+}
@@ -0,0 +1,219 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.shared.infrastructure.AdvisoryLocks;
+import com.locadora.shared.infrastructure.SqlPreparado;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * Manutenção das partições mensais de locacao (na subida da aplicação e a cada locadora.particoes.intervalo-ms).
+ * <p>
+ * Cria as partições do mês corrente e dos próximos locadora.particoes.meses-a-frente, além das dos meses que
+ * caíram na partição padrão. Cada partição nasce como tabela avulsa, recebe as linhas do mês que estavam na
+ * padrão e é anexada com ATTACH PARTITION, que não bloqueia leituras e escritas nas demais partições; a CHECK do
+ * período evita que o ATTACH varra a tabela nova.
+ * <p>
+ * Com locadora.particoes.retencao-meses definido, partições mais antigas que a retenção são desanexadas e movidas
+ * para o schema locacao_arquivo, de onde podem ser copiadas e removidas. Partições com locações ainda em
+ * andamento ficam. Cada etapa roda em transação própria, com advisory lock para um único nó por vez.
+ */
+@Component
+public class ParticoesLocacaoJob {
+
+    static final String CHAVE_LOCK = "locadora.particoes-locacao";
+
+    // O ranking lê até 365 dias de locacao: a retenção precisa cobrir o ano inteiro mais o mês corrente
+    static final int RETENCAO_MINIMA_MESES = 13;
+
+    private static final Logger log = LoggerFactory.getLogger(ParticoesLocacaoJob.class);
+
+    private static final DateTimeFormatter SUFIXO = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    private static final SqlPreparado MESES_NA_PADRAO = SqlPreparado.de("""
+            SELECT DISTINCT date_trunc('month', data_locacao)::date FROM locacao_padrao
+            """);
+
+    private static final SqlPreparado PARTICOES_MENSAIS = SqlPreparado.de("""
+            SELECT c.relname
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'locacao'::regclass AND c.relname ~ '^locacao_[0-9]{4}_[0-9]{2}$'
+            ORDER BY c.relname
+            """);
+
+    // Nomes vêm sempre de nomeParticao(), então podem entrar no SQL sem escape
+    private static final String CRIAR_AVULSA = """
+            CREATE TABLE %1$s (LIKE locacao INCLUDING DEFAULTS INCLUDING CONSTRAINTS);
+            ALTER TABLE %1$s ADD CONSTRAINT chk_%1$s_periodo
+                CHECK (data_locacao >= DATE '%2$s' AND data_locacao < DATE '%3$s')
+            """;
+
+    private static final String MOVER_DA_PADRAO = """
+            WITH movidas AS (
+                DELETE FROM locacao_padrao
+                WHERE data_locacao >= DATE '%2$s' AND data_locacao < DATE '%3$s'
+                RETURNING *
+            )
+            INSERT INTO %1$s SELECT * FROM movidas
+            """;
+
+    private static final String ANEXAR = """
+            ALTER TABLE locacao ATTACH PARTITION %1$s FOR VALUES FROM ('%2$s') TO ('%3$s');
+            ALTER TABLE %1$s DROP CONSTRAINT chk_%1$s_periodo
+            """;
+
+    private static final String EM_ANDAMENTO = """
+            SELECT EXISTS (SELECT 1 FROM %s WHERE status IN ('ATIVA', 'ATRASADA'))
+            """;
+
+    // Sem as chaves estrangeiras, a partição arquivada não impede excluir clientes e filmes
+    private static final String ARQUIVAR = """
+            ALTER TABLE locacao DETACH PARTITION %1$s;
+            ALTER TABLE %1$s DROP CONSTRAINT IF EXISTS fk_locacao_cliente, DROP CONSTRAINT IF EXISTS fk_locacao_filme;
+            ALTER TABLE %1$s SET SCHEMA locacao_arquivo
+            """;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final JdbcOperations jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final int mesesAFrente;
+    private final int retencaoMeses;
+
+    public ParticoesLocacaoJob(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${locadora.particoes.meses-a-frente:3}") int mesesAFrente,
+            @Value("${locadora.particoes.retencao-meses:0}") int retencaoMeses) {
+        if (mesesAFrente < 1) {
+            throw new IllegalArgumentException("Meses de partições à frente deve ser maior que zero");
+        }
+        if (retencaoMeses != 0 && retencaoMeses < RETENCAO_MINIMA_MESES) {
+            throw new IllegalArgumentException(
+                    "Retenção de partições deve ser zero (sem arquivamento) ou de pelo menos " + RETENCAO_MINIMA_MESES + " meses");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.jdbc = jdbcTemplate.getJdbcOperations();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.mesesAFrente = mesesAFrente;
+        this.retencaoMeses = retencaoMeses;
+    }
+
+    @Scheduled(fixedDelayString = "${locadora.particoes.intervalo-ms:21600000}")
+    public void agendado() {
+        LocalDate hoje = LocalDate.now();
+        int criadas = criarParticoes(hoje);
+        int arquivadas = arquivarParticoes(hoje);
+        if (criadas > 0 || arquivadas > 0) {
+            log.info("Partições de locacao: {} criadas, {} arquivadas", criadas, arquivadas);
+        }
+    }
+
+    /**
+     * Cria as partições que faltam até {@code meses-a-frente} depois de {@code hoje} e as dos meses presentes
+     * na partição padrão; retorna quantas criou
+     */
+    public int criarParticoes(LocalDate hoje) {
+        TreeSet<YearMonth> meses = new TreeSet<>();
+        YearMonth atual = YearMonth.from(hoje);
+        for (int i = 0; i <= mesesAFrente; i++) {
+            meses.add(atual.plusMonths(i));
+        }
+        MESES_NA_PADRAO.query(jdbc, (rs, rowNum) -> YearMonth.from(rs.getDate(1).toLocalDate()))
+                .forEach(meses::add);
+        meses.removeAll(particoesMensais().stream().map(ParticoesLocacaoJob::mesDaParticao).toList());
+
+        int criadas = 0;
+        for (YearMonth mes : meses) {
+            Boolean criada = transactionTemplate.execute(status -> {
+                if (!AdvisoryLocks.tentarBloquear(jdbcTemplate, CHAVE_LOCK)) {
+                    return false;
+                }
+                // Outro nó pode ter criado o mês entre a listagem e o lock
+                if (particoesMensais().contains(nomeParticao(mes))) {
+                    return false;
+                }
+                criarParticao(mes);
+                return true;
+            });
+            if (Boolean.TRUE.equals(criada)) {
+                criadas++;
+            }
+        }
+        return criadas;
+    }
+
+    /**
+     * Desanexa e move para locacao_arquivo as partições encerradas há mais de {@code retencao-meses} antes de
+     * {@code hoje}, exceto as que ainda têm locações em andamento; retorna quantas arquivou
+     */
+    public int arquivarParticoes(LocalDate hoje) {
+        if (retencaoMeses == 0) {
+            return 0;
+        }
+
+        YearMonth limite = YearMonth.from(hoje).minusMonths(retencaoMeses);
+        int arquivadas = 0;
+        for (String particao : particoesMensais()) {
+            if (!mesDaParticao(particao).isBefore(limite)) {
+                break;
+            }
+            Boolean arquivada = transactionTemplate.execute(status -> {
+                if (!AdvisoryLocks.tentarBloquear(jdbcTemplate, CHAVE_LOCK)) {
+                    return false;
+                }
+                if (Boolean.TRUE.equals(jdbc.queryForObject(EM_ANDAMENTO.formatted(particao), Boolean.class))) {
+                    log.warn("Partição {} não arquivada: ainda tem locações em andamento", particao);
+                    return false;
+                }
+                executar(ARQUIVAR.formatted(particao));
+                return true;
+            });
+            if (Boolean.TRUE.equals(arquivada)) {
+                arquivadas++;
+            }
+        }
+        return arquivadas;
+    }
+
+    private void criarParticao(YearMonth mes) {
+        String nome = nomeParticao(mes);
+        LocalDate inicio = mes.atDay(1);
+        LocalDate fim = mes.plusMonths(1).atDay(1);
+
+        executar(CRIAR_AVULSA.formatted(nome, inicio, fim));
+        int movidas = jdbc.update(MOVER_DA_PADRAO.formatted(nome, inicio, fim));
+        executar(ANEXAR.formatted(nome, inicio, fim));
+        log.debug("Partição {} criada com {} locações vindas da partição padrão", nome, movidas);
+    }
+
+    private void executar(String comandos) {
+        for (String comando : comandos.split(";")) {
+            jdbc.execute(comando.strip());
+        }
+    }
+
+    private List<String> particoesMensais() {
+        return PARTICOES_MENSAIS.query(jdbc, (rs, rowNum) -> rs.getString(1));
+    }
+
+    static String nomeParticao(YearMonth mes) {
+        return "locacao_" + SUFIXO.format(mes);
+    }
+
+    private static YearMonth mesDaParticao(String nome) {
+        return YearMonth.parse(nome.substring("locacao_".length()), SUFIXO);
+    }
+}
@@ -0,0 +1,134 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.locacao.domain.JanelaRanking;
+import com.locadora.locacao.domain.PosicaoRanking;
+import com.locadora.locacao.domain.RankingFilmes;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ranking em memória com um balde de contagens por dia e por filme.
+ * <p>
+ * Cada locação incrementa só o balde do seu dia; uma janela é a soma dos baldes dos seus dias, então o custo
+ * da leitura depende do número de dias e de filmes locados neles, não do tamanho da tabela locacao.
+ * A reconciliação periódica reconstrói os baldes a partir do banco, descartando dias fora da maior janela e
+ * corrigindo o que os incrementos não veem: cancelamentos, exclusões e locações criadas por outras instâncias.
+ */
+@Component
+public class RankingFilmesEmMemoria implements RankingFilmes {
+    
+    private static final Logger log = LoggerFactory.getLogger(RankingFilmesEmMemoria.class);
+    
+    private static final Comparator<PosicaoRanking> POR_LOCACOES = Comparator
+            .comparingLong(PosicaoRanking::locacoes)
+            .thenComparing(posicao -> posicao.filmeId().getValue(), Comparator.reverseOrder());
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    // Substituído por inteiro na reconciliação; incrementos concorrentes a ela são recuperados no ciclo seguinte
+    private volatile ConcurrentHashMap<LocalDate, ConcurrentHashMap<FilmeId, LongAdder>> baldes = new ConcurrentHashMap<>();
+    
+    public RankingFilmesEmMemoria(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void registrarLocacao(FilmeId filmeId, LocalDate dataLocacao) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementar(filmeId, dataLocacao);
+                }
+            });
+        } else {
+            incrementar(filmeId, dataLocacao);
+        }
+    }
+    
+    @Override
+    public List<PosicaoRanking> top(JanelaRanking janela, int limite, LocalDate hoje) {
+        Map<FilmeId, Long> totais = new HashMap<>();
+        ConcurrentHashMap<LocalDate, ConcurrentHashMap<FilmeId, LongAdder>> atuais = baldes;
+        for (LocalDate dia = inicio(janela, hoje); !dia.isAfter(hoje); dia = dia.plusDays(1)) {
+            ConcurrentHashMap<FilmeId, LongAdder> balde = atuais.get(dia);
+            if (balde != null) {
+                balde.forEach((filmeId, contador) -> totais.merge(filmeId, contador.sum(), Long::sum));
+            }
+        }
+        
+        // Heap de tamanho limite: seleciona o top-N sem ordenar todos os filmes da janela
+        PriorityQueue<PosicaoRanking> melhores = new PriorityQueue<>(limite + 1, POR_LOCACOES);
+        totais.forEach((filmeId, locacoes) -> {
+            melhores.add(new PosicaoRanking(filmeId, locacoes));
+            if (melhores.size() > limite) {
+                melhores.poll();
+            }
+        });
+        
+        return melhores.stream()
+                .sorted(POR_LOCACOES.reversed())
+                .toList();
+    }
+    
+    @Scheduled(fixedDelayString = "${locadora.ranking.reconciliacao-ms:600000}")
+    public void agendado() {
+        reconciliar(LocalDate.now());
+    }
+    
+    /**
+     * Reconstrói os baldes da maior janela terminada em {@code hoje} a partir das locações não canceladas
+     */
+    public void reconciliar(LocalDate hoje) {
+        String sql = """
+            SELECT data_locacao, filme_id, COUNT(*) AS locacoes
+            FROM locacao
+            WHERE data_locacao BETWEEN :inicio AND :hoje
+              AND status <> 'CANCELADA'::status_locacao
+            GROUP BY data_locacao, filme_id
+            """;
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("inicio", Date.valueOf(inicio(JanelaRanking.maior(), hoje)))
+                .addValue("hoje", Date.valueOf(hoje));
+        
+        ConcurrentHashMap<LocalDate, ConcurrentHashMap<FilmeId, LongAdder>> reconstruidos = new ConcurrentHashMap<>();
+        jdbcTemplate.query(sql, params, rs -> {
+            LongAdder contador = new LongAdder();
+            contador.add(rs.getLong("locacoes"));
+            reconstruidos.computeIfAbsent(rs.getDate("data_locacao").toLocalDate(), dia -> new ConcurrentHashMap<>())
+                    .put(FilmeId.of(rs.getObject("filme_id", UUID.class)), contador);
+        });
+        
+        baldes = reconstruidos;
+        log.debug("Ranking de filmes reconciliado: {} dias com locações", reconstruidos.size());
+    }
+    
+    private void incrementar(FilmeId filmeId, LocalDate dataLocacao) {
+        baldes.computeIfAbsent(dataLocacao, dia -> new ConcurrentHashMap<>())
+                .computeIfAbsent(filmeId, id -> new LongAdder())
+                .increment();
+    }
+    
+    private static LocalDate inicio(JanelaRanking janela, LocalDate hoje) {
+        return hoje.minusDays(janela.getDias() - 1L);
+    }
+}
@@ -0,0 +1,40 @@
+package com.locadora.locacao.presentation;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * DTO para requisição de criação de locações em lote para um cliente
+ */
+public record CriarLocacoesEmLoteRequest(
+        @NotNull(message = "ID do cliente é obrigatório")
+        UUID clienteId,
+        
+        @NotEmpty(message = "O lote deve ter ao menos uma locação")
+        @Size(max = 100, message = "O lote pode ter no máximo 100 locações")
+        List<@Valid @NotNull Item> itens
+) {
+    
+    public record Item(
+            @NotNull(message = "ID do filme é obrigatório")
+            UUID filmeId,
+            
+            @NotNull(message = "Data de locação é obrigatória")
+            LocalDate dataLocacao,
+            
+            @NotNull(message = "Data prevista de devolução é obrigatória")
+            LocalDate dataPrevistaDevolucao,
+            
+            @NotNull(message = "Valor da locação é obrigatório")
+            @DecimalMin(value = "0.01", message = "Valor da locação deve ser maior que zero")
+            BigDecimal valorLocacao
+    ) {}
+}
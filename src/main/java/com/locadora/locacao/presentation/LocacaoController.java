@@ -4,18 +4,37 @@ import com.locadora.cliente.domain.ClienteId;
 import com.locadora.filme.domain.FilmeId;
 import com.locadora.locacao.application.command.CriarLocacaoCommand;
 import com.locadora.locacao.application.command.CriarLocacaoCommandHandler;
+import com.locadora.locacao.application.command.CriarLocacoesEmLoteCommand;
+import com.locadora.locacao.application.command.CriarLocacoesEmLoteCommandHandler;
 import com.locadora.locacao.application.command.DevolverLocacaoCommand;
 import com.locadora.locacao.application.command.DevolverLocacaoCommandHandler;
+import com.locadora.locacao.application.command.ExcluirLocacaoCommand;
+import com.locadora.locacao.application.command.ExcluirLocacaoCommandHandler;
+import com.locadora.locacao.application.command.ReprecificarMultasCommand;
+import com.locadora.locacao.application.command.ReprecificarMultasCommandHandler;
+import com.locadora.locacao.application.query.BuscarRankingFilmesQuery;
+import com.locadora.locacao.application.query.BuscarRankingFilmesQueryHandler;
+import com.locadora.locacao.application.query.ExportarLocacoesQuery;
+import com.locadora.locacao.application.query.ExportarLocacoesQueryHandler;
+import com.locadora.locacao.domain.FilmeIndisponivelException;
+import com.locadora.locacao.domain.JanelaRanking;
 import com.locadora.locacao.domain.Locacao;
 import com.locadora.locacao.domain.LocacaoId;
 import com.locadora.locacao.domain.LocacaoRepository;
 import com.locadora.locacao.domain.StatusLocacao;
+import com.locadora.shared.presentation.JsonStreamWriter;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -30,15 +49,33 @@ public class LocacaoController {
     
     private final CriarLocacaoCommandHandler criarLocacaoCommandHandler;
     private final DevolverLocacaoCommandHandler devolverLocacaoHandler;
+    private final CriarLocacoesEmLoteCommandHandler criarLocacoesEmLoteHandler;
+    private final ReprecificarMultasCommandHandler reprecificarMultasHandler;
+    private final BuscarRankingFilmesQueryHandler buscarRankingFilmesHandler;
+    private final ExportarLocacoesQueryHandler exportarLocacoesHandler;
+    private final ExcluirLocacaoCommandHandler excluirLocacaoHandler;
     private final LocacaoRepository locacaoRepository;
+    private final JsonStreamWriter jsonStreamWriter;
     
     public LocacaoController(
             CriarLocacaoCommandHandler criarLocacaoCommandHandler,
             DevolverLocacaoCommandHandler devolverLocacaoHandler,
-            LocacaoRepository locacaoRepository) {
+            CriarLocacoesEmLoteCommandHandler criarLocacoesEmLoteHandler,
+            ReprecificarMultasCommandHandler reprecificarMultasHandler,
+            BuscarRankingFilmesQueryHandler buscarRankingFilmesHandler,
+            ExportarLocacoesQueryHandler exportarLocacoesHandler,
+            ExcluirLocacaoCommandHandler excluirLocacaoHandler,
+            LocacaoRepository locacaoRepository,
+            JsonStreamWriter jsonStreamWriter) {
         this.criarLocacaoCommandHandler = criarLocacaoCommandHandler;
         this.devolverLocacaoHandler = devolverLocacaoHandler;
+        this.criarLocacoesEmLoteHandler = criarLocacoesEmLoteHandler;
+        this.reprecificarMultasHandler = reprecificarMultasHandler;
+        this.buscarRankingFilmesHandler = buscarRankingFilmesHandler;
+        this.exportarLocacoesHandler = exportarLocacoesHandler;
+        this.excluirLocacaoHandler = excluirLocacaoHandler;
         this.locacaoRepository = locacaoRepository;
+        this.jsonStreamWriter = jsonStreamWriter;
     }
     
     @PostMapping
@@ -52,22 +89,53 @@ public class LocacaoController {
                     request.valorLocacao()
             );
             
-            UUID locacaoIdValue = criarLocacaoCommandHandler.handle(command);
-            LocacaoId locacaoId = LocacaoId.of(locacaoIdValue);
-            
-            // Buscar a locação criada e retornar
-            Locacao locacao = locacaoRepository.findById(locacaoId)
-                    .orElseThrow(() -> new RuntimeException("Locação não encontrada"));
+            // O upsert já devolve o estado persistido, sem nova consulta
+            Locacao locacao = criarLocacaoCommandHandler.handle(command);
             
             return ResponseEntity.status(HttpStatus.CREATED)
                     .body(LocacaoResponse.from(locacao));
             
+        } catch (FilmeIndisponivelException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Cria várias locações de um cliente em uma transação. Responde 201 se todos os itens foram criados
+     * e 207 com o resultado de cada item quando algum foi rejeitado.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<ResultadoItemLocacaoResponse>> criarLocacoesEmLote(
+            @Valid @RequestBody CriarLocacoesEmLoteRequest request) {
+        try {
+            CriarLocacoesEmLoteCommand command = new CriarLocacoesEmLoteCommand(
+                    request.clienteId(),
+                    request.itens().stream()
+                            .map(item -> new CriarLocacoesEmLoteCommand.Item(
+                                    item.filmeId(),
+                                    item.dataLocacao(),
+                                    item.dataPrevistaDevolucao(),
+                                    item.valorLocacao()))
+                            .toList()
+            );
+            
+            List<ResultadoItemLocacaoResponse> resultados = criarLocacoesEmLoteHandler.handle(command).stream()
+                    .map(ResultadoItemLocacaoResponse::from)
+                    .toList();
+            
+            boolean todosCriados = resultados.stream().allMatch(r -> r.locacaoId() != null);
+            return ResponseEntity.status(todosCriados ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+                    .body(resultados);
+            
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
         }
     }
     
     @GetMapping("/{id}")
+    @Transactional(readOnly = true)
     public ResponseEntity<LocacaoResponse> buscarLocacaoPorId(@PathVariable UUID id) {
         Optional<Locacao> locacao = locacaoRepository.findById(LocacaoId.of(id));
         
@@ -76,6 +144,7 @@ public class LocacaoController {
     }
     
     @GetMapping
+    @Transactional(readOnly = true)
     public ResponseEntity<List<LocacaoResponse>> listarLocacoes(
             @RequestParam(required = false) UUID clienteId,
             @RequestParam(required = false) UUID filmeId,
@@ -102,7 +171,26 @@ public class LocacaoController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Listagem em streaming (?stream=true): NDJSON com Accept application/x-ndjson, senão array JSON em chunks.
+     * Os filtros informados são combinados.
+     */
+    @GetMapping(params = "stream=true")
+    public ResponseEntity<StreamingResponseBody> listarLocacoesEmStream(
+            @RequestParam(required = false) UUID clienteId,
+            @RequestParam(required = false) UUID filmeId,
+            @RequestParam(required = false) StatusLocacao status,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        
+        return jsonStreamWriter.responder(accept, () -> locacaoRepository.streamByFiltros(
+                clienteId != null ? ClienteId.of(clienteId) : null,
+                filmeId != null ? FilmeId.of(filmeId) : null,
+                status
+        ).map(LocacaoResponse::from));
+    }
+    
     @GetMapping("/atrasadas")
+    @Transactional(readOnly = true)
     public ResponseEntity<List<LocacaoResponse>> listarLocacoesAtrasadas() {
         List<Locacao> locacoes = locacaoRepository.findLocacoesAtrasadas();
         
@@ -113,19 +201,62 @@ public class LocacaoController {
         return ResponseEntity.ok(response);
     }
     
+    /**
+     * Filmes mais locados na janela (SEMANA, MES ou ANO), servidos da memória
+     */
+    @GetMapping("/ranking")
+    public ResponseEntity<List<RankingFilmeResponse>> buscarRankingFilmes(
+            @RequestParam(defaultValue = "SEMANA") JanelaRanking janela,
+            @RequestParam(defaultValue = "10") int limite) {
+        try {
+            return ResponseEntity.ok(buscarRankingFilmesHandler.handle(new BuscarRankingFilmesQuery(janela, limite)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Exportação das locações do período (data da locação, inclusive) como CSV com gzip, em streaming
+     */
+    @GetMapping("/exportacao")
+    public ResponseEntity<StreamingResponseBody> exportarLocacoes(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate) {
+        try {
+            ExportarLocacoesQuery query = new ExportarLocacoesQuery(de, ate);
+            ContentDisposition arquivo = ContentDisposition.attachment()
+                    .filename("locacoes-" + de + "-" + ate + ".csv.gz")
+                    .build();
+            
+            return ResponseEntity.ok()
+                    .contentType(MediaType.parseMediaType("application/gzip"))
+                    .header(HttpHeaders.CONTENT_DISPOSITION, arquivo.toString())
+                    .body(saida -> exportarLocacoesHandler.exportar(query, saida));
+            
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+    
+    /**
+     * Fechamento do dia: recalcula com a política vigente as multas das devoluções da data
+     */
+    @PostMapping("/multas/reprecificacao")
+    public ResponseEntity<ReprecificacaoMultasResponse> reprecificarMultas(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataDevolucao) {
+        int reprecificadas = reprecificarMultasHandler.handle(new ReprecificarMultasCommand(dataDevolucao));
+        return ResponseEntity.ok(new ReprecificacaoMultasResponse(dataDevolucao, reprecificadas));
+    }
+    
     @PutMapping("/{id}/devolver")
     public ResponseEntity<LocacaoResponse> devolverLocacao(
             @PathVariable UUID id,
             @Valid @RequestBody DevolverLocacaoRequest request) {
         try {
             DevolverLocacaoCommand command = new DevolverLocacaoCommand(id, request.dataDevolucao());
-            devolverLocacaoHandler.handle(command);
+            Locacao locacao = devolverLocacaoHandler.handle(command);
             
-            // Busca a locação atualizada para retornar os dados completos
-            Optional<Locacao> locacao = locacaoRepository.findById(LocacaoId.of(id));
-            
-            return locacao.map(l -> ResponseEntity.ok(LocacaoResponse.from(l)))
-                    .orElse(ResponseEntity.notFound().build());
+            return ResponseEntity.ok(LocacaoResponse.from(locacao));
             
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().build();
@@ -134,13 +265,13 @@ public class LocacaoController {
     
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deletarLocacao(@PathVariable UUID id) {
-        LocacaoId locacaoId = LocacaoId.of(id);
-        
-        if (!locacaoRepository.existsById(locacaoId)) {
+        try {
+            excluirLocacaoHandler.handle(new ExcluirLocacaoCommand(id));
+            
+            return ResponseEntity.noContent().build();
+            
+        } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         }
-        
-        locacaoRepository.deleteById(locacaoId);
-        return ResponseEntity.noContent().build();
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package com.locadora.locacao.presentation;
+
+import com.locadora.locacao.domain.PosicaoRanking;
+
+import java.util.UUID;
+
+/**
+ * DTO para resposta de uma posição do ranking de filmes mais locados
+ */
+public record RankingFilmeResponse(
+        UUID filmeId,
+        Long locacoes
+) {
+    
+    public static RankingFilmeResponse from(PosicaoRanking posicao) {
+        return new RankingFilmeResponse(posicao.filmeId().getValue(), posicao.locacoes());
+    }
+}
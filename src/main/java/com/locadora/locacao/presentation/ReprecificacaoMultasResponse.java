@@ -0,0 +1,12 @@
+package com.locadora.locacao.presentation;
+
+import java.time.LocalDate;
+
+/**
+ * DTO para resposta do reprocessamento de multas de um dia
+ */
+public record ReprecificacaoMultasResponse(
+        LocalDate dataDevolucao,
+        Integer reprecificadas
+) {
+}
@@ -0,0 +1,27 @@
+package com.locadora.locacao.presentation;
+
+import com.locadora.locacao.application.command.ResultadoItemLocacao;
+
+import java.util.UUID;
+
+/**
+ * DTO para resposta de cada item do lote de locações
+ */
+public record ResultadoItemLocacaoResponse(
+        int indice,
+        UUID filmeId,
+        UUID locacaoId,
+        String status,
+        String erro
+) {
+    
+    public static ResultadoItemLocacaoResponse from(ResultadoItemLocacao resultado) {
+        return new ResultadoItemLocacaoResponse(
+                resultado.indice(),
+                resultado.filmeId(),
+                resultado.locacaoId(),
+                resultado.isCriada() ? "CRIADA" : "REJEITADA",
+                resultado.erro()
+        );
+    }
+}
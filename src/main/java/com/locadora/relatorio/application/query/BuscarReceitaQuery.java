@@ -0,0 +1,30 @@
+package com.locadora.relatorio.application.query;
+
+import com.locadora.relatorio.domain.AgrupamentoReceita;
+import com.locadora.relatorio.presentation.LinhaReceitaResponse;
+import com.locadora.shared.cqrs.Query;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Query para o relatório de receita de locações e multas em um período
+ */
+public record BuscarReceitaQuery(
+        LocalDate de,
+        LocalDate ate,
+        AgrupamentoReceita agrupamento
+) implements Query<List<LinhaReceitaResponse>> {
+    
+    public BuscarReceitaQuery {
+        if (de == null || ate == null) {
+            throw new IllegalArgumentException("Período do relatório é obrigatório");
+        }
+        if (ate.isBefore(de)) {
+            throw new IllegalArgumentException("Data final do relatório deve ser posterior à data inicial");
+        }
+        if (agrupamento == null) {
+            throw new IllegalArgumentException("Agrupamento é obrigatório");
+        }
+    }
+}
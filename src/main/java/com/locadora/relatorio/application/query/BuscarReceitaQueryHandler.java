@@ -0,0 +1,30 @@
+package com.locadora.relatorio.application.query;
+
+import com.locadora.relatorio.domain.ReceitaRepository;
+import com.locadora.relatorio.presentation.LinhaReceitaResponse;
+import com.locadora.shared.cqrs.QueryHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * Handler para a query de receita, lida do rollup diário
+ */
+@Service
+@Transactional(readOnly = true)
+public class BuscarReceitaQueryHandler implements QueryHandler<BuscarReceitaQuery, List<LinhaReceitaResponse>> {
+    
+    private final ReceitaRepository receitaRepository;
+    
+    public BuscarReceitaQueryHandler(ReceitaRepository receitaRepository) {
+        this.receitaRepository = receitaRepository;
+    }
+    
+    @Override
+    public List<LinhaReceitaResponse> handle(BuscarReceitaQuery query) {
+        return receitaRepository.consultar(query.de(), query.ate(), query.agrupamento()).stream()
+                .map(LinhaReceitaResponse::from)
+                .toList();
+    }
+}
@@ -0,0 +1,27 @@
+package com.locadora.relatorio.domain;
+
+import java.util.Locale;
+
+/**
+ * Dimensões pelas quais o relatório de receita pode ser agrupado
+ */
+public enum AgrupamentoReceita {
+    DIA,
+    MES,
+    GENERO,
+    FILME;
+    
+    /**
+     * Converte o valor recebido na API (dia, mes, genero ou filme, sem diferenciar maiúsculas)
+     */
+    public static AgrupamentoReceita of(String valor) {
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Agrupamento é obrigatório");
+        }
+        try {
+            return valueOf(valor.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Agrupamento inválido: " + valor);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.locadora.relatorio.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Uma linha do relatório de receita.
+ * <p>
+ * A chave depende do agrupamento: a data (dia), o mês no formato yyyy-MM, o gênero ou o ID do filme;
+ * a descrição traz o nome do filme quando agrupado por filme.
+ */
+public record LinhaReceita(
+        String chave,
+        String descricao,
+        long locacoes,
+        BigDecimal valorLocacoes,
+        BigDecimal valorMultas
+) {
+    
+    public BigDecimal total() {
+        return valorLocacoes.add(valorMultas);
+    }
+}
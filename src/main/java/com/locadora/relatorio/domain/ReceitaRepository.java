@@ -0,0 +1,24 @@
+package com.locadora.relatorio.domain;
+
+import com.locadora.filme.domain.FilmeId;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Repository do rollup diário de receita por filme
+ */
+public interface ReceitaRepository {
+    
+    /**
+     * Soma uma variação (possivelmente negativa) à receita do filme no dia
+     */
+    void aplicar(LocalDate dia, FilmeId filmeId, int locacoes, BigDecimal valorLocacoes, BigDecimal valorMultas);
+    
+    /**
+     * Receita entre {@code de} e {@code ate} (inclusive); dias e meses em ordem cronológica,
+     * gêneros e filmes da maior para a menor receita
+     */
+    List<LinhaReceita> consultar(LocalDate de, LocalDate ate, AgrupamentoReceita agrupamento);
+}
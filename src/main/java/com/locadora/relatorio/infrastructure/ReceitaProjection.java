@@ -0,0 +1,66 @@
+package com.locadora.relatorio.infrastructure;
+
+import com.locadora.locacao.domain.LocacaoCancelada;
+import com.locadora.locacao.domain.LocacaoCriada;
+import com.locadora.locacao.domain.LocacaoDevolvida;
+import com.locadora.locacao.domain.LocacaoExcluida;
+import com.locadora.locacao.domain.MultaRecalculada;
+import com.locadora.locacao.domain.StatusLocacao;
+import com.locadora.relatorio.domain.ReceitaRepository;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+
+/**
+ * Mantém receita_diaria a partir dos eventos de locação entregues pelo OutboxRelay.
+ * <p>
+ * O valor da locação conta no dia da locação e a multa no dia da devolução; cancelamentos e exclusões
+ * aplicam a variação inversa nos mesmos dias.
+ */
+@Component
+public class ReceitaProjection {
+    
+    private final ReceitaRepository receitaRepository;
+    
+    public ReceitaProjection(ReceitaRepository receitaRepository) {
+        this.receitaRepository = receitaRepository;
+    }
+    
+    @EventListener
+    public void aoCriarLocacao(LocacaoCriada event) {
+        receitaRepository.aplicar(event.getDataLocacao(), event.getFilmeId(), 1, event.getValorLocacao(), BigDecimal.ZERO);
+    }
+    
+    @EventListener
+    public void aoDevolverLocacao(LocacaoDevolvida event) {
+        if (temValor(event.getValorMulta())) {
+            receitaRepository.aplicar(event.getDataDevolucao(), event.getFilmeId(), 0, BigDecimal.ZERO, event.getValorMulta());
+        }
+    }
+    
+    @EventListener
+    public void aoRecalcularMulta(MultaRecalculada event) {
+        receitaRepository.aplicar(event.getDataDevolucao(), event.getFilmeId(), 0, BigDecimal.ZERO, event.getDiferenca());
+    }
+    
+    @EventListener
+    public void aoCancelarLocacao(LocacaoCancelada event) {
+        receitaRepository.aplicar(event.getDataLocacao(), event.getFilmeId(), -1, event.getValorLocacao().negate(), BigDecimal.ZERO);
+    }
+    
+    @EventListener
+    public void aoExcluirLocacao(LocacaoExcluida event) {
+        if (event.getStatus() == StatusLocacao.CANCELADA) {
+            return;
+        }
+        receitaRepository.aplicar(event.getDataLocacao(), event.getFilmeId(), -1, event.getValorLocacao().negate(), BigDecimal.ZERO);
+        if (event.getDataDevolucao() != null && temValor(event.getValorMulta())) {
+            receitaRepository.aplicar(event.getDataDevolucao(), event.getFilmeId(), 0, BigDecimal.ZERO, event.getValorMulta().negate());
+        }
+    }
+    
+    private static boolean temValor(BigDecimal valor) {
+        return valor != null && valor.signum() > 0;
+    }
+}
@@ -0,0 +1,94 @@
+package com.locadora.relatorio.infrastructure;
+
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.relatorio.domain.AgrupamentoReceita;
+import com.locadora.relatorio.domain.LinhaReceita;
+import com.locadora.relatorio.domain.ReceitaRepository;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Implementação JDBC do rollup receita_diaria.
+ * <p>
+ * Um relatório de um ano lê no máximo 365 linhas por filme locado, pela faixa da chave primária (dia, filme_id),
+ * em vez de agregar todas as locações do período.
+ */
+@Repository
+public class ReceitaRepositoryImpl implements ReceitaRepository {
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public ReceitaRepositoryImpl(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Override
+    public void aplicar(LocalDate dia, FilmeId filmeId, int locacoes, BigDecimal valorLocacoes, BigDecimal valorMultas) {
+        String sql = """
+            INSERT INTO receita_diaria (dia, filme_id, locacoes, valor_locacoes, valor_multas)
+            VALUES (:dia, :filmeId, :locacoes, :valorLocacoes, :valorMultas)
+            ON CONFLICT (dia, filme_id) DO UPDATE SET
+                locacoes = receita_diaria.locacoes + EXCLUDED.locacoes,
+                valor_locacoes = receita_diaria.valor_locacoes + EXCLUDED.valor_locacoes,
+                valor_multas = receita_diaria.valor_multas + EXCLUDED.valor_multas,
+                atualizado_em = CURRENT_TIMESTAMP
+            """;
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("dia", Date.valueOf(dia))
+                .addValue("filmeId", filmeId.getValue())
+                .addValue("locacoes", locacoes)
+                .addValue("valorLocacoes", valorLocacoes)
+                .addValue("valorMultas", valorMultas);
+        
+        jdbcTemplate.update(sql, params);
+    }
+    
+    @Override
+    public List<LinhaReceita> consultar(LocalDate de, LocalDate ate, AgrupamentoReceita agrupamento) {
+        // As expressões vêm do enum, nunca da requisição
+        String chave = switch (agrupamento) {
+            case DIA -> "to_char(r.dia, 'YYYY-MM-DD')";
+            case MES -> "to_char(r.dia, 'YYYY-MM')";
+            case GENERO -> "COALESCE(f.detalhes->>'genero', 'Não informado')";
+            case FILME -> "r.filme_id::text";
+        };
+        String descricao = agrupamento == AgrupamentoReceita.FILME ? "MAX(f.nome)" : "NULL";
+        String juncao = agrupamento == AgrupamentoReceita.GENERO || agrupamento == AgrupamentoReceita.FILME
+                ? "LEFT JOIN filme f ON f.id = r.filme_id"
+                : "";
+        String ordem = agrupamento == AgrupamentoReceita.DIA || agrupamento == AgrupamentoReceita.MES
+                ? "chave"
+                : "SUM(r.valor_locacoes + r.valor_multas) DESC, chave";
+        
+        String sql = """
+            SELECT %s AS chave, %s AS descricao,
+                   SUM(r.locacoes) AS locacoes,
+                   SUM(r.valor_locacoes) AS valor_locacoes,
+                   SUM(r.valor_multas) AS valor_multas
+            FROM receita_diaria r
+            %s
+            WHERE r.dia BETWEEN :de AND :ate
+            GROUP BY 1
+            ORDER BY %s
+            """.formatted(chave, descricao, juncao, ordem);
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("de", Date.valueOf(de))
+                .addValue("ate", Date.valueOf(ate));
+        
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new LinhaReceita(
+                rs.getString("chave"),
+                rs.getString("descricao"),
+                rs.getLong("locacoes"),
+                rs.getBigDecimal("valor_locacoes"),
+                rs.getBigDecimal("valor_multas")
+        ));
+    }
+}
@@ -0,0 +1,29 @@
+package com.locadora.relatorio.presentation;
+
+import com.locadora.relatorio.domain.LinhaReceita;
+
+import java.math.BigDecimal;
+
+/**
+ * DTO para resposta de uma linha do relatório de receita
+ */
+public record LinhaReceitaResponse(
+        String chave,
+        String descricao,
+        Long locacoes,
+        BigDecimal valorLocacoes,
+        BigDecimal valorMultas,
+        BigDecimal total
+) {
+    
+    public static LinhaReceitaResponse from(LinhaReceita linha) {
+        return new LinhaReceitaResponse(
+                linha.chave(),
+                linha.descricao(),
+                linha.locacoes(),
+                linha.valorLocacoes(),
+                linha.valorMultas(),
+                linha.total()
+        );
+    }
+}
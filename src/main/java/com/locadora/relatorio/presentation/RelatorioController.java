@@ -0,0 +1,42 @@
+package com.locadora.relatorio.presentation;
+
+import com.locadora.relatorio.application.query.BuscarReceitaQuery;
+import com.locadora.relatorio.application.query.BuscarReceitaQueryHandler;
+import com.locadora.relatorio.domain.AgrupamentoReceita;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Controller REST para relatórios financeiros
+ */
+@RestController
+@RequestMapping("/api/relatorios")
+@CrossOrigin(origins = "*")
+public class RelatorioController {
+    
+    private final BuscarReceitaQueryHandler buscarReceitaHandler;
+    
+    public RelatorioController(BuscarReceitaQueryHandler buscarReceitaHandler) {
+        this.buscarReceitaHandler = buscarReceitaHandler;
+    }
+    
+    /**
+     * Receita de locações e multas no período, agrupada por dia, mes, genero ou filme
+     */
+    @GetMapping("/receita")
+    public ResponseEntity<List<LinhaReceitaResponse>> buscarReceita(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+            @RequestParam(defaultValue = "dia") String agrupamento) {
+        try {
+            BuscarReceitaQuery query = new BuscarReceitaQuery(de, ate, AgrupamentoReceita.of(agrupamento));
+            return ResponseEntity.ok(buscarReceitaHandler.handle(query));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.locadora.shared.domain;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversões entre valores monetários em BigDecimal (escala 2) e centavos em {@code long}
+ */
+public final class Centavos {
+    
+    private Centavos() {
+    }
+    
+    /**
+     * Centavos do valor, arredondando meio centavo para cima
+     */
+    public static long de(BigDecimal valor) {
+        return valor.setScale(2, RoundingMode.HALF_UP).movePointRight(2).longValueExact();
+    }
+    
+    public static BigDecimal paraValor(long centavos) {
+        return BigDecimal.valueOf(centavos, 2);
+    }
+}
@@ -0,0 +1,26 @@
+package com.locadora.shared.domain;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Página de resultados com cursor opaco para a próxima página (paginação por keyset)
+ */
+public record Pagina<T>(List<T> itens, String proximoCursor) {
+
+    public Pagina {
+        itens = itens != null ? itens : List.of();
+    }
+
+    public static <T> Pagina<T> vazia() {
+        return new Pagina<>(List.of(), null);
+    }
+
+    public boolean temProxima() {
+        return proximoCursor != null;
+    }
+
+    public <R> Pagina<R> map(Function<? super T, ? extends R> mapper) {
+        return new Pagina<>(itens.stream().<R>map(mapper).toList(), proximoCursor);
+    }
+}
@@ -0,0 +1,69 @@
+package com.locadora.shared.infrastructure;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Leitura das próprias escritas com réplicas: depois que um cliente confirma uma transação de escrita,
+ * as leituras dele vão para o primário até o instante informado (epoch em ms), já que a réplica pode
+ * ainda não ter aplicado a escrita.
+ * <p>
+ * A sessão vale para a thread corrente; a camada web a abre por requisição a partir de um cookie
+ * e recebe em {@code aoEscrever} o novo prazo para devolvê-lo ao cliente.
+ */
+public final class AderenciaPrimario {
+
+    private static final ThreadLocal<Sessao> ATUAL = new ThreadLocal<>();
+
+    private AderenciaPrimario() {
+    }
+
+    public static Sessao abrir(long primarioAte, LongConsumer aoEscrever) {
+        Sessao sessao = new Sessao(primarioAte, aoEscrever, ATUAL.get());
+        ATUAL.set(sessao);
+        return sessao;
+    }
+
+    /**
+     * Prazo da sessão corrente, para reabri-la em outra thread (ex.: respostas em streaming); 0 sem sessão
+     */
+    public static long primarioAte() {
+        Sessao sessao = ATUAL.get();
+        return sessao != null ? sessao.primarioAte : 0;
+    }
+
+    static boolean lerDoPrimario(long agora) {
+        return agora < primarioAte();
+    }
+
+    static void registrarEscrita(long primarioAte) {
+        Sessao sessao = ATUAL.get();
+        if (sessao != null && primarioAte > sessao.primarioAte) {
+            sessao.primarioAte = primarioAte;
+            if (sessao.aoEscrever != null) {
+                sessao.aoEscrever.accept(primarioAte);
+            }
+        }
+    }
+
+    public static final class Sessao implements AutoCloseable {
+
+        private final LongConsumer aoEscrever;
+        private final Sessao anterior;
+        private long primarioAte;
+
+        private Sessao(long primarioAte, LongConsumer aoEscrever, Sessao anterior) {
+            this.primarioAte = primarioAte;
+            this.aoEscrever = aoEscrever;
+            this.anterior = anterior;
+        }
+
+        @Override
+        public void close() {
+            if (anterior == null) {
+                ATUAL.remove();
+            } else {
+                ATUAL.set(anterior);
+            }
+        }
+    }
+}
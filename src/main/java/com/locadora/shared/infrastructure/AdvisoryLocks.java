@@ -0,0 +1,73 @@
+package com.locadora.shared.infrastructure;
+
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Advisory locks do PostgreSQL para tarefas que devem rodar em um único nó por vez.
+ * <p>
+ * Os locks são de transação (pg_try_advisory_xact_lock): liberados automaticamente no commit ou rollback,
+ * sem risco de ficarem presos a uma conexão devolvida ao pool. Tarefas longas que abrem as próprias transações usam
+ * {@link #executarComLockDeSessao}, que segura um lock de sessão em uma conexão dedicada sem transação aberta.
+ */
+public final class AdvisoryLocks {
+    
+    private AdvisoryLocks() {
+    }
+    
+    /**
+     * Tenta obter o lock identificado por {@code chave} na transação corrente, sem esperar
+     */
+    public static boolean tentarBloquear(NamedParameterJdbcTemplate jdbcTemplate, String chave) {
+        Boolean obtido = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(hashtext(:chave))",
+                new MapSqlParameterSource("chave", chave),
+                Boolean.class);
+        return Boolean.TRUE.equals(obtido);
+    }
+    
+    /**
+     * Executa {@code tarefa} segurando o lock de sessão {@code chave} (pg_try_advisory_lock) em uma conexão
+     * dedicada, fora de transação, e o libera ao terminar; retorna vazio sem executar se o lock já estiver em uso
+     */
+    public static <T> Optional<T> executarComLockDeSessao(
+            NamedParameterJdbcTemplate jdbcTemplate, String chave, Supplier<T> tarefa) {
+        return jdbcTemplate.getJdbcOperations().execute((ConnectionCallback<Optional<T>>) conexao -> {
+            if (!consultarLock(conexao, "SELECT pg_try_advisory_lock(hashtext(?))", chave)) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.ofNullable(tarefa.get());
+            } finally {
+                consultarLock(conexao, "SELECT pg_advisory_unlock(hashtext(?))", chave);
+            }
+        });
+    }
+    
+    /**
+     * Obtém o lock identificado por {@code chave} na transação corrente, esperando quem o detém terminar
+     */
+    public static void bloquear(NamedParameterJdbcTemplate jdbcTemplate, String chave) {
+        jdbcTemplate.query(
+                "SELECT pg_advisory_xact_lock(hashtext(:chave))",
+                new MapSqlParameterSource("chave", chave),
+                rs -> null);
+    }
+    
+    private static boolean consultarLock(Connection conexao, String sql, String chave) throws SQLException {
+        try (PreparedStatement statement = conexao.prepareStatement(sql)) {
+            statement.setString(1, chave);
+            try (ResultSet rs = statement.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+}
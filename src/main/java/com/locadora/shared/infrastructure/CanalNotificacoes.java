@@ -0,0 +1,196 @@
+package com.locadora.shared.infrastructure;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Difusão de mensagens para todas as instâncias via LISTEN/NOTIFY do PostgreSQL.
+ * <p>
+ * Ao contrário do outbox, em que cada evento é consumido por uma única instância, uma notificação chega a
+ * todas as conexões em LISTEN. publicar usa pg_notify na transação corrente, então a mensagem só é entregue
+ * após o commit (e descartada no rollback). Cada instância escuta por uma conexão dedicada ao primário, fora
+ * do pool; o que for enviado enquanto ela está caída se perde, por isso cada assinante é avisado sempre que
+ * a escuta (re)começa.
+ */
+@Component
+public class CanalNotificacoes implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(CanalNotificacoes.class);
+
+    private static final SqlPreparado NOTIFICAR = SqlPreparado.de("SELECT pg_notify(:canal, :mensagem)");
+
+    // Os canais viram identificadores no LISTEN, então só aceitam nomes simples
+    private static final Pattern NOME_CANAL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final int ESPERA_NOTIFICACOES_MS = 10_000;
+    private static final long ESPERA_RECONEXAO_MAXIMA_MS = 30_000;
+
+    private final JdbcOperations jdbc;
+    private final DataSourceProperties dataSourceProperties;
+    private final Map<String, Assinatura> assinaturas = new ConcurrentHashMap<>();
+
+    private volatile boolean ativo;
+    private volatile Connection conexao;
+    private Thread escuta;
+
+    public CanalNotificacoes(NamedParameterJdbcTemplate jdbcTemplate, DataSourceProperties dataSourceProperties) {
+        this.jdbc = jdbcTemplate.getJdbcOperations();
+        this.dataSourceProperties = dataSourceProperties;
+    }
+
+    /**
+     * Registra o consumidor das mensagens de {@code canal}; deve ser chamado antes do início da escuta.
+     * {@code aoPerderMensagens} roda a cada (re)conexão, quando mensagens podem ter sido perdidas.
+     */
+    public void assinar(String canal, Consumer<String> aoReceber, Runnable aoPerderMensagens) {
+        validar(canal);
+        if (ativo) {
+            throw new IllegalStateException("Canais devem ser assinados antes do início da escuta: " + canal);
+        }
+        assinaturas.put(canal, new Assinatura(aoReceber, aoPerderMensagens));
+    }
+
+    /**
+     * Envia {@code mensagem} a todas as instâncias, no commit da transação corrente (ou já, fora de uma).
+     * O PostgreSQL limita a mensagem a 8000 bytes.
+     */
+    public void publicar(String canal, String mensagem) {
+        validar(canal);
+        NOTIFICAR.query(jdbc, (rs, linha) -> null, canal, mensagem);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (ativo || assinaturas.isEmpty()) {
+            return;
+        }
+        ativo = true;
+        escuta = new Thread(this::escutar, "canal-notificacoes");
+        escuta.setDaemon(true);
+        escuta.start();
+    }
+
+    @Override
+    public synchronized void stop() {
+        ativo = false;
+        fecharConexao();
+        if (escuta != null) {
+            try {
+                escuta.join(ESPERA_NOTIFICACOES_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            escuta = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ativo;
+    }
+
+    // Começa antes do servidor web, para não servir do cache sem receber invalidações
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void escutar() {
+        long esperaReconexao = 500;
+        while (ativo) {
+            try (Connection aberta = DriverManager.getConnection(dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(), dataSourceProperties.determinePassword())) {
+                conexao = aberta;
+                try (Statement statement = aberta.createStatement()) {
+                    for (String canal : assinaturas.keySet()) {
+                        statement.execute("LISTEN " + canal);
+                    }
+                }
+                assinaturas.values().forEach(assinatura -> assinatura.aoPerderMensagens().run());
+                esperaReconexao = 500;
+                receber(aberta);
+            } catch (SQLException e) {
+                if (ativo) {
+                    log.warn("Escuta de notificações interrompida; reconectando em {} ms", esperaReconexao, e);
+                    dormir(esperaReconexao);
+                    esperaReconexao = Math.min(esperaReconexao * 2, ESPERA_RECONEXAO_MAXIMA_MS);
+                }
+            } finally {
+                conexao = null;
+            }
+        }
+    }
+
+    private void receber(Connection aberta) throws SQLException {
+        PGConnection pgConnection = aberta.unwrap(PGConnection.class);
+        while (ativo) {
+            PGNotification[] notificacoes = pgConnection.getNotifications(ESPERA_NOTIFICACOES_MS);
+            if (notificacoes == null || notificacoes.length == 0) {
+                // Sem tráfego, uma conexão derrubada pela rede só é percebida ao usá-la
+                if (!aberta.isValid(5)) {
+                    throw new SQLException("Conexão de escuta de notificações inválida");
+                }
+                continue;
+            }
+            for (PGNotification notificacao : notificacoes) {
+                entregar(notificacao);
+            }
+        }
+    }
+
+    private void entregar(PGNotification notificacao) {
+        Assinatura assinatura = assinaturas.get(notificacao.getName());
+        if (assinatura == null) {
+            return;
+        }
+        try {
+            assinatura.aoReceber().accept(notificacao.getParameter());
+        } catch (RuntimeException e) {
+            log.error("Falha ao tratar notificação do canal {}", notificacao.getName(), e);
+        }
+    }
+
+    private void fecharConexao() {
+        Connection aberta = conexao;
+        if (aberta != null) {
+            try {
+                aberta.close();
+            } catch (SQLException e) {
+                log.debug("Falha ao fechar a conexão de escuta de notificações", e);
+            }
+        }
+    }
+
+    private static void dormir(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void validar(String canal) {
+        if (canal == null || !NOME_CANAL.matcher(canal).matches()) {
+            throw new IllegalArgumentException("Nome de canal inválido: " + canal);
+        }
+    }
+
+    private record Assinatura(Consumer<String> aoReceber, Runnable aoPerderMensagens) {
+    }
+}
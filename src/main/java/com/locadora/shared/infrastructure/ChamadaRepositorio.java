@@ -0,0 +1,40 @@
+package com.locadora.shared.infrastructure;
+
+/**
+ * Método de repositório em execução na thread corrente, para atribuir statements e conexões a ele.
+ * Chamadas aninhadas (ex.: decorator de cache chamando o repositório JDBC) formam uma pilha.
+ */
+final class ChamadaRepositorio {
+
+    private static final ThreadLocal<ChamadaRepositorio> ATUAL = new ThreadLocal<>();
+
+    private final MetricasJdbc.Medidores medidores;
+    private final ChamadaRepositorio anterior;
+
+    private ChamadaRepositorio(MetricasJdbc.Medidores medidores, ChamadaRepositorio anterior) {
+        this.medidores = medidores;
+        this.anterior = anterior;
+    }
+
+    static ChamadaRepositorio iniciar(MetricasJdbc.Medidores medidores) {
+        ChamadaRepositorio chamada = new ChamadaRepositorio(medidores, ATUAL.get());
+        ATUAL.set(chamada);
+        return chamada;
+    }
+
+    static ChamadaRepositorio atual() {
+        return ATUAL.get();
+    }
+
+    void encerrar() {
+        if (anterior == null) {
+            ATUAL.remove();
+        } else {
+            ATUAL.set(anterior);
+        }
+    }
+
+    MetricasJdbc.Medidores medidores() {
+        return medidores;
+    }
+}
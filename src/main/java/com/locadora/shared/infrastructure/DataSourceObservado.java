@@ -0,0 +1,154 @@
+package com.locadora.shared.infrastructure;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * DataSource que mede a espera por conexões do pool e a execução de cada statement, atribuindo as duas
+ * ao método de repositório em curso (ou a "nenhum", como no início de uma transação).
+ * <p>
+ * Statements acima do limiar vão para o log de consultas lentas com o SQL já com os parâmetros nomeados
+ * expandidos em {@code ?}: a forma da consulta, sem os valores. Só os métodos execute* são interceptados;
+ * ResultSets e parâmetros passam direto para o driver.
+ */
+public class DataSourceObservado extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourceObservado.class);
+
+    private static final Pattern ESPACOS = Pattern.compile("\\s+");
+
+    private final MetricasJdbc metricas;
+    private final long limiarLentaNanos;
+
+    public DataSourceObservado(DataSource alvo, MetricasJdbc metricas, Duration limiarConsultaLenta) {
+        super(alvo);
+        this.metricas = metricas;
+        this.limiarLentaNanos = limiarConsultaLenta.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long inicio = System.nanoTime();
+        Connection conexao = super.getConnection();
+        medidores().esperaConexao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return observar(conexao);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        long inicio = System.nanoTime();
+        Connection conexao = super.getConnection(username, password);
+        medidores().esperaConexao.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        return observar(conexao);
+    }
+
+    private Connection observar(Connection conexao) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                new ConexaoObservada(conexao));
+    }
+
+    private MetricasJdbc.Medidores medidores() {
+        ChamadaRepositorio chamada = ChamadaRepositorio.atual();
+        return chamada != null ? chamada.medidores() : metricas.foraDeRepositorio();
+    }
+
+    private static Object invocar(Object alvo, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(alvo, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    // equals/hashCode pela identidade do proxy, como o DataSourceUtils espera ao comparar conexões
+    private static boolean ehIdentidade(Method metodo) {
+        return metodo.getDeclaringClass() == Object.class && !metodo.getName().equals("toString");
+    }
+
+    private static Object identidade(Object proxy, Method metodo, Object[] args) {
+        return metodo.getName().equals("equals") ? proxy == args[0] : System.identityHashCode(proxy);
+    }
+
+    private class ConexaoObservada implements InvocationHandler {
+
+        private final Connection alvo;
+
+        ConexaoObservada(Connection alvo) {
+            this.alvo = alvo;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            if (ehIdentidade(metodo)) {
+                return identidade(proxy, metodo, args);
+            }
+            Object resultado = invocar(alvo, metodo, args);
+            if (resultado instanceof Statement statement && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                // prepareStatement/prepareCall recebem o SQL; em createStatement ele chega no execute
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return Proxy.newProxyInstance(
+                        Connection.class.getClassLoader(),
+                        new Class<?>[] {metodo.getReturnType()},
+                        new StatementObservado(statement, sql, (Connection) proxy));
+            }
+            return resultado;
+        }
+    }
+
+    private class StatementObservado implements InvocationHandler {
+
+        private final Statement alvo;
+        private final String sql;
+        private final Connection conexao;
+
+        StatementObservado(Statement alvo, String sql, Connection conexao) {
+            this.alvo = alvo;
+            this.sql = sql;
+            this.conexao = conexao;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            if (ehIdentidade(metodo)) {
+                return identidade(proxy, metodo, args);
+            }
+            if (metodo.getName().equals("getConnection")) {
+                // queryForStream libera a conexão do statement; precisa ser o proxy que a transação registrou
+                return conexao;
+            }
+            if (!metodo.getName().startsWith("execute")) {
+                return invocar(alvo, metodo, args);
+            }
+
+            long inicio = System.nanoTime();
+            try {
+                return invocar(alvo, metodo, args);
+            } finally {
+                long nanos = System.nanoTime() - inicio;
+                MetricasJdbc.Medidores medidores = medidores();
+                medidores.statements.record(nanos, TimeUnit.NANOSECONDS);
+                if (nanos >= limiarLentaNanos && log.isWarnEnabled()) {
+                    String texto = args != null && args.length > 0 && args[0] instanceof String s ? s : sql;
+                    log.warn("Consulta lenta: {} ms em {}.{} ({}): {}",
+                            TimeUnit.NANOSECONDS.toMillis(nanos), medidores.repositorio, medidores.metodo,
+                            metodo.getName(), texto != null ? ESPACOS.matcher(texto).replaceAll(" ").trim() : "?");
+                }
+            }
+        }
+    }
+}
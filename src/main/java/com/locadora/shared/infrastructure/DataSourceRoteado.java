@@ -0,0 +1,93 @@
+package com.locadora.shared.infrastructure;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Envia as transações somente leitura para uma réplica em dia e todo o resto para o primário.
+ * <p>
+ * A decisão é tomada ao obter a conexão, por isso este DataSource deve ficar atrás de um
+ * LazyConnectionDataSourceProxy: o gerenciador de transações pede a conexão antes de marcar a transação
+ * como somente leitura. Conexões fora de transação vão para o primário. Ao confirmar uma transação de
+ * escrita, a sessão de AderenciaPrimario passa a ler do primário pela janela de aderência.
+ */
+public class DataSourceRoteado extends AbstractDataSource {
+
+    private final DataSource primario;
+    private final ObjectProvider<ReplicasLeitura> replicasProvider;
+    private final long aderenciaMillis;
+
+    private volatile ReplicasLeitura replicas;
+
+    public DataSourceRoteado(DataSource primario, ObjectProvider<ReplicasLeitura> replicasProvider, Duration aderencia) {
+        this.primario = primario;
+        this.replicasProvider = replicasProvider;
+        this.aderenciaMillis = aderencia.toMillis();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return alvo().getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return alvo().getConnection(username, password);
+    }
+
+    DataSource alvo() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            aderirAoPrimarioAoConfirmar();
+            return primario;
+        }
+        if (AderenciaPrimario.lerDoPrimario(System.currentTimeMillis())) {
+            return primario;
+        }
+        ReplicasLeitura.Replica replica = replicas().escolher();
+        return replica != null ? replica.dataSource() : primario;
+    }
+
+    private void aderirAoPrimarioAoConfirmar() {
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    AderenciaPrimario.registrarEscrita(System.currentTimeMillis() + aderenciaMillis);
+                }
+            });
+        }
+    }
+
+    // Resolvido no primeiro uso: o DataSource é criado antes dos beans comuns
+    private ReplicasLeitura replicas() {
+        ReplicasLeitura atual = replicas;
+        if (atual == null) {
+            atual = replicasProvider.getObject();
+            replicas = atual;
+        }
+        return atual;
+    }
+
+    // unwrap chega ao pool do primário (métricas e health do Hikari)
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primario.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primario.isWrapperFor(iface);
+    }
+}
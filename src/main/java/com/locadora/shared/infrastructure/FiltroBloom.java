@@ -0,0 +1,90 @@
+package com.locadora.shared.infrastructure;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtro de Bloom de chaves texto, seguro para inserções e consultas concorrentes.
+ * <p>
+ * {@link #podeConter} nunca responde falso para uma chave adicionada; o verdadeiro pode ser um falso positivo,
+ * com probabilidade próxima da taxa informada enquanto o número de chaves não passar da capacidade.
+ * Não há remoção: chaves apagadas continuam respondendo verdadeiro até o filtro ser reconstruído.
+ */
+public class FiltroBloom {
+
+    private final AtomicLongArray palavras;
+    private final long bits;
+    private final int funcoes;
+
+    public FiltroBloom(long capacidade, double taxaFalsosPositivos) {
+        if (capacidade < 1) {
+            throw new IllegalArgumentException("Capacidade do filtro deve ser maior que zero");
+        }
+        if (taxaFalsosPositivos <= 0 || taxaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Taxa de falsos positivos deve estar entre 0 e 1");
+        }
+
+        // m = -n ln p / (ln 2)^2 e k = (m / n) ln 2, as dimensões ótimas para n chaves e taxa p
+        double ln2 = Math.log(2);
+        long bitsOtimos = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (ln2 * ln2));
+        int quantidadePalavras = Math.toIntExact(Math.max(1, (bitsOtimos + 63) / 64));
+        this.palavras = new AtomicLongArray(quantidadePalavras);
+        this.bits = quantidadePalavras * 64L;
+        this.funcoes = Math.max(1, (int) Math.round((double) bits / capacidade * ln2));
+    }
+
+    public void adicionar(String chave) {
+        long hash = hash(chave);
+        long h1 = hash;
+        long h2 = misturar(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            int indice = (int) (bit >>> 6);
+            long mascara = 1L << bit;
+            long atual = palavras.get(indice);
+            while ((atual & mascara) == 0 && !palavras.compareAndSet(indice, atual, atual | mascara)) {
+                atual = palavras.get(indice);
+            }
+        }
+    }
+
+    public boolean podeConter(String chave) {
+        long hash = hash(chave);
+        long h1 = hash;
+        long h2 = misturar(hash ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < funcoes; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bits);
+            if ((palavras.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int funcoes() {
+        return funcoes;
+    }
+
+    long bits() {
+        return bits;
+    }
+
+    // FNV-1a de 64 bits sobre os bytes UTF-8, finalizado com a mistura do MurmurHash3
+    private static long hash(String chave) {
+        long hash = 0xCBF29CE484222325L;
+        for (byte b : chave.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001B3L;
+        }
+        return misturar(hash);
+    }
+
+    private static long misturar(long valor) {
+        valor ^= valor >>> 33;
+        valor *= 0xFF51AFD7ED558CCDL;
+        valor ^= valor >>> 33;
+        valor *= 0xC4CEB93FE1A85323L;
+        valor ^= valor >>> 33;
+        return valor;
+    }
+}
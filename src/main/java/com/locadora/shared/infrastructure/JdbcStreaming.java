@@ -0,0 +1,25 @@
+package com.locadora.shared.infrastructure;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Fábrica de templates para consultas lidas como Stream.
+ * <p>
+ * O driver do PostgreSQL só busca as linhas em lotes (cursor no servidor) quando há fetch size
+ * e a conexão está fora de autocommit, por isso os streams devem ser consumidos dentro de uma transação
+ * e fechados ao final.
+ */
+public final class JdbcStreaming {
+    
+    public static final int FETCH_SIZE = 500;
+    
+    private JdbcStreaming() {
+    }
+    
+    public static NamedParameterJdbcTemplate comCursor(NamedParameterJdbcTemplate jdbcTemplate) {
+        JdbcTemplate streaming = new JdbcTemplate(jdbcTemplate.getJdbcTemplate().getDataSource());
+        streaming.setFetchSize(FETCH_SIZE);
+        return new NamedParameterJdbcTemplate(streaming);
+    }
+}
@@ -0,0 +1,106 @@
+package com.locadora.shared.infrastructure;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Medidores Micrometer da camada JDBC, agrupados por método de repositório.
+ * <p>
+ * O registro é resolvido na primeira medição: os post-processors que usam esta classe são criados antes
+ * do MeterRegistry estar configurado.
+ */
+public class MetricasJdbc {
+
+    static final String CHAMADAS = "locadora.repositorio.chamadas";
+    static final String LINHAS = "locadora.repositorio.linhas";
+    static final String STATEMENTS = "locadora.jdbc.statements";
+    static final String ESPERA_CONEXAO = "locadora.jdbc.conexao.espera";
+
+    // Statements e conexões obtidos fora de uma chamada de repositório (ex.: início de transação)
+    static final String NENHUM = "nenhum";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final ConcurrentHashMap<String, Medidores> porMetodo = new ConcurrentHashMap<>();
+    private volatile MeterRegistry registry;
+
+    public MetricasJdbc(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    Medidores medidores(String repositorio, String metodo) {
+        return porMetodo.computeIfAbsent(repositorio + '.' + metodo, chave -> new Medidores(registry(), repositorio, metodo));
+    }
+
+    Medidores foraDeRepositorio() {
+        return medidores(NENHUM, NENHUM);
+    }
+
+    void registrarFalha(String repositorio, String metodo, Throwable erro, long nanos) {
+        Timer.builder(CHAMADAS)
+                .tag("repositorio", repositorio)
+                .tag("metodo", metodo)
+                .tag("excecao", erro.getClass().getSimpleName())
+                .register(registry())
+                .record(Duration.ofNanos(nanos));
+    }
+
+    private MeterRegistry registry() {
+        MeterRegistry atual = registry;
+        if (atual == null) {
+            atual = registryProvider.getObject();
+            registry = atual;
+        }
+        return atual;
+    }
+
+    /**
+     * Medidores de um método de repositório, criados uma vez e reaproveitados a cada chamada
+     */
+    static final class Medidores {
+
+        final String repositorio;
+        final String metodo;
+        final Timer chamadas;
+        final DistributionSummary linhas;
+        final Timer statements;
+        final Timer esperaConexao;
+
+        private Medidores(MeterRegistry registry, String repositorio, String metodo) {
+            this.repositorio = repositorio;
+            this.metodo = metodo;
+            this.chamadas = Timer.builder(CHAMADAS)
+                    .description("Duração das chamadas de repositório")
+                    .tag("repositorio", repositorio)
+                    .tag("metodo", metodo)
+                    .tag("excecao", "none")
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+            this.linhas = DistributionSummary.builder(LINHAS)
+                    .description("Linhas retornadas por chamada de repositório")
+                    .baseUnit("linhas")
+                    .tag("repositorio", repositorio)
+                    .tag("metodo", metodo)
+                    .register(registry);
+            this.statements = Timer.builder(STATEMENTS)
+                    .description("Tempo de execução dos statements JDBC no banco")
+                    .tag("repositorio", repositorio)
+                    .tag("metodo", metodo)
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofMillis(1))
+                    .maximumExpectedValue(Duration.ofSeconds(10))
+                    .register(registry);
+            this.esperaConexao = Timer.builder(ESPERA_CONEXAO)
+                    .description("Espera por uma conexão do pool")
+                    .tag("repositorio", repositorio)
+                    .tag("metodo", metodo)
+                    .register(registry);
+        }
+    }
+}
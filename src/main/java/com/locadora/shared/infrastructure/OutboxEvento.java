@@ -0,0 +1,13 @@
+package com.locadora.shared.infrastructure;
+
+/**
+ * Linha pendente da tabela outbox_evento
+ */
+public record OutboxEvento(
+        long id,
+        String tipo,
+        String classe,
+        String payload,
+        int tentativas
+) {
+}
@@ -0,0 +1,150 @@
+package com.locadora.shared.infrastructure;
+
+import com.locadora.shared.domain.DomainEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Drena o outbox em lotes e publica os eventos para os assinantes em processo (@EventListener).
+ * <p>
+ * Cada lote roda em uma transação que bloqueia as linhas com SKIP LOCKED, então várias instâncias podem
+ * drenar em paralelo sem publicar o mesmo evento duas vezes. Cada evento é entregue dentro de um savepoint:
+ * se um assinante falhar, só o trabalho dele é desfeito e o evento é tentado de novo no próximo ciclo,
+ * até locadora.outbox.max-tentativas.
+ * <p>
+ * Eventos publicados há mais de locadora.outbox.retencao são apagados em lotes pela limpeza periódica, que também
+ * atualiza a métrica locadora.outbox.esgotados com os eventos que esgotaram as tentativas e não são mais lidos.
+ */
+@Component
+public class OutboxRelay implements MeterBinder {
+    
+    static final String ESGOTADOS = "locadora.outbox.esgotados";
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxRelay.class);
+    
+    private final OutboxRepository outboxRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate loteTransaction;
+    private final TransactionTemplate eventoTransaction;
+    private final int tamanhoLote;
+    private final int maxTentativas;
+    private final Duration retencao;
+    private volatile long esgotados;
+    
+    public OutboxRelay(
+            OutboxRepository outboxRepository,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${locadora.outbox.tamanho-lote:100}") int tamanhoLote,
+            @Value("${locadora.outbox.max-tentativas:10}") int maxTentativas,
+            @Value("${locadora.outbox.retencao:7d}") Duration retencao) {
+        if (tamanhoLote < 1) {
+            throw new IllegalArgumentException("Tamanho do lote do outbox deve ser maior que zero");
+        }
+        this.outboxRepository = outboxRepository;
+        this.eventPublisher = eventPublisher;
+        this.loteTransaction = new TransactionTemplate(transactionManager);
+        this.eventoTransaction = new TransactionTemplate(transactionManager);
+        this.eventoTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.tamanhoLote = tamanhoLote;
+        this.maxTentativas = maxTentativas;
+        this.retencao = retencao;
+    }
+    
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder(ESGOTADOS, this, relay -> relay.esgotados)
+                .description("Eventos não publicados que esgotaram as tentativas, medidos na última limpeza")
+                .register(registry);
+    }
+    
+    @Scheduled(fixedDelayString = "${locadora.outbox.intervalo-ms:1000}")
+    public void agendado() {
+        drenar();
+    }
+    
+    /**
+     * Publica tudo o que estiver pendente; retorna a quantidade de eventos publicados
+     */
+    public int drenar() {
+        int total = 0;
+        int publicados;
+        do {
+            publicados = drenarLote();
+            total += publicados;
+        } while (publicados == tamanhoLote);
+        return total;
+    }
+    
+    @Scheduled(fixedDelayString = "${locadora.outbox.limpeza-ms:3600000}")
+    public void limpezaAgendada() {
+        limpar();
+    }
+    
+    /**
+     * Apaga os eventos publicados fora da retenção, um lote por transação, e conta os eventos esgotados;
+     * retorna a quantidade de eventos apagados
+     */
+    public int limpar() {
+        int total = 0;
+        int removidos;
+        do {
+            removidos = outboxRepository.removerPublicados(retencao, tamanhoLote);
+            total += removidos;
+        } while (removidos == tamanhoLote);
+        
+        esgotados = outboxRepository.contarEsgotados(maxTentativas);
+        if (esgotados > 0) {
+            log.warn("{} evento(s) do outbox esgotaram {} tentativas e aguardam análise manual", esgotados, maxTentativas);
+        }
+        return total;
+    }
+    
+    int drenarLote() {
+        Integer publicados = loteTransaction.execute(status -> {
+            List<OutboxEvento> pendentes = outboxRepository.reservarPendentes(tamanhoLote, maxTentativas);
+            List<Long> entregues = new ArrayList<>(pendentes.size());
+            for (OutboxEvento pendente : pendentes) {
+                if (publicar(pendente)) {
+                    entregues.add(pendente.id());
+                }
+            }
+            outboxRepository.marcarPublicados(entregues);
+            return entregues.size();
+        });
+        return publicados != null ? publicados : 0;
+    }
+    
+    private boolean publicar(OutboxEvento pendente) {
+        try {
+            eventoTransaction.executeWithoutResult(status -> {
+                DomainEvent evento = outboxRepository.desserializar(pendente);
+                eventPublisher.publishEvent(evento);
+            });
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("Falha ao publicar evento {} ({}), tentativa {}: {}",
+                    pendente.id(), pendente.tipo(), pendente.tentativas() + 1, e.getMessage());
+            outboxRepository.registrarFalha(pendente.id(), String.valueOf(e.getMessage()));
+            if (pendente.tentativas() + 1 >= maxTentativas) {
+                log.warn("Evento {} ({}) esgotou {} tentativas e não será mais publicado",
+                        pendente.id(), pendente.tipo(), maxTentativas);
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.locadora.shared.infrastructure;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.locadora.shared.domain.AggregateRoot;
+import com.locadora.shared.domain.DomainEvent;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Grava e lê os eventos de domínio da tabela outbox_evento.
+ * <p>
+ * O payload usa um ObjectMapper próprio (nomes em camelCase, datas ISO) para que o formato gravado não
+ * dependa da configuração de serialização da API.
+ */
+@Repository
+public class OutboxRepository {
+    
+    private static final ObjectMapper MAPPER = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+    
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    
+    public OutboxRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    /**
+     * Grava os eventos pendentes dos agregados na transação corrente e os remove dos agregados
+     */
+    public void registrar(Collection<? extends AggregateRoot<?>> agregados) {
+        List<DomainEvent> eventos = agregados.stream()
+                .flatMap(agregado -> agregado.getDomainEvents().stream())
+                .toList();
+        if (!eventos.isEmpty()) {
+            inserir(eventos);
+        }
+        agregados.forEach(AggregateRoot::clearDomainEvents);
+    }
+    
+    public void registrar(AggregateRoot<?> agregado) {
+        registrar(List.of(agregado));
+    }
+    
+    /**
+     * Grava eventos produzidos fora de um agregado carregado (atualizações set-based)
+     */
+    public void registrarEventos(List<? extends DomainEvent> eventos) {
+        if (!eventos.isEmpty()) {
+            inserir(eventos);
+        }
+    }
+    
+    /**
+     * Bloqueia até {@code limite} eventos pendentes; linhas já bloqueadas por outro relay são puladas
+     */
+    public List<OutboxEvento> reservarPendentes(int limite, int maxTentativas) {
+        String sql = """
+            SELECT id, tipo, classe, payload, tentativas
+            FROM outbox_evento
+            WHERE publicado_em IS NULL AND tentativas < :maxTentativas
+            ORDER BY id
+            LIMIT :limite
+            FOR UPDATE SKIP LOCKED
+            """;
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("limite", limite)
+                .addValue("maxTentativas", maxTentativas);
+        
+        return jdbcTemplate.query(sql, params, (rs, rowNum) -> new OutboxEvento(
+                rs.getLong("id"),
+                rs.getString("tipo"),
+                rs.getString("classe"),
+                rs.getString("payload"),
+                rs.getInt("tentativas")
+        ));
+    }
+    
+    public void marcarPublicados(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        String sql = """
+            UPDATE outbox_evento
+            SET publicado_em = CURRENT_TIMESTAMP, ultimo_erro = NULL
+            WHERE id IN (:ids)
+            """;
+        jdbcTemplate.update(sql, new MapSqlParameterSource("ids", ids));
+    }
+    
+    public void registrarFalha(long id, String erro) {
+        String sql = """
+            UPDATE outbox_evento
+            SET tentativas = tentativas + 1, ultimo_erro = :erro
+            WHERE id = :id
+            """;
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("erro", erro);
+        jdbcTemplate.update(sql, params);
+    }
+    
+    /**
+     * Apaga até {@code limite} eventos publicados há mais de {@code retencao}; retorna quantos foram apagados
+     */
+    public int removerPublicados(Duration retencao, int limite) {
+        String sql = """
+            DELETE FROM outbox_evento
+            WHERE id IN (
+                SELECT id
+                FROM outbox_evento
+                WHERE publicado_em < CURRENT_TIMESTAMP - make_interval(secs => :retencaoSegundos)
+                ORDER BY publicado_em
+                LIMIT :limite
+                FOR UPDATE SKIP LOCKED
+            )
+            """;
+        
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("retencaoSegundos", retencao.toSeconds())
+                .addValue("limite", limite);
+        
+        return jdbcTemplate.update(sql, params);
+    }
+    
+    /**
+     * Eventos não publicados que esgotaram as tentativas e não são mais lidos pelo relay
+     */
+    public long contarEsgotados(int maxTentativas) {
+        String sql = """
+            SELECT COUNT(*)
+            FROM outbox_evento
+            WHERE publicado_em IS NULL AND tentativas >= :maxTentativas
+            """;
+        Long total = jdbcTemplate.queryForObject(sql, new MapSqlParameterSource("maxTentativas", maxTentativas), Long.class);
+        return total != null ? total : 0;
+    }
+    
+    public DomainEvent desserializar(OutboxEvento evento) {
+        try {
+            Class<?> classe = Class.forName(evento.classe());
+            if (!DomainEvent.class.isAssignableFrom(classe)) {
+                throw new IllegalStateException("Classe do outbox não é um evento de domínio: " + evento.classe());
+            }
+            return (DomainEvent) MAPPER.readValue(evento.payload(), classe);
+        } catch (ClassNotFoundException | JsonProcessingException e) {
+            throw new IllegalStateException("Erro ao desserializar evento do outbox " + evento.id(), e);
+        }
+    }
+    
+    private void inserir(List<? extends DomainEvent> eventos) {
+        String sql = """
+            INSERT INTO outbox_evento (tipo, classe, payload, ocorrido_em)
+            VALUES (:tipo, :classe, CAST(:payload AS jsonb), :ocorridoEm)
+            """;
+        
+        MapSqlParameterSource[] lote = eventos.stream()
+                .map(evento -> new MapSqlParameterSource()
+                        .addValue("tipo", evento.getEventType())
+                        .addValue("classe", evento.getClass().getName())
+                        .addValue("payload", serializar(evento))
+                        .addValue("ocorridoEm", Timestamp.valueOf(evento.getOccurredOn())))
+                .toArray(MapSqlParameterSource[]::new);
+        
+        jdbcTemplate.batchUpdate(sql, lote);
+    }
+    
+    private String serializar(DomainEvent evento) {
+        try {
+            return MAPPER.writeValueAsString(evento);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Erro ao serializar evento " + evento.getEventType(), e);
+        }
+    }
+}
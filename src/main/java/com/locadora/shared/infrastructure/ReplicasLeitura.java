@@ -0,0 +1,160 @@
+package com.locadora.shared.infrastructure;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.UnaryOperator;
+
+/**
+ * Pools das réplicas de leitura e o atraso de replicação de cada uma.
+ * <p>
+ * Uma réplica só recebe leituras enquanto o último atraso medido estiver dentro de locadora.replica.atraso-maximo;
+ * até a primeira verificação, ou se ela falhar, as leituras ficam no primário. O atraso é o tempo desde a última
+ * transação aplicada, ou zero quando tudo o que foi recebido do primário já foi aplicado (primário ocioso).
+ */
+public class ReplicasLeitura implements MeterBinder, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicasLeitura.class);
+
+    // Sem processo de WAL receiver a réplica não acompanha o primário: NULL marca como indisponível
+    private static final String CONSULTA_ATRASO = """
+            SELECT CASE
+                WHEN NOT pg_is_in_recovery() THEN 0
+                WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver) THEN NULL
+                WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp())
+            END
+            """;
+
+    private final List<Replica> replicas;
+    private final double atrasoMaximoSegundos;
+    private final AtomicInteger proxima = new AtomicInteger();
+
+    public ReplicasLeitura(List<HikariDataSource> pools, Duration atrasoMaximo) {
+        this.replicas = pools.stream().map(Replica::new).toList();
+        this.atrasoMaximoSegundos = atrasoMaximo.toMillis() / 1000.0;
+    }
+
+    /**
+     * Próxima réplica disponível em rodízio, ou null se nenhuma estiver em dia
+     */
+    public Replica escolher() {
+        int total = replicas.size();
+        if (total == 0) {
+            return null;
+        }
+        int inicio = Math.floorMod(proxima.getAndIncrement(), total);
+        for (int i = 0; i < total; i++) {
+            Replica replica = replicas.get((inicio + i) % total);
+            if (replica.disponivel) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    public List<Replica> todas() {
+        return replicas;
+    }
+
+    /**
+     * Envolve o DataSource de cada réplica usado pelo roteamento (ex.: instrumentação); a verificação de
+     * atraso continua usando o pool diretamente
+     */
+    public void envolver(UnaryOperator<DataSource> envoltorio) {
+        replicas.forEach(replica -> replica.dataSource = envoltorio.apply(replica.dataSource));
+    }
+
+    @Scheduled(fixedDelayString = "${locadora.replica.verificacao-ms:1000}")
+    public void verificar() {
+        for (Replica replica : replicas) {
+            Double atraso;
+            try {
+                atraso = replica.jdbcTemplate.queryForObject(CONSULTA_ATRASO, Double.class);
+            } catch (RuntimeException e) {
+                log.warn("Falha ao medir o atraso da réplica {}: {}", replica.nome(), e.getMessage());
+                atraso = null;
+            }
+
+            boolean disponivel = atraso != null && atraso <= atrasoMaximoSegundos;
+            if (disponivel != replica.disponivel) {
+                log.info("Réplica {} {} para leituras (atraso: {} s)",
+                        replica.nome(), disponivel ? "liberada" : "suspensa", atraso);
+            }
+            replica.atrasoSegundos = atraso != null ? atraso : Double.NaN;
+            replica.disponivel = disponivel;
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("locadora.replica.atraso", replica, r -> r.atrasoSegundos)
+                    .description("Atraso de replicação medido na última verificação (NaN se indisponível)")
+                    .baseUnit("seconds")
+                    .tag("replica", replica.nome())
+                    .register(registry);
+            Gauge.builder("locadora.replica.disponivel", replica, r -> r.disponivel ? 1 : 0)
+                    .description("1 enquanto a réplica recebe leituras")
+                    .tag("replica", replica.nome())
+                    .register(registry);
+            // Métricas hikaricp.* do pool, como as do primário; só é possível antes da primeira conexão
+            if (replica.pool.getMetricRegistry() == null) {
+                try {
+                    replica.pool.setMetricRegistry(registry);
+                } catch (IllegalStateException e) {
+                    log.debug("Pool da réplica {} já iniciado, sem métricas do Hikari", replica.nome());
+                }
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    public static final class Replica {
+
+        private final HikariDataSource pool;
+        private final JdbcTemplate jdbcTemplate;
+        private volatile DataSource dataSource;
+        private volatile boolean disponivel;
+        private volatile double atrasoSegundos = Double.NaN;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+            this.jdbcTemplate = new JdbcTemplate(pool);
+            this.dataSource = pool;
+        }
+
+        public String nome() {
+            return pool.getPoolName();
+        }
+
+        /**
+         * DataSource para onde as leituras são roteadas
+         */
+        public DataSource dataSource() {
+            return dataSource;
+        }
+
+        public HikariDataSource pool() {
+            return pool;
+        }
+
+        public boolean disponivel() {
+            return disponivel;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.locadora.shared.infrastructure;
+
+import com.locadora.shared.domain.Pagina;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Mede cada chamada de repositório (duração e linhas retornadas) e a marca como corrente na thread,
+ * para que o DataSourceObservado atribua a ela os statements executados.
+ * <p>
+ * As linhas vêm do retorno do método: tamanho da lista ou da página, 0 ou 1 para Optional e objetos,
+ * e a quantidade consumida de um Stream, registrada ao fechá-lo. Contagens e booleanos não são linhas.
+ */
+public class RepositorioObservadoInterceptor implements MethodInterceptor {
+
+    private final MetricasJdbc metricas;
+    private final ClassValue<ConcurrentHashMap<Method, MetricasJdbc.Medidores>> medidoresPorClasse;
+
+    public RepositorioObservadoInterceptor(MetricasJdbc metricas) {
+        this.metricas = metricas;
+        this.medidoresPorClasse = new ClassValue<>() {
+            @Override
+            protected ConcurrentHashMap<Method, MetricasJdbc.Medidores> computeValue(Class<?> classe) {
+                return new ConcurrentHashMap<>();
+            }
+        };
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method metodo = invocation.getMethod();
+        if (metodo.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        Class<?> repositorio = ClassUtils.getUserClass(invocation.getThis().getClass());
+        MetricasJdbc.Medidores medidores = medidoresPorClasse.get(repositorio)
+                .computeIfAbsent(metodo, m -> metricas.medidores(repositorio.getSimpleName(), m.getName()));
+
+        ChamadaRepositorio chamada = ChamadaRepositorio.iniciar(medidores);
+        long inicio = System.nanoTime();
+        Object resultado;
+        try {
+            resultado = invocation.proceed();
+        } catch (Throwable erro) {
+            metricas.registrarFalha(medidores.repositorio, medidores.metodo, erro, System.nanoTime() - inicio);
+            throw erro;
+        } finally {
+            chamada.encerrar();
+        }
+        medidores.chamadas.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+
+        return registrarLinhas(resultado, medidores);
+    }
+
+    private static Object registrarLinhas(Object resultado, MetricasJdbc.Medidores medidores) {
+        if (resultado instanceof Collection<?> colecao) {
+            medidores.linhas.record(colecao.size());
+        } else if (resultado instanceof Pagina<?> pagina) {
+            medidores.linhas.record(pagina.itens().size());
+        } else if (resultado instanceof Optional<?> opcional) {
+            medidores.linhas.record(opcional.isPresent() ? 1 : 0);
+        } else if (resultado instanceof Stream<?> stream) {
+            LongAdder consumidas = new LongAdder();
+            return stream.peek(item -> consumidas.increment())
+                    .onClose(() -> medidores.linhas.record(consumidas.sum()));
+        } else if (resultado != null && !(resultado instanceof Number) && !(resultado instanceof Boolean)) {
+            medidores.linhas.record(1);
+        }
+        return resultado;
+    }
+}
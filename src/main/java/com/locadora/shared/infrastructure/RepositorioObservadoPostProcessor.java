@@ -0,0 +1,23 @@
+package com.locadora.shared.infrastructure;
+
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Aplica o RepositorioObservadoInterceptor a todos os beans anotados com @Repository.
+ * <p>
+ * Usa proxies de classe porque há beans que dependem da implementação concreta
+ * (ex.: CachingFilmeRepository recebe FilmeRepositoryImpl).
+ */
+public class RepositorioObservadoPostProcessor extends AbstractAdvisingBeanPostProcessor {
+
+    public RepositorioObservadoPostProcessor(MetricasJdbc metricas) {
+        this.advisor = new DefaultPointcutAdvisor(
+                new AnnotationMatchingPointcut(Repository.class, true),
+                new RepositorioObservadoInterceptor(metricas));
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+}
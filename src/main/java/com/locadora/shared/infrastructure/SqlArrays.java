@@ -0,0 +1,31 @@
+package com.locadora.shared.infrastructure;
+
+import org.springframework.jdbc.core.SqlTypeValue;
+import org.springframework.jdbc.core.support.AbstractSqlTypeValue;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Parâmetros do tipo array do PostgreSQL para consultas "= ANY(:ids)".
+ * <p>
+ * O NamedParameterJdbcTemplate expande coleções em listas "?, ?, ?", o que gera um texto SQL diferente
+ * para cada tamanho; um único parâmetro array mantém o mesmo statement para qualquer quantidade de IDs.
+ */
+public final class SqlArrays {
+    
+    private SqlArrays() {
+    }
+    
+    public static SqlTypeValue uuid(Collection<UUID> valores) {
+        UUID[] array = valores.toArray(UUID[]::new);
+        return new AbstractSqlTypeValue() {
+            @Override
+            protected Object createTypeValue(Connection con, int sqlType, String typeName) throws SQLException {
+                return con.createArrayOf("uuid", array);
+            }
+        };
+    }
+}
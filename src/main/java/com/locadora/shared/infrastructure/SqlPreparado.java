@@ -0,0 +1,143 @@
+package com.locadora.shared.infrastructure;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.support.DataAccessUtils;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.SqlParameter;
+import org.springframework.jdbc.core.namedparam.EmptySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Statement com SQL fixo, escrito com parâmetros nomeados e convertido para {@code ?} uma única vez.
+ * <p>
+ * O NamedParameterJdbcTemplate refaz essa conversão a cada chamada e produz uma nova String; aqui o mesmo
+ * texto (internado) é entregue ao driver sempre, o que mantém o statement no cache do PostgreSQL JDBC e,
+ * a partir do prepareThreshold, preparado no servidor. Os valores são passados na ordem em que cada nome
+ * aparece pela primeira vez no SQL; nomes repetidos recebem o mesmo valor. Listas de tamanho variável
+ * devem ir como um único parâmetro array (SqlArrays) ou jsonb, nunca como SQL montado por tamanho.
+ * <p>
+ * Parâmetros que podem ser nulos devem ser passados como SqlParameterValue com o tipo SQL: um null sem tipo
+ * faz o Spring consultar getParameterMetaData, que no PostgreSQL custa uma ida ao banco.
+ */
+public final class SqlPreparado {
+
+    private final String sql;
+    private final List<String> parametros;
+    private final int[] valorPorPosicao;
+
+    private SqlPreparado(String sql, List<String> parametros, int[] valorPorPosicao) {
+        this.sql = sql;
+        this.parametros = parametros;
+        this.valorPorPosicao = valorPorPosicao;
+    }
+
+    public static SqlPreparado de(String sqlNomeado) {
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sqlNomeado);
+        List<SqlParameter> posicoes = NamedParameterUtils.buildSqlParameterList(
+                parsedSql, EmptySqlParameterSource.INSTANCE);
+
+        List<String> parametros = new ArrayList<>();
+        int[] valorPorPosicao = new int[posicoes.size()];
+        for (int i = 0; i < posicoes.size(); i++) {
+            String nome = posicoes.get(i).getName();
+            int indice = parametros.indexOf(nome);
+            if (indice < 0) {
+                indice = parametros.size();
+                parametros.add(nome);
+            }
+            valorPorPosicao[i] = indice;
+        }
+
+        String sql = NamedParameterUtils.substituteNamedParameters(parsedSql, EmptySqlParameterSource.INSTANCE);
+        boolean semRepeticao = parametros.size() == valorPorPosicao.length;
+        return new SqlPreparado(sql.intern(), List.copyOf(parametros), semRepeticao ? null : valorPorPosicao);
+    }
+
+    /**
+     * SQL com {@code ?} entregue ao driver
+     */
+    public String sql() {
+        return sql;
+    }
+
+    /**
+     * Nomes dos parâmetros, na ordem em que os valores devem ser informados
+     */
+    public List<String> parametros() {
+        return parametros;
+    }
+
+    public <T> List<T> query(JdbcOperations jdbc, RowMapper<T> rowMapper, Object... valores) {
+        return jdbc.query(sql, rowMapper, argumentos(valores));
+    }
+
+    public <T> Optional<T> queryForOptional(JdbcOperations jdbc, RowMapper<T> rowMapper, Object... valores) {
+        return DataAccessUtils.optionalResult(query(jdbc, rowMapper, valores));
+    }
+
+    public <T> T queryForObject(JdbcOperations jdbc, RowMapper<T> rowMapper, Object... valores) {
+        return jdbc.queryForObject(sql, rowMapper, argumentos(valores));
+    }
+
+    public <T> T queryForObject(JdbcOperations jdbc, Class<T> tipo, Object... valores) {
+        return jdbc.queryForObject(sql, tipo, argumentos(valores));
+    }
+
+    public <T> Stream<T> queryForStream(JdbcOperations jdbc, RowMapper<T> rowMapper, Object... valores) {
+        return jdbc.queryForStream(sql, rowMapper, argumentos(valores));
+    }
+
+    /**
+     * Plano medido do statement com os valores informados (EXPLAIN ANALYZE, BUFFERS). O statement é de fato
+     * executado: escritas devem rodar em uma transação desfeita em seguida.
+     */
+    public List<String> explicar(JdbcOperations jdbc, Object... valores) {
+        return jdbc.queryForList("EXPLAIN (ANALYZE, BUFFERS) " + sql, String.class, argumentos(valores));
+    }
+
+    public int update(JdbcOperations jdbc, Object... valores) {
+        return jdbc.update(sql, argumentos(valores));
+    }
+
+    public int[] batchUpdate(JdbcOperations jdbc, List<Object[]> lote) {
+        if (valorPorPosicao == null) {
+            lote.forEach(this::validar);
+            return jdbc.batchUpdate(sql, lote);
+        }
+        return jdbc.batchUpdate(sql, lote.stream().map(this::argumentos).toList());
+    }
+
+    /**
+     * Valores na ordem dos {@code ?}, repetindo os de parâmetros que aparecem mais de uma vez
+     */
+    Object[] argumentos(Object... valores) {
+        validar(valores);
+        if (valorPorPosicao == null) {
+            return valores;
+        }
+        Object[] argumentos = new Object[valorPorPosicao.length];
+        for (int i = 0; i < valorPorPosicao.length; i++) {
+            argumentos[i] = valores[valorPorPosicao[i]];
+        }
+        return argumentos;
+    }
+
+    private void validar(Object[] valores) {
+        if (valores.length != parametros.size()) {
+            throw new InvalidDataAccessApiUsageException("SQL preparado espera " + parametros.size()
+                    + " valores " + parametros + " mas recebeu " + valores.length);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return sql;
+    }
+}
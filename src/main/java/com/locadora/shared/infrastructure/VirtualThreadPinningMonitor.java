@@ -0,0 +1,88 @@
+package com.locadora.shared.infrastructure;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Publica como métrica os eventos JFR jdk.VirtualThreadPinned, em que uma virtual thread bloqueou
+ * segurando a carrier thread (tipicamente dentro de um bloco synchronized).
+ * <p>
+ * O timer locadora.virtual.threads.pinned é marcado com o primeiro frame fora do JDK na pilha do evento,
+ * apontando qual código da aplicação ou biblioteca (driver JDBC, pool) limita a escala.
+ * Só é ativado quando spring.threads.virtual.enabled=true.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    
+    static final String METRICA = "locadora.virtual.threads.pinned";
+    static final String EVENTO = "jdk.VirtualThreadPinned";
+    
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    
+    private final MeterRegistry meterRegistry;
+    private final Duration limiar;
+    private RecordingStream stream;
+    
+    public VirtualThreadPinningMonitor(
+            MeterRegistry meterRegistry,
+            @Value("${locadora.virtual-threads.pinning.limiar:20ms}") Duration limiar) {
+        this.meterRegistry = meterRegistry;
+        this.limiar = limiar;
+    }
+    
+    @PostConstruct
+    void iniciar() {
+        stream = new RecordingStream();
+        stream.enable(EVENTO).withThreshold(limiar).withStackTrace();
+        stream.onEvent(EVENTO, this::registrar);
+        stream.startAsync();
+    }
+    
+    @PreDestroy
+    void parar() {
+        if (stream != null) {
+            stream.close();
+        }
+    }
+    
+    void registrar(RecordedEvent evento) {
+        String origem = origem(evento.getStackTrace());
+        Timer.builder(METRICA)
+                .description("Tempo em que virtual threads ficaram presas à carrier thread")
+                .tag("origem", origem)
+                .register(meterRegistry)
+                .record(evento.getDuration());
+        log.debug("Virtual thread presa por {} em {}", evento.getDuration(), origem);
+    }
+    
+    static String origem(RecordedStackTrace pilha) {
+        if (pilha == null) {
+            return "desconhecida";
+        }
+        for (RecordedFrame frame : pilha.getFrames()) {
+            if (!frame.isJavaFrame() || frame.getMethod() == null) {
+                continue;
+            }
+            String classe = frame.getMethod().getType().getName();
+            if (!classe.startsWith("java.") && !classe.startsWith("jdk.") && !classe.startsWith("sun.")) {
+                return classe + "." + frame.getMethod().getName();
+            }
+        }
+        return "jdk";
+    }
+}
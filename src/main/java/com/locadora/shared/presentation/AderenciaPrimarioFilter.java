@@ -0,0 +1,55 @@
+package com.locadora.shared.presentation;
+
+import com.locadora.shared.infrastructure.AderenciaPrimario;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Leva a aderência ao primário entre requisições do mesmo cliente: quando uma requisição confirma uma escrita,
+ * a resposta recebe um cookie com o prazo (epoch em ms) e as leituras seguintes que o enviarem vão para o
+ * primário até lá, mesmo que caiam em outra instância da aplicação.
+ */
+public class AderenciaPrimarioFilter extends OncePerRequestFilter {
+
+    public static final String COOKIE = "locadora-primario-ate";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try (AderenciaPrimario.Sessao sessao = AderenciaPrimario.abrir(
+                prazo(request), primarioAte -> response.addCookie(cookie(request, primarioAte)))) {
+            filterChain.doFilter(request, response);
+        }
+    }
+
+    private static long prazo(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    try {
+                        return Long.parseLong(cookie.getValue());
+                    } catch (NumberFormatException e) {
+                        return 0;
+                    }
+                }
+            }
+        }
+        return 0;
+    }
+
+    private static Cookie cookie(HttpServletRequest request, long primarioAte) {
+        Cookie cookie = new Cookie(COOKIE, Long.toString(primarioAte));
+        long restanteMillis = primarioAte - System.currentTimeMillis();
+        cookie.setMaxAge((int) Math.max(1, (restanteMillis + 999) / 1000));
+        cookie.setPath(request.getContextPath().isEmpty() ? "/" : request.getContextPath());
+        cookie.setHttpOnly(true);
+        return cookie;
+    }
+}
@@ -0,0 +1,113 @@
+package com.locadora.shared.presentation;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.locadora.shared.infrastructure.AderenciaPrimario;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Escreve listagens grandes direto no corpo da resposta, uma linha por vez, sem montar a lista em memória.
+ * <p>
+ * O Stream é aberto e consumido dentro de uma transação somente leitura (necessária para o cursor JDBC)
+ * na thread assíncrona do StreamingResponseBody. O formato é NDJSON quando o cliente aceita
+ * application/x-ndjson e um array JSON enviado em chunks caso contrário.
+ */
+@Component
+public class JsonStreamWriter {
+    
+    public enum Formato {
+        NDJSON,
+        ARRAY;
+        
+        public static Formato para(String accept) {
+            if (accept != null) {
+                for (MediaType tipo : MediaType.parseMediaTypes(accept)) {
+                    if (MediaType.APPLICATION_NDJSON.equalsTypeAndSubtype(tipo)) {
+                        return NDJSON;
+                    }
+                }
+            }
+            return ARRAY;
+        }
+    }
+    
+    // Linhas serializadas entre cada flush explícito; o buffer do gerador cuida do resto
+    private static final int LINHAS_POR_FLUSH = 200;
+    
+    private final ObjectWriter objectWriter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    
+    public JsonStreamWriter(ObjectMapper objectMapper, PlatformTransactionManager transactionManager) {
+        this.objectMapper = objectMapper;
+        this.objectWriter = objectMapper.writer()
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator((String) null);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+    }
+    
+    public <T> ResponseEntity<StreamingResponseBody> responder(String accept, Supplier<Stream<T>> linhas) {
+        Formato formato = Formato.para(accept);
+        MediaType contentType = formato == Formato.NDJSON ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON;
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .body(escrever(formato, linhas));
+    }
+    
+    public <T> StreamingResponseBody escrever(Formato formato, Supplier<Stream<T>> linhas) {
+        // A thread assíncrona herda a aderência ao primário da requisição (leitura após escrita com réplicas)
+        long primarioAte = AderenciaPrimario.primarioAte();
+        return out -> {
+            try (AderenciaPrimario.Sessao sessao = AderenciaPrimario.abrir(primarioAte, null)) {
+                transactionTemplate.executeWithoutResult(status -> {
+                    try (Stream<T> stream = linhas.get()) {
+                        escrever(formato, stream.iterator(), out);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+    }
+    
+    private <T> void escrever(Formato formato, Iterator<T> linhas, OutputStream out) throws IOException {
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(out);
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        
+        if (formato == Formato.ARRAY) {
+            generator.writeStartArray();
+        }
+        
+        int escritas = 0;
+        while (linhas.hasNext()) {
+            objectWriter.writeValue(generator, linhas.next());
+            if (formato == Formato.NDJSON) {
+                generator.writeRaw('\n');
+            }
+            // O primeiro flush sai logo na primeira linha para o tempo até o primeiro byte não depender do volume
+            if (++escritas == 1 || escritas % LINHAS_POR_FLUSH == 0) {
+                generator.flush();
+            }
+        }
+        
+        if (formato == Formato.ARRAY) {
+            generator.writeEndArray();
+        }
+        generator.close();
+    }
+}
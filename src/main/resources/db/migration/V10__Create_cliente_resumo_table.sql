@@ -0,0 +1,30 @@
+-- Resumo de locações por cliente, mantido incrementalmente pelos eventos de locação
+-- A leitura do resumo vira uma busca pela chave primária, sem agregar o histórico do cliente
+
+CREATE TABLE cliente_resumo (
+    cliente_id UUID PRIMARY KEY REFERENCES cliente(id) ON DELETE CASCADE,
+    locacoes_ativas INTEGER NOT NULL DEFAULT 0,
+    locacoes_atrasadas INTEGER NOT NULL DEFAULT 0,
+    total_locacoes INTEGER NOT NULL DEFAULT 0,
+    total_gasto DECIMAL(12,2) NOT NULL DEFAULT 0,
+    total_multas DECIMAL(12,2) NOT NULL DEFAULT 0,
+    ultima_locacao DATE,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+) WITH (fillfactor = 80);
+
+-- Carga inicial a partir do histórico existente
+INSERT INTO cliente_resumo (cliente_id, locacoes_ativas, locacoes_atrasadas, total_locacoes,
+                            total_gasto, total_multas, ultima_locacao)
+SELECT cliente_id,
+       COUNT(*) FILTER (WHERE status = 'ATIVA'),
+       COUNT(*) FILTER (WHERE status = 'ATRASADA'),
+       COUNT(*) FILTER (WHERE status <> 'CANCELADA'),
+       COALESCE(SUM(valor_locacao + COALESCE(valor_multa, 0)) FILTER (WHERE status <> 'CANCELADA'), 0),
+       COALESCE(SUM(valor_multa) FILTER (WHERE status <> 'CANCELADA'), 0),
+       MAX(data_locacao)
+FROM locacao
+GROUP BY cliente_id;
+
+COMMENT ON TABLE cliente_resumo IS 'Projeção por cliente: contadores e totais de locações, atualizados pelos eventos do outbox';
+COMMENT ON COLUMN cliente_resumo.total_gasto IS 'Valor das locações não canceladas somado às multas pagas';
+COMMENT ON COLUMN cliente_resumo.ultima_locacao IS 'Data da locação mais recente, canceladas inclusive';
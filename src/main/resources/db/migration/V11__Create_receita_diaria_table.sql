@@ -0,0 +1,32 @@
+-- Rollup diário de receita por filme, mantido incrementalmente pelos eventos de locação
+-- Relatórios de receita agregam esta tabela (no máximo uma linha por dia e filme) em vez de varrer locacao
+
+CREATE TABLE receita_diaria (
+    dia DATE NOT NULL,
+    filme_id UUID NOT NULL,
+    locacoes INTEGER NOT NULL DEFAULT 0,
+    valor_locacoes DECIMAL(14,2) NOT NULL DEFAULT 0,
+    valor_multas DECIMAL(14,2) NOT NULL DEFAULT 0,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (dia, filme_id)
+) WITH (fillfactor = 80);
+
+-- Sem FK para filme: eventos de locações de um filme excluído ainda podem chegar pelo outbox
+
+-- Carga inicial: locações contam no dia da locação e multas no dia da devolução
+INSERT INTO receita_diaria (dia, filme_id, locacoes, valor_locacoes, valor_multas)
+SELECT dia, filme_id, SUM(locacoes), SUM(valor_locacoes), SUM(valor_multas)
+FROM (
+    SELECT data_locacao AS dia, filme_id, COUNT(*) AS locacoes, SUM(valor_locacao) AS valor_locacoes, 0 AS valor_multas
+    FROM locacao
+    WHERE status <> 'CANCELADA'
+    GROUP BY data_locacao, filme_id
+    UNION ALL
+    SELECT data_devolucao, filme_id, 0, 0, SUM(valor_multa)
+    FROM locacao
+    WHERE data_devolucao IS NOT NULL AND valor_multa > 0 AND status <> 'CANCELADA'
+    GROUP BY data_devolucao, filme_id
+) receita
+GROUP BY dia, filme_id;
+
+COMMENT ON TABLE receita_diaria IS 'Receita por dia e filme: valor das locações no dia da locação, multas no dia da devolução';
@@ -0,0 +1,16 @@
+-- Checkpoints da exportação de locações: uma linha por partição (dia ou mês de data_locacao) gravada em cada destino
+-- Uma exportação interrompida recomeça da partição seguinte à última registrada
+
+CREATE TABLE exportacao_locacao (
+    destino VARCHAR(500) NOT NULL,
+    inicio DATE NOT NULL,
+    fim DATE NOT NULL,
+    linhas BIGINT NOT NULL,
+    arquivo VARCHAR(500) NOT NULL,
+    exportado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (destino, inicio),
+    CONSTRAINT ck_exportacao_locacao_periodo CHECK (fim > inicio)
+);
+
+COMMENT ON TABLE exportacao_locacao IS 'Partições de locacao já exportadas para cada diretório de destino';
+COMMENT ON COLUMN exportacao_locacao.fim IS 'Fim exclusivo da partição: a próxima exportação começa nesta data';
@@ -0,0 +1,92 @@
+-- Particionamento declarativo de locacao por mês de data_locacao
+-- Cada partição tem os próprios índices: inserções só atualizam os índices do mês corrente, que continuam
+-- pequenos com o histórico crescendo, e consultas filtradas por data_locacao leem apenas as partições do período.
+-- Partições futuras são criadas e as antigas arquivadas pelo ParticoesLocacaoJob.
+
+ALTER TABLE locacao RENAME TO locacao_legado;
+
+-- A chave primária precisa conter a chave de partição; o id continua único na prática (UUID aleatório)
+CREATE TABLE locacao (
+    id UUID NOT NULL,
+    cliente_id UUID NOT NULL,
+    filme_id UUID NOT NULL,
+    data_locacao DATE NOT NULL,
+    data_prevista_devolucao DATE NOT NULL,
+    data_devolucao DATE,
+    status status_locacao NOT NULL DEFAULT 'ATIVA',
+    valor_locacao DECIMAL(10,2) NOT NULL,
+    valor_multa DECIMAL(10,2) DEFAULT 0.00,
+    criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+
+    CONSTRAINT pk_locacao PRIMARY KEY (id, data_locacao),
+
+    -- Chaves estrangeiras
+    CONSTRAINT fk_locacao_cliente FOREIGN KEY (cliente_id) REFERENCES cliente(id),
+    CONSTRAINT fk_locacao_filme FOREIGN KEY (filme_id) REFERENCES filme(id),
+
+    -- Constraints de validação
+    CONSTRAINT chk_data_prevista_devolucao CHECK (data_prevista_devolucao >= data_locacao),
+    CONSTRAINT chk_data_devolucao CHECK (data_devolucao IS NULL OR data_devolucao >= data_locacao),
+    CONSTRAINT chk_valor_locacao_positivo CHECK (valor_locacao > 0),
+    CONSTRAINT chk_valor_multa_nao_negativo CHECK (valor_multa >= 0)
+) PARTITION BY RANGE (data_locacao);
+
+-- Um mês por partição, do histórico existente até três meses à frente
+DO $$
+DECLARE
+    mes DATE;
+BEGIN
+    FOR mes IN
+        SELECT generate_series(
+                   date_trunc('month', COALESCE((SELECT MIN(data_locacao) FROM locacao_legado), CURRENT_DATE)),
+                   date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                   INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF locacao FOR VALUES FROM (%L) TO (%L)',
+                       'locacao_' || to_char(mes, 'YYYY_MM'), mes, (mes + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+-- Datas sem partição mensal (muito antigas ou muito à frente) caem aqui até o job criar o mês
+CREATE TABLE locacao_padrao PARTITION OF locacao DEFAULT;
+
+INSERT INTO locacao
+SELECT id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, data_devolucao,
+       status, valor_locacao, valor_multa, criado_em, atualizado_em
+FROM locacao_legado;
+
+DROP TABLE locacao_legado;
+
+-- Índices criados na tabela particionada valem para todas as partições, atuais e futuras.
+-- Saem idx_locacao_status (os índices parciais atendem os status em andamento) e os de cliente_id e filme_id
+-- isolados (prefixos dos compostos), para cada inserção atualizar menos índices.
+CREATE INDEX idx_locacao_cliente_status ON locacao(cliente_id, status);
+CREATE INDEX idx_locacao_filme_status ON locacao(filme_id, status);
+CREATE INDEX idx_locacao_data_locacao ON locacao(data_locacao);
+CREATE INDEX idx_locacao_data_prevista_devolucao ON locacao(data_prevista_devolucao);
+CREATE INDEX idx_locacao_data_devolucao ON locacao(data_devolucao);
+
+CREATE INDEX idx_locacao_ativa_prevista ON locacao(data_prevista_devolucao, id)
+    WHERE status = 'ATIVA';
+CREATE INDEX idx_locacao_atrasada_prevista ON locacao(data_prevista_devolucao, id)
+    WHERE status = 'ATRASADA';
+
+-- Partições desanexadas pelo job de arquivamento, fora das consultas da aplicação
+CREATE SCHEMA IF NOT EXISTS locacao_arquivo;
+
+-- Comentários para documentação
+COMMENT ON TABLE locacao IS 'Tabela para armazenar informações das locações de filmes, particionada por mês de data_locacao';
+COMMENT ON TABLE locacao_padrao IS 'Partição padrão para datas sem partição mensal; o job de partições move as linhas para o mês';
+COMMENT ON SCHEMA locacao_arquivo IS 'Partições antigas de locacao desanexadas pelo job de arquivamento';
+COMMENT ON COLUMN locacao.id IS 'Identificador único da locação (UUID)';
+COMMENT ON COLUMN locacao.cliente_id IS 'Referência ao cliente que fez a locação';
+COMMENT ON COLUMN locacao.filme_id IS 'Referência ao filme locado';
+COMMENT ON COLUMN locacao.data_locacao IS 'Data em que a locação foi realizada (chave de partição)';
+COMMENT ON COLUMN locacao.data_prevista_devolucao IS 'Data prevista para devolução do filme';
+COMMENT ON COLUMN locacao.data_devolucao IS 'Data efetiva de devolução do filme';
+COMMENT ON COLUMN locacao.status IS 'Status atual da locação';
+COMMENT ON COLUMN locacao.valor_locacao IS 'Valor cobrado pela locação';
+COMMENT ON COLUMN locacao.valor_multa IS 'Valor da multa por atraso (se houver)';
+COMMENT ON COLUMN locacao.criado_em IS 'Data e hora de criação do registro';
+COMMENT ON COLUMN locacao.atualizado_em IS 'Data e hora da última atualização do registro';
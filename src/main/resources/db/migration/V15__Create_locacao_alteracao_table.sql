@@ -0,0 +1,13 @@
+-- Contador de alterações em locações por dia de data_locacao, mantido pelos eventos de locação do outbox
+-- A exportação guarda em exportacao_locacao a soma vista ao exportar cada partição e a refaz quando a soma
+-- atual dos seus dias é maior (devolução, atraso, multa recalculada, cancelamento ou exclusão posteriores)
+
+CREATE TABLE locacao_alteracao (
+    dia DATE PRIMARY KEY,
+    alteracoes BIGINT NOT NULL
+) WITH (fillfactor = 80);
+
+ALTER TABLE exportacao_locacao ADD COLUMN alteracoes BIGINT NOT NULL DEFAULT 0;
+
+COMMENT ON TABLE locacao_alteracao IS 'Eventos de locação recebidos por dia de data_locacao';
+COMMENT ON COLUMN exportacao_locacao.alteracoes IS 'Soma de locacao_alteracao nos dias da partição, no snapshot da exportação';
@@ -0,0 +1,18 @@
+-- Pré-filtro de busca parcial de ator sobre os nomes, e não sobre o texto JSON do array
+-- detalhes->>'atores' serializa o array com escapes (aspas viram \", barras viram \\), então um nome com aspas
+-- ou barra não casava o LIKE e o filme sumia da busca. Os nomes unidos por quebra de linha contêm qualquer
+-- trecho de qualquer nome; o EXISTS sobre jsonb_array_elements_text continua confirmando o elemento.
+
+CREATE FUNCTION filme_atores_texto(detalhes jsonb) RETURNS text
+    LANGUAGE sql IMMUTABLE PARALLEL SAFE
+AS $$
+    SELECT LOWER(string_agg(ator, E'\n'))
+    FROM jsonb_array_elements_text(
+        CASE WHEN jsonb_typeof(detalhes->'atores') = 'array' THEN detalhes->'atores' END
+    ) AS ator
+$$;
+
+DROP INDEX idx_filme_atores_trgm;
+CREATE INDEX idx_filme_atores_trgm ON filme USING GIN (filme_atores_texto(detalhes) gin_trgm_ops);
+
+COMMENT ON FUNCTION filme_atores_texto(jsonb) IS 'Nomes de detalhes->''atores'' em minúsculas, um por linha, para o índice de trigramas';
@@ -0,0 +1,3 @@
+-- Limpeza dos eventos já publicados pelo OutboxRelay, dos mais antigos para os mais novos
+
+CREATE INDEX idx_outbox_evento_publicado ON outbox_evento(publicado_em) WHERE publicado_em IS NOT NULL;
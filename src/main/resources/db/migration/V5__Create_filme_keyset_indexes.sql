@@ -0,0 +1,14 @@
+-- Índices para paginação por keyset na listagem de filmes
+
+-- Ordenação por nome: seek em (nome, id)
+CREATE INDEX idx_filme_nome_id ON filme(nome, id);
+
+-- Filtro por ano ordenado por nome: seek em (nome, id) dentro do mesmo ano
+CREATE INDEX idx_filme_ano_nome_id ON filme(ano, nome, id);
+
+-- Filtro por diretor ordenado por ano decrescente: seek em (ano, id)
+CREATE INDEX idx_filme_diretor_ano_id ON filme(LOWER(diretor), ano DESC, id DESC);
+
+-- Os índices simples passam a ser prefixos dos compostos acima
+DROP INDEX IF EXISTS idx_filme_nome;
+DROP INDEX IF EXISTS idx_filme_ano;
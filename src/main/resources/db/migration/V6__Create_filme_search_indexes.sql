@@ -0,0 +1,21 @@
+-- Índices de busca textual para filmes
+
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+-- Trigramas atendem LIKE/ILIKE com curinga à esquerda e similaridade (tolerância a erros de digitação)
+CREATE INDEX idx_filme_nome_trgm ON filme USING GIN (LOWER(nome) gin_trgm_ops);
+CREATE INDEX idx_filme_sinopse_trgm ON filme USING GIN ((detalhes->>'sinopse') gin_trgm_ops);
+
+-- Pré-filtro indexável para busca parcial de ator sobre o texto do array JSONB
+CREATE INDEX idx_filme_atores_trgm ON filme USING GIN (LOWER(detalhes->>'atores') gin_trgm_ops);
+
+-- Documento de busca full-text em português: nome (peso A), atores (peso B) e sinopse (peso C)
+ALTER TABLE filme ADD COLUMN busca tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('portuguese', coalesce(nome, '')), 'A') ||
+    setweight(jsonb_to_tsvector('portuguese', coalesce(detalhes->'atores', '[]'::jsonb), '["string"]'), 'B') ||
+    setweight(to_tsvector('portuguese', coalesce(detalhes->>'sinopse', '')), 'C')
+) STORED;
+
+CREATE INDEX idx_filme_busca ON filme USING GIN (busca);
+
+COMMENT ON COLUMN filme.busca IS 'Documento tsvector (portuguese) gerado a partir de nome, atores e sinopse';
@@ -0,0 +1,21 @@
+-- Outbox transacional dos eventos de domínio
+-- Gravado na mesma transação do agregado e drenado em lotes pelo OutboxRelay
+
+CREATE TABLE outbox_evento (
+    id BIGSERIAL PRIMARY KEY,
+    tipo VARCHAR(100) NOT NULL,
+    classe VARCHAR(255) NOT NULL,
+    payload JSONB NOT NULL,
+    ocorrido_em TIMESTAMP NOT NULL,
+    criado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    publicado_em TIMESTAMP,
+    tentativas INTEGER NOT NULL DEFAULT 0,
+    ultimo_erro TEXT
+);
+
+-- Apenas eventos pendentes são lidos pelo relay, em ordem de inserção
+CREATE INDEX idx_outbox_evento_pendente ON outbox_evento(id) WHERE publicado_em IS NULL;
+
+COMMENT ON TABLE outbox_evento IS 'Eventos de domínio aguardando publicação para os assinantes em processo';
+COMMENT ON COLUMN outbox_evento.classe IS 'Classe Java do evento, usada para desserializar o payload';
+COMMENT ON COLUMN outbox_evento.tentativas IS 'Publicações que falharam; acima do limite configurado o evento deixa de ser lido';
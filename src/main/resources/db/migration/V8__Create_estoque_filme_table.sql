@@ -0,0 +1,24 @@
+-- Estoque de cópias por filme
+-- Tabela estreita separada de filme: a reserva atualiza só esta linha, sem reescrever o JSONB de detalhes,
+-- e o fillfactor reduzido mantém as atualizações HOT (sem novas entradas de índice) sob alta concorrência
+
+CREATE TABLE estoque_filme (
+    filme_id UUID PRIMARY KEY REFERENCES filme(id) ON DELETE CASCADE,
+    total_copias INTEGER NOT NULL,
+    disponiveis INTEGER NOT NULL,
+    atualizado_em TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT ck_estoque_filme_total CHECK (total_copias >= 0),
+    CONSTRAINT ck_estoque_filme_disponiveis CHECK (disponiveis >= 0 AND disponiveis <= total_copias)
+) WITH (fillfactor = 70);
+
+-- Filmes existentes recebem uma cópia, ou tantas quantas já estiverem locadas
+INSERT INTO estoque_filme (filme_id, total_copias, disponiveis)
+SELECT f.id,
+       GREATEST(1, COUNT(l.id)),
+       GREATEST(1, COUNT(l.id)) - COUNT(l.id)
+FROM filme f
+LEFT JOIN locacao l ON l.filme_id = f.id AND l.status IN ('ATIVA', 'ATRASADA')
+GROUP BY f.id;
+
+COMMENT ON TABLE estoque_filme IS 'Cópias físicas de cada filme e quantas estão disponíveis para locação';
+COMMENT ON COLUMN estoque_filme.disponiveis IS 'Decrementado na locação e incrementado na devolução';
@@ -0,0 +1,10 @@
+-- Índices parciais para o varredor de atrasos e a listagem de locações atrasadas
+-- Contêm apenas as linhas em andamento, então continuam pequenos mesmo com o histórico de locações crescendo
+
+-- Varredor: locações ativas em ordem de vencimento
+CREATE INDEX idx_locacao_ativa_prevista ON locacao(data_prevista_devolucao, id)
+    WHERE status = 'ATIVA';
+
+-- GET /api/locacoes/atrasadas
+CREATE INDEX idx_locacao_atrasada_prevista ON locacao(data_prevista_devolucao, id)
+    WHERE status = 'ATRASADA';
@@ -0,0 +1,139 @@
+package com.locadora.cliente.infrastructure;
+
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.cliente.domain.ClienteResumo;
+import com.locadora.cliente.domain.ClienteResumoRepository;
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.locacao.application.command.CriarLocacaoCommand;
+import com.locadora.locacao.application.command.CriarLocacaoCommandHandler;
+import com.locadora.locacao.application.command.DevolverLocacaoCommand;
+import com.locadora.locacao.application.command.DevolverLocacaoCommandHandler;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.locacao.infrastructure.LocacoesAtrasadasSweeper;
+import com.locadora.shared.infrastructure.OutboxRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para a projeção de resumo por cliente
+ */
+class ClienteResumoProjectionIntegrationTest extends BaseIntegrationTest {
+
+    private static final UUID JOAO_ID = UUID.fromString("660e8400-e29b-41d4-a716-446655440001");
+    private static final UUID MARIA_ID = UUID.fromString("660e8400-e29b-41d4-a716-446655440002");
+    private static final UUID MATRIX_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final LocacaoId LOCACAO_ATIVA = LocacaoId.of(UUID.fromString("770e8400-e29b-41d4-a716-446655440001"));
+
+    @Autowired
+    private ClienteResumoRepository clienteResumoRepository;
+
+    @Autowired
+    private CriarLocacaoCommandHandler criarLocacaoHandler;
+
+    @Autowired
+    private DevolverLocacaoCommandHandler devolverLocacaoHandler;
+
+    @Autowired
+    private LocacaoRepository locacaoRepository;
+
+    @Autowired
+    private LocacoesAtrasadasSweeper sweeper;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveContabilizarNovaLocacao() {
+        LocalDate hoje = LocalDate.now();
+        criarLocacaoHandler.handle(new CriarLocacaoCommand(
+                MARIA_ID, MATRIX_ID, hoje, hoje.plusDays(7), new BigDecimal("10.00")));
+
+        outboxRelay.drenar();
+
+        ClienteResumo resumo = resumo(MARIA_ID);
+        assertThat(resumo.locacoesAtivas()).isEqualTo(1);
+        assertThat(resumo.totalLocacoes()).isEqualTo(2);
+        assertThat(resumo.totalGasto()).isEqualByComparingTo("25.60");
+        assertThat(resumo.totalMultas()).isEqualByComparingTo("3.60");
+        assertThat(resumo.ultimaLocacao()).isEqualTo(hoje);
+    }
+
+    @Test
+    void deveMoverLocacaoDeAtivaParaAtrasadaEDepoisDevolvida() {
+        sweeper.varrer(LocalDate.now());
+        outboxRelay.drenar();
+
+        assertThat(resumo(JOAO_ID).locacoesAtivas()).isZero();
+        assertThat(resumo(JOAO_ID).locacoesAtrasadas()).isEqualTo(1);
+
+        devolverLocacaoHandler.handle(new DevolverLocacaoCommand(LOCACAO_ATIVA.getValue(), LocalDate.now()));
+        outboxRelay.drenar();
+
+        BigDecimal multa = locacaoRepository.findById(LOCACAO_ATIVA).orElseThrow().getValorMulta()
+                .setScale(2, RoundingMode.HALF_UP);
+        ClienteResumo resumo = resumo(JOAO_ID);
+        assertThat(resumo.locacoesAtivas()).isZero();
+        assertThat(resumo.locacoesAtrasadas()).isZero();
+        assertThat(resumo.totalLocacoes()).isEqualTo(1);
+        assertThat(resumo.totalMultas()).isEqualByComparingTo(multa);
+        assertThat(resumo.totalGasto()).isEqualByComparingTo(new BigDecimal("15.00").add(multa));
+    }
+
+    @Test
+    void deveDesfazerContribuicaoDeLocacaoCancelada() {
+        Locacao locacao = locacaoRepository.findById(LOCACAO_ATIVA).orElseThrow();
+        locacao.cancelar();
+        locacaoRepository.save(locacao);
+        outboxRelay.drenar();
+
+        ClienteResumo resumo = resumo(JOAO_ID);
+        assertThat(resumo.locacoesAtivas()).isZero();
+        assertThat(resumo.totalLocacoes()).isZero();
+        assertThat(resumo.totalGasto()).isEqualByComparingTo("0");
+        assertThat(resumo.ultimaLocacao()).isEqualTo(LocalDate.of(2024, 1, 15));
+    }
+
+    @Test
+    void deveRecalcularUltimaLocacaoAoExcluir() {
+        locacaoRepository.deleteById(LOCACAO_ATIVA);
+        outboxRelay.drenar();
+
+        ClienteResumo resumo = resumo(JOAO_ID);
+        assertThat(resumo.locacoesAtivas()).isZero();
+        assertThat(resumo.totalLocacoes()).isZero();
+        assertThat(resumo.totalGasto()).isEqualByComparingTo("0");
+        assertThat(resumo.ultimaLocacao()).isNull();
+    }
+
+    @Test
+    void deveRetornarResumoZeradoParaClienteSemLocacoes() {
+        jdbcTemplate.update("DELETE FROM cliente_resumo WHERE cliente_id = ?", MARIA_ID);
+
+        ClienteResumo resumo = resumo(MARIA_ID);
+        assertThat(resumo.totalLocacoes()).isZero();
+        assertThat(resumo.totalGasto()).isEqualByComparingTo("0");
+        assertThat(resumo.ultimaLocacao()).isNull();
+    }
+
+    @Test
+    void naoDeveRetornarResumoParaClienteInexistente() {
+        assertThat(clienteResumoRepository.findByClienteId(ClienteId.of(UUID.randomUUID()))).isEmpty();
+    }
+
+    private ClienteResumo resumo(UUID clienteId) {
+        return clienteResumoRepository.findByClienteId(ClienteId.of(clienteId)).orElseThrow();
+    }
+}
@@ -9,11 +9,14 @@ import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabas
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.context.web.WebAppConfiguration;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
+import java.util.UUID;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -32,6 +35,9 @@ class ClienteControllerIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @BeforeEach
     void setUp() {
         this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
@@ -64,6 +70,23 @@ class ClienteControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.cpf").value("12345678901"));
     }
 
+    @Test
+    void deveBuscarResumoDoCliente() throws Exception {
+        mockMvc.perform(get("/api/clientes/660e8400-e29b-41d4-a716-446655440002/resumo"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.locacoes_ativas").value(0))
+                .andExpect(jsonPath("$.total_locacoes").value(1))
+                .andExpect(jsonPath("$.total_gasto").value(15.60))
+                .andExpect(jsonPath("$.total_multas").value(3.60))
+                .andExpect(jsonPath("$.ultima_locacao").value("2024-01-10"));
+    }
+
+    @Test
+    void deveRetornar404AoBuscarResumoDeClienteInexistente() throws Exception {
+        mockMvc.perform(get("/api/clientes/660e8400-e29b-41d4-a716-446655449999/resumo"))
+                .andExpect(status().isNotFound());
+    }
+
     @Test
     void deveListarClientes() throws Exception {
         mockMvc.perform(get("/api/clientes"))
@@ -145,6 +168,25 @@ class ClienteControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    void deveRecusarDuplicadoAindaAusenteDoFiltro() throws Exception {
+        // Cadastro feito por outra instância: o filtro desta ainda não conhece o email, a restrição UNIQUE sim
+        jdbcTemplate.update("INSERT INTO cliente (id, nome, email, cpf) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), "Ana Costa", "ana.costa@email.com", "44455566677");
+
+        CriarClienteRequest request = new CriarClienteRequest(
+                "Outra Ana",
+                "ana.costa@email.com",
+                "11555555555",
+                "77788899900"
+        );
+
+        mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deveValidarCpfDuplicado() throws Exception {
         CriarClienteRequest request = new CriarClienteRequest(
@@ -1,5 +1,8 @@
 package com.locadora.config;
 
+import com.locadora.cliente.infrastructure.FiltroDuplicidadeClienteBloom;
+import com.locadora.filme.infrastructure.CachingFilmeRepository;
+import com.locadora.locacao.infrastructure.RankingFilmesEmMemoria;
 import org.junit.jupiter.api.BeforeEach;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -10,10 +13,14 @@ import org.springframework.jdbc.datasource.init.ScriptUtils;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.Network;
 import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.images.builder.Transferable;
 import org.testcontainers.utility.DockerImageName;
 
 import javax.sql.DataSource;
+import java.sql.Connection;
+import java.time.LocalDate;
 
 /**
  * Classe base para testes de integração
@@ -29,10 +36,27 @@ public abstract class BaseIntegrationTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     
+    @Autowired
+    private CachingFilmeRepository cachingFilmeRepository;
+    
+    @Autowired
+    private RankingFilmesEmMemoria rankingFilmes;
+    
+    @Autowired
+    private FiltroDuplicidadeClienteBloom filtroDuplicidadeCliente;
+    
+    // Rede e pg_hba com replicação para que testes de réplica de leitura possam clonar este banco
+    protected static final Network REDE = Network.newNetwork();
+    
     static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>(DockerImageName.parse("postgres:15-alpine"))
             .withDatabaseName("locadora_test")
             .withUsername("test")
-            .withPassword("test");
+            .withPassword("test")
+            .withNetwork(REDE)
+            .withNetworkAliases("primario")
+            .withCopyToContainer(
+                    Transferable.of("echo 'host replication all all scram-sha-256' >> \"$PGDATA/pg_hba.conf\"\n"),
+                    "/docker-entrypoint-initdb.d/replicacao.sh");
     
     static {
         postgres.start();
@@ -48,15 +72,27 @@ public abstract class BaseIntegrationTest {
     @BeforeEach
     void setupTestData() {
         // Limpar dados existentes
+        jdbcTemplate.execute("DELETE FROM outbox_evento");
+        jdbcTemplate.execute("DELETE FROM receita_diaria");
+        jdbcTemplate.execute("DELETE FROM exportacao_locacao");
+        jdbcTemplate.execute("DELETE FROM locacao_alteracao");
         jdbcTemplate.execute("DELETE FROM locacao");
         jdbcTemplate.execute("DELETE FROM cliente");
         jdbcTemplate.execute("DELETE FROM filme");
         
+        // Os dados são recriados via SQL, então o cache de filmes não pode sobreviver entre testes
+        cachingFilmeRepository.limpar();
+        
         // Inserir dados de teste
-        try {
-            ScriptUtils.executeSqlScript(dataSource.getConnection(), new ClassPathResource("test-data.sql"));
+        // A conexão volta ao pool a cada teste; sem isso a suíte esgota o pool e trava esperando conexão
+        try (Connection conexao = dataSource.getConnection()) {
+            ScriptUtils.executeSqlScript(conexao, new ClassPathResource("test-data.sql"));
         } catch (Exception e) {
             throw new RuntimeException("Erro ao carregar dados de teste", e);
         }
+        
+        // O ranking em memória também precisa refletir só os dados recriados
+        rankingFilmes.reconciliar(LocalDate.now());
+        filtroDuplicidadeCliente.reconstruir();
     }
 }
\ No newline at end of file
@@ -0,0 +1,104 @@
+package com.locadora.filme.application.command;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.filme.domain.FilmeImportado;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes da leitura em streaming dos catálogos CSV e NDJSON
+ */
+class LeitorCatalogoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void deveLerCsvComCamposEntreAspas() throws IOException {
+        List<LeitorCatalogo.Linha> linhas = ler(FormatoCatalogo.CSV, """
+                \uFEFFNome,Diretor,Ano,Atores,Sinopse,Duracao
+                Matrix,Lana Wachowski,1999,Keanu Reeves | Carrie-Anne Moss,"Um hacker, e a ""realidade""\",136
+
+                "Cidade de Deus",Fernando Meirelles,2002,,"Primeira linha
+                segunda linha",
+                """);
+
+        assertThat(linhas).hasSize(2);
+        FilmeImportado matrix = linhas.get(0).filme();
+        assertThat(linhas.get(0).numero()).isEqualTo(2);
+        assertThat(matrix.nome()).isEqualTo("Matrix");
+        assertThat(matrix.ano()).isEqualTo(1999);
+        assertThat(matrix.detalhes().getAtores()).containsExactly("Keanu Reeves", "Carrie-Anne Moss");
+        assertThat(matrix.detalhes().getSinopse()).isEqualTo("Um hacker, e a \"realidade\"");
+        assertThat(matrix.detalhes().getDuracao()).isEqualTo(136);
+
+        FilmeImportado cidade = linhas.get(1).filme();
+        assertThat(linhas.get(1).numero()).isEqualTo(4);
+        assertThat(cidade.detalhes().getAtores()).isEmpty();
+        assertThat(cidade.detalhes().getSinopse()).isEqualTo("Primeira linha\nsegunda linha");
+        assertThat(cidade.detalhes().getDuracao()).isNull();
+    }
+
+    @Test
+    void deveRejeitarLinhasCsvInvalidasSemInterromperALeitura() throws IOException {
+        List<LeitorCatalogo.Linha> linhas = ler(FormatoCatalogo.CSV, """
+                nome,diretor,ano,duracao
+                Antigo,Alguém,1500,
+                ,Sem Nome,2000,
+                Ano Errado,Alguém,dois mil,
+                Duracao Errada,Alguém,2000,longa
+                Valido,Alguém,2000,90
+                """);
+
+        assertThat(linhas).extracting(LeitorCatalogo.Linha::numero).containsExactly(2L, 3L, 4L, 5L, 6L);
+        assertThat(linhas.subList(0, 4)).allSatisfy(linha -> {
+            assertThat(linha.filme()).isNull();
+            assertThat(linha.erro()).isNotBlank();
+        });
+        assertThat(linhas.get(0).erro()).contains("1888");
+        assertThat(linhas.get(4).filme().nome()).isEqualTo("Valido");
+    }
+
+    @Test
+    void deveExigirColunasObrigatoriasNoCabecalho() {
+        assertThatThrownBy(() -> ler(FormatoCatalogo.CSV, "nome,ano\nMatrix,1999\n"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deveLerNdjsonReportandoLinhasInvalidas() throws IOException {
+        List<LeitorCatalogo.Linha> linhas = ler(FormatoCatalogo.NDJSON, """
+                {"nome": "Matrix", "diretor": "Lana Wachowski", "ano": 1999, "atores": ["Keanu Reeves"], "genero": "Ficção"}
+                {"nome": "Sem ano", "diretor": "Alguém"}
+
+                {"nome": "Quebrado",
+                {"nome": "Duna", "diretor": "Denis Villeneuve", "ano": 2021}
+                """);
+
+        assertThat(linhas).extracting(LeitorCatalogo.Linha::numero).containsExactly(1L, 2L, 4L, 5L);
+        assertThat(linhas.get(0).filme().detalhes().getAtores()).containsExactly("Keanu Reeves");
+        assertThat(linhas.get(0).filme().detalhes().getGenero()).isEqualTo("Ficção");
+        assertThat(linhas.get(1).erro()).isEqualTo("Ano é obrigatório");
+        assertThat(linhas.get(2).erro()).startsWith("JSON inválido");
+        assertThat(linhas.get(3).filme().nome()).isEqualTo("Duna");
+    }
+
+    private List<LeitorCatalogo.Linha> ler(FormatoCatalogo formato, String conteudo) throws IOException {
+        List<LeitorCatalogo.Linha> linhas = new ArrayList<>();
+        try (LeitorCatalogo leitor = LeitorCatalogo.abrir(
+                new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), formato, objectMapper)) {
+            LeitorCatalogo.Linha linha;
+            while ((linha = leitor.proxima()) != null) {
+                linhas.add(linha);
+            }
+        }
+        return linhas;
+    }
+}
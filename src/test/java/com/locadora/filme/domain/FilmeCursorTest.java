@@ -0,0 +1,34 @@
+package com.locadora.filme.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do token opaco usado na paginação por keyset de filmes
+ */
+class FilmeCursorTest {
+
+    @Test
+    void deveSerializarECarregarCursorPorNome() {
+        FilmeCursor cursor = new FilmeCursor(FilmeCursor.Ordenacao.NOME, "Matrix\nReloaded", null, UUID.randomUUID());
+
+        assertThat(FilmeCursor.fromToken(cursor.toToken())).isEqualTo(cursor);
+    }
+
+    @Test
+    void deveSerializarECarregarCursorPorAno() {
+        FilmeCursor cursor = new FilmeCursor(FilmeCursor.Ordenacao.ANO, null, 1999, UUID.randomUUID());
+
+        assertThat(FilmeCursor.fromToken(cursor.toToken())).isEqualTo(cursor);
+    }
+
+    @Test
+    void deveRejeitarTokenInvalido() {
+        assertThatThrownBy(() -> FilmeCursor.fromToken("cursor-invalido"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
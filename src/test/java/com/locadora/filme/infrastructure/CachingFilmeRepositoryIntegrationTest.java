@@ -0,0 +1,130 @@
+package com.locadora.filme.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.application.command.AtualizarFilmeCommand;
+import com.locadora.filme.application.command.AtualizarFilmeCommandHandler;
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.shared.infrastructure.CanalNotificacoes;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para o cache de filmes por ID
+ */
+class CachingFilmeRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    private static final UUID MATRIX_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+
+    @Autowired
+    private FilmeRepository filmeRepository;
+
+    @Autowired
+    private AtualizarFilmeCommandHandler atualizarFilmeHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CanalNotificacoes canalNotificacoes;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void deveServirSegundaLeituraDoCache() {
+        double acertosAntes = contador("hit");
+
+        filmeRepository.findById(FilmeId.of(MATRIX_ID));
+        filmeRepository.findById(FilmeId.of(MATRIX_ID));
+
+        assertThat(contador("hit") - acertosAntes).isEqualTo(1.0);
+    }
+
+    @Test
+    void naoDeveCompartilharInstanciasEntreLeituras() {
+        Filme primeiro = filmeRepository.findById(FilmeId.of(MATRIX_ID)).orElseThrow();
+        Filme segundo = filmeRepository.findById(FilmeId.of(MATRIX_ID)).orElseThrow();
+
+        assertThat(primeiro).isNotSameAs(segundo);
+    }
+
+    @Test
+    void deveInvalidarAoAtualizarFilme() {
+        filmeRepository.findById(FilmeId.of(MATRIX_ID));
+
+        atualizarFilmeHandler.handle(new AtualizarFilmeCommand(
+                MATRIX_ID, "Matrix Reloaded", "Lana Wachowski", 2003,
+                List.of("Keanu Reeves"), "Neo continua a luta", "Ficção Científica", 138, "PG-13", "Inglês", "EUA"));
+
+        Filme atualizado = filmeRepository.findById(FilmeId.of(MATRIX_ID)).orElseThrow();
+        assertThat(atualizado.getNome()).isEqualTo("Matrix Reloaded");
+        assertThat(atualizado.getAno()).isEqualTo(2003);
+    }
+
+    @Test
+    void deveInvalidarAoRemoverFilme() {
+        FilmeId id = inserirFilmeSemLocacoes();
+        filmeRepository.findById(id);
+
+        filmeRepository.deleteById(id);
+
+        assertThat(filmeRepository.findById(id)).isEmpty();
+        assertThat(filmeRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void deveConsultarBancoEmExistsById() {
+        FilmeId id = inserirFilmeSemLocacoes();
+        filmeRepository.findById(id);
+
+        jdbcTemplate.update("DELETE FROM filme WHERE id = ?", id.getValue());
+
+        assertThat(filmeRepository.existsById(id)).isFalse();
+    }
+
+    @Test
+    void deveInvalidarPorNotificacaoDeOutraInstancia() throws InterruptedException {
+        filmeRepository.findById(FilmeId.of(MATRIX_ID));
+
+        // Escrita feita por outra instância: só a notificação, entregue no commit, chega até este cache
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE filme SET nome = 'Matrix Revolutions' WHERE id = ?", MATRIX_ID);
+            canalNotificacoes.publicar(CachingFilmeRepository.CANAL, MATRIX_ID.toString());
+        });
+
+        long limite = System.currentTimeMillis() + 10_000;
+        while (!filmeRepository.findById(FilmeId.of(MATRIX_ID)).orElseThrow().getNome().equals("Matrix Revolutions")) {
+            assertThat(System.currentTimeMillis()).as("invalidação recebida").isLessThan(limite);
+            Thread.sleep(50);
+        }
+    }
+
+    private FilmeId inserirFilmeSemLocacoes() {
+        UUID id = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO filme (id, nome, diretor, ano) VALUES (?, 'Aurora', 'F. W. Murnau', 1927)", id);
+        return FilmeId.of(id);
+    }
+
+    private double contador(String resultado) {
+        FunctionCounter counter = meterRegistry.find("cache.gets")
+                .tag("cache", CachingFilmeRepository.NOME_CACHE)
+                .tag("result", resultado)
+                .functionCounter();
+        return counter != null ? counter.count() : 0.0;
+    }
+}
@@ -0,0 +1,90 @@
+package com.locadora.filme.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.domain.EstoqueFilme;
+import com.locadora.filme.domain.EstoqueFilmeRepository;
+import com.locadora.filme.domain.FilmeId;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes de integração para o estoque de cópias por filme
+ */
+class EstoqueFilmeRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    private static final FilmeId MATRIX = FilmeId.of(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"));
+    private static final FilmeId CIDADE_DE_DEUS = FilmeId.of(UUID.fromString("550e8400-e29b-41d4-a716-446655440002"));
+
+    @Autowired
+    private EstoqueFilmeRepository estoqueFilmeRepository;
+
+    @Test
+    void deveReservarAteEsgotarAsCopias() {
+        assertThat(estoqueFilmeRepository.reservar(CIDADE_DE_DEUS)).isTrue();
+        assertThat(estoqueFilmeRepository.reservar(CIDADE_DE_DEUS)).isTrue();
+        assertThat(estoqueFilmeRepository.reservar(CIDADE_DE_DEUS)).isFalse();
+
+        assertThat(estoqueFilmeRepository.findByFilmeId(CIDADE_DE_DEUS))
+                .contains(new EstoqueFilme(CIDADE_DE_DEUS, 2, 0));
+    }
+
+    @Test
+    void deveReservarApenasAsCopiasDisponiveisDeUmPedido() {
+        assertThat(estoqueFilmeRepository.reservar(MATRIX, 5)).isEqualTo(2);
+        assertThat(estoqueFilmeRepository.reservar(MATRIX, 1)).isZero();
+    }
+
+    @Test
+    void naoDevePerderReservasConcorrentes() throws Exception {
+        estoqueFilmeRepository.definirCopias(CIDADE_DE_DEUS, 25);
+
+        ExecutorService executor = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Boolean>> tentativas = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                tentativas.add(() -> estoqueFilmeRepository.reservar(CIDADE_DE_DEUS));
+            }
+
+            long reservadas = 0;
+            for (Future<Boolean> resultado : executor.invokeAll(tentativas)) {
+                if (resultado.get()) {
+                    reservadas++;
+                }
+            }
+
+            assertThat(reservadas).isEqualTo(25);
+            assertThat(estoqueFilmeRepository.findByFilmeId(CIDADE_DE_DEUS).orElseThrow().disponiveis()).isZero();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void deveLiberarCopiaSemUltrapassarOTotal() {
+        estoqueFilmeRepository.liberar(MATRIX);
+        estoqueFilmeRepository.liberar(MATRIX);
+
+        assertThat(estoqueFilmeRepository.findByFilmeId(MATRIX))
+                .contains(new EstoqueFilme(MATRIX, 3, 3));
+    }
+
+    @Test
+    void devePreservarCopiasLocadasAoRedefinirTotal() {
+        assertThat(estoqueFilmeRepository.definirCopias(MATRIX, 5))
+                .isEqualTo(new EstoqueFilme(MATRIX, 5, 4));
+
+        assertThatThrownBy(() -> estoqueFilmeRepository.definirCopias(MATRIX, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
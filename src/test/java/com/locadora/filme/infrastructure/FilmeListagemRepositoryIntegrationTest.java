@@ -0,0 +1,122 @@
+package com.locadora.filme.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeCriterios;
+import com.locadora.filme.domain.FilmeCursor;
+import com.locadora.filme.domain.FilmeListado;
+import com.locadora.filme.domain.FilmeListagemRepository;
+import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.filme.presentation.FilmeResponse;
+import com.locadora.shared.domain.Pagina;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes de integração da listagem de filmes pela projeção FilmeListado
+ */
+class FilmeListagemRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private FilmeListagemRepository filmeListagemRepository;
+
+    @Autowired
+    private FilmeRepository filmeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void deveResponderIgualAoAgregado() {
+        Pagina<FilmeListado> projecao = filmeListagemRepository.listar(FilmeCriterios.nenhum(), null, 10);
+        Pagina<Filme> agregado = filmeRepository.findByCriterios(FilmeCriterios.nenhum(), null, 10);
+
+        assertThat(projecao.itens()).extracting(FilmeResponse::from)
+                .containsExactlyElementsOf(agregado.itens().stream().map(FilmeResponse::from).toList());
+    }
+
+    @Test
+    void devePaginarPorKeyset() {
+        Pagina<FilmeListado> primeira = filmeListagemRepository.listar(FilmeCriterios.nenhum(), null, 1);
+
+        assertThat(primeira.itens()).extracting(FilmeListado::nome).containsExactly("Cidade de Deus");
+        assertThat(primeira.temProxima()).isTrue();
+
+        Pagina<FilmeListado> segunda = filmeListagemRepository.listar(
+                FilmeCriterios.nenhum(), FilmeCursor.fromToken(primeira.proximoCursor()), 1);
+
+        assertThat(segunda.itens()).extracting(FilmeListado::nome).containsExactly("Matrix");
+        assertThat(segunda.temProxima()).isFalse();
+    }
+
+    @Test
+    void deveCombinarCriterios() {
+        FilmeCriterios criterios = FilmeCriterios.builder()
+                .genero("Drama")
+                .duracaoMinima(120)
+                .atores(List.of("Leandro Firmino"))
+                .build();
+
+        Pagina<FilmeListado> pagina = filmeListagemRepository.listar(criterios, null, 10);
+
+        assertThat(pagina.itens()).singleElement().satisfies(filme -> {
+            assertThat(filme.nome()).isEqualTo("Cidade de Deus");
+            assertThat(filme.atores()).containsExactly("Alexandre Rodrigues", "Leandro Firmino", "Phellipe Haagensen");
+            assertThat(filme.duracao()).isEqualTo(130);
+        });
+    }
+
+    @Test
+    void deveMapearDetalhesAusentesComoNulos() {
+        jdbcTemplate.update("""
+                INSERT INTO filme (id, nome, diretor, ano, detalhes)
+                VALUES (gen_random_uuid(), 'Aurora', 'F. W. Murnau', 1927, '{"genero": "Drama"}'::jsonb)
+                """);
+
+        Pagina<FilmeListado> pagina = filmeListagemRepository.listar(
+                FilmeCriterios.builder().nome("Aurora").build(), null, 10);
+
+        assertThat(pagina.itens()).singleElement().satisfies(filme -> {
+            assertThat(filme.atores()).isEmpty();
+            assertThat(filme.duracao()).isNull();
+            assertThat(filme.sinopse()).isNull();
+            assertThat(filme.genero()).isEqualTo("Drama");
+        });
+    }
+
+    @Test
+    void deveRejeitarCursorDeOutraOrdenacao() {
+        FilmeCursor cursorPorNome = new FilmeCursor(FilmeCursor.Ordenacao.NOME, "Matrix", null,
+                UUID.randomUUID());
+        FilmeCriterios porDiretor = FilmeCriterios.builder().diretor("Lana Wachowski").build();
+
+        assertThatThrownBy(() -> filmeListagemRepository.listar(porDiretor, cursorPorNome, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void deveListarEmStreaming() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        List<String> nomes = transacao.execute(status -> {
+            try (Stream<FilmeListado> filmes = filmeListagemRepository.stream(FilmeCriterios.nenhum())) {
+                return filmes.map(FilmeListado::nome).toList();
+            }
+        });
+
+        assertThat(nomes).containsExactly("Cidade de Deus", "Matrix");
+    }
+}
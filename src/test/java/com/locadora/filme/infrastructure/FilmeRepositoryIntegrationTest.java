@@ -2,12 +2,16 @@ package com.locadora.filme.infrastructure;
 
 import com.locadora.config.BaseIntegrationTest;
 import com.locadora.filme.domain.Filme;
+import com.locadora.filme.domain.FilmeCriterios;
+import com.locadora.filme.domain.FilmeCursor;
 import com.locadora.filme.domain.FilmeDetalhes;
 import com.locadora.filme.domain.FilmeId;
 import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.shared.domain.Pagina;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -95,6 +99,28 @@ class FilmeRepositoryIntegrationTest extends BaseIntegrationTest {
         assertThat(filmes.get(0).getDetalhes().getAtores()).anyMatch(ator -> ator.contains("Alexandre"));
     }
 
+    @Test
+    void deveBuscarAtorComAspasNoNome() {
+        // No texto JSON do array as aspas ficam escapadas (\"); a busca deve casar o nome como foi gravado
+        FilmeDetalhes detalhes = new FilmeDetalhes(
+                List.of("Dwayne \"The Rock\" Johnson", "Kevin Hart"),
+                "Um contador e um agente da CIA",
+                "Comédia",
+                107,
+                "PG-13",
+                "Inglês",
+                "EUA"
+        );
+        Filme filme = new Filme(FilmeId.of(UUID.randomUUID()), "Um Espião e Meio", "Rawson Marshall Thurber",
+                2016, detalhes);
+        filmeRepository.save(filme);
+
+        assertThat(filmeRepository.findByAtor("\"The Rock\"")).extracting(Filme::getNome)
+                .containsExactly("Um Espião e Meio");
+        assertThat(filmeRepository.findByCriterios(FilmeCriterios.builder().ator("\"the rock").build(), null, 10)
+                .itens()).extracting(Filme::getNome).containsExactly("Um Espião e Meio");
+    }
+
     @Test
     void deveSalvarNovoFilme() {
         FilmeDetalhes detalhes = new FilmeDetalhes(
@@ -154,6 +180,22 @@ class FilmeRepositoryIntegrationTest extends BaseIntegrationTest {
         assertThat(filmeAtualizado.get().getDetalhes().getAtores()).contains("Hugo Weaving");
     }
 
+    @Test
+    void deveRetornarEstadoPersistidoAoSalvar() {
+        FilmeId filmeId = FilmeId.of(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"));
+        Filme original = filmeRepository.findById(filmeId).orElseThrow();
+
+        // O upsert não sobrescreve criado_em: o retorno deve refletir a linha gravada, não o objeto enviado
+        Filme enviado = new Filme(filmeId, "The Matrix", original.getDiretor(), original.getAno(),
+                original.getDetalhes(), LocalDateTime.now().plusDays(1), LocalDateTime.now());
+
+        Filme salvo = filmeRepository.save(enviado);
+
+        assertThat(salvo.getNome()).isEqualTo("The Matrix");
+        assertThat(salvo.getCriadoEm()).isEqualTo(original.getCriadoEm());
+        assertThat(salvo.getDetalhes().getAtores()).isEqualTo(original.getDetalhes().getAtores());
+    }
+
     @Test
     void deveDeletarFilme() {
         // Criar um novo filme para deletar (sem locações associadas)
@@ -265,4 +307,52 @@ class FilmeRepositoryIntegrationTest extends BaseIntegrationTest {
         assertThat(filmeRepository.findByMultiplosAtores(List.of("Ator Inexistente"))).isEmpty();
         assertThat(filmeRepository.findBySinopseContendo("palavra_inexistente")).isEmpty();
     }
-}
\ No newline at end of file
+
+    @Test
+    void devePaginarFilmesPorKeyset() {
+        Pagina<Filme> primeira = filmeRepository.findAll(null, 1);
+        
+        assertThat(primeira.itens()).extracting(Filme::getNome).containsExactly("Cidade de Deus");
+        assertThat(primeira.temProxima()).isTrue();
+        
+        Pagina<Filme> segunda = filmeRepository.findAll(FilmeCursor.fromToken(primeira.proximoCursor()), 1);
+        
+        assertThat(segunda.itens()).extracting(Filme::getNome).containsExactly("Matrix");
+        assertThat(segunda.temProxima()).isFalse();
+    }
+
+    @Test
+    void devePaginarFilmesPorDiretorOrdenadosPorAno() {
+        Pagina<Filme> pagina = filmeRepository.findByDiretor("Lana Wachowski", null, 10);
+        
+        assertThat(pagina.itens()).extracting(Filme::getNome).containsExactly("Matrix");
+        assertThat(pagina.temProxima()).isFalse();
+    }
+
+    @Test
+    void deveCombinarCriteriosEmUmaUnicaConsulta() {
+        FilmeCriterios criterios = FilmeCriterios.builder()
+                .genero("Drama")
+                .classificacao("18")
+                .duracaoMinima(120)
+                .duracaoMaxima(140)
+                .atores(List.of("Leandro Firmino", "Alexandre Rodrigues"))
+                .build();
+
+        Pagina<Filme> pagina = filmeRepository.findByCriterios(criterios, null, 10);
+
+        assertThat(pagina.itens()).extracting(Filme::getNome).containsExactly("Cidade de Deus");
+    }
+
+    @Test
+    void naoDeveIgnorarCriteriosAdicionais() {
+        FilmeCriterios criterios = FilmeCriterios.builder()
+                .nome("Matrix")
+                .genero("Drama")
+                .build();
+
+        Pagina<Filme> pagina = filmeRepository.findByCriterios(criterios, null, 10);
+
+        assertThat(pagina.itens()).isEmpty();
+    }
+}
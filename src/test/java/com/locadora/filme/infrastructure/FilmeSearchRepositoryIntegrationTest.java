@@ -0,0 +1,55 @@
+package com.locadora.filme.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.domain.FilmeEncontrado;
+import com.locadora.filme.domain.FilmeSearchRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para a busca textual de filmes (full-text + trigramas)
+ */
+class FilmeSearchRepositoryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private FilmeSearchRepository filmeSearchRepository;
+
+    @Test
+    void deveEncontrarFilmePorPalavrasDaSinopse() {
+        List<FilmeEncontrado> resultados = filmeSearchRepository.buscar("hacker realidade", 10);
+
+        assertThat(resultados).extracting(r -> r.filme().getNome()).containsExactly("Matrix");
+    }
+
+    @Test
+    void deveEncontrarFilmePorAtor() {
+        List<FilmeEncontrado> resultados = filmeSearchRepository.buscar("Firmino", 10);
+
+        assertThat(resultados).extracting(r -> r.filme().getNome()).containsExactly("Cidade de Deus");
+    }
+
+    @Test
+    void deveTolerarErroDeDigitacaoNoNome() {
+        List<FilmeEncontrado> resultados = filmeSearchRepository.buscar("Matrx", 10);
+
+        assertThat(resultados).extracting(r -> r.filme().getNome()).contains("Matrix");
+    }
+
+    @Test
+    void deveOrdenarPorRelevancia() {
+        List<FilmeEncontrado> resultados = filmeSearchRepository.buscar("Cidade de Deus", 10);
+
+        assertThat(resultados).isNotEmpty();
+        assertThat(resultados.get(0).filme().getNome()).isEqualTo("Cidade de Deus");
+        assertThat(resultados).extracting(FilmeEncontrado::relevancia).isSortedAccordingTo((a, b) -> Double.compare(b, a));
+    }
+
+    @Test
+    void naoDeveRetornarNadaParaTermoSemCorrespondencia() {
+        assertThat(filmeSearchRepository.buscar("xyzwq", 10)).isEmpty();
+    }
+}
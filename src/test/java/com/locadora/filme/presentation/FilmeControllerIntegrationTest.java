@@ -10,11 +10,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebM
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -170,4 +172,130 @@ class FilmeControllerIntegrationTest extends BaseIntegrationTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveListarFilmesPaginadosComCursor() throws Exception {
+        String cursor = mockMvc.perform(get("/api/filmes")
+                        .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Cidade de Deus"))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn()
+                .getResponse()
+                .getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/filmes")
+                        .param("limit", "1")
+                        .param("after", cursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Matrix"))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+    }
+
+    @Test
+    void deveRejeitarCursorInvalido() throws Exception {
+        mockMvc.perform(get("/api/filmes")
+                        .param("after", "cursor-invalido"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveCombinarFiltrosNaListagem() throws Exception {
+        mockMvc.perform(get("/api/filmes")
+                        .param("genero", "Ficção Científica")
+                        .param("duracaoMinima", "130")
+                        .param("atores", "Keanu Reeves", "Carrie-Anne Moss"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Matrix"));
+
+        mockMvc.perform(get("/api/filmes")
+                        .param("nome", "Matrix")
+                        .param("ano", "2002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    void deveRejeitarFaixaDeDuracaoInvalida() throws Exception {
+        mockMvc.perform(get("/api/filmes")
+                        .param("duracaoMinima", "150")
+                        .param("duracaoMaxima", "90"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveBuscarFilmesPorTexto() throws Exception {
+        mockMvc.perform(get("/api/filmes/search")
+                        .param("q", "hacker")
+                        .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Matrix"));
+    }
+
+    @Test
+    void deveRejeitarBuscaSemTermo() throws Exception {
+        mockMvc.perform(get("/api/filmes/search"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveDefinirEConsultarEstoqueDoFilme() throws Exception {
+        mockMvc.perform(put("/api/filmes/550e8400-e29b-41d4-a716-446655440001/estoque")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DefinirEstoqueRequest(5))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_copias").value(5))
+                .andExpect(jsonPath("$.disponiveis").value(4))
+                .andExpect(jsonPath("$.locadas").value(1));
+
+        mockMvc.perform(get("/api/filmes/550e8400-e29b-41d4-a716-446655440001/estoque"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total_copias").value(5));
+    }
+
+    @Test
+    void naoDeveReduzirEstoqueAbaixoDasCopiasLocadas() throws Exception {
+        mockMvc.perform(put("/api/filmes/550e8400-e29b-41d4-a716-446655440001/estoque")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DefinirEstoqueRequest(0))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveListarFilmesEmStreamNdjson() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/filmes")
+                        .param("stream", "true")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] linhas = corpo.strip().split("\n");
+        assertThat(linhas).hasSize(2);
+        assertThat(objectMapper.readTree(linhas[0]).get("nome").asText()).isEqualTo("Cidade de Deus");
+        assertThat(objectMapper.readTree(linhas[1]).get("nome").asText()).isEqualTo("Matrix");
+    }
+
+    @Test
+    void deveListarFilmesEmStreamComoArrayJson() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/filmes")
+                        .param("stream", "true")
+                        .param("genero", "Drama"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].nome").value("Cidade de Deus"));
+    }
+}
@@ -0,0 +1,154 @@
+package com.locadora.filme.presentation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.application.command.FormatoCatalogo;
+import com.locadora.filme.application.command.ImportarCatalogoCommand;
+import com.locadora.filme.application.command.ImportarCatalogoCommandHandler;
+import com.locadora.filme.application.command.ResultadoImportacao;
+import com.locadora.filme.domain.ImportacaoCatalogoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração da importação de catálogo via COPY
+ */
+class ImportacaoCatalogoIntegrationTest extends BaseIntegrationTest {
+
+    private static final String CATALOGO_CSV = """
+            nome,diretor,ano,atores,sinopse,genero,duracao
+            Matrix,Lana Wachowski,1999,Keanu Reeves|Carrie-Anne Moss,"Remasterizado, com ""extras""\",Ficção Científica,136
+            Duna,Denis Villeneuve,2021,Timothée Chalamet,Um jovem em Arrakis,Ficção Científica,155
+            Duna,Denis Villeneuve,2021,Timothée Chalamet|Zendaya,Versão final,Ficção Científica,155
+            Antigo Demais,Alguém,1500,,,,
+            """;
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ImportacaoCatalogoRepository importacaoRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void deveImportarCsvMesclandoPelaChaveNatural() throws Exception {
+        long eventosAntes = eventosFilmeAtualizado();
+
+        mockMvc.perform(post("/api/filmes/importacao")
+                        .contentType("text/csv")
+                        .content(CATALOGO_CSV.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.lidas").value(4))
+                .andExpect(jsonPath("$.inseridos").value(1))
+                .andExpect(jsonPath("$.atualizados").value(1))
+                .andExpect(jsonPath("$.rejeitadas").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(5));
+
+        // Matrix já existia: mesmo id, detalhes novos e evento para invalidar o cache
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT detalhes->>'sinopse' FROM filme WHERE id = '550e8400-e29b-41d4-a716-446655440001'",
+                String.class)).isEqualTo("Remasterizado, com \"extras\"");
+        assertThat(eventosFilmeAtualizado()).isEqualTo(eventosAntes + 1);
+
+        // Título repetido no arquivo vale pela última ocorrência e ganha o estoque padrão
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT detalhes->>'sinopse' FROM filme WHERE nome = 'Duna'", String.class))
+                .isEqualTo("Versão final");
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT e.total_copias FROM estoque_filme e JOIN filme f ON f.id = e.filme_id
+                WHERE f.nome = 'Duna'
+                """, Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void deveSerIdempotenteAoReimportarOMesmoCatalogo() throws Exception {
+        mockMvc.perform(post("/api/filmes/importacao")
+                        .contentType("text/csv")
+                        .content(CATALOGO_CSV.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/api/filmes/importacao")
+                        .contentType("text/csv")
+                        .content(CATALOGO_CSV.getBytes(StandardCharsets.UTF_8)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inseridos").value(0))
+                .andExpect(jsonPath("$.atualizados").value(0));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM filme WHERE nome = 'Duna'", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void deveImportarNdjsonEmVariosLotes() {
+        ImportarCatalogoCommandHandler handler = new ImportarCatalogoCommandHandler(
+                importacaoRepository, objectMapper, transactionManager, 2, 2, 100);
+        StringBuilder catalogo = new StringBuilder();
+        for (int i = 1; i <= 5; i++) {
+            catalogo.append("{\"nome\": \"Filme ").append(i).append("\", \"diretor\": \"Diretor\", \"ano\": 2020}\n");
+        }
+
+        ResultadoImportacao resultado = handler.handle(new ImportarCatalogoCommand(
+                new ByteArrayInputStream(catalogo.toString().getBytes(StandardCharsets.UTF_8)),
+                FormatoCatalogo.NDJSON));
+
+        assertThat(resultado.lidas()).isEqualTo(5);
+        assertThat(resultado.inseridos()).isEqualTo(5);
+        assertThat(resultado.rejeitadas()).isZero();
+        assertThat(jdbcTemplate.queryForObject("""
+                SELECT COUNT(*) FROM estoque_filme e JOIN filme f ON f.id = e.filme_id
+                WHERE f.diretor = 'Diretor' AND e.total_copias = 2
+                """, Integer.class)).isEqualTo(5);
+    }
+
+    @Test
+    void deveRejeitarCsvSemColunasObrigatorias() throws Exception {
+        mockMvc.perform(post("/api/filmes/importacao")
+                        .contentType("text/csv")
+                        .content("nome,ano\nMatrix,1999\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void deveRecusarFormatoNaoSuportado() throws Exception {
+        mockMvc.perform(post("/api/filmes/importacao")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    private long eventosFilmeAtualizado() {
+        Long total = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM outbox_evento WHERE tipo = 'FilmeAtualizado'", Long.class);
+        return total != null ? total : 0;
+    }
+}
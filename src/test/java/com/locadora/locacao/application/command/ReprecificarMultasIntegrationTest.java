@@ -0,0 +1,74 @@
+package com.locadora.locacao.application.command;
+
+import com.locadora.cliente.domain.ClienteId;
+import com.locadora.cliente.domain.ClienteResumoRepository;
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.shared.infrastructure.OutboxRelay;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para o reprocessamento de multas do fechamento do dia, com teto de 20% do valor da locação
+ */
+@TestPropertySource(properties = "locadora.multa.teto-percentual=20")
+class ReprecificarMultasIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocacaoId LOCACAO_DEVOLVIDA = LocacaoId.of(UUID.fromString("770e8400-e29b-41d4-a716-446655440002"));
+    private static final ClienteId MARIA = ClienteId.of(UUID.fromString("660e8400-e29b-41d4-a716-446655440002"));
+    private static final LocalDate DATA_DEVOLUCAO = LocalDate.of(2024, 1, 20);
+
+    @Autowired
+    private ReprecificarMultasCommandHandler reprecificarMultasHandler;
+
+    @Autowired
+    private DevolverLocacaoCommandHandler devolverLocacaoHandler;
+
+    @Autowired
+    private LocacaoRepository locacaoRepository;
+
+    @Autowired
+    private ClienteResumoRepository clienteResumoRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Test
+    void deveAplicarPoliticaConfiguradaNaDevolucao() {
+        UUID locacaoAtiva = UUID.fromString("770e8400-e29b-41d4-a716-446655440001");
+
+        devolverLocacaoHandler.handle(new DevolverLocacaoCommand(locacaoAtiva, LocalDate.of(2024, 2, 1)));
+
+        // 10 dias de atraso seriam 15,00; o teto limita a 20% de 15,00
+        assertThat(locacaoRepository.findById(LocacaoId.of(locacaoAtiva)).orElseThrow().getValorMulta())
+                .isEqualByComparingTo("3.00");
+    }
+
+    @Test
+    void deveReprecificarMultasDoDiaEPropagarParaAsProjecoes() {
+        int reprecificadas = reprecificarMultasHandler.handle(new ReprecificarMultasCommand(DATA_DEVOLUCAO));
+        outboxRelay.drenar();
+
+        // 3 dias a 10% de 12,00 dariam 3,60; o teto limita a 2,40
+        assertThat(reprecificadas).isEqualTo(1);
+        assertThat(locacaoRepository.findById(LOCACAO_DEVOLVIDA).orElseThrow().getValorMulta())
+                .isEqualByComparingTo("2.40");
+        assertThat(clienteResumoRepository.findByClienteId(MARIA).orElseThrow().totalMultas())
+                .isEqualByComparingTo("2.40");
+    }
+
+    @Test
+    void naoDeveGravarMultasInalteradas() {
+        reprecificarMultasHandler.handle(new ReprecificarMultasCommand(DATA_DEVOLUCAO));
+
+        assertThat(reprecificarMultasHandler.handle(new ReprecificarMultasCommand(DATA_DEVOLUCAO))).isZero();
+        assertThat(reprecificarMultasHandler.handle(new ReprecificarMultasCommand(LocalDate.of(2024, 1, 21)))).isZero();
+    }
+}
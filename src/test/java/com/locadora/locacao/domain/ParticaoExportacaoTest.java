@@ -0,0 +1,31 @@
+package com.locadora.locacao.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes das partições da exportação de locações
+ */
+class ParticaoExportacaoTest {
+
+    @Test
+    void deveParticionarPorDia() {
+        LocalDate data = LocalDate.of(2024, 2, 29);
+
+        assertThat(ParticaoExportacao.DIA.inicio(data)).isEqualTo(data);
+        assertThat(ParticaoExportacao.DIA.fim(data)).isEqualTo(LocalDate.of(2024, 3, 1));
+        assertThat(ParticaoExportacao.DIA.rotulo(data)).isEqualTo("2024-02-29");
+    }
+
+    @Test
+    void deveParticionarPorMes() {
+        LocalDate inicio = ParticaoExportacao.MES.inicio(LocalDate.of(2024, 1, 31));
+
+        assertThat(inicio).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(ParticaoExportacao.MES.fim(inicio)).isEqualTo(LocalDate.of(2024, 2, 1));
+        assertThat(ParticaoExportacao.MES.rotulo(inicio)).isEqualTo("2024-01");
+    }
+}
@@ -0,0 +1,78 @@
+package com.locadora.locacao.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes da política de multa por tabela, em centavos
+ */
+class TabelaMultaTest {
+
+    @Test
+    void deveCobrarDezPorCentoPorDiaNaPoliticaPadrao() {
+        TabelaMulta padrao = TabelaMulta.PADRAO;
+
+        assertThat(padrao.multaCentavos(1_000, 3, padrao.taxaDiariaPb(null))).isEqualTo(300);
+        assertThat(padrao.multaCentavos(1_000, 0, padrao.taxaDiariaPb(null))).isZero();
+    }
+
+    @Test
+    void deveArredondarMeioCentavoParaCima() {
+        // 12,99 * 10% * 3 = 3,897
+        assertThat(TabelaMulta.PADRAO.multaCentavos(1_299, 3, 1_000)).isEqualTo(390);
+        // 0,05 * 10% = 0,005
+        assertThat(TabelaMulta.PADRAO.multaCentavos(5, 1, 1_000)).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveCobrarDiasDeCarencia() {
+        TabelaMulta tabela = new TabelaMulta(1_000, 2, TabelaMulta.SEM_TETO, Map.of());
+
+        assertThat(tabela.multaCentavos(1_000, 2, 1_000)).isZero();
+        assertThat(tabela.multaCentavos(1_000, 5, 1_000)).isEqualTo(300);
+    }
+
+    @Test
+    void deveLimitarMultaAoTeto() {
+        TabelaMulta tabela = new TabelaMulta(1_000, 0, 5_000, Map.of());
+
+        assertThat(tabela.multaCentavos(1_000, 3, 1_000)).isEqualTo(300);
+        assertThat(tabela.multaCentavos(1_000, 30, 1_000)).isEqualTo(500);
+    }
+
+    @Test
+    void deveUsarTaxaDoGeneroQuandoConfigurada() {
+        TabelaMulta tabela = new TabelaMulta(1_000, 0, TabelaMulta.SEM_TETO, Map.of("Drama", 500));
+
+        assertThat(tabela.dependeDoGenero()).isTrue();
+        assertThat(tabela.taxaDiariaPb("Drama")).isEqualTo(500);
+        assertThat(tabela.taxaDiariaPb("Comédia")).isEqualTo(1_000);
+        assertThat(tabela.taxaDiariaPb(null)).isEqualTo(1_000);
+    }
+
+    @Test
+    void deveCalcularLoteEmUmaPassada() {
+        long[] valores = {1_000, 1_299, 2_000};
+        long[] dias = {3, 3, 0};
+        int[] taxas = {1_000, 1_000, 500};
+        long[] multas = new long[3];
+
+        TabelaMulta.PADRAO.multasCentavos(valores, dias, taxas, multas, 3);
+
+        assertThat(multas).containsExactly(300, 390, 0);
+    }
+
+    @Test
+    void deveRejeitarParametrosNegativos() {
+        assertThatThrownBy(() -> new TabelaMulta(-1, 0, TabelaMulta.SEM_TETO, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TabelaMulta(1_000, -1, TabelaMulta.SEM_TETO, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TabelaMulta(1_000, 0, -5, Map.of()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
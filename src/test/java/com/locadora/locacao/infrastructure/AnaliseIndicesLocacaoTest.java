@@ -0,0 +1,206 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.shared.infrastructure.SqlPreparado;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Análise dos índices de locacao: carrega um volume sintético, mede com EXPLAIN (ANALYZE, BUFFERS) as consultas
+ * fixas do LocacaoRepositoryImpl e o WAL gerado por locação inserida e devolvida, e grava o relatório em
+ * target/analise-indices-locacao.txt. Só roda com o perfil analise-indices: mvn -Panalise-indices test
+ */
+@EnabledIfSystemProperty(named = "locadora.analise-indices.linhas", matches = "[0-9]+")
+class AnaliseIndicesLocacaoTest extends BaseIntegrationTest {
+
+    private static final Logger log = LoggerFactory.getLogger(AnaliseIndicesLocacaoTest.class);
+
+    private static final Path RELATORIO = Path.of("target", "analise-indices-locacao.txt");
+
+    // Dois anos de locações; filmes com popularidade desigual (os primeiros do array concentram as locações)
+    private static final String GERAR_LOCACOES = """
+            INSERT INTO locacao (id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, data_devolucao,
+                                 status, valor_locacao, valor_multa)
+            SELECT gen_random_uuid(),
+                   c.ids[1 + floor(random() * cardinality(c.ids))::int],
+                   f.ids[1 + floor(power(random(), 2) * cardinality(f.ids))::int],
+                   g.dia, g.dia + 7,
+                   CASE WHEN g.status = 'DEVOLVIDA' THEN g.dia + floor(random() * 10)::int END,
+                   g.status::status_locacao, 12.00, 0.00
+            FROM (
+                SELECT dia, CASE WHEN dia >= CURRENT_DATE - 7 THEN 'ATIVA'
+                                 WHEN sorteio < 0.01 THEN 'CANCELADA'
+                                 WHEN sorteio < 0.02 THEN 'ATRASADA'
+                                 ELSE 'DEVOLVIDA' END AS status
+                FROM (SELECT CURRENT_DATE - floor(random() * 730)::int AS dia, random() AS sorteio
+                      FROM generate_series(1, ?)) sorteadas
+            ) g,
+            (SELECT array_agg(id) AS ids FROM cliente) c,
+            (SELECT array_agg(id ORDER BY nome) AS ids FROM filme) f
+            """;
+
+    private static final String TAMANHO_INDICES = """
+            SELECT i.indexrelid::regclass::text,
+                   (SELECT COALESCE(SUM(pg_relation_size(p.relid)), 0) FROM pg_partition_tree(i.indexrelid) p)
+            FROM pg_index i
+            WHERE i.indrelid = 'locacao'::regclass
+            ORDER BY 1
+            """;
+
+    private static final int LINHAS_ESCRITA = 10_000;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private record Consulta(String nome, SqlPreparado sql, boolean seletiva, Object... valores) {
+    }
+
+    @Test
+    void deveMedirAsConsultasDoRepositorio() throws IOException {
+        int linhas = Integer.parseInt(System.getProperty("locadora.analise-indices.linhas"));
+        carregar(linhas);
+
+        UUID clienteId = jdbcTemplate.queryForObject("SELECT cliente_id FROM locacao LIMIT 1", UUID.class);
+        UUID filmeId = jdbcTemplate.queryForObject(
+                "SELECT filme_id FROM locacao GROUP BY filme_id ORDER BY COUNT(*) DESC LIMIT 1", UUID.class);
+        Map<String, Object> amostra = jdbcTemplate.queryForMap("""
+                SELECT id, data_locacao FROM locacao WHERE status = 'DEVOLVIDA' AND data_locacao < CURRENT_DATE - 60 LIMIT 1
+                """);
+        Date dia = Date.valueOf(LocalDate.now().minusDays(30));
+
+        List<Consulta> consultas = List.of(
+                new Consulta("findById", LocacaoRepositoryImpl.BUSCAR_POR_ID, true, amostra.get("id")),
+                new Consulta("existsById", LocacaoRepositoryImpl.EXISTE, true, amostra.get("id")),
+                new Consulta("findByClienteId", LocacaoRepositoryImpl.BUSCAR_POR_CLIENTE, true, clienteId),
+                new Consulta("findByClienteIdAndStatus", LocacaoRepositoryImpl.BUSCAR_POR_CLIENTE_E_STATUS, true,
+                        clienteId, "DEVOLVIDA"),
+                new Consulta("findByFilmeId (mais locado)", LocacaoRepositoryImpl.BUSCAR_POR_FILME, false, filmeId),
+                new Consulta("findByStatus(ATIVA)", LocacaoRepositoryImpl.BUSCAR_POR_STATUS, false, "ATIVA"),
+                new Consulta("findByDataLocacao", LocacaoRepositoryImpl.BUSCAR_POR_DATA_LOCACAO, false, dia),
+                new Consulta("findByDataPrevistaDevolucao", LocacaoRepositoryImpl.BUSCAR_POR_DATA_PREVISTA, false, dia),
+                new Consulta("findLocacoesAtrasadas", LocacaoRepositoryImpl.BUSCAR_ATRASADAS, true),
+                new Consulta("findDevolvidasEm", LocacaoRepositoryImpl.BUSCAR_DEVOLVIDAS_EM, true, dia),
+                new Consulta("marcarAtrasadas", LocacaoRepositoryImpl.MARCAR_ATRASADAS, false,
+                        Date.valueOf(LocalDate.now()), 500),
+                new Consulta("atualizarMultas", LocacaoRepositoryImpl.ATUALIZAR_MULTA, true,
+                        new BigDecimal("1.20"), Timestamp.valueOf(LocalDateTime.now()),
+                        amostra.get("id"), amostra.get("data_locacao")));
+
+        List<String> relatorio = new ArrayList<>();
+        relatorio.add("Análise de índices de locacao com " + linhas + " locações sintéticas");
+        relatorio.add("");
+        for (Consulta consulta : consultas) {
+            List<String> plano = explicar(consulta);
+            relatorio.add("== " + consulta.nome());
+            relatorio.addAll(plano);
+            relatorio.add("");
+
+            // Partições futuras e a padrão estão vazias, e o planner as lê por Seq Scan de custo zero
+            if (consulta.seletiva()) {
+                assertThat(plano).as(consulta.nome())
+                        .noneMatch(linha -> linha.contains("Seq Scan") && !linha.contains("cost=0.00..0.00 "));
+            }
+        }
+
+        relatorio.add("== Tamanho dos índices (bytes, somando as partições)");
+        jdbcTemplate.query(TAMANHO_INDICES, rs -> {
+            relatorio.add(rs.getString(1) + ": " + rs.getLong(2));
+        });
+        relatorio.add("");
+        relatorio.add("== Escrita (bytes de WAL por locação, média de " + LINHAS_ESCRITA + ")");
+        relatorio.addAll(medirEscrita());
+
+        Files.createDirectories(RELATORIO.getParent());
+        Files.write(RELATORIO, relatorio);
+        log.info("Relatório da análise de índices em {}", RELATORIO.toAbsolutePath());
+    }
+
+    private void carregar(int linhas) {
+        // As locações do test-data.sql ficariam numa partição de duas linhas, lida por Seq Scan, fora do volume
+        jdbcTemplate.update("DELETE FROM locacao");
+        jdbcTemplate.update("""
+                INSERT INTO cliente (id, nome, email, cpf)
+                SELECT gen_random_uuid(), 'Cliente ' || i, 'cliente' || i || '@analise.test', lpad(i::text, 11, '0')
+                FROM generate_series(1, ?) i
+                """, Math.max(linhas / 20, 1));
+        jdbcTemplate.update("""
+                INSERT INTO filme (id, nome, diretor, ano, detalhes)
+                SELECT gen_random_uuid(), 'Filme ' || lpad(i::text, 6, '0'), 'Diretor ' || (i % 50), 1950 + i % 70,
+                       jsonb_build_object('genero', 'Drama')
+                FROM generate_series(1, ?) i
+                """, Math.max(linhas / 200, 1));
+        jdbcTemplate.update(GERAR_LOCACOES, linhas);
+
+        // Meses fora das partições criadas pela migração caem na padrão até o job criá-los
+        new ParticoesLocacaoJob(namedParameterJdbcTemplate, transactionManager, 3, 0).criarParticoes(LocalDate.now());
+        jdbcTemplate.execute("VACUUM ANALYZE locacao");
+    }
+
+    // Cada consulta roda algumas vezes antes da medida e em transação desfeita, para as escritas não ficarem
+    private List<String> explicar(Consulta consulta) {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        return transacao.execute(status -> {
+            status.setRollbackOnly();
+            for (int i = 0; i < 3; i++) {
+                consulta.sql().explicar(jdbcTemplate, consulta.valores());
+            }
+            return consulta.sql().explicar(jdbcTemplate, consulta.valores());
+        });
+    }
+
+    private List<String> medirEscrita() {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        return transacao.execute(status -> {
+            status.setRollbackOnly();
+            long insercao = walPorLinha("""
+                    INSERT INTO locacao (id, cliente_id, filme_id, data_locacao, data_prevista_devolucao,
+                                         status, valor_locacao)
+                    SELECT gen_random_uuid(), cliente_id, filme_id, CURRENT_DATE, CURRENT_DATE + 7, 'ATIVA', 12.00
+                    FROM locacao
+                    LIMIT ?
+                    """);
+            long devolucao = walPorLinha("""
+                    UPDATE locacao SET status = 'DEVOLVIDA', data_devolucao = CURRENT_DATE, atualizado_em = now()
+                    WHERE data_locacao = CURRENT_DATE AND status = 'ATIVA'
+                      AND id IN (SELECT id FROM locacao WHERE data_locacao = CURRENT_DATE LIMIT ?)
+                    """);
+            return List.of("inserção: " + insercao, "devolução: " + devolucao);
+        });
+    }
+
+    private long walPorLinha(String sql) {
+        String antes = jdbcTemplate.queryForObject("SELECT pg_current_wal_insert_lsn()::text", String.class);
+        int alteradas = jdbcTemplate.update(sql, LINHAS_ESCRITA);
+        Long bytes = jdbcTemplate.queryForObject(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_insert_lsn(), ?::pg_lsn)::bigint", Long.class, antes);
+        return alteradas > 0 && bytes != null ? bytes / alteradas : 0;
+    }
+}
@@ -0,0 +1,197 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.locacao.domain.ExportacaoLocacaoRepository;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.ParticaoExportacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração da exportação de locações via COPY e gzip
+ */
+class ExportacaoLocacoesIntegrationTest extends BaseIntegrationTest {
+
+    private static final LocacaoId LOCACAO_DEVOLVIDA =
+            LocacaoId.of(UUID.fromString("770e8400-e29b-41d4-a716-446655440002"));
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private ExportacaoLocacaoRepository exportacaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @TempDir
+    private Path diretorio;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void deveExportarUmArquivoPorParticaoEncerrada() throws IOException {
+        ExportacaoLocacoesJob job = job(ParticaoExportacao.DIA);
+
+        // Locações de teste em 2024-01-10 e 2024-01-15: a partição de 2024-01-15 ainda está aberta
+        assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 15))).isEqualTo(5);
+
+        assertThat(linhas(diretorio.resolve("locacoes-2024-01-10.csv.gz")))
+                .hasSize(2)
+                .first().asString().startsWith("id,cliente_id,filme_id,data_locacao");
+        assertThat(linhas(diretorio.resolve("locacoes-2024-01-10.csv.gz")).get(1))
+                .startsWith("770e8400-e29b-41d4-a716-446655440002,");
+        assertThat(linhas(diretorio.resolve("locacoes-2024-01-11.csv.gz"))).hasSize(1);
+        assertThat(diretorio.resolve("locacoes-2024-01-15.csv.gz")).doesNotExist();
+        assertThat(jdbcTemplate.queryForObject("SELECT SUM(linhas) FROM exportacao_locacao", Long.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void deveContinuarDaUltimaParticaoExportada() throws IOException {
+        ExportacaoLocacoesJob job = job(ParticaoExportacao.DIA);
+        job.exportarPendentes(LocalDate.of(2024, 1, 15));
+
+        assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 15))).isZero();
+        assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 16))).isEqualTo(1);
+        assertThat(linhas(diretorio.resolve("locacoes-2024-01-15.csv.gz"))).hasSize(2);
+        try (var arquivos = Files.list(diretorio)) {
+            assertThat(arquivos.map(Path::toString)).noneMatch(nome -> nome.endsWith(".parcial"));
+        }
+    }
+
+    @Test
+    void deveReexportarParticaoAlteradaDepoisDaExportacao() throws IOException {
+        ExportacaoLocacoesJob job = job(ParticaoExportacao.DIA);
+        job.exportarPendentes(LocalDate.of(2024, 1, 15));
+
+        jdbcTemplate.update("UPDATE locacao SET valor_multa = 9.90 WHERE id = ?", LOCACAO_DEVOLVIDA.getValue());
+        exportacaoRepository.registrarAlteracao(LOCACAO_DEVOLVIDA);
+
+        assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 15))).isEqualTo(1);
+        assertThat(linhas(diretorio.resolve("locacoes-2024-01-10.csv.gz")).get(1)).contains("9.90");
+        assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 15))).isZero();
+    }
+
+    @Test
+    void naoDeveExportarEnquantoOutroNoSeguraOLock() throws Exception {
+        ExportacaoLocacoesJob job = job(ParticaoExportacao.DIA);
+        try (Connection outroNo = dataSource.getConnection()) {
+            outroNo.setAutoCommit(false);
+            try (PreparedStatement lock = outroNo.prepareStatement("SELECT pg_advisory_xact_lock(hashtext(?))")) {
+                lock.setString(1, ExportacaoLocacoesJob.CHAVE_LOCK);
+                lock.execute();
+            }
+
+            assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 15))).isZero();
+
+            outroNo.rollback();
+        }
+
+        assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 15))).isEqualTo(5);
+    }
+
+    @Test
+    void deveLiberarOLockDeSessaoAoTerminar() {
+        ExportacaoLocacoesJob job = job(ParticaoExportacao.DIA);
+
+        assertThat(job.exportarPendentes(LocalDate.of(2024, 1, 15))).isEqualTo(5);
+
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_locks WHERE locktype = 'advisory'", Integer.class)).isZero();
+    }
+
+    @Test
+    void deveExportarPorMes() throws IOException {
+        assertThat(job(ParticaoExportacao.MES).exportarPendentes(LocalDate.of(2024, 2, 1))).isEqualTo(1);
+
+        assertThat(linhas(diretorio.resolve("locacoes-2024-01.csv.gz"))).hasSize(3);
+    }
+
+    @Test
+    void deveExportarPeriodoPelaApi() throws Exception {
+        MvcResult inicio = mockMvc.perform(get("/api/locacoes/exportacao")
+                        .param("de", "2024-01-15")
+                        .param("ate", "2024-01-31"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        MvcResult resultado = mockMvc.perform(asyncDispatch(inicio))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/gzip"))
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"locacoes-2024-01-15-2024-01-31.csv.gz\""))
+                .andReturn();
+
+        List<String> linhas = linhas(new ByteArrayInputStream(resultado.getResponse().getContentAsByteArray()));
+        assertThat(linhas).hasSize(2);
+        assertThat(linhas.get(1)).startsWith("770e8400-e29b-41d4-a716-446655440001,");
+    }
+
+    @Test
+    void deveRejeitarPeriodoInvertido() throws Exception {
+        mockMvc.perform(get("/api/locacoes/exportacao")
+                        .param("de", "2024-01-31")
+                        .param("ate", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private ExportacaoLocacoesJob job(ParticaoExportacao particao) {
+        return new ExportacaoLocacoesJob(exportacaoRepository, namedParameterJdbcTemplate, transactionManager, diretorio, particao);
+    }
+
+    private static List<String> linhas(Path arquivo) throws IOException {
+        return linhas(Files.newInputStream(arquivo));
+    }
+
+    private static List<String> linhas(InputStream comprimido) throws IOException {
+        try (InputStream entrada = new GZIPInputStream(comprimido)) {
+            return new String(entrada.readAllBytes(), StandardCharsets.UTF_8).lines().toList();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.locacao.application.command.DevolverLocacaoCommand;
+import com.locadora.locacao.application.command.DevolverLocacaoCommandHandler;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.locacao.domain.StatusLocacao;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para o varredor de locações atrasadas
+ */
+class LocacoesAtrasadasSweeperIntegrationTest extends BaseIntegrationTest {
+
+    // Locação ativa com devolução prevista para 2024-01-22 nos dados de teste
+    private static final LocacaoId LOCACAO_ATIVA = LocacaoId.of(UUID.fromString("770e8400-e29b-41d4-a716-446655440001"));
+
+    @Autowired
+    private LocacoesAtrasadasSweeper sweeper;
+
+    @Autowired
+    private LocacaoRepository locacaoRepository;
+
+    @Autowired
+    private DevolverLocacaoCommandHandler devolverLocacaoHandler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void deveMarcarLocacoesVencidasComoAtrasadas() {
+        assertThat(sweeper.varrer(LocalDate.now())).isEqualTo(1);
+
+        assertThat(locacaoRepository.findById(LOCACAO_ATIVA).orElseThrow().getStatus())
+                .isEqualTo(StatusLocacao.ATRASADA);
+        assertThat(locacaoRepository.findLocacoesAtrasadas())
+                .extracting(Locacao::getLocacaoId)
+                .containsExactly(LOCACAO_ATIVA);
+        assertThat(jdbcTemplate.queryForList("SELECT tipo FROM outbox_evento", String.class))
+                .containsExactly("LocacaoAtrasada");
+    }
+
+    @Test
+    void naoDeveMarcarLocacoesAindaNoPrazo() {
+        assertThat(sweeper.varrer(LocalDate.of(2024, 1, 22))).isZero();
+
+        assertThat(locacaoRepository.findLocacoesAtrasadas()).isEmpty();
+    }
+
+    @Test
+    void deveSerIdempotente() {
+        sweeper.varrer(LocalDate.now());
+
+        assertThat(sweeper.varrer(LocalDate.now())).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM outbox_evento", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void naoDeveVarrerEnquantoOutroNoSeguraOLock() throws Exception {
+        try (Connection outroNo = dataSource.getConnection()) {
+            outroNo.setAutoCommit(false);
+            try (PreparedStatement lock = outroNo.prepareStatement("SELECT pg_advisory_xact_lock(hashtext(?))")) {
+                lock.setString(1, LocacoesAtrasadasSweeper.CHAVE_LOCK);
+                lock.execute();
+            }
+
+            assertThat(sweeper.varrer(LocalDate.now())).isZero();
+
+            outroNo.rollback();
+        }
+
+        assertThat(sweeper.varrer(LocalDate.now())).isEqualTo(1);
+    }
+
+    @Test
+    void devePermitirDevolverLocacaoAtrasada() {
+        sweeper.varrer(LocalDate.now());
+
+        devolverLocacaoHandler.handle(new DevolverLocacaoCommand(LOCACAO_ATIVA.getValue(), LocalDate.now()));
+
+        Locacao devolvida = locacaoRepository.findById(LOCACAO_ATIVA).orElseThrow();
+        assertThat(devolvida.getStatus()).isEqualTo(StatusLocacao.DEVOLVIDA);
+        assertThat(devolvida.getValorMulta()).isPositive();
+        assertThat(locacaoRepository.findLocacoesAtrasadas()).isEmpty();
+        assertThat(jdbcTemplate.queryForList("SELECT tipo FROM outbox_evento ORDER BY id", String.class))
+                .isEqualTo(List.of("LocacaoAtrasada", "LocacaoDevolvida"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.locacao.domain.LocacaoRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes de integração do particionamento mensal de locacao
+ */
+class ParticoesLocacaoIntegrationTest extends BaseIntegrationTest {
+
+    // Locações de teste em janeiro de 2024, anteriores às partições criadas pela migração
+    private static final String LOCACAO_ATIVA = "770e8400-e29b-41d4-a716-446655440001";
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LocacaoRepository locacaoRepository;
+
+    @Test
+    void deveCriarParticoesAFrenteEAbsorverAParticaoPadrao() {
+        ParticoesLocacaoJob job = job(0);
+        job.criarParticoes(LocalDate.now());
+
+        assertThat(particaoDe(LOCACAO_ATIVA)).isEqualTo("locacao_2024_01");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM locacao_padrao", Integer.class)).isZero();
+        for (int i = 0; i <= 3; i++) {
+            assertThat(existe(ParticoesLocacaoJob.nomeParticao(YearMonth.now().plusMonths(i)))).isTrue();
+        }
+        assertThat(job.criarParticoes(LocalDate.now())).isZero();
+
+        // A partição anexada recebeu os índices e as constraints da tabela particionada
+        assertThat(locacaoRepository.findByDataLocacao(LocalDate.of(2024, 1, 15))).hasSize(1);
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM pg_indexes WHERE tablename = 'locacao_2024_01'", Integer.class))
+                .isEqualTo(8);
+    }
+
+    @Test
+    void devePodarParticoesNasConsultasPorData() {
+        job(0).criarParticoes(LocalDate.now());
+        String mesCorrente = ParticoesLocacaoJob.nomeParticao(YearMonth.now());
+
+        assertThat(plano("SELECT id FROM locacao WHERE data_locacao = DATE '2024-01-15'"))
+                .contains("locacao_2024_01")
+                .doesNotContain("locacao_padrao", mesCorrente);
+        // Pela data prevista só há limite superior de data_locacao: os meses futuros saem do plano
+        assertThat(String.join("\n", LocacaoRepositoryImpl.BUSCAR_POR_DATA_PREVISTA.explicar(
+                jdbcTemplate, Date.valueOf(LocalDate.of(2024, 1, 22)))))
+                .contains("locacao_2024_01")
+                .doesNotContain(mesCorrente);
+    }
+
+    @Test
+    void deveArquivarParticoesAntigasSemLocacoesEmAndamento() {
+        ParticoesLocacaoJob job = job(ParticoesLocacaoJob.RETENCAO_MINIMA_MESES);
+        job.criarParticoes(LocalDate.now());
+        try {
+            assertThat(job.arquivarParticoes(LocalDate.now())).isZero();
+            assertThat(particaoDe(LOCACAO_ATIVA)).isEqualTo("locacao_2024_01");
+
+            jdbcTemplate.update("""
+                    UPDATE locacao SET status = 'DEVOLVIDA', data_devolucao = DATE '2024-01-20'
+                    WHERE id = ?::uuid
+                    """, LOCACAO_ATIVA);
+
+            assertThat(job.arquivarParticoes(LocalDate.now())).isEqualTo(1);
+            assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM locacao", Integer.class)).isZero();
+            assertThat(jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM locacao_arquivo.locacao_2024_01", Integer.class)).isEqualTo(2);
+        } finally {
+            jdbcTemplate.execute("DROP TABLE IF EXISTS locacao_arquivo.locacao_2024_01");
+        }
+    }
+
+    @Test
+    void deveExigirRetencaoQueCubraORanking() {
+        assertThatThrownBy(() -> job(6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ParticoesLocacaoJob job(int retencaoMeses) {
+        return new ParticoesLocacaoJob(namedParameterJdbcTemplate, transactionManager, 3, retencaoMeses);
+    }
+
+    private String particaoDe(String locacaoId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT tableoid::regclass::text FROM locacao WHERE id = ?::uuid", String.class, locacaoId);
+    }
+
+    private boolean existe(String tabela) {
+        return jdbcTemplate.queryForObject("SELECT to_regclass(?) IS NOT NULL", Boolean.class, tabela);
+    }
+
+    private String plano(String sql) {
+        List<String> linhas = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", linhas);
+    }
+}
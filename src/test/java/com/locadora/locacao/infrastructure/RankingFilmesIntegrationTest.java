@@ -0,0 +1,99 @@
+package com.locadora.locacao.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.locacao.application.command.CriarLocacaoCommand;
+import com.locadora.locacao.application.command.CriarLocacaoCommandHandler;
+import com.locadora.locacao.domain.FilmeIndisponivelException;
+import com.locadora.locacao.domain.JanelaRanking;
+import com.locadora.locacao.domain.PosicaoRanking;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes de integração para o ranking de filmes mais locados
+ */
+class RankingFilmesIntegrationTest extends BaseIntegrationTest {
+
+    private static final UUID JOAO_ID = UUID.fromString("660e8400-e29b-41d4-a716-446655440001");
+    private static final UUID MARIA_ID = UUID.fromString("660e8400-e29b-41d4-a716-446655440002");
+    private static final FilmeId MATRIX = FilmeId.of(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"));
+    private static final FilmeId CIDADE_DE_DEUS = FilmeId.of(UUID.fromString("550e8400-e29b-41d4-a716-446655440002"));
+
+    @Autowired
+    private RankingFilmesEmMemoria rankingFilmes;
+
+    @Autowired
+    private CriarLocacaoCommandHandler criarLocacaoHandler;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void deveContarLocacoesCriadasSemConsultarOBanco() {
+        LocalDate hoje = LocalDate.now();
+        locar(MARIA_ID, CIDADE_DE_DEUS, hoje);
+        locar(JOAO_ID, CIDADE_DE_DEUS, hoje.minusDays(3));
+        locar(MARIA_ID, MATRIX, hoje.minusDays(1));
+
+        assertThat(rankingFilmes.top(JanelaRanking.SEMANA, 10, hoje)).containsExactly(
+                new PosicaoRanking(CIDADE_DE_DEUS, 2),
+                new PosicaoRanking(MATRIX, 1));
+        assertThat(rankingFilmes.top(JanelaRanking.SEMANA, 1, hoje)).containsExactly(
+                new PosicaoRanking(CIDADE_DE_DEUS, 2));
+    }
+
+    @Test
+    void deveRespeitarOTamanhoDaJanela() {
+        LocalDate hoje = LocalDate.now();
+        locar(MARIA_ID, CIDADE_DE_DEUS, hoje.minusDays(10));
+        locar(JOAO_ID, MATRIX, hoje);
+
+        assertThat(rankingFilmes.top(JanelaRanking.SEMANA, 10, hoje)).containsExactly(
+                new PosicaoRanking(MATRIX, 1));
+        assertThat(rankingFilmes.top(JanelaRanking.MES, 10, hoje)).hasSize(2);
+    }
+
+    @Test
+    void naoDeveContarLocacaoDesfeita() {
+        LocalDate hoje = LocalDate.now();
+        jdbcTemplate.update("UPDATE estoque_filme SET disponiveis = 0");
+
+        assertThatThrownBy(() -> locar(MARIA_ID, MATRIX, hoje)).isInstanceOf(FilmeIndisponivelException.class);
+
+        assertThat(rankingFilmes.top(JanelaRanking.SEMANA, 10, hoje)).isEmpty();
+    }
+
+    @Test
+    void deveReconciliarComATabelaLocacao() {
+        LocalDate hoje = LocalDate.now();
+        locar(MARIA_ID, MATRIX, hoje);
+        locar(JOAO_ID, CIDADE_DE_DEUS, hoje);
+
+        // Alterações que não passam pelo handler (cancelamento direto, outra instância)
+        jdbcTemplate.update("UPDATE locacao SET status = 'CANCELADA'::status_locacao WHERE filme_id = ? AND data_locacao = ?",
+                MATRIX.getValue(), hoje);
+        jdbcTemplate.update("""
+                INSERT INTO locacao (id, cliente_id, filme_id, data_locacao, data_prevista_devolucao, status, valor_locacao)
+                VALUES (?, ?, ?, ?, ?, 'ATIVA'::status_locacao, 9.90)
+                """, UUID.randomUUID(), JOAO_ID, CIDADE_DE_DEUS.getValue(), hoje, hoje.plusDays(7));
+
+        rankingFilmes.reconciliar(hoje);
+
+        assertThat(rankingFilmes.top(JanelaRanking.ANO, 10, hoje)).containsExactly(
+                new PosicaoRanking(CIDADE_DE_DEUS, 2));
+    }
+
+    private void locar(UUID clienteId, FilmeId filmeId, LocalDate dataLocacao) {
+        criarLocacaoHandler.handle(new CriarLocacaoCommand(
+                clienteId, filmeId.getValue(), dataLocacao, dataLocacao.plusDays(7), new BigDecimal("10.00")));
+    }
+}
@@ -10,13 +10,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureWebM
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
@@ -118,6 +121,35 @@ class LocacaoControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$").isArray());
     }
 
+    @Test
+    void deveBuscarRankingDeFilmesMaisLocados() throws Exception {
+        CriarLocacaoRequest request = new CriarLocacaoRequest(
+                UUID.fromString("660e8400-e29b-41d4-a716-446655440002"),
+                UUID.fromString("550e8400-e29b-41d4-a716-446655440002"),
+                LocalDate.now(),
+                LocalDate.now().plusDays(7),
+                new BigDecimal("12.00")
+        );
+        mockMvc.perform(post("/api/locacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        mockMvc.perform(get("/api/locacoes/ranking")
+                        .param("janela", "MES"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].filme_id").value("550e8400-e29b-41d4-a716-446655440002"))
+                .andExpect(jsonPath("$[0].locacoes").value(1));
+    }
+
+    @Test
+    void deveRetornar400ParaLimiteDeRankingInvalido() throws Exception {
+        mockMvc.perform(get("/api/locacoes/ranking")
+                        .param("limite", "0"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     void deveDevolverLocacao() throws Exception {
         DevolverLocacaoRequest request = new DevolverLocacaoRequest(
@@ -227,4 +259,187 @@ class LocacaoControllerIntegrationTest extends BaseIntegrationTest {
                 .andExpect(jsonPath("$.valor_multa").exists())
                 .andExpect(jsonPath("$.valor_multa").value(3.00)); // 3 dias * 10% * 10.00 = 3.00
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveListarLocacoesEmStreamCombinandoFiltros() throws Exception {
+        MvcResult resultado = mockMvc.perform(get("/api/locacoes")
+                        .param("stream", "true")
+                        .param("clienteId", "660e8400-e29b-41d4-a716-446655440001")
+                        .param("status", "ATIVA")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String corpo = mockMvc.perform(asyncDispatch(resultado))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(corpo.strip().split("\n")).hasSize(1);
+        assertThat(objectMapper.readTree(corpo.strip()).get("status").asText()).isEqualTo("ATIVA");
+    }
+
+    @Test
+    void deveCriarLocacoesEmLote() throws Exception {
+        CriarLocacoesEmLoteRequest request = new CriarLocacoesEmLoteRequest(
+                UUID.fromString("660e8400-e29b-41d4-a716-446655440002"),
+                List.of(
+                        new CriarLocacoesEmLoteRequest.Item(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"),
+                                LocalDate.now(), LocalDate.now().plusDays(3), new BigDecimal("10.00")),
+                        new CriarLocacoesEmLoteRequest.Item(UUID.fromString("550e8400-e29b-41d4-a716-446655440002"),
+                                LocalDate.now(), LocalDate.now().plusDays(3), new BigDecimal("12.00"))
+                )
+        );
+
+        mockMvc.perform(post("/api/locacoes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].status").value("CRIADA"))
+                .andExpect(jsonPath("$[1].status").value("CRIADA"))
+                .andExpect(jsonPath("$[1].locacao_id").exists());
+
+        mockMvc.perform(get("/api/locacoes")
+                        .param("clienteId", "660e8400-e29b-41d4-a716-446655440002"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void deveRejeitarItensInvalidosDoLoteSemImpedirOsDemais() throws Exception {
+        CriarLocacoesEmLoteRequest request = new CriarLocacoesEmLoteRequest(
+                UUID.fromString("660e8400-e29b-41d4-a716-446655440001"),
+                List.of(
+                        new CriarLocacoesEmLoteRequest.Item(UUID.fromString("550e8400-e29b-41d4-a716-446655440002"),
+                                LocalDate.now(), LocalDate.now().plusDays(3), new BigDecimal("10.00")),
+                        new CriarLocacoesEmLoteRequest.Item(UUID.fromString("550e8400-e29b-41d4-a716-446655449999"),
+                                LocalDate.now(), LocalDate.now().plusDays(3), new BigDecimal("10.00")),
+                        new CriarLocacoesEmLoteRequest.Item(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"),
+                                LocalDate.now(), LocalDate.now().minusDays(1), new BigDecimal("10.00"))
+                )
+        );
+
+        mockMvc.perform(post("/api/locacoes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value("CRIADA"))
+                .andExpect(jsonPath("$[1].status").value("REJEITADA"))
+                .andExpect(jsonPath("$[1].erro").exists())
+                .andExpect(jsonPath("$[2].status").value("REJEITADA"));
+
+        mockMvc.perform(get("/api/locacoes"))
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void deveRetornarConflitoQuandoNaoHaCopiasDisponiveis() throws Exception {
+        // Cidade de Deus tem 2 cópias disponíveis nos dados de teste
+        CriarLocacaoRequest request = new CriarLocacaoRequest(
+                UUID.fromString("660e8400-e29b-41d4-a716-446655440001"),
+                UUID.fromString("550e8400-e29b-41d4-a716-446655440002"),
+                LocalDate.now(),
+                LocalDate.now().plusDays(7),
+                new BigDecimal("15.00")
+        );
+        String corpo = objectMapper.writeValueAsString(request);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/api/locacoes")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(corpo))
+                    .andExpect(status().isCreated());
+        }
+
+        mockMvc.perform(post("/api/locacoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(corpo))
+                .andExpect(status().isConflict());
+
+        // A locação recusada não pode ter sido gravada
+        mockMvc.perform(get("/api/locacoes")
+                        .param("filmeId", "550e8400-e29b-41d4-a716-446655440002"))
+                .andExpect(jsonPath("$.length()").value(3));
+    }
+
+    @Test
+    void deveDevolverCopiaAoEstoqueNaDevolucao() throws Exception {
+        DevolverLocacaoRequest request = new DevolverLocacaoRequest(LocalDate.now());
+
+        mockMvc.perform(put("/api/locacoes/770e8400-e29b-41d4-a716-446655440001/devolver")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/filmes/550e8400-e29b-41d4-a716-446655440001/estoque"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.disponiveis").value(3))
+                .andExpect(jsonPath("$.locadas").value(0));
+    }
+
+    @Test
+    void deveDevolverCopiaAoEstoqueAoExcluirLocacaoAtiva() throws Exception {
+        mockMvc.perform(delete("/api/locacoes/770e8400-e29b-41d4-a716-446655440001"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/filmes/550e8400-e29b-41d4-a716-446655440001/estoque"))
+                .andExpect(jsonPath("$.disponiveis").value(3));
+    }
+
+    @Test
+    void naoDeveLiberarCopiaDuasVezesAoExcluirLocacaoDevolvida() throws Exception {
+        mockMvc.perform(put("/api/locacoes/770e8400-e29b-41d4-a716-446655440001/devolver")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new DevolverLocacaoRequest(LocalDate.now()))))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(delete("/api/locacoes/770e8400-e29b-41d4-a716-446655440001"))
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(get("/api/filmes/550e8400-e29b-41d4-a716-446655440001/estoque"))
+                .andExpect(jsonPath("$.disponiveis").value(3));
+    }
+
+    @Test
+    void deveRetornarNotFoundAoExcluirLocacaoInexistente() throws Exception {
+        mockMvc.perform(delete("/api/locacoes/770e8400-e29b-41d4-a716-446655440999"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveRejeitarItensDoLoteAlemDasCopiasDisponiveis() throws Exception {
+        CriarLocacoesEmLoteRequest.Item item = new CriarLocacoesEmLoteRequest.Item(
+                UUID.fromString("550e8400-e29b-41d4-a716-446655440002"),
+                LocalDate.now(), LocalDate.now().plusDays(3), new BigDecimal("10.00"));
+        CriarLocacoesEmLoteRequest request = new CriarLocacoesEmLoteRequest(
+                UUID.fromString("660e8400-e29b-41d4-a716-446655440001"),
+                List.of(item, item, item)
+        );
+
+        mockMvc.perform(post("/api/locacoes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isMultiStatus())
+                .andExpect(jsonPath("$[0].status").value("CRIADA"))
+                .andExpect(jsonPath("$[1].status").value("CRIADA"))
+                .andExpect(jsonPath("$[2].status").value("REJEITADA"));
+
+        mockMvc.perform(get("/api/filmes/550e8400-e29b-41d4-a716-446655440002/estoque"))
+                .andExpect(jsonPath("$.disponiveis").value(0));
+    }
+
+    @Test
+    void deveRejeitarLoteDeClienteInexistente() throws Exception {
+        CriarLocacoesEmLoteRequest request = new CriarLocacoesEmLoteRequest(
+                UUID.fromString("660e8400-e29b-41d4-a716-446655449999"),
+                List.of(new CriarLocacoesEmLoteRequest.Item(UUID.fromString("550e8400-e29b-41d4-a716-446655440001"),
+                        LocalDate.now(), LocalDate.now().plusDays(3), new BigDecimal("10.00")))
+        );
+
+        mockMvc.perform(post("/api/locacoes/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,140 @@
+package com.locadora.relatorio.presentation;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.locacao.application.command.CriarLocacaoCommand;
+import com.locadora.locacao.application.command.CriarLocacaoCommandHandler;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.shared.infrastructure.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Testes de integração para RelatorioController
+ */
+@SpringBootTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+class RelatorioControllerIntegrationTest extends BaseIntegrationTest {
+
+    private MockMvc mockMvc;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CriarLocacaoCommandHandler criarLocacaoHandler;
+
+    @Autowired
+    private LocacaoRepository locacaoRepository;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        this.mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+    }
+
+    @Test
+    void deveAgruparReceitaPorDia() throws Exception {
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", "2024-01-01")
+                        .param("ate", "2024-01-31")
+                        .param("agrupamento", "dia"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(3))
+                .andExpect(jsonPath("$[0].chave").value("2024-01-10"))
+                .andExpect(jsonPath("$[0].valor_locacoes").value(12.00))
+                .andExpect(jsonPath("$[2].chave").value("2024-01-20"))
+                .andExpect(jsonPath("$[2].valor_multas").value(3.60));
+    }
+
+    @Test
+    void deveAgruparReceitaPorMes() throws Exception {
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", "2024-01-01")
+                        .param("ate", "2024-12-31")
+                        .param("agrupamento", "mes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].chave").value("2024-01"))
+                .andExpect(jsonPath("$[0].locacoes").value(2))
+                .andExpect(jsonPath("$[0].total").value(30.60));
+    }
+
+    @Test
+    void deveAgruparReceitaPorGeneroEFilme() throws Exception {
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", "2024-01-01")
+                        .param("ate", "2024-12-31")
+                        .param("agrupamento", "genero"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].chave").value("Drama"))
+                .andExpect(jsonPath("$[1].chave").value("Ficção Científica"));
+
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", "2024-01-01")
+                        .param("ate", "2024-12-31")
+                        .param("agrupamento", "filme"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].chave").value("550e8400-e29b-41d4-a716-446655440002"))
+                .andExpect(jsonPath("$[0].descricao").value("Cidade de Deus"))
+                .andExpect(jsonPath("$[0].total").value(15.60))
+                .andExpect(jsonPath("$[1].descricao").value("Matrix"));
+    }
+
+    @Test
+    void deveAtualizarReceitaAPartirDosEventosDeLocacao() throws Exception {
+        LocalDate hoje = LocalDate.now();
+        criarLocacaoHandler.handle(new CriarLocacaoCommand(
+                UUID.fromString("660e8400-e29b-41d4-a716-446655440002"),
+                UUID.fromString("550e8400-e29b-41d4-a716-446655440001"),
+                hoje, hoje.plusDays(7), new BigDecimal("10.00")));
+        locacaoRepository.deleteById(LocacaoId.of(UUID.fromString("770e8400-e29b-41d4-a716-446655440002")));
+
+        outboxRelay.drenar();
+
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", hoje.toString())
+                        .param("ate", hoje.toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].locacoes").value(1))
+                .andExpect(jsonPath("$[0].valor_locacoes").value(10.00));
+
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", "2024-01-01")
+                        .param("ate", "2024-01-31")
+                        .param("agrupamento", "mes"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].locacoes").value(1))
+                .andExpect(jsonPath("$[0].total").value(15.00));
+    }
+
+    @Test
+    void deveRetornar400ParaParametrosInvalidos() throws Exception {
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", "2024-02-01")
+                        .param("ate", "2024-01-01"))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/api/relatorios/receita")
+                        .param("de", "2024-01-01")
+                        .param("ate", "2024-01-31")
+                        .param("agrupamento", "semana"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,190 @@
+package com.locadora.shared.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.filme.infrastructure.CachingFilmeRepository;
+import com.locadora.shared.presentation.AderenciaPrimarioFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.wait.strategy.Wait;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.cookie;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Testes de integração do roteamento para réplicas, com uma réplica em streaming do container primário
+ */
+class DataSourceRoteadoIntegrationTest extends BaseIntegrationTest {
+
+    private static final String EM_RECUPERACAO = "SELECT pg_is_in_recovery()";
+
+    static GenericContainer<?> replica = new GenericContainer<>(DockerImageName.parse("postgres:15-alpine"))
+            .withNetwork(REDE)
+            .withEnv("PGPASSWORD", "test")
+            .withExposedPorts(5432)
+            .withCreateContainerCmdModifier(cmd -> cmd.withUser("postgres"))
+            .withCommand("sh", "-c", """
+                    until pg_basebackup -h primario -U test -D /tmp/replica -R -X stream; do \
+                    rm -rf /tmp/replica; sleep 1; done; \
+                    chmod 700 /tmp/replica; exec postgres -D /tmp/replica""")
+            .waitingFor(Wait.forLogMessage(".*database system is ready to accept read-only connections.*", 1)
+                    .withStartupTimeout(Duration.ofMinutes(2)));
+
+    @DynamicPropertySource
+    static void configurarReplica(DynamicPropertyRegistry registry) {
+        replica.start();
+        registry.add("locadora.replica.urls",
+                () -> "jdbc:postgresql://" + replica.getHost() + ":" + replica.getMappedPort(5432) + "/locadora_test");
+        registry.add("locadora.replica.atraso-maximo", () -> "500ms");
+    }
+
+    @Autowired
+    private ReplicasLeitura replicas;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private WebApplicationContext webApplicationContext;
+
+    @Autowired
+    private CachingFilmeRepository cachingFilmeRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void aguardarReplica() throws InterruptedException {
+        long limite = System.currentTimeMillis() + 30_000;
+        do {
+            replicas.verificar();
+            if (replicas.escolher() != null) {
+                return;
+            }
+            Thread.sleep(200);
+        } while (System.currentTimeMillis() < limite);
+        throw new IllegalStateException("Réplica não ficou disponível");
+    }
+
+    @Test
+    void deveEnviarTransacoesSomenteLeituraParaReplica() {
+        assertThat(emRecuperacao(true)).isTrue();
+        assertThat(emRecuperacao(false)).isFalse();
+    }
+
+    @Test
+    void deveLerDoPrimarioDepoisDeEscreverNaSessao() {
+        try (AderenciaPrimario.Sessao sessao = AderenciaPrimario.abrir(0, null)) {
+            transacao(false).executeWithoutResult(status ->
+                    jdbcTemplate.update("UPDATE cliente SET telefone = telefone WHERE id = '660e8400-e29b-41d4-a716-446655440001'"));
+
+            assertThat(AderenciaPrimario.primarioAte()).isGreaterThan(System.currentTimeMillis());
+            assertThat(emRecuperacao(true)).isFalse();
+        }
+
+        assertThat(emRecuperacao(true)).isTrue();
+    }
+
+    @Test
+    void deveVoltarAoPrimarioQuandoReplicaAtrasa() throws InterruptedException {
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replicas.todas().get(0).pool());
+        replicaJdbc.execute("SELECT pg_wal_replay_pause()");
+        try {
+            jdbcTemplate.update("UPDATE cliente SET telefone = telefone WHERE id = '660e8400-e29b-41d4-a716-446655440001'");
+
+            long limite = System.currentTimeMillis() + 10_000;
+            while (replicas.escolher() != null && System.currentTimeMillis() < limite) {
+                Thread.sleep(200);
+                replicas.verificar();
+            }
+
+            assertThat(replicas.todas().get(0).disponivel()).isFalse();
+            assertThat(emRecuperacao(true)).isFalse();
+        } finally {
+            replicaJdbc.execute("SELECT pg_wal_replay_resume()");
+        }
+    }
+
+    @Test
+    void deveInstrumentarCadaPoolAntesDoRoteamento() {
+        // A espera por conexão é medida no pool de fato usado, não no proxy preguiçoso do roteamento
+        assertThat(dataSource).isInstanceOf(LazyConnectionDataSourceProxy.class);
+        assertThat(replicas.todas()).allSatisfy(replica ->
+                assertThat(replica.dataSource()).isInstanceOf(DataSourceObservado.class));
+    }
+
+    @Test
+    void deveCarregarCacheDeFilmesDoPrimario() {
+        String matrix = "550e8400-e29b-41d4-a716-446655440001";
+        cachingFilmeRepository.limpar();
+        JdbcTemplate replicaJdbc = new JdbcTemplate(replicas.todas().get(0).pool());
+        replicaJdbc.execute("SELECT pg_wal_replay_pause()");
+        try {
+            jdbcTemplate.update("UPDATE filme SET nome = 'Matrix Reloaded' WHERE id = ?::uuid", matrix);
+
+            // A réplica segue marcada como disponível (sem nova verificação), mas ainda não aplicou a escrita
+            String naReplica = transacao(true).execute(status ->
+                    jdbcTemplate.queryForObject("SELECT nome FROM filme WHERE id = ?::uuid", String.class, matrix));
+            String noCache = transacao(true).execute(status ->
+                    cachingFilmeRepository.findById(FilmeId.of(UUID.fromString(matrix))).orElseThrow().getNome());
+
+            assertThat(naReplica).isEqualTo("Matrix");
+            assertThat(noCache).isEqualTo("Matrix Reloaded");
+        } finally {
+            replicaJdbc.execute("SELECT pg_wal_replay_resume()");
+        }
+    }
+
+    @Test
+    void deveDevolverCookieDeAderenciaAposEscrita() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext)
+                .addFilters(new AderenciaPrimarioFilter())
+                .build();
+
+        mockMvc.perform(post("/api/clientes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "nome": "Cliente Réplica",
+                                    "email": "replica@email.com",
+                                    "telefone": "11999990000",
+                                    "cpf": "55566677788"
+                                }
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(cookie().exists(AderenciaPrimarioFilter.COOKIE))
+                .andExpect(cookie().httpOnly(AderenciaPrimarioFilter.COOKIE, true));
+    }
+
+    private boolean emRecuperacao(boolean somenteLeitura) {
+        return transacao(somenteLeitura).execute(status -> jdbcTemplate.queryForObject(EM_RECUPERACAO, Boolean.class));
+    }
+
+    private TransactionTemplate transacao(boolean somenteLeitura) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(somenteLeitura);
+        return template;
+    }
+}
@@ -0,0 +1,64 @@
+package com.locadora.shared.infrastructure;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes do filtro de Bloom de chaves texto
+ */
+class FiltroBloomTest {
+
+    @Test
+    void naoDeveTerFalsosNegativos() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cliente" + i + "@email.com");
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filtro.podeConter("cliente" + i + "@email.com")).isTrue();
+        }
+    }
+
+    @Test
+    void deveManterFalsosPositivosProximosDaTaxaNaCapacidade() {
+        FiltroBloom filtro = new FiltroBloom(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.adicionar("cpf:" + (10_000_000_000L + i));
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filtro.podeConter("cpf:" + (20_000_000_000L + i))) {
+                falsosPositivos++;
+            }
+        }
+
+        // 1% esperado; folga para a variação do hash
+        assertThat(falsosPositivos).isLessThan(2_000);
+    }
+
+    @Test
+    void deveResponderFalsoQuandoVazio() {
+        FiltroBloom filtro = new FiltroBloom(100, 0.01);
+
+        assertThat(filtro.podeConter("joao.silva@email.com")).isFalse();
+    }
+
+    @Test
+    void deveDimensionarPelaCapacidadeETaxa() {
+        FiltroBloom filtro = new FiltroBloom(1_000, 0.01);
+
+        // ~9,6 bits e 7 funções por chave para 1%
+        assertThat(filtro.bits()).isBetween(9_585L, 9_585L + 64);
+        assertThat(filtro.funcoes()).isEqualTo(7);
+    }
+
+    @Test
+    void deveRecusarParametrosInvalidos() {
+        assertThatThrownBy(() -> new FiltroBloom(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new FiltroBloom(100, 1.0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
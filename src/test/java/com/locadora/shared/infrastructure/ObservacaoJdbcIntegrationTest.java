@@ -0,0 +1,87 @@
+package com.locadora.shared.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.domain.FilmeRepository;
+import com.locadora.filme.infrastructure.FilmeRepositoryImpl;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração da instrumentação JDBC por método de repositório
+ */
+class ObservacaoJdbcIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private FilmeRepositoryImpl filmeRepositoryImpl;
+
+    @Autowired
+    private FilmeRepository filmeRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void deveMedirChamadasELinhasPorMetodoDeRepositorio() {
+        long antes = chamadas("FilmeRepositoryImpl", "findByAtor");
+
+        assertThat(filmeRepositoryImpl.findByAtor("Keanu Reeves")).hasSize(1);
+
+        assertThat(chamadas("FilmeRepositoryImpl", "findByAtor")).isEqualTo(antes + 1);
+        DistributionSummary linhas = meterRegistry.get(MetricasJdbc.LINHAS)
+                .tag("repositorio", "FilmeRepositoryImpl")
+                .tag("metodo", "findByAtor")
+                .summary();
+        assertThat(linhas.max()).isEqualTo(1);
+    }
+
+    @Test
+    void deveAtribuirStatementsEEsperaDeConexaoAoMetodo() {
+        // Fora de transação cada chamada obtém a própria conexão do pool
+        filmeRepositoryImpl.findAll();
+
+        Timer statements = meterRegistry.get(MetricasJdbc.STATEMENTS)
+                .tag("repositorio", "FilmeRepositoryImpl")
+                .tag("metodo", "findAll")
+                .timer();
+        Timer espera = meterRegistry.get(MetricasJdbc.ESPERA_CONEXAO)
+                .tag("repositorio", "FilmeRepositoryImpl")
+                .tag("metodo", "findAll")
+                .timer();
+        assertThat(statements.count()).isPositive();
+        assertThat(espera.count()).isPositive();
+    }
+
+    @Test
+    void deveMedirDecoratorEImplementacaoSeparadamente() {
+        long antes = chamadas("CachingFilmeRepository", "findAll");
+
+        filmeRepository.findAll();
+
+        assertThat(chamadas("CachingFilmeRepository", "findAll")).isEqualTo(antes + 1);
+        assertThat(chamadas("FilmeRepositoryImpl", "findAll")).isPositive();
+    }
+
+    @Test
+    void deveEnvolverODataSource() {
+        assertThat(dataSource).isInstanceOf(DataSourceObservado.class);
+    }
+
+    private long chamadas(String repositorio, String metodo) {
+        Timer timer = meterRegistry.find(MetricasJdbc.CHAMADAS)
+                .tag("repositorio", repositorio)
+                .tag("metodo", metodo)
+                .tag("excecao", "none")
+                .timer();
+        return timer != null ? timer.count() : 0;
+    }
+}
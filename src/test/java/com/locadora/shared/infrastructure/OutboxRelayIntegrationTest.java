@@ -0,0 +1,146 @@
+package com.locadora.shared.infrastructure;
+
+import com.locadora.config.BaseIntegrationTest;
+import com.locadora.filme.application.command.AtualizarFilmeCommand;
+import com.locadora.filme.application.command.AtualizarFilmeCommandHandler;
+import com.locadora.filme.domain.FilmeAtualizadoEvent;
+import com.locadora.filme.domain.FilmeId;
+import com.locadora.locacao.application.command.DevolverLocacaoCommand;
+import com.locadora.locacao.application.command.DevolverLocacaoCommandHandler;
+import com.locadora.locacao.domain.Locacao;
+import com.locadora.locacao.domain.LocacaoDevolvida;
+import com.locadora.locacao.domain.LocacaoId;
+import com.locadora.locacao.domain.LocacaoRepository;
+import com.locadora.locacao.domain.PoliticaMulta;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes de integração para o outbox de eventos de domínio
+ */
+@RecordApplicationEvents
+class OutboxRelayIntegrationTest extends BaseIntegrationTest {
+
+    private static final UUID MATRIX_ID = UUID.fromString("550e8400-e29b-41d4-a716-446655440001");
+    private static final UUID LOCACAO_ATIVA_ID = UUID.fromString("770e8400-e29b-41d4-a716-446655440001");
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private PoliticaMulta politicaMulta;
+
+    @Autowired
+    private DevolverLocacaoCommandHandler devolverLocacaoHandler;
+
+    @Autowired
+    private AtualizarFilmeCommandHandler atualizarFilmeHandler;
+
+    @Autowired
+    private LocacaoRepository locacaoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ApplicationEvents applicationEvents;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void deveGravarEventoNoOutboxAoDevolverLocacao() {
+        devolverLocacaoHandler.handle(new DevolverLocacaoCommand(LOCACAO_ATIVA_ID, LocalDate.now()));
+
+        assertThat(pendentes()).containsExactly("LocacaoDevolvida");
+        assertThat(applicationEvents.stream(LocacaoDevolvida.class)).isEmpty();
+    }
+
+    @Test
+    void devePublicarEventosPendentesAoDrenar() {
+        devolverLocacaoHandler.handle(new DevolverLocacaoCommand(LOCACAO_ATIVA_ID, LocalDate.now()));
+
+        int publicados = outboxRelay.drenar();
+
+        assertThat(publicados).isEqualTo(1);
+        assertThat(pendentes()).isEmpty();
+        List<LocacaoDevolvida> eventos = applicationEvents.stream(LocacaoDevolvida.class).toList();
+        assertThat(eventos).hasSize(1);
+        assertThat(eventos.get(0).getLocacaoId()).isEqualTo(LocacaoId.of(LOCACAO_ATIVA_ID));
+        assertThat(eventos.get(0).getDataDevolucao()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void naoDevePublicarMesmoEventoDuasVezes() {
+        atualizarFilmeHandler.handle(new AtualizarFilmeCommand(
+                MATRIX_ID, "Matrix Reloaded", "Lana Wachowski", 2003,
+                List.of("Keanu Reeves"), "Neo continua a luta", "Ficção Científica", 138, "PG-13", "Inglês", "EUA"));
+
+        assertThat(outboxRelay.drenar()).isEqualTo(1);
+        assertThat(outboxRelay.drenar()).isZero();
+
+        List<FilmeAtualizadoEvent> eventos = applicationEvents.stream(FilmeAtualizadoEvent.class).toList();
+        assertThat(eventos).hasSize(1);
+        assertThat(eventos.get(0).getFilmeId()).isEqualTo(FilmeId.of(MATRIX_ID));
+    }
+
+    @Test
+    void naoDeveGravarEventoQuandoTransacaoEhDesfeita() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Locacao locacao = locacaoRepository.findById(LocacaoId.of(LOCACAO_ATIVA_ID)).orElseThrow();
+            locacao.devolver(LocalDate.now(), politicaMulta, null);
+            locacaoRepository.save(locacao);
+            status.setRollbackOnly();
+        });
+
+        assertThat(pendentes()).isEmpty();
+    }
+
+    @Test
+    void deveApagarApenasEventosPublicadosForaDaRetencao() {
+        devolverLocacaoHandler.handle(new DevolverLocacaoCommand(LOCACAO_ATIVA_ID, LocalDate.now()));
+        outboxRelay.drenar();
+        jdbcTemplate.update("UPDATE outbox_evento SET publicado_em = CURRENT_TIMESTAMP - INTERVAL '8 days'");
+        atualizarFilmeHandler.handle(new AtualizarFilmeCommand(
+                MATRIX_ID, "Matrix Reloaded", "Lana Wachowski", 2003,
+                List.of("Keanu Reeves"), "Neo continua a luta", "Ficção Científica", 138, "PG-13", "Inglês", "EUA"));
+        outboxRelay.drenar();
+
+        assertThat(outboxRelay.limpar()).isEqualTo(1);
+
+        assertThat(jdbcTemplate.queryForList("SELECT tipo FROM outbox_evento", String.class))
+                .containsExactly("FilmeAtualizado");
+    }
+
+    @Test
+    void deveMedirEventosQueEsgotaramAsTentativas() {
+        devolverLocacaoHandler.handle(new DevolverLocacaoCommand(LOCACAO_ATIVA_ID, LocalDate.now()));
+        jdbcTemplate.update("UPDATE outbox_evento SET tentativas = 10, ultimo_erro = 'falha'");
+
+        assertThat(outboxRelay.drenar()).isZero();
+        outboxRelay.limpar();
+
+        assertThat(meterRegistry.get(OutboxRelay.ESGOTADOS).gauge().value()).isEqualTo(1.0);
+        assertThat(pendentes()).containsExactly("LocacaoDevolvida");
+    }
+
+    private List<String> pendentes() {
+        return jdbcTemplate.queryForList(
+                "SELECT tipo FROM outbox_evento WHERE publicado_em IS NULL ORDER BY id", String.class);
+    }
+}
@@ -0,0 +1,52 @@
+package com.locadora.shared.infrastructure;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Testes da conversão de SQL nomeado para posicional
+ */
+class SqlPreparadoTest {
+
+    @Test
+    void deveConverterParametrosNomeadosParaPosicionais() {
+        SqlPreparado sql = SqlPreparado.de("""
+            SELECT id FROM locacao
+            WHERE cliente_id = :clienteId AND status = :status::status_locacao
+            """);
+
+        assertThat(sql.sql()).contains("cliente_id = ?").contains("status = ?::status_locacao");
+        assertThat(sql.parametros()).containsExactly("clienteId", "status");
+        assertThat(sql.argumentos("c", "ATIVA")).containsExactly("c", "ATIVA");
+    }
+
+    @Test
+    void deveRepetirValorDeParametroUsadoMaisDeUmaVez() {
+        SqlPreparado sql = SqlPreparado.de("""
+            SELECT id FROM filme
+            WHERE LOWER(nome) LIKE LOWER(:ator) OR diretor = :diretor OR LOWER(diretor) LIKE LOWER(:ator)
+            """);
+
+        assertThat(sql.parametros()).containsExactly("ator", "diretor");
+        assertThat(sql.argumentos("%keanu%", "Wachowski")).containsExactly("%keanu%", "Wachowski", "%keanu%");
+    }
+
+    @Test
+    void deveEntregarSempreOMesmoTextoAoDriver() {
+        String texto = "SELECT id FROM filme WHERE id = :id";
+
+        assertThat(SqlPreparado.de(texto).sql()).isSameAs(SqlPreparado.de(texto).sql());
+    }
+
+    @Test
+    void deveRecusarQuantidadeDeValoresDiferenteDosParametros() {
+        SqlPreparado sql = SqlPreparado.de("SELECT id FROM filme WHERE ano = :ano AND pais = :pais");
+
+        assertThatThrownBy(() -> sql.argumentos(1999))
+                .isInstanceOf(InvalidDataAccessApiUsageException.class)
+                .hasMessageContaining("[ano, pais]");
+    }
+}
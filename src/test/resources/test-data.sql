@@ -40,4 +40,23 @@ VALUES
     ('770e8400-e29b-41d4-a716-446655440002',
      '660e8400-e29b-41d4-a716-446655440002',
      '550e8400-e29b-41d4-a716-446655440002',
-     '2024-01-10', '2024-01-17', '2024-01-20', 'DEVOLVIDA'::status_locacao, 12.00, 3.60);
\ No newline at end of file
+     '2024-01-10', '2024-01-17', '2024-01-20', 'DEVOLVIDA'::status_locacao, 12.00, 3.60);
+
+-- Estoque de cópias (Matrix tem uma cópia locada pela locação ativa acima)
+INSERT INTO estoque_filme (filme_id, total_copias, disponiveis)
+VALUES 
+    ('550e8400-e29b-41d4-a716-446655440001', 3, 2),
+    ('550e8400-e29b-41d4-a716-446655440002', 2, 2);
+
+-- Resumo por cliente coerente com as locações acima (João: uma ativa; Maria: uma devolvida com multa)
+INSERT INTO cliente_resumo (cliente_id, locacoes_ativas, locacoes_atrasadas, total_locacoes, total_gasto, total_multas, ultima_locacao)
+VALUES 
+    ('660e8400-e29b-41d4-a716-446655440001', 1, 0, 1, 15.00, 0.00, '2024-01-15'),
+    ('660e8400-e29b-41d4-a716-446655440002', 0, 0, 1, 15.60, 3.60, '2024-01-10');
+
+-- Rollup de receita coerente com as locações acima (a multa conta no dia da devolução)
+INSERT INTO receita_diaria (dia, filme_id, locacoes, valor_locacoes, valor_multas)
+VALUES 
+    ('2024-01-10', '550e8400-e29b-41d4-a716-446655440002', 1, 12.00, 0.00),
+    ('2024-01-15', '550e8400-e29b-41d4-a716-446655440001', 1, 15.00, 0.00),
+    ('2024-01-20', '550e8400-e29b-41d4-a716-446655440002', 0, 0.00, 3.60);